@@ -14,6 +14,7 @@ import budgetbuddy.commons.util.ConfigUtil;
 import budgetbuddy.commons.util.StringUtil;
 import budgetbuddy.logic.Logic;
 import budgetbuddy.logic.LogicManager;
+import budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator;
 import budgetbuddy.model.AccountsManager;
 import budgetbuddy.model.LoansManager;
 import budgetbuddy.model.Model;
@@ -75,12 +76,29 @@ public class MainApp extends Application {
         initLogging(config);
 
         model = initModelManager(storage, userPrefs);
+        initMaxExactSettleSize(model, config);
 
-        logic = new LogicManager(model, storage);
+        logic = new LogicManager(model, storage, config.getScriptPoolSize());
 
         ui = new UiManager(logic);
     }
 
+    /**
+     * Applies the exact settle size in {@code config} to the loans of {@code model},
+     * keeping it within what the exhaustive search can handle.
+     */
+    private void initMaxExactSettleSize(Model model, Config config) {
+        int maxExactSettleSize = config.getMaxExactSettleSize();
+        if (maxExactSettleSize < 0 || maxExactSettleSize > LoanSplitCalculator.MAX_EXACT_SEARCH_SIZE_LIMIT) {
+            int clampedSize = Math.max(0,
+                    Math.min(maxExactSettleSize, LoanSplitCalculator.MAX_EXACT_SEARCH_SIZE_LIMIT));
+            logger.warning("Exact settle size " + maxExactSettleSize + " is out of range, so "
+                    + clampedSize + " is used");
+            maxExactSettleSize = clampedSize;
+        }
+        model.getLoansManager().setMaxExactSettleSize(maxExactSettleSize);
+    }
+
     /**
      * Returns a {@code ModelManager} with the data from {@code storage} and {@code userPrefs}.
      */
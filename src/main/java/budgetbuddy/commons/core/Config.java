@@ -11,12 +11,16 @@ import java.util.logging.Level;
 public class Config {
 
     public static final Path DEFAULT_CONFIG_FILE = Paths.get("config.json");
+    public static final int DEFAULT_SCRIPT_POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    public static final int DEFAULT_MAX_EXACT_SETTLE_SIZE = 16;
 
     private static boolean isDemo = false;
 
     // Config values customizable through config file
     private Level logLevel = Level.INFO;
     private Path userPrefsFilePath = Paths.get("preferences.json");
+    private int scriptPoolSize = DEFAULT_SCRIPT_POOL_SIZE;
+    private int maxExactSettleSize = DEFAULT_MAX_EXACT_SETTLE_SIZE;
 
     public static boolean isDemo() {
         return isDemo;
@@ -42,6 +46,29 @@ public class Config {
         this.userPrefsFilePath = userPrefsFilePath;
     }
 
+    /**
+     * Returns the maximum number of extra script contexts used to evaluate read-only scripts in parallel.
+     */
+    public int getScriptPoolSize() {
+        return scriptPoolSize;
+    }
+
+    public void setScriptPoolSize(int scriptPoolSize) {
+        this.scriptPoolSize = scriptPoolSize;
+    }
+
+    /**
+     * Returns the largest number of people with unsettled balances for whom the fewest payments are searched
+     * for exhaustively when loans are split or settled.
+     */
+    public int getMaxExactSettleSize() {
+        return maxExactSettleSize;
+    }
+
+    public void setMaxExactSettleSize(int maxExactSettleSize) {
+        this.maxExactSettleSize = maxExactSettleSize;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -54,12 +81,14 @@ public class Config {
         Config o = (Config) other;
 
         return Objects.equals(logLevel, o.logLevel)
-                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath);
+                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath)
+                && scriptPoolSize == o.scriptPoolSize
+                && maxExactSettleSize == o.maxExactSettleSize;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(logLevel, userPrefsFilePath);
+        return Objects.hash(logLevel, userPrefsFilePath, scriptPoolSize, maxExactSettleSize);
     }
 
     @Override
@@ -4,6 +4,7 @@ import budgetbuddy.commons.core.GuiSettings;
 import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.RuleProfiler;
 import budgetbuddy.logic.script.ScriptEnvironmentInitialiser;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.loan.Debtor;
@@ -27,6 +28,23 @@ public interface Logic {
      */
     CommandResult execute(String commandText) throws CommandException, ParseException;
 
+    /**
+     * Saves the model to storage, such as after a script running in the background has changed it.
+     * @throws CommandException If the model could not be saved.
+     */
+    void saveModel() throws CommandException;
+
+    /**
+     * Stops the script being run, if any, such as a script running in the background.
+     */
+    void cancelScript();
+
+    /**
+     * Starts the script engine in the background, so that the first script does not have to wait for it.
+     * Commands that run scripts before it is ready wait for it to finish starting.
+     */
+    void startScriptEngine();
+
     /**
      * Adds to the script environment.
      */
@@ -55,6 +73,9 @@ public interface Logic {
     /** Returns an unmodifiable view of the list of rules */
     ObservableList<Rule> getRuleList();
 
+    /** Returns the profiler holding the execution statistics of each rule */
+    RuleProfiler getRuleProfiler();
+
     /**
      * Returns an unmodifiable view of the list of scripts.
      */
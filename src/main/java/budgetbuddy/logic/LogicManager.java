@@ -1,8 +1,10 @@
 package budgetbuddy.logic;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.logging.Logger;
 
+import budgetbuddy.commons.core.Config;
 import budgetbuddy.commons.core.GuiSettings;
 import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.logic.commands.Command;
@@ -10,6 +12,8 @@ import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.logic.parser.CommandLineParser;
 import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.RuleNetworkCache;
+import budgetbuddy.logic.rules.RuleProfiler;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.logic.script.ScriptEnvironmentInitialiser;
 import budgetbuddy.logic.script.ScriptModelBinding;
@@ -21,6 +25,7 @@ import budgetbuddy.model.rule.Rule;
 import budgetbuddy.model.script.Script;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.storage.Storage;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.SortedList;
 
@@ -35,12 +40,34 @@ public class LogicManager implements Logic {
     private final Storage storage;
     private final CommandLineParser commandLineParser;
     private final ScriptEngine scriptEngine;
+    private final RuleNetworkCache ruleNetworkCache = new RuleNetworkCache();
 
     public LogicManager(Model model, Storage storage) {
+        this(model, storage, Config.DEFAULT_SCRIPT_POOL_SIZE);
+    }
+
+    /**
+     * Creates a LogicManager whose script engine may use up to {@code scriptPoolSize} extra contexts
+     * to evaluate read-only scripts in parallel.
+     */
+    public LogicManager(Model model, Storage storage, int scriptPoolSize) {
         this.model = model;
         this.storage = storage;
         commandLineParser = new CommandLineParser();
-        scriptEngine = new ScriptEngine(new ScriptModelBinding(model));
+        if (scriptPoolSize < 0) {
+            logger.warning("Script pool size " + scriptPoolSize + " is negative, so no extra contexts are used");
+            scriptPoolSize = 0;
+        }
+        // the JavaScript engine itself is only started by startScriptEngine or the first script
+        scriptEngine = new ScriptEngine(scriptPoolSize, List.of(new ScriptModelBinding(model, true)),
+                new ScriptModelBinding(model));
+
+        // scripts that are replaced or deleted will not be run again, so their compiled forms can be dropped
+        model.getScriptLibrary().getScriptList().addListener((ListChangeListener<Script>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(scriptEngine::invalidateScript);
+            }
+        });
     }
 
     @Override
@@ -49,15 +76,30 @@ public class LogicManager implements Logic {
 
         CommandResult commandResult;
         Command command = commandLineParser.parseCommand(commandText);
-        commandResult = command.execute(model, scriptEngine);
+        commandResult = command.execute(model, scriptEngine, ruleNetworkCache);
 
+        saveModel();
+
+        return commandResult;
+    }
+
+    @Override
+    public void saveModel() throws CommandException {
         try {
             storage.save(model);
         } catch (IOException ioe) {
             throw new CommandException(FILE_OPS_ERROR_MESSAGE + ioe, ioe);
         }
+    }
 
-        return commandResult;
+    @Override
+    public void cancelScript() {
+        scriptEngine.cancelEvaluation();
+    }
+
+    @Override
+    public void startScriptEngine() {
+        scriptEngine.initialiseInBackground();
     }
 
     @Override
@@ -90,6 +132,11 @@ public class LogicManager implements Logic {
         return model.getRuleManager().getRules();
     }
 
+    @Override
+    public RuleProfiler getRuleProfiler() {
+        return ruleNetworkCache.getProfiler();
+    }
+
     @Override
     public ObservableList<Script> getScriptList() {
         return model.getScriptLibrary().getScriptList();
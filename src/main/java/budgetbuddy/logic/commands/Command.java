@@ -1,6 +1,7 @@
 package budgetbuddy.logic.commands;
 
 import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.rules.RuleNetworkCache;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.model.Model;
 
@@ -29,4 +30,18 @@ public abstract class Command {
     public CommandResult execute(Model model, ScriptEngine scriptEngine) throws CommandException {
         return execute(model);
     }
+
+    /**
+     * Executes the command and returns the result message.
+     *
+     * @param model {@link Model} which the command should operate on.
+     * @param scriptEngine {@link ScriptEngine} which the command should use to evaluate any scripts.
+     * @param ruleNetworkCache {@link RuleNetworkCache} from which the command should take any compiled rules.
+     * @return feedback message of the operation result for display
+     * @throws CommandException If an error occurs during command execution.
+     */
+    public CommandResult execute(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache)
+            throws CommandException {
+        return execute(model, scriptEngine);
+    }
 }
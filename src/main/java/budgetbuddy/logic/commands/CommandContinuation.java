@@ -4,6 +4,7 @@ import java.nio.file.Path;
 import java.util.Objects;
 
 import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.script.BindingCallDispatcher;
 
 /**
  * Represents a command continuation, requiring some further input from the user to complete the command.
@@ -15,7 +16,8 @@ public class CommandContinuation<T> {
     public enum Type {
         SHOW_HELP,
         EXIT,
-        SHOW_FILE_PICKER;
+        SHOW_FILE_PICKER,
+        RUN_IN_BACKGROUND;
     }
 
     /**
@@ -67,6 +69,19 @@ public class CommandContinuation<T> {
         return null;
     }
 
+    /**
+     * Returns this continuation as a {@code CommandContinuation<BindingCallDispatcher>} if this continuation
+     * is of the type {@link Type#RUN_IN_BACKGROUND}.
+     */
+    @SuppressWarnings("unchecked")
+    public CommandContinuation<BindingCallDispatcher> asRunInBackground() {
+        if (this.type == Type.RUN_IN_BACKGROUND) {
+            return (CommandContinuation<BindingCallDispatcher>) this;
+        }
+
+        return null;
+    }
+
     public static CommandContinuation<Void> showHelp() {
         return new CommandContinuation<>(Type.SHOW_HELP);
     }
@@ -79,6 +94,14 @@ public class CommandContinuation<T> {
         return new CommandContinuation<>(Type.SHOW_FILE_PICKER, callback);
     }
 
+    /**
+     * Returns a continuation whose callback is run on a background thread.
+     * The callback is given a dispatcher that runs calls on the thread that owns the model.
+     */
+    public static CommandContinuation<BindingCallDispatcher> runInBackground(Callback<BindingCallDispatcher> callback) {
+        return new CommandContinuation<>(Type.RUN_IN_BACKGROUND, callback);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -3,7 +3,6 @@ package budgetbuddy.logic.commands.loancommands;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.util.List;
-import java.util.function.Consumer;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.commands.CommandCategory;
@@ -39,9 +38,7 @@ public class LoanDeleteCommand extends MultiLoanCommand {
 
         LoansManager loansManager = model.getLoansManager();
         List<Index> targetLoanIndices = constructTargetLoanIndicesList(loansManager);
-        Consumer<Index> deleteLoanOp = loansManager::deleteLoan;
-
-        actOnTargetLoans(loansManager, targetLoanIndices, deleteLoanOp);
+        loansManager.deleteLoans(findHitLoanIndices(loansManager, targetLoanIndices));
 
         String resultMessage = constructMultiLoanResult(MESSAGE_SUCCESS);
         return new CommandResult(resultMessage, CommandCategory.LOAN);
@@ -97,7 +97,7 @@ public class LoanEditCommand extends Command {
         Status updatedStatus = loanEditDescriptor.getStatus().orElse(loanToEdit.getStatus());
 
         return new Loan(updatedPerson, updatedDirection, updatedAmount,
-                updatedDate, updatedDescription, updatedStatus);
+                updatedDate, updatedDescription, updatedStatus, loanToEdit.getInterestTerms().orElse(null));
     }
 
     @Override
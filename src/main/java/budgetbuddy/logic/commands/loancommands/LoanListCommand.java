@@ -14,7 +14,6 @@ import static budgetbuddy.logic.parser.CliSyntax.PREFIX_SORT;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ARG_AMOUNT;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ARG_DATE;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ARG_PERSON;
-import static budgetbuddy.model.loan.LoanFilters.FILTER_ALL;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -81,7 +80,7 @@ public class LoanListCommand extends Command {
             resultMessage += " " + MESSAGE_SORTED;
         }
 
-        model.getLoansManager().updateFilteredList(filters.stream().reduce(Predicate::and).orElse(FILTER_ALL));
+        model.getLoansManager().filterLoans(filters);
         if (!filters.isEmpty()) {
             resultMessage += " " + MESSAGE_FILTERED;
         }
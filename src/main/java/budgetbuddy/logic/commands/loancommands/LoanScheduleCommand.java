@@ -0,0 +1,126 @@
+package budgetbuddy.logic.commands.loancommands;
+
+import static budgetbuddy.commons.util.AppUtil.getDateFormatter;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.commands.Command;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.loan.Installment;
+import budgetbuddy.model.loan.InterestSchedule;
+import budgetbuddy.model.loan.Loan;
+import budgetbuddy.model.loan.exceptions.LoanNotFoundException;
+
+/**
+ * Shows the installments of a loan with interest that fall due in a date range,
+ * and the interest still to fall due from the start of the range.
+ */
+public class LoanScheduleCommand extends Command {
+
+    public static final String COMMAND_WORD = "loan schedule";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Shows the installments of a loan with interest that fall due in a date range "
+            + "(by default, the year from today), and the interest still to fall due.\n"
+            + "Parameters: "
+            + "<loan number> "
+            + "[" + PREFIX_FROM + "<from date>] "
+            + "[" + PREFIX_UNTIL + "<until date>]\n"
+            + "Example: " + COMMAND_WORD + " 1 "
+            + PREFIX_FROM + "1/1/2020 "
+            + PREFIX_UNTIL + "31/12/2020";
+
+    public static final String MESSAGE_SUCCESS = "Installments of loan %1$d due from %2$s to %3$s:\n%4$s\n"
+            + "Interest on this loan still to fall due: %5$s\n"
+            + "Interest on all unpaid loans still to fall due: %6$s";
+    public static final String MESSAGE_NO_INSTALLMENTS = "(none)";
+    public static final String MESSAGE_OWED_TO_YOU = "%s owed to you";
+    public static final String MESSAGE_YOU_OWE = "%s you owe";
+    public static final String MESSAGE_INVALID_RANGE = "The from date must not be after the until date.";
+    public static final String MESSAGE_NO_INTEREST = "This loan carries no interest, so it has no schedule.";
+    public static final String MESSAGE_LOAN_NOT_FOUND = "The loan targeted for its schedule could not be found.";
+
+    private final Index targetLoanIndex;
+    private final LocalDate from;
+    private final LocalDate until;
+
+    /**
+     * Creates a command showing the schedule of the loan at {@code targetLoanIndex} from {@code from}
+     * to {@code until}, both inclusive.
+     */
+    public LoanScheduleCommand(Index targetLoanIndex, LocalDate from, LocalDate until) {
+        requireAllNonNull(targetLoanIndex, from, until);
+        if (from.isAfter(until)) {
+            throw new IllegalArgumentException(MESSAGE_INVALID_RANGE);
+        }
+        this.targetLoanIndex = targetLoanIndex;
+        this.from = from;
+        this.until = until;
+    }
+
+    @Override
+    public CommandResult execute(Model model) throws CommandException {
+        requireAllNonNull(model, model.getLoansManager());
+
+        Loan targetLoan;
+        try {
+            targetLoan = model.getLoansManager().getLoan(targetLoanIndex);
+        } catch (LoanNotFoundException e) {
+            throw new CommandException(MESSAGE_LOAN_NOT_FOUND);
+        }
+        InterestSchedule schedule = targetLoan.getSchedule()
+                .orElseThrow(() -> new CommandException(MESSAGE_NO_INTEREST));
+
+        List<Installment> installments = schedule.getInstallments(from, until);
+        StringBuilder installmentLines = new StringBuilder();
+        for (Installment installment : installments) {
+            installmentLines.append(installment).append('\n');
+        }
+        String installmentText = installments.isEmpty()
+                ? MESSAGE_NO_INSTALLMENTS
+                : installmentLines.substring(0, installmentLines.length() - 1);
+
+        // interest is still to fall due from the start of the range if its installment is not due the day before
+        LocalDate dayBefore = from.minusDays(1);
+        long loanInterest = schedule.getInterestOutstanding(dayBefore);
+        long totalInterest = model.getLoansManager().getInterestOutstanding(dayBefore);
+
+        return new CommandResult(String.format(MESSAGE_SUCCESS, targetLoanIndex.getOneBased(),
+                getDateFormatter().format(from), getDateFormatter().format(until), installmentText,
+                new Amount(loanInterest), formatSigned(totalInterest)), CommandCategory.LOAN);
+    }
+
+    /**
+     * Formats interest in cents that is positive when owed to the user and negative when the user owes it.
+     */
+    private static String formatSigned(long interest) {
+        return interest >= 0
+                ? String.format(MESSAGE_OWED_TO_YOU, new Amount(interest))
+                : String.format(MESSAGE_YOU_OWE, new Amount(-interest));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        if (!(other instanceof LoanScheduleCommand)) {
+            return false;
+        }
+
+        LoanScheduleCommand otherCommand = (LoanScheduleCommand) other;
+        return targetLoanIndex.equals(otherCommand.targetLoanIndex)
+                && from.equals(otherCommand.from)
+                && until.equals(otherCommand.until);
+    }
+}
@@ -0,0 +1,80 @@
+package budgetbuddy.logic.commands.loancommands;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.groupByDebtor;
+import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.settle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import budgetbuddy.logic.commands.Command;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.commands.loancommands.loansplitcommand.DebtorCreditorAmount;
+import budgetbuddy.logic.commands.loancommands.loansplitcommand.Participant;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.person.Person;
+
+/**
+ * Calculates the fewest payments that settle all unpaid loans.
+ */
+public class LoanSettleCommand extends Command {
+
+    public static final String COMMAND_WORD = "loan settle";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Calculates the fewest payments that settle all unpaid loans, "
+            + "letting people who owe you pay the people you owe directly.\n"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Loans settled with %d payment(s).";
+    public static final String MESSAGE_NOTHING_TO_SETTLE = "There are no unpaid loans to settle.";
+    public static final String MESSAGE_RESERVED_NAME = "Loans with a person named \"%s\" cannot be settled, "
+            + "as that name stands for you in the payments. Rename the person with loan edit first.";
+
+    /** The user, under the name by which the split list tells their payments apart. */
+    private static final Person USER = new Person(new Name("You"));
+
+    @Override
+    public CommandResult execute(Model model) throws CommandException {
+        requireAllNonNull(model, model.getLoansManager());
+
+        Map<Person, Long> netBalances = model.getLoansManager().getNetBalances();
+        if (netBalances.isEmpty()) {
+            throw new CommandException(MESSAGE_NOTHING_TO_SETTLE);
+        }
+
+        // a person named like the user would be merged with the user in the payments
+        for (Person person : netBalances.keySet()) {
+            if (person.getName().toString().equalsIgnoreCase(USER.getName().toString())) {
+                throw new CommandException(String.format(MESSAGE_RESERVED_NAME, person.getName()));
+            }
+        }
+
+        // a person's balance is what they are owed, the opposite of what they owe the user
+        List<Participant> participants = new ArrayList<Participant>();
+        long userBalance = 0;
+        for (Map.Entry<Person, Long> entry : netBalances.entrySet()) {
+            participants.add(new Participant(entry.getKey(), -entry.getValue()));
+            userBalance += entry.getValue();
+        }
+        participants.sort(Comparator.comparing(participant -> participant.person.getName().toString()));
+        participants.add(new Participant(USER, userBalance));
+
+        List<DebtorCreditorAmount> debtorCreditorAmountList =
+                settle(participants, model.getLoansManager().getMaxExactSettleSize());
+        model.getLoansManager().setDebtors(groupByDebtor(debtorCreditorAmountList));
+
+        return new CommandResult(String.format(MESSAGE_SUCCESS, debtorCreditorAmountList.size()),
+                CommandCategory.LOAN_SPLIT);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this || other instanceof LoanSettleCommand;
+    }
+}
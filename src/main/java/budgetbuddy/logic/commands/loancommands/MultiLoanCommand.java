@@ -6,14 +6,12 @@ import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.commands.Command;
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.model.LoansManager;
-import budgetbuddy.model.loan.exceptions.LoanNotFoundException;
 import budgetbuddy.model.person.Person;
 
 /**
@@ -88,16 +86,11 @@ public abstract class MultiLoanCommand extends Command {
         List<Index> targetLoanIndices = new ArrayList<Index>(loanIndices);
 
         for (Person person : persons) {
-            boolean isInLoanList = false;
-            for (int i = 0; i < loansManager.getFilteredLoans().size(); i++) {
-                if (loansManager.getFilteredLoans().get(i).getPerson().isSamePerson(person)) {
-                    targetLoanIndices.add(Index.fromZeroBased(i));
-                    isInLoanList = true;
-                }
-            }
-            if (!isInLoanList) {
+            List<Index> personLoanIndices = loansManager.getFilteredLoanIndices(person);
+            if (personLoanIndices.isEmpty()) {
                 missingPersons.add(person);
             }
+            targetLoanIndices.addAll(personLoanIndices);
         }
 
         return targetLoanIndices.stream().distinct().collect(Collectors.toList());
@@ -105,28 +98,22 @@ public abstract class MultiLoanCommand extends Command {
 
 
     /**
-     * Executes a given operation on loans targeted using the given list of indices.
-     * This method takes into account the possibility that the list size might change after an operation.
-     * To combat this, the target indices are decremented if the list size changes.
-     * @param operation A `Consumer` that takes an index, gets the loan with that index, and acts on the loan.
+     * Separates the given target indices into those found in the filtered list and those that are not.
+     * Found indices are recorded in {@code hitLoanIndices} and missing ones in {@code missingLoanIndices}.
+     * @return The found indices in increasing order, ready to be acted on in one batch.
      */
-    protected void actOnTargetLoans(
-            LoansManager loansManager, List<Index> targetLoanIndices, Consumer<Index> operation) {
+    protected List<Index> findHitLoanIndices(LoansManager loansManager, List<Index> targetLoanIndices) {
         targetLoanIndices.sort(Comparator.comparingInt(Index::getZeroBased));
 
-        int decrementCounter = 0;
+        int filteredLoansCount = loansManager.getFilteredLoans().size();
         for (Index index : targetLoanIndices) {
-            try {
-                int originalListSize = loansManager.getFilteredLoans().size();
-                operation.accept(Index.fromZeroBased(index.getZeroBased() - decrementCounter));
-                if (loansManager.getFilteredLoans().size() != originalListSize) {
-                    decrementCounter++;
-                }
+            if (index.getZeroBased() < filteredLoansCount) {
                 hitLoanIndices.add(index);
-            } catch (LoanNotFoundException e) {
+            } else {
                 missingLoanIndices.add(index);
             }
         }
+        return new ArrayList<Index>(hitLoanIndices);
     }
 
     /**
@@ -1,14 +1,20 @@
 package budgetbuddy.logic.commands.loancommands.loansplitcommand;
 
-import static budgetbuddy.commons.util.CollectionUtil.generateCombinations;
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.loan.Debtor;
 import budgetbuddy.model.person.Person;
 
 /**
@@ -19,6 +25,12 @@ public class LoanSplitCalculator {
     public static final String MESSAGE_MAX_SHARES_EXCEED_TOTAL_AMOUNT =
             "The sum of all limits cannot exceed the total amount paid by all persons.";
 
+    /**
+     * The largest number of participants whose sub-groups can be searched exhaustively.
+     * The search keeps two arrays with an entry per subset, which take 12MB at this size.
+     */
+    public static final int MAX_EXACT_SEARCH_SIZE_LIMIT = 20;
+
     private static final Comparator<Participant> sortBalanceIncreasing =
             Comparator.comparingLong(Participant::getBalance);
 
@@ -73,11 +85,96 @@ public class LoanSplitCalculator {
     }
 
     /**
-     * Returns a list of all possible sub-groups from the given {@code Participant}s.
+     * Returns disjoint sub-groups of the given {@code Participant}s whose balances sum to zero.
+     * Each sub-group of size k can be settled with k - 1 transfers, so as many sub-groups as possible are found.
+     * Participants with a zero balance are left out, as they need no transfers.
+     * Participants with opposite balances are paired off first, which never reduces the number of sub-groups found.
+     * The remaining participants are searched exhaustively only if there are at most {@code maxExactSearchSize},
+     * and never more than {@link #MAX_EXACT_SEARCH_SIZE_LIMIT}.
      */
-    public static List<List<Participant>> findSubGroups(List<Participant> participants) {
+    public static List<List<Participant>> findSubGroups(List<Participant> participants, int maxExactSearchSize) {
         requireNonNull(participants);
-        return generateCombinations(participants);
+
+        List<List<Participant>> subGroups = new ArrayList<List<Participant>>();
+        Map<Long, Deque<Participant>> unpairedByBalance = new LinkedHashMap<Long, Deque<Participant>>();
+        for (Participant participant : participants) {
+            long balance = participant.getBalance();
+            if (balance == 0) {
+                continue;
+            }
+
+            Deque<Participant> opposites = unpairedByBalance.get(-balance);
+            if (opposites != null && !opposites.isEmpty()) {
+                subGroups.add(new ArrayList<Participant>(List.of(opposites.poll(), participant)));
+            } else {
+                unpairedByBalance.computeIfAbsent(balance, unused -> new ArrayDeque<Participant>()).add(participant);
+            }
+        }
+
+        List<Participant> unpaired = new ArrayList<Participant>();
+        unpairedByBalance.values().forEach(unpaired::addAll);
+        if (unpaired.size() <= Math.min(maxExactSearchSize, MAX_EXACT_SEARCH_SIZE_LIMIT)) {
+            subGroups.addAll(findSubGroupsExactly(unpaired));
+        }
+        return subGroups;
+    }
+
+    /**
+     * Returns the largest number of disjoint zero-sum sub-groups of the given {@code Participant}s.
+     * Every ordering of the participants is considered at once by dynamic programming over the subsets,
+     * where a sub-group ends wherever the participants taken so far sum to zero.
+     */
+    private static List<List<Participant>> findSubGroupsExactly(List<Participant> participants) {
+        int size = participants.size();
+        int fullMask = (1 << size) - 1;
+        long[] balances = new long[1 << size];
+        int[] mostSubGroups = new int[1 << size];
+
+        for (int mask = 1; mask <= fullMask; mask++) {
+            int lowestIndex = Integer.numberOfTrailingZeros(mask);
+            balances[mask] = balances[mask & (mask - 1)] + participants.get(lowestIndex).getBalance();
+
+            int best = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                best = Math.max(best, mostSubGroups[mask & ~Integer.lowestOneBit(rest)]);
+            }
+            mostSubGroups[mask] = best + (balances[mask] == 0 ? 1 : 0);
+        }
+
+        // retrace the choices from the full set, cutting a sub-group at each zero-sum subset passed
+        List<List<Participant>> subGroups = new ArrayList<List<Participant>>();
+        int boundary = -1;
+        int mask = fullMask;
+        while (mask != 0) {
+            int target = mostSubGroups[mask] - (balances[mask] == 0 ? 1 : 0);
+            if (balances[mask] == 0) {
+                if (boundary != -1) {
+                    subGroups.add(toParticipants(participants, boundary & ~mask));
+                }
+                boundary = mask;
+            }
+
+            int rest = mask;
+            while (mostSubGroups[mask & ~Integer.lowestOneBit(rest)] != target) {
+                rest &= rest - 1;
+            }
+            mask &= ~Integer.lowestOneBit(rest);
+        }
+        if (boundary != -1) {
+            subGroups.add(toParticipants(participants, boundary));
+        }
+        return subGroups;
+    }
+
+    /**
+     * Returns the {@code Participant}s whose indices are set in {@code mask}.
+     */
+    private static List<Participant> toParticipants(List<Participant> participants, int mask) {
+        List<Participant> members = new ArrayList<Participant>();
+        for (int rest = mask; rest != 0; rest &= rest - 1) {
+            members.add(participants.get(Integer.numberOfTrailingZeros(rest)));
+        }
+        return members;
     }
 
     /**
@@ -91,6 +188,8 @@ public class LoanSplitCalculator {
 
     /**
      * Calculates who owes who how much amoung a group of {@link Participant}s.
+     * The largest debtor always pays the largest creditor, with both kept in heaps ordered by balance.
+     * Settled participants are removed from {@code participants}.
      * @param participants The list of particpants to calculate the debts from.
      * @return A {@link DebtorCreditorAmount} list representing the calculated result.
      */
@@ -99,31 +198,76 @@ public class LoanSplitCalculator {
 
         List<DebtorCreditorAmount> debtorCreditorAmountList = new ArrayList<DebtorCreditorAmount>();
 
-        // check if the participants have already split their balances equally (balance == 0)
-        if (participants.stream().noneMatch(p -> p.getBalance() != 0)) {
-            participants.clear();
-            return debtorCreditorAmountList;
+        // ties are broken by position, so that earlier participants pay and are paid first
+        Participant[] members = participants.toArray(new Participant[0]);
+        Comparator<Integer> byPosition = Comparator.naturalOrder();
+        PriorityQueue<Integer> debtors = new PriorityQueue<Integer>(
+                Comparator.comparing((Integer i) -> members[i], sortBalanceIncreasing).thenComparing(byPosition));
+        PriorityQueue<Integer> creditors = new PriorityQueue<Integer>(
+                Comparator.comparing((Integer i) -> members[i], sortBalanceIncreasing.reversed())
+                        .thenComparing(byPosition));
+        for (int i = 0; i < members.length; i++) {
+            if (members[i].getBalance() < 0) {
+                debtors.add(i);
+            } else if (members[i].getBalance() > 0) {
+                creditors.add(i);
+            }
         }
 
-        while (participants.size() > 1) {
-            Participant debtor = participants.stream().min(sortBalanceIncreasing).get();
-            Participant creditor = participants.stream().max(sortBalanceIncreasing).get();
-            DebtorCreditorAmount debtorCreditorAmount = transferMoneyBetween(debtor, creditor);
+        while (!debtors.isEmpty() && !creditors.isEmpty()) {
+            int debtorIndex = debtors.poll();
+            int creditorIndex = creditors.poll();
+            debtorCreditorAmountList.add(transferMoneyBetween(members[debtorIndex], members[creditorIndex]));
 
-            if (debtor.getBalance() == 0) {
-                participants.remove(debtor);
+            if (members[debtorIndex].getBalance() != 0) {
+                debtors.add(debtorIndex);
             }
-            if (creditor.getBalance() == 0) {
-                participants.remove(creditor);
+            if (members[creditorIndex].getBalance() != 0) {
+                creditors.add(creditorIndex);
             }
+        }
 
-            if (debtorCreditorAmount.amount.toLong() > 0) {
-                debtorCreditorAmountList.add(debtorCreditorAmount);
-            }
+        participants.removeIf(participant -> participant.getBalance() == 0);
+        return debtorCreditorAmountList;
+    }
+
+    /**
+     * Calculates the fewest transfers that settle the balances of the given {@code Participant}s.
+     * Each zero-sum sub-group is settled on its own, then any remaining balances are settled together.
+     * @param participants The participants to settle, whose balances are all zero afterwards if they sum to zero.
+     * @param maxExactSearchSize The largest number of participants whose sub-groups are searched exhaustively.
+     * @return A {@link DebtorCreditorAmount} list representing the transfers.
+     */
+    public static List<DebtorCreditorAmount> settle(List<Participant> participants, int maxExactSearchSize) {
+        requireNonNull(participants);
+
+        List<DebtorCreditorAmount> debtorCreditorAmountList = new ArrayList<DebtorCreditorAmount>();
+        for (List<Participant> subGroup : findSubGroups(participants, maxExactSearchSize)) {
+            debtorCreditorAmountList.addAll(calculateSplitList(subGroup));
         }
+        debtorCreditorAmountList.addAll(calculateSplitList(new ArrayList<Participant>(participants)));
         return debtorCreditorAmountList;
     }
 
+    /**
+     * Groups the given transfers by debtor into a list of {@code Debtor}s sorted by name.
+     */
+    public static List<Debtor> groupByDebtor(List<DebtorCreditorAmount> debtorCreditorAmountList) {
+        requireNonNull(debtorCreditorAmountList);
+
+        // each debtor's creditors are merged straight into the map the new Debtor holds
+        Map<Person, Debtor> debtorsByPerson = new HashMap<Person, Debtor>();
+        for (DebtorCreditorAmount dca : debtorCreditorAmountList) {
+            debtorsByPerson.computeIfAbsent(dca.debtor, person -> new Debtor(person, new HashMap<Person, Amount>()))
+                    .getCreditors()
+                    .merge(dca.creditor, dca.amount, (first, second) -> new Amount(first.toLong() + second.toLong()));
+        }
+
+        List<Debtor> debtors = new ArrayList<Debtor>(debtorsByPerson.values());
+        debtors.sort(Comparator.comparing(debtor -> debtor.getDebtor().getName().toString()));
+        return debtors;
+    }
+
     /**
      * Transfers money between a given {@code debtor} and {@code creditor}.
      * After the transfer, either one or both of their balances should be zero.
@@ -2,23 +2,19 @@ package budgetbuddy.logic.commands.loancommands.loansplitcommand;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.calculateDefaultSharePerPerson;
-import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.calculateParticipantGroupBalance;
 import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.calculateParticipantsBalance;
-import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.calculateSplitList;
 import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.calculateTotalAmountPaid;
-import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.findSubGroups;
+import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.groupByDebtor;
+import static budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator.settle;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DATE;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_MAX_SHARE;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_PERSON;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_USER;
-import static java.util.Objects.requireNonNull;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,7 +28,6 @@ import budgetbuddy.model.attributes.Amount;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
-import budgetbuddy.model.loan.Debtor;
 import budgetbuddy.model.loan.Loan;
 import budgetbuddy.model.loan.Status;
 import budgetbuddy.model.loan.exceptions.DuplicateLoanException;
@@ -129,15 +124,9 @@ public class LoanSplitCommand extends Command {
             throw new CommandException(MESSAGE_ALREADY_SPLIT_EQUALLY);
         }
 
-        for (List<Participant> subGroup : findSubGroups(participants)) {
-            if (calculateParticipantGroupBalance(subGroup) == 0) {
-                debtorCreditorAmountList.addAll(calculateSplitList(subGroup));
-            }
-        }
+        debtorCreditorAmountList.addAll(settle(participants, model.getLoansManager().getMaxExactSettleSize()));
 
-        debtorCreditorAmountList.addAll(calculateSplitList(participants));
-
-        model.getLoansManager().setDebtors(constructDebtorsList());
+        model.getLoansManager().setDebtors(groupByDebtor(debtorCreditorAmountList));
 
         if (optionalUser.isPresent()) {
             constructUserLoansList(optionalUser.get()).forEach(loan -> {
@@ -181,32 +170,6 @@ public class LoanSplitCommand extends Command {
         return userLoans;
     }
 
-    /**
-     * Constructs and returns a list of {@code Debtor} objects using {@code debtorCreditorAmountList}.
-     */
-    private List<Debtor> constructDebtorsList() {
-        requireNonNull(debtorCreditorAmountList);
-
-        debtorCreditorAmountList.sort(Comparator.comparing(dca -> dca.debtor.getName().toString()));
-
-        List<Debtor> debtors = new ArrayList<Debtor>();
-
-        Person currDebtor = debtorCreditorAmountList.get(0).debtor;
-        HashMap<Person, Amount> currCreditors = new HashMap<Person, Amount>();
-        for (DebtorCreditorAmount dca : debtorCreditorAmountList) {
-            if (!dca.debtor.equals(currDebtor)) {
-                // new debtor reached in sorted list; add current debtor to list of debtors
-                debtors.add(new Debtor(currDebtor, currCreditors));
-                currDebtor = dca.debtor;
-                currCreditors.clear();
-            }
-            currCreditors.put(dca.creditor, dca.amount);
-        }
-        debtors.add(new Debtor(currDebtor, currCreditors));
-
-        return debtors;
-    }
-
     /**
      * Returns a feedback message that will be displayed to the user.
      * @return The results feedback message as a string.
@@ -0,0 +1,164 @@
+package budgetbuddy.logic.commands.rulecommands;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_ACCOUNT_NOT_FOUND;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.DATE_EXAMPLE;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DRY_RUN;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import budgetbuddy.commons.core.Messages;
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.commands.scriptcommands.ScriptCommand;
+import budgetbuddy.logic.rules.RuleApplicationReport;
+import budgetbuddy.logic.rules.RuleApplier;
+import budgetbuddy.logic.rules.RuleNetworkCache;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+
+/**
+ * Applies rules to existing transactions.
+ */
+public class RuleApplyCommand extends ScriptCommand {
+
+    public static final String COMMAND_WORD = "rule apply";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Applies rules to existing transactions, "
+            + "in all accounts or in the given account, optionally only between the given dates.\n"
+            + "Use " + PREFIX_DRY_RUN + " to only report how many transactions each rule would match.\n"
+            + "Parameters: "
+            + "[<rule ID>...] "
+            + "[" + PREFIX_ACCOUNT + "<account>] "
+            + "[" + PREFIX_FROM + "<date>] "
+            + "[" + PREFIX_UNTIL + "<date>] "
+            + "[" + PREFIX_DRY_RUN + "]\n"
+            + "Example: " + COMMAND_WORD + " 1 3 "
+            + PREFIX_FROM + DATE_EXAMPLE + " "
+            + PREFIX_DRY_RUN;
+
+    public static final String MESSAGE_SUCCESS = "Rules applied to %1$d transaction(s), %2$d of which were edited.";
+    public static final String MESSAGE_DRY_RUN = "Rules tested against %1$d transaction(s). Nothing was edited.";
+    public static final String MESSAGE_RULE_MATCHES = "\nRule #%1$d matched %2$d transaction(s)";
+    public static final String MESSAGE_RULE_SAMPLE = "\n    %1$s";
+    public static final String MESSAGE_NO_RULES = "There are no rules to apply.";
+
+    private final List<Index> ruleIndices;
+    private final Optional<Name> accountName;
+    private final Optional<LocalDate> from;
+    private final Optional<LocalDate> until;
+    private final boolean isDryRun;
+
+    /**
+     * Creates a RuleApplyCommand to apply rules to the transactions in scope.
+     * @param ruleIndices The indices of the rules to apply, or an empty list to apply every rule.
+     * @param accountName The account whose transactions to apply the rules to, if not every account.
+     * @param from The earliest date of the transactions to apply the rules to, if any.
+     * @param until The latest date of the transactions to apply the rules to, if any.
+     * @param isDryRun If true, only report the matching transactions without editing them.
+     */
+    public RuleApplyCommand(List<Index> ruleIndices, Optional<Name> accountName, Optional<LocalDate> from,
+                            Optional<LocalDate> until, boolean isDryRun) {
+        requireAllNonNull(ruleIndices, accountName, from, until);
+        this.ruleIndices = new ArrayList<>(ruleIndices);
+        this.accountName = accountName;
+        this.from = from;
+        this.until = until;
+        this.isDryRun = isDryRun;
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine) throws CommandException {
+        return execute(model, scriptEngine, new RuleNetworkCache());
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache)
+            throws CommandException {
+        requireAllNonNull(model, model.getRuleManager(), model.getAccountsManager(), scriptEngine, ruleNetworkCache);
+
+        int ruleCount = model.getRuleManager().getRuleCount();
+        if (ruleCount == 0) {
+            throw new CommandException(MESSAGE_NO_RULES);
+        }
+
+        BitSet ruleScope = null;
+        if (!ruleIndices.isEmpty()) {
+            ruleScope = new BitSet(ruleCount);
+            for (Index index : ruleIndices) {
+                if (index.getOneBased() > ruleCount) {
+                    throw new CommandException(Messages.MESSAGE_INVALID_DISPLAYED_INDEX);
+                }
+                ruleScope.set(index.getZeroBased());
+            }
+        }
+
+        List<Account> accounts = new ArrayList<>();
+        if (accountName.isPresent()) {
+            Account account = model.getAccountsManager().getAccount(accountName.get());
+            if (account == null) {
+                throw new CommandException(String.format(MESSAGE_ACCOUNT_NOT_FOUND, accountName.get()));
+            }
+            accounts.add(account);
+        } else {
+            accounts.addAll(model.getAccountsManager().getAccounts());
+        }
+
+        TransactionMatchesConditionsPredicate txnScope = new TransactionMatchesConditionsPredicate(List.of(),
+                from, until, Optional.empty(), Optional.empty(), Optional.empty());
+        RuleApplicationReport report = RuleApplier.apply(model, scriptEngine, ruleNetworkCache, accounts, txnScope,
+                ruleScope, isDryRun);
+
+        if (report.getEditedCount() > 0) {
+            // accounts were each edited in one batch, so the displayed list is refreshed just once
+            model.getAccountsManager().transactionListUpdateSource();
+        }
+
+        return new CommandResult(formatReport(report, ruleCount, ruleScope),
+                isDryRun ? CommandCategory.RULE : CommandCategory.TRANSACTION);
+    }
+
+    /**
+     * Formats the number of matches and sample transactions of each applied rule.
+     */
+    private String formatReport(RuleApplicationReport report, int ruleCount, BitSet ruleScope) {
+        StringBuilder builder = new StringBuilder(isDryRun
+                ? String.format(MESSAGE_DRY_RUN, report.getScannedCount())
+                : String.format(MESSAGE_SUCCESS, report.getScannedCount(), report.getEditedCount()));
+
+        for (int i = 0; i < ruleCount; i++) {
+            if (ruleScope != null && !ruleScope.get(i)) {
+                continue;
+            }
+            builder.append(String.format(MESSAGE_RULE_MATCHES, i + 1, report.getMatchCount(i)));
+            for (Transaction sample : report.getSamples(i)) {
+                builder.append(String.format(MESSAGE_RULE_SAMPLE, sample));
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof RuleApplyCommand // instanceof handles nulls
+                && ruleIndices.equals(((RuleApplyCommand) other).ruleIndices)
+                && accountName.equals(((RuleApplyCommand) other).accountName)
+                && from.equals(((RuleApplyCommand) other).from)
+                && until.equals(((RuleApplyCommand) other).until)
+                && isDryRun == ((RuleApplyCommand) other).isDryRun); // state check
+    }
+}
@@ -0,0 +1,81 @@
+package budgetbuddy.logic.commands.rulecommands;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.List;
+
+import budgetbuddy.logic.commands.Command;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.rules.RuleNetworkCache;
+import budgetbuddy.logic.rules.RuleProfile;
+import budgetbuddy.logic.rules.RuleProfiler;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.rule.Rule;
+
+/**
+ * Shows the execution statistics of each rule.
+ */
+public class RuleStatsCommand extends Command {
+
+    public static final String COMMAND_WORD = "rule stats";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Shows how often each rule was checked and matched, and how long its predicate and action took.\n"
+            + "Example: "
+            + "rule stats";
+
+    public static final String MESSAGE_SUCCESS = "Rule statistics since the application started:\n";
+    public static final String MESSAGE_RULE_STATS = "Rule #%d: %d/%d matched, test avg %.3fms max %.3fms, "
+            + "action avg %.3fms max %.3fms, %d script error(s)\n";
+    public static final String MESSAGE_SLOWEST_RULE = "Most time spent in Rule #%d (%.3fms in total).";
+    public static final String MESSAGE_NO_EXECUTIONS = "No rules have been run yet.";
+
+    @Override
+    public CommandResult execute(Model model) {
+        return execute(model, null, new RuleNetworkCache());
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache) {
+        requireAllNonNull(model, model.getRuleManager(), ruleNetworkCache);
+        List<Rule> rules = model.getRuleManager().getRules();
+        if (rules.isEmpty()) {
+            return new CommandResult(RuleListCommand.MESSAGE_NO_RULES, CommandCategory.RULE);
+        }
+
+        RuleProfiler profiler = ruleNetworkCache.getProfiler();
+        StringBuilder builder = new StringBuilder(MESSAGE_SUCCESS);
+        int slowestRule = 0;
+        long slowestNanos = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            RuleProfile profile = profiler.getProfile(rules.get(i));
+            builder.append(String.format(MESSAGE_RULE_STATS, i + 1,
+                    profile.getMatches(), profile.getEvaluations(),
+                    toMillis(average(profile.getTestNanos(), profile.getEvaluations())),
+                    toMillis(profile.getMaxTestNanos()),
+                    toMillis(average(profile.getPerformNanos(), profile.getMatches())),
+                    toMillis(profile.getMaxPerformNanos()),
+                    profile.getScriptErrors()));
+
+            if (profile.getTotalNanos() > slowestNanos) {
+                slowestRule = i + 1;
+                slowestNanos = profile.getTotalNanos();
+            }
+        }
+
+        builder.append(slowestRule == 0
+                ? MESSAGE_NO_EXECUTIONS
+                : String.format(MESSAGE_SLOWEST_RULE, slowestRule, toMillis(slowestNanos)));
+        return new CommandResult(builder.toString(), CommandCategory.RULE);
+    }
+
+    private static double average(long totalNanos, long count) {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -4,9 +4,11 @@ import budgetbuddy.logic.commands.Command;
 import budgetbuddy.logic.commands.CommandCategory;
 import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.script.BindingCallDispatcher;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.logic.script.exceptions.ScriptException;
 import budgetbuddy.model.Model;
+import budgetbuddy.model.script.Script;
 
 /**
  * Acts as a base class for commands that run scripts.
@@ -35,14 +37,56 @@ public abstract class ScriptCommand extends Command {
     protected static CommandResult runScript(ScriptEngine scriptEngine, String script, Object... argv)
             throws CommandException {
         try {
-            Object result = scriptEngine.evaluateScript(script, argv);
-            if (result == null) {
-                return new CommandResult(MESSAGE_NO_RESULT, CommandCategory.SCRIPT_NO_SWITCH);
-            } else {
-                return new CommandResult(result.toString(), CommandCategory.SCRIPT_NO_SWITCH);
-            }
+            return toCommandResult(scriptEngine.evaluateScript(script, argv));
         } catch (ScriptException se) {
             throw new CommandException(String.format(MESSAGE_SCRIPT_EXCEPTION, se.getMessage()), se);
         }
     }
+
+    /**
+     * Helper method to run a stored script, within the budget given in its description,
+     * and return a {@link CommandResult} with the result of the script.
+     *
+     * @param scriptEngine the script engine
+     * @param script the stored script
+     * @param argv the arguments to pass to the script
+     * @return the command result
+     * @throws CommandException if an error occurs while running the script
+     */
+    protected static CommandResult runScript(ScriptEngine scriptEngine, Script script, Object... argv)
+            throws CommandException {
+        try {
+            return toCommandResult(scriptEngine.evaluateScript(script, argv));
+        } catch (ScriptException se) {
+            throw new CommandException(String.format(MESSAGE_SCRIPT_EXCEPTION, se.getMessage()), se);
+        }
+    }
+
+    /**
+     * Helper method to run a stored script on the current background thread,
+     * and return a {@link CommandResult} with the result of the script.
+     *
+     * @param scriptEngine the script engine
+     * @param script the stored script
+     * @param dispatcher runs the calls the script makes into the application
+     * @param argv the arguments to pass to the script
+     * @return the command result
+     * @throws CommandException if an error occurs while running the script, or it is cancelled
+     */
+    protected static CommandResult runScriptInBackground(ScriptEngine scriptEngine, Script script,
+            BindingCallDispatcher dispatcher, Object... argv) throws CommandException {
+        try {
+            return toCommandResult(scriptEngine.evaluateScriptInBackground(script, dispatcher, argv));
+        } catch (ScriptException se) {
+            throw new CommandException(String.format(MESSAGE_SCRIPT_EXCEPTION, se.getMessage()), se);
+        }
+    }
+
+    private static CommandResult toCommandResult(Object result) {
+        if (result == null) {
+            return new CommandResult(MESSAGE_NO_RESULT, CommandCategory.SCRIPT_NO_SWITCH);
+        } else {
+            return new CommandResult(result.toString(), CommandCategory.SCRIPT_NO_SWITCH);
+        }
+    }
 }
@@ -39,7 +39,7 @@ public class ScriptRunCommand extends ScriptCommand {
         if (s == null) {
             throw new CommandException(String.format(MESSAGE_NO_SUCH_SCRIPT, scriptName));
         } else {
-            return runScript(scriptEngine, s.getCode(), arguments);
+            return runScript(scriptEngine, s, arguments);
         }
     }
 
@@ -0,0 +1,69 @@
+package budgetbuddy.logic.commands.scriptcommands;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_NO_SUCH_SCRIPT;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.Objects;
+
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandContinuation;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ScriptLibrary;
+import budgetbuddy.model.script.Script;
+import budgetbuddy.model.script.ScriptName;
+
+/**
+ * Starts a script from the script library in the background, so that the application stays responsive
+ * while it runs.
+ */
+public class ScriptStartCommand extends ScriptCommand {
+    public static final String COMMAND_WORD = "script start";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Run a stored script in the background.\n"
+            + "Usage: " + COMMAND_WORD + " <script name> [<argument>]\n"
+            + "Example: " + COMMAND_WORD + " import-statements This entire string is passed to the script.";
+
+    public static final String MESSAGE_STARTED = "Script \"%1$s\" started. Press Esc to cancel it.";
+
+    private final ScriptName scriptName;
+    private final String arguments;
+
+    public ScriptStartCommand(ScriptName scriptName, String arguments) {
+        requireAllNonNull(scriptName, arguments);
+        this.scriptName = scriptName;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine) throws CommandException {
+        ScriptLibrary scriptLibrary = model.getScriptLibrary();
+        Script s = scriptLibrary.getScript(scriptName);
+        if (s == null) {
+            throw new CommandException(String.format(MESSAGE_NO_SUCH_SCRIPT, scriptName));
+        }
+
+        return new CommandResult(String.format(MESSAGE_STARTED, scriptName), CommandCategory.SCRIPT_NO_SWITCH,
+                CommandContinuation.runInBackground(dispatcher ->
+                        runScriptInBackground(scriptEngine, s, dispatcher, arguments)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScriptStartCommand that = (ScriptStartCommand) o;
+        return scriptName.equals(that.scriptName) && arguments.equals(that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scriptName, arguments);
+    }
+}
@@ -16,6 +16,7 @@ import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.logic.commands.scriptcommands.ScriptCommand;
 import budgetbuddy.logic.rules.RuleEngine;
+import budgetbuddy.logic.rules.RuleNetworkCache;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
@@ -63,7 +64,13 @@ public class TransactionAddCommand extends ScriptCommand {
 
     @Override
     public CommandResult execute(Model model, ScriptEngine scriptEngine) throws CommandException {
-        requireAllNonNull(model, model.getAccountsManager(), scriptEngine);
+        return execute(model, scriptEngine, new RuleNetworkCache());
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache)
+            throws CommandException {
+        requireAllNonNull(model, model.getAccountsManager(), scriptEngine, ruleNetworkCache);
 
 
         if (toAccountName != null) {
@@ -82,7 +89,7 @@ public class TransactionAddCommand extends ScriptCommand {
             return new CommandResult(MESSAGE_FAILURE, CommandCategory.TRANSACTION);
         }
         Index txnIndex = Index.fromOneBased(toAccount.getTransactionList().getTransactionsCount());
-        RuleEngine.executeRules(model, scriptEngine, txnIndex, toAccount);
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, toAccount);
         model.getAccountsManager().setActiveAccount(toAccount);
         return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd), CommandCategory.TRANSACTION);
     }
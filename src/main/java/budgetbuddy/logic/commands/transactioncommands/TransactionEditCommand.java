@@ -22,6 +22,7 @@ import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.logic.commands.scriptcommands.ScriptCommand;
 import budgetbuddy.logic.rules.RuleEngine;
+import budgetbuddy.logic.rules.RuleNetworkCache;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.model.AccountsManager;
 import budgetbuddy.model.Model;
@@ -80,7 +81,13 @@ public class TransactionEditCommand extends ScriptCommand {
 
     @Override
     public CommandResult execute(Model model, ScriptEngine scriptEngine) throws CommandException {
-        requireAllNonNull(model, model.getAccountsManager(), scriptEngine);
+        return execute(model, scriptEngine, new RuleNetworkCache());
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache)
+            throws CommandException {
+        requireAllNonNull(model, model.getAccountsManager(), scriptEngine, ruleNetworkCache);
 
         AccountsManager accountsManager = model.getAccountsManager();
         try {
@@ -105,7 +112,8 @@ public class TransactionEditCommand extends ScriptCommand {
             oldAccount.deleteTransaction(targetTransaction);
             targetAccount.addTransaction(updatedTransaction);
             Index updatedTxnIndex = Index.fromOneBased(targetAccount.getTransactionList().getTransactionsCount());
-            RuleEngine.executeRules(model, scriptEngine, updatedTxnIndex, targetAccount);
+            RuleEngine.reexecuteRules(model, scriptEngine, ruleNetworkCache, updatedTxnIndex, targetAccount,
+                    targetTransaction);
             model.getAccountsManager().setActiveAccount(targetAccount);
 
         } catch (IndexOutOfBoundsException e) {
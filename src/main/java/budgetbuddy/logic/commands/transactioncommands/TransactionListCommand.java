@@ -6,6 +6,8 @@ import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_PAGE;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_PAGE_SIZE;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_SORT;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_AMOUNT;
@@ -44,10 +46,12 @@ public class TransactionListCommand extends Command {
             + "[" + PREFIX_AMOUNT_FROM + "<from amount>] "
             + "[" + PREFIX_AMOUNT_UNTIL + "<until amount>] "
             + "[" + PREFIX_DESCRIPTION + "<description>] "
-            + String.format("[%s<%s|%s|%s|%s|%s|%s>]\n", PREFIX_SORT,
+            + String.format("[%s<%s|%s|%s|%s|%s|%s>] ", PREFIX_SORT,
             SORT_ASCENDING_DATE, SORT_DESCENDING_DATE,
             SORT_ASCENDING_AMOUNT, SORT_DESCENDING_AMOUNT,
             SORT_ASCENDING_DESCRIPTION, SORT_DESCENDING_DESCRIPTION)
+            + "[" + PREFIX_PAGE + "<page number>] "
+            + "[" + PREFIX_PAGE_SIZE + "<page size>]\n"
             + "Example: " + COMMAND_WORD + " "
             + PREFIX_CATEGORY + "Food "
             + PREFIX_FROM + "4/2/2420 "
@@ -60,29 +64,60 @@ public class TransactionListCommand extends Command {
     public static final String MESSAGE_SUCCESS = "Transactions listed from account %1$s, "
             + "total nett flow of transactions is %2$s.";
 
+    public static final String MESSAGE_SUCCESS_PAGE = "Page %3$d of transactions listed from account %1$s, "
+            + "total nett flow of transactions on this page is %2$s.";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final int UNPAGED = 0;
+
     private final TransactionMatchesConditionsPredicate predicate;
     private Comparator<Transaction> transactionComparator = SORT_BY_DESCENDING_DATE;
+    private final int page;
+    private final int pageSize;
 
     public TransactionListCommand(TransactionMatchesConditionsPredicate predicate,
                                   Optional<Comparator<Transaction>> optionalTransactionComparator) {
+        this(predicate, optionalTransactionComparator, UNPAGED, UNPAGED);
+    }
+
+    /**
+     * Creates a command that lists only one page of the matching transactions.
+     * @param page The one-based page number to list.
+     * @param pageSize The number of transactions on each page.
+     */
+    public TransactionListCommand(TransactionMatchesConditionsPredicate predicate,
+                                  Optional<Comparator<Transaction>> optionalTransactionComparator,
+                                  int page, int pageSize) {
         this.predicate = predicate;
         if (optionalTransactionComparator.isPresent()) {
             transactionComparator = optionalTransactionComparator.get();
         }
+        this.page = page;
+        this.pageSize = pageSize;
     }
 
     @Override
     public CommandResult execute(Model model) {
         requireAllNonNull(model, model.getAccountsManager());
         Account activeAccount = model.getAccountsManager().getActiveAccount();
-        model.getAccountsManager().transactionListSwitchSource(activeAccount);
-        model.getAccountsManager().updateFilteredTransactionList(this.predicate);
-        model.getAccountsManager().updateSortedTransactionList(transactionComparator);
         String resultMessage = MESSAGE_SUCCESS;
+        if (page == UNPAGED) {
+            model.getAccountsManager().transactionListSwitchSource(activeAccount);
+            model.getAccountsManager().updateFilteredTransactionList(this.predicate);
+            model.getAccountsManager().updateSortedTransactionList(transactionComparator);
+        } else {
+            // only the requested page is selected and shown, instead of sorting every matching transaction
+            long skip = (long) (page - 1) * pageSize;
+            model.getAccountsManager().updateTransactionWindow(this.predicate, transactionComparator,
+                    (int) Math.min(skip, Integer.MAX_VALUE), pageSize);
+            resultMessage = MESSAGE_SUCCESS_PAGE;
+        }
 
         return new CommandResult(String.format(resultMessage,
                 model.getAccountsManager().getActiveAccount().getName(),
-                model.getAccountsManager().getFilteredTransactionListNettFlow().toString()),
+                model.getAccountsManager().getFilteredTransactionListNettFlow().toString(),
+                page),
                 CommandCategory.TRANSACTION);
     }
 
@@ -91,6 +126,8 @@ public class TransactionListCommand extends Command {
         return other == this // short circuit if same object
                 || (other instanceof TransactionListCommand // instanceof handles nulls
                 && predicate.equals(((TransactionListCommand) other).predicate)
-                && transactionComparator.equals(((TransactionListCommand) other).transactionComparator)); // state check
+                && transactionComparator.equals(((TransactionListCommand) other).transactionComparator)
+                && page == ((TransactionListCommand) other).page
+                && pageSize == ((TransactionListCommand) other).pageSize); // state check
     }
 }
@@ -0,0 +1,118 @@
+package budgetbuddy.logic.commands.transactioncommands;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_ACCOUNT_NOT_FOUND;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DIRECTION;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import budgetbuddy.logic.commands.Command;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.statistics.AmountDistribution;
+
+/**
+ * Shows statistics of the amounts of transactions in one or more accounts.
+ */
+public class TransactionStatsCommand extends Command {
+
+    public static final String COMMAND_WORD = "txn stats";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Shows the mean, standard deviation, median,"
+            + " 90th and 99th percentile of transaction amounts in the current active account,"
+            + " or in all of the given accounts together.\n"
+            + "Parameters: "
+            + "[" + PREFIX_ACCOUNT + "<account name>...] "
+            + "[" + PREFIX_DIRECTION + "<in|out>] "
+            + "[" + PREFIX_CATEGORY + "<category>]\n"
+            + "Example: " + COMMAND_WORD + " "
+            + PREFIX_DIRECTION + "out "
+            + PREFIX_CATEGORY + "Food";
+
+    public static final String MESSAGE_SUCCESS = "Statistics of %1$d transaction(s) in %2$s:\n"
+            + "Mean: %3$s, standard deviation: %4$s\n"
+            + "Median: %5$s, 90th percentile: %6$s, 99th percentile: %7$s\n"
+            + "(percentiles are estimated to within %8$.0f%%)";
+
+    public static final String MESSAGE_NO_TRANSACTIONS = "There are no matching transactions in %1$s.";
+
+    private final List<Name> accountNames;
+    private final Optional<Direction> direction;
+    private final Optional<Category> category;
+
+    /**
+     * Creates a command that shows statistics of the matching transactions in the given accounts.
+     * @param accountNames The names of the accounts to include, or an empty list for the active account.
+     * @param direction The direction of the transactions to include, if any.
+     * @param category The category of the transactions to include, if any.
+     */
+    public TransactionStatsCommand(List<Name> accountNames, Optional<Direction> direction,
+                                   Optional<Category> category) {
+        requireAllNonNull(accountNames, direction, category);
+        this.accountNames = new ArrayList<>(accountNames);
+        this.direction = direction;
+        this.category = category;
+    }
+
+    @Override
+    public CommandResult execute(Model model) throws CommandException {
+        requireAllNonNull(model, model.getAccountsManager());
+
+        List<Account> accounts = new ArrayList<>();
+        if (accountNames.isEmpty()) {
+            accounts.add(model.getAccountsManager().getActiveAccount());
+        }
+        for (Name name : accountNames) {
+            Account account = model.getAccountsManager().getAccount(name);
+            if (account == null) {
+                throw new CommandException(String.format(MESSAGE_ACCOUNT_NOT_FOUND, name));
+            }
+            accounts.add(account);
+        }
+
+        // each account keeps its own up-to-date statistics, so only the summaries are merged here
+        AmountDistribution distribution = new AmountDistribution();
+        for (Account account : accounts) {
+            account.getStatistics().mergeInto(distribution, direction, category);
+        }
+
+        String accountsString = accounts.stream()
+                .map(account -> account.getName().toString())
+                .collect(Collectors.joining(", "));
+        if (distribution.isEmpty()) {
+            return new CommandResult(String.format(MESSAGE_NO_TRANSACTIONS, accountsString),
+                    CommandCategory.TRANSACTION);
+        }
+
+        return new CommandResult(String.format(MESSAGE_SUCCESS,
+                distribution.getCount(),
+                accountsString,
+                distribution.getMean(),
+                distribution.getStandardDeviation(),
+                distribution.getQuantile(0.5),
+                distribution.getQuantile(0.9),
+                distribution.getQuantile(0.99),
+                distribution.getRelativeAccuracy() * 100),
+                CommandCategory.TRANSACTION);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof TransactionStatsCommand // instanceof handles nulls
+                && accountNames.equals(((TransactionStatsCommand) other).accountNames)
+                && direction.equals(((TransactionStatsCommand) other).direction)
+                && category.equals(((TransactionStatsCommand) other).category)); // state check
+    }
+}
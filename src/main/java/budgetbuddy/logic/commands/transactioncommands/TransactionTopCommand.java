@@ -0,0 +1,90 @@
+package budgetbuddy.logic.commands.transactioncommands;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_COUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_SORT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_AMOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_DATE;
+import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_DESCRIPTION;
+import static budgetbuddy.logic.parser.CliSyntax.SORT_DESCENDING_AMOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.SORT_DESCENDING_DATE;
+import static budgetbuddy.logic.parser.CliSyntax.SORT_DESCENDING_DESCRIPTION;
+import static budgetbuddy.model.transaction.ComparatorUtil.SORT_BY_DESCENDING_AMOUNT;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import budgetbuddy.logic.commands.Command;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+
+/**
+ * Lists the top transactions of the current active account under a given order.
+ */
+public class TransactionTopCommand extends Command {
+
+    public static final String COMMAND_WORD = "txn top";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Lists only the first few transactions from the"
+            + " current active account under the given order, by default the largest amounts first. "
+            + "Accepts the same filters as txn list.\n"
+            + "Parameters: "
+            + PREFIX_COUNT + "<count> "
+            + String.format("[%s<%s|%s|%s|%s|%s|%s>] ", PREFIX_SORT,
+            SORT_ASCENDING_DATE, SORT_DESCENDING_DATE,
+            SORT_ASCENDING_AMOUNT, SORT_DESCENDING_AMOUNT,
+            SORT_ASCENDING_DESCRIPTION, SORT_DESCENDING_DESCRIPTION)
+            + "[" + PREFIX_CATEGORY + "<category>] "
+            + "[" + PREFIX_FROM + "<from date>] "
+            + "[" + PREFIX_UNTIL + "<to date>] ...\n"
+            + "Example: " + COMMAND_WORD + " "
+            + PREFIX_COUNT + "20 "
+            + PREFIX_CATEGORY + "Food "
+            + PREFIX_SORT + SORT_DESCENDING_AMOUNT;
+
+    public static final String MESSAGE_SUCCESS = "Top %3$d transaction(s) listed from account %1$s, "
+            + "total nett flow of these transactions is %2$s.";
+
+    private final TransactionMatchesConditionsPredicate predicate;
+    private final int count;
+    private Comparator<Transaction> transactionComparator = SORT_BY_DESCENDING_AMOUNT;
+
+    public TransactionTopCommand(TransactionMatchesConditionsPredicate predicate,
+                                 Optional<Comparator<Transaction>> optionalTransactionComparator, int count) {
+        requireAllNonNull(predicate, optionalTransactionComparator);
+        this.predicate = predicate;
+        this.count = count;
+        if (optionalTransactionComparator.isPresent()) {
+            transactionComparator = optionalTransactionComparator.get();
+        }
+    }
+
+    @Override
+    public CommandResult execute(Model model) {
+        requireAllNonNull(model, model.getAccountsManager());
+        Account activeAccount = model.getAccountsManager().getActiveAccount();
+        model.getAccountsManager().updateTransactionWindow(predicate, transactionComparator, 0, count);
+
+        return new CommandResult(String.format(MESSAGE_SUCCESS,
+                activeAccount.getName(),
+                model.getAccountsManager().getFilteredTransactionListNettFlow().toString(),
+                model.getFilteredTransactions().size()),
+                CommandCategory.TRANSACTION);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof TransactionTopCommand // instanceof handles nulls
+                && predicate.equals(((TransactionTopCommand) other).predicate)
+                && transactionComparator.equals(((TransactionTopCommand) other).transactionComparator)
+                && count == ((TransactionTopCommand) other).count); // state check
+    }
+}
@@ -1,9 +1,8 @@
 package budgetbuddy.logic.parser;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tokenizes arguments string of the form: {@code preamble <prefix>value <prefix>value ...}<br>
@@ -15,134 +14,81 @@ import java.util.stream.Collectors;
  */
 public class ArgumentTokenizer {
 
+    /** Key of the preamble, the text before the first prefix. */
+    private static final Prefix PREAMBLE = new Prefix("");
+
+    /** Tries of the prefix sets tokenized so far, mapping each prefix to its index in the set. */
+    private static final Map<List<Prefix>, CharTrie<Integer>> PREFIX_TRIES = new ConcurrentHashMap<>();
+
     /**
      * Tokenizes an arguments string and returns an {@code ArgumentMultimap} object that maps prefixes to their
      * respective argument values. Only the given prefixes will be recognized in the arguments string.
      *
+     * The string is scanned once. After every space, the prefix starting there is found by walking a trie
+     * of all the prefixes, so the scan takes time linear in the length of the string. If several prefixes
+     * start there, the longest one is taken. The trie of each set of prefixes is only built once.
+     *
      * @param argsString Arguments string of the form: {@code preamble <prefix>value <prefix>value ...}
      * @param prefixes   Prefixes to tokenize the arguments string with
      * @return           ArgumentMultimap object that maps prefixes to their arguments
      */
     public static ArgumentMultimap tokenize(String argsString, Prefix... prefixes) {
-        List<PrefixPosition> positions = findAllPrefixPositions(argsString, prefixes);
-        return extractArguments(argsString, positions);
-    }
-
-    /**
-     * Finds all zero-based prefix positions in the given arguments string.
-     *
-     * @param argsString Arguments string of the form: {@code preamble <prefix>value <prefix>value ...}
-     * @param prefixes   Prefixes to find in the arguments string
-     * @return           List of zero-based prefix positions in the given arguments string
-     */
-    private static List<PrefixPosition> findAllPrefixPositions(String argsString, Prefix... prefixes) {
-        return Arrays.stream(prefixes)
-                .flatMap(prefix -> findPrefixPositions(argsString, prefix).stream())
-                .collect(Collectors.toList());
-    }
+        CharTrie<Integer> prefixTrie = PREFIX_TRIES.computeIfAbsent(List.of(prefixes),
+                ArgumentTokenizer::buildPrefixTrie);
 
-    /**
-     * {@see findAllPrefixPositions}
-     */
-    private static List<PrefixPosition> findPrefixPositions(String argsString, Prefix prefix) {
-        List<PrefixPosition> positions = new ArrayList<>();
-
-        int prefixPosition = findPrefixPosition(argsString, prefix.getPrefix(), 0);
-        while (prefixPosition != -1) {
-            PrefixPosition extendedPrefix = new PrefixPosition(prefix, prefixPosition);
-            positions.add(extendedPrefix);
-            prefixPosition = findPrefixPosition(argsString, prefix.getPrefix(), prefixPosition);
+        ArgumentMultimap argMultimap = new ArgumentMultimap();
+        Prefix currentPrefix = PREAMBLE;
+        int valueStart = 0;
+        for (int position = 1; position <= argsString.length(); position++) {
+            // a prefix is only recognised with whitespace before it
+            if (argsString.charAt(position - 1) != ' ') {
+                continue;
+            }
+            int match = findLongestPrefixAt(argsString, position, prefixTrie);
+            if (match >= 0) {
+                argMultimap.put(currentPrefix, extractArgumentValue(argsString, valueStart, position));
+                currentPrefix = prefixes[match];
+                valueStart = position + currentPrefix.getPrefix().length();
+            }
         }
+        argMultimap.put(currentPrefix, extractArgumentValue(argsString, valueStart, argsString.length()));
 
-        return positions;
-    }
-
-    /**
-     * Returns the index of the first occurrence of {@code prefix} in
-     * {@code argsString} starting from index {@code fromIndex}. An occurrence
-     * is valid if there is a whitespace before {@code prefix}. Returns -1 if no
-     * such occurrence can be found.
-     *
-     * E.g if {@code argsString} = "e/hip/900", {@code prefix} = "p/" and
-     * {@code fromIndex} = 0, this method returns -1 as there are no valid
-     * occurrences of "p/" with whitespace before it. However, if
-     * {@code argsString} = "e/hi p/900", {@code prefix} = "p/" and
-     * {@code fromIndex} = 0, this method returns 5.
-     */
-    private static int findPrefixPosition(String argsString, String prefix, int fromIndex) {
-        int prefixIndex = argsString.indexOf(" " + prefix, fromIndex);
-        return prefixIndex == -1 ? -1
-                : prefixIndex + 1; // +1 as offset for whitespace
+        return argMultimap;
     }
 
     /**
-     * Extracts prefixes and their argument values, and returns an {@code ArgumentMultimap} object that maps the
-     * extracted prefixes to their respective arguments. Prefixes are extracted based on their zero-based positions in
-     * {@code argsString}.
-     *
-     * @param argsString      Arguments string of the form: {@code preamble <prefix>value <prefix>value ...}
-     * @param prefixPositions Zero-based positions of all prefixes in {@code argsString}
-     * @return                ArgumentMultimap object that maps prefixes to their arguments
+     * Returns a trie mapping each of {@code prefixes} to its index in the list.
+     * A prefix that is given more than once keeps its first index.
      */
-    private static ArgumentMultimap extractArguments(String argsString, List<PrefixPosition> prefixPositions) {
-
-        // Sort by start position
-        prefixPositions.sort((prefix1, prefix2) -> prefix1.getStartPosition() - prefix2.getStartPosition());
-
-        // Insert a PrefixPosition to represent the preamble
-        PrefixPosition preambleMarker = new PrefixPosition(new Prefix(""), 0);
-        prefixPositions.add(0, preambleMarker);
-
-        // Add a dummy PrefixPosition to represent the end of the string
-        PrefixPosition endPositionMarker = new PrefixPosition(new Prefix(""), argsString.length());
-        prefixPositions.add(endPositionMarker);
-
-        // Map prefixes to their argument values (if any)
-        ArgumentMultimap argMultimap = new ArgumentMultimap();
-        for (int i = 0; i < prefixPositions.size() - 1; i++) {
-            // Extract and store prefixes and their arguments
-            Prefix argPrefix = prefixPositions.get(i).getPrefix();
-            String argValue = extractArgumentValue(argsString, prefixPositions.get(i), prefixPositions.get(i + 1));
-            argMultimap.put(argPrefix, argValue);
+    private static CharTrie<Integer> buildPrefixTrie(List<Prefix> prefixes) {
+        CharTrie<Integer> prefixTrie = new CharTrie<>();
+        for (int i = 0; i < prefixes.size(); i++) {
+            prefixTrie.putIfAbsent(prefixes.get(i).getPrefix(), i);
         }
-
-        return argMultimap;
+        return prefixTrie;
     }
 
     /**
-     * Returns the trimmed value of the argument in the arguments string specified by {@code currentPrefixPosition}.
-     * The end position of the value is determined by {@code nextPrefixPosition}.
+     * Returns the index of the longest prefix in {@code prefixTrie} that occurs in {@code argsString}
+     * at {@code position}, or -1 if there is none.
      */
-    private static String extractArgumentValue(String argsString,
-                                        PrefixPosition currentPrefixPosition,
-                                        PrefixPosition nextPrefixPosition) {
-        Prefix prefix = currentPrefixPosition.getPrefix();
-
-        int valueStartPos = currentPrefixPosition.getStartPosition() + prefix.getPrefix().length();
-        String value = argsString.substring(valueStartPos, nextPrefixPosition.getStartPosition());
-
-        return value.trim();
+    private static int findLongestPrefixAt(String argsString, int position, CharTrie<Integer> prefixTrie) {
+        int match = -1;
+        CharTrie.Node<Integer> node = prefixTrie.getRoot();
+        for (int i = position; node != null; i++) {
+            if (node.getValue() != null) {
+                match = node.getValue();
+            }
+            node = i < argsString.length() ? node.next(argsString.charAt(i)) : null;
+        }
+        return match;
     }
 
     /**
-     * Represents a prefix's position in an arguments string.
+     * Returns the trimmed value of an argument that runs from {@code valueStart} up to {@code valueEnd}.
      */
-    private static class PrefixPosition {
-        private int startPosition;
-        private final Prefix prefix;
-
-        PrefixPosition(Prefix prefix, int startPosition) {
-            this.prefix = prefix;
-            this.startPosition = startPosition;
-        }
-
-        int getStartPosition() {
-            return startPosition;
-        }
-
-        Prefix getPrefix() {
-            return prefix;
-        }
+    private static String extractArgumentValue(String argsString, int valueStart, int valueEnd) {
+        return argsString.substring(valueStart, valueEnd).trim();
     }
 
 }
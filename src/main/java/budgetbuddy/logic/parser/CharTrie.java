@@ -0,0 +1,74 @@
+package budgetbuddy.logic.parser;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+
+/**
+ * A trie mapping string keys to values, one character per level.
+ * Matching keys against a string walks it character by character from a start position,
+ * so finding every key at that position costs at most the length of the longest key.
+ */
+class CharTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    /**
+     * Associates {@code value} with {@code key} unless the key already has a value.
+     *
+     * @return The value already associated with {@code key}, or null if there was none.
+     */
+    V putIfAbsent(String key, V value) {
+        requireNonNull(value);
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        if (node.value == null) {
+            node.value = value;
+            return null;
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns the value of the key equal to the characters of {@code input} from {@code start} to {@code end},
+     * ignoring case, or null if there is none. Keys must have been added in lower case.
+     */
+    V getIgnoreCase(CharSequence input, int start, int end) {
+        Node<V> node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.next(Character.toLowerCase(input.charAt(i)));
+        }
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns the root of the trie, whose value is that of the empty key.
+     */
+    Node<V> getRoot() {
+        return root;
+    }
+
+    /**
+     * The position in the trie after reading some characters of a key.
+     */
+    static class Node<V> {
+        private final HashMap<Character, Node<V>> children = new HashMap<>();
+        private V value;
+
+        /**
+         * Returns the node reached by reading {@code c} from this node, or null if no key continues with it.
+         */
+        Node<V> next(char c) {
+            return children.isEmpty() ? null : children.get(c);
+        }
+
+        /**
+         * Returns the value of the key ending at this node, or null if no key ends here.
+         */
+        V getValue() {
+            return value;
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class CliSyntax {
     // Rules
     public static final Prefix PREFIX_PREDICATE = new Prefix("p/");
     public static final Prefix PREFIX_ACTION = new Prefix("a/");
+    public static final Prefix PREFIX_DRY_RUN = new Prefix("dry/");
 
     // Sorting
     public static final Prefix PREFIX_SORT = new Prefix("s/");
@@ -45,6 +46,9 @@ public class CliSyntax {
 
     // Transactions
     public static final Prefix PREFIX_RECURRENCE = new Prefix("r/");
+    public static final Prefix PREFIX_COUNT = new Prefix("n/");
+    public static final Prefix PREFIX_PAGE = new Prefix("page/");
+    public static final Prefix PREFIX_PAGE_SIZE = new Prefix("size/");
 
     // Scripts
     public static final Prefix PREFIX_SCRIPT_DESCRIPTION = new Prefix("d/");
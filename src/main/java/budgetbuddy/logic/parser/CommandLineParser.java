@@ -1,9 +1,6 @@
 package budgetbuddy.logic.parser;
 
-import java.util.HashMap;
 import java.util.ServiceLoader;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import budgetbuddy.commons.core.Messages;
 import budgetbuddy.logic.commands.Command;
@@ -15,19 +12,10 @@ import budgetbuddy.logic.parser.exceptions.ParseException;
  */
 public class CommandLineParser {
     /**
-     * Used for initial separation of command word and args.
+     * Contains the command names, in lower case, mapped to their parsers.
+     * Two-word commands like <code>account edit</code> are keyed by both words and the whitespace between them.
      */
-    private static final Pattern ONEWORD_REGEX = Pattern.compile("(?<commandWord>\\S+)(?<arguments>.*)");
-
-    /**
-     * Used for two-word commands like <code>account edit</code>.
-     */
-    private static final Pattern TWOWORD_REGEX = Pattern.compile("(?<commandWord>\\S+\\s\\S+)(?<arguments>.*)");
-
-    /**
-     * Contains a map of command names to parsers.
-     */
-    private final HashMap<String, CommandParser> commandParsers;
+    private final CharTrie<CommandParser> commandParsers;
 
     /**
      * Creates a command line parser. Commands are found by searching for
@@ -39,6 +27,8 @@ public class CommandLineParser {
 
     /**
      * Parses user input into command for execution.
+     * The command word is the first word of the input, or the first two words if they name a command.
+     * Everything after the command word is passed to its parser as arguments.
      *
      * @param rawUserInput full user input string
      * @return the command based on the user input
@@ -46,43 +36,80 @@ public class CommandLineParser {
      */
     public Command parseCommand(String rawUserInput) throws ParseException {
         final String userInput = rawUserInput.trim();
-        CommandParser parser = null;
+        final int firstWordEnd = skipWord(userInput, 0);
+        if (firstWordEnd == 0 || hasLineTerminator(userInput, firstWordEnd)) {
+            throw new ParseException(
+                    String.format(Messages.MESSAGE_INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE));
+        }
 
-        Matcher matcher = TWOWORD_REGEX.matcher(userInput);
-        if (matcher.matches()) {
-            parser = commandParsers.get(matcher.group("commandWord").toLowerCase());
+        // the words of a two-word command are separated by exactly one whitespace character
+        int commandWordEnd = firstWordEnd;
+        CommandParser parser = null;
+        if (firstWordEnd < userInput.length()) {
+            int secondWordEnd = skipWord(userInput, firstWordEnd + 1);
+            if (secondWordEnd > firstWordEnd + 1) {
+                parser = commandParsers.getIgnoreCase(userInput, 0, secondWordEnd);
+                commandWordEnd = secondWordEnd;
+            }
         }
 
         if (parser == null) {
-            matcher = ONEWORD_REGEX.matcher(userInput);
-            if (!matcher.matches()) {
-                throw new ParseException(
-                        String.format(Messages.MESSAGE_INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE));
-            }
-            parser = commandParsers.get(matcher.group("commandWord").toLowerCase());
+            parser = commandParsers.getIgnoreCase(userInput, 0, firstWordEnd);
+            commandWordEnd = firstWordEnd;
         }
 
         if (parser == null) {
             throw new ParseException(Messages.MESSAGE_UNKNOWN_COMMAND);
         }
 
-        final String arguments = matcher.group("arguments");
+        final String arguments = userInput.substring(commandWordEnd);
         return parser.parse(arguments);
     }
 
+    /**
+     * Returns the index just past the run of non-whitespace characters in {@code input} starting at {@code from}.
+     */
+    private static int skipWord(String input, int from) {
+        int end = from;
+        while (end < input.length() && !isWhitespace(input.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Returns true if {@code c} separates words, as the regular expression class {@code \s} does.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Returns true if {@code input} has a line break from {@code from} onwards.
+     * Commands are given on a single line.
+     */
+    private static boolean hasLineTerminator(String input, int from) {
+        for (int i = from; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Loads all command parsers reachable from the system class loader.
      *
-     * @return A map of command names to parsers
+     * @return A trie of command names to parsers
      */
-    private static HashMap<String, CommandParser> loadParsers() {
-        HashMap<String, CommandParser> ret = new HashMap<>();
+    private static CharTrie<CommandParser> loadParsers() {
+        CharTrie<CommandParser> ret = new CharTrie<>();
         for (CommandParser parser : ServiceLoader.load(CommandParser.class, null)) {
             String name = parser.name().toLowerCase();
-            if (ret.containsKey(name)) {
+            if (ret.putIfAbsent(name, parser) != null) {
                 throw new IllegalArgumentException("Duplicate command name.");
             }
-            ret.put(name, parser);
         }
         return ret;
     }
@@ -23,6 +23,7 @@ import java.util.regex.Matcher;
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.commons.util.StringUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.formula.FormulaCompiler;
 import budgetbuddy.model.attributes.Amount;
 import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.attributes.Description;
@@ -35,6 +36,8 @@ import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Operator;
 import budgetbuddy.model.rule.expression.PredicateExpression;
 import budgetbuddy.model.rule.expression.Value;
+import budgetbuddy.model.rule.formula.ActionFormula;
+import budgetbuddy.model.rule.formula.PredicateFormula;
 import budgetbuddy.model.rule.script.ActionScript;
 import budgetbuddy.model.rule.script.PredicateScript;
 import budgetbuddy.model.script.ScriptName;
@@ -47,6 +50,8 @@ public class CommandParserUtil {
 
     public static final String MESSAGE_INVALID_INDEX = "Index should be a positive integer.";
     public static final String MESSAGE_INVALID_DATE = "Date should be in the form of dd/mm/yyyy.";
+    public static final String MESSAGE_INVALID_COUNT = "Count should be a positive integer.";
+    public static final String FORMULA_PREFIX = "=";
 
     /**
      * Parses {@code oneBasedIndex} into an {@code Index} and returns it.
@@ -62,6 +67,20 @@ public class CommandParserUtil {
         return Index.fromOneBased(Integer.parseInt(trimmedIndex));
     }
 
+    /**
+     * Parses {@code count} into a positive {@code int} and returns it.
+     * Leading and trailing whitespaces will be trimmed.
+     *
+     * @throws ParseException if the given count is invalid (not non-zero unsigned integer).
+     */
+    public static int parseCount(String count) throws ParseException {
+        String trimmedCount = count.trim();
+        if (!StringUtil.isNonZeroUnsignedInteger(trimmedCount)) {
+            throw new ParseException(MESSAGE_INVALID_COUNT);
+        }
+        return Integer.parseInt(trimmedCount);
+    }
+
     /**
      * Parses a {@code String name} into a {@code Name}.
      * Leading and trailing whitespaces will be trimmed.
@@ -284,6 +303,34 @@ public class CommandParserUtil {
         return new ActionExpression(operator, value);
     }
 
+    /**
+     * Parses a {@code String formula} into a {@code PredicateFormula}, compiling it to check that it is valid.
+     * Leading and trailing whitespaces will be trimmed.
+     *
+     * @throws ParseException if the given {@code formula} is invalid.
+     */
+    public static PredicateFormula parsePredicateFormula(String formula) throws ParseException {
+        requireNonNull(formula);
+        String trimmedFormula = formula.trim();
+
+        FormulaCompiler.compilePredicate(trimmedFormula);
+        return new PredicateFormula(trimmedFormula);
+    }
+
+    /**
+     * Parses a {@code String formula} into an {@code ActionFormula}, compiling it to check that it is valid.
+     * Leading and trailing whitespaces will be trimmed.
+     *
+     * @throws ParseException if the given {@code formula} is invalid.
+     */
+    public static ActionFormula parseActionFormula(String formula) throws ParseException {
+        requireNonNull(formula);
+        String trimmedFormula = formula.trim();
+
+        FormulaCompiler.compileAction(trimmedFormula);
+        return new ActionFormula(trimmedFormula);
+    }
+
     /**
      * Parses a {@code String script} into a {@code PredicateScript}.
      * Leading and trailing whitespaces will be trimmed.
@@ -314,6 +361,7 @@ public class CommandParserUtil {
 
     /**
      * Parses a {@code String predicate} into a {@code RulePredicate}.
+     * A predicate starting with {@code FORMULA_PREFIX} is parsed as a formula.
      * Leading and trailing whitespaces will be trimmed.
      *
      * @throws ParseException if the given {@code predicate} is invalid.
@@ -325,7 +373,9 @@ public class CommandParserUtil {
             throw new ParseException(RulePredicate.MESSAGE_CONSTRAINTS);
         }
 
-        if (trimmedPred.contains(" ")) {
+        if (trimmedPred.startsWith(FORMULA_PREFIX)) {
+            return parsePredicateFormula(trimmedPred.substring(FORMULA_PREFIX.length()));
+        } else if (trimmedPred.contains(" ")) {
             return parsePredicateExpr(trimmedPred);
         } else {
             return parsePredicateScript(trimmedPred);
@@ -334,6 +384,7 @@ public class CommandParserUtil {
 
     /**
      * Parses a {@code String action} into a {@code RuleAction}.
+     * A action starting with {@code FORMULA_PREFIX} is parsed as a formula.
      * Leading and trailing whitespaces will be trimmed.
      *
      * @throws ParseException if the given {@code action} is invalid.
@@ -345,7 +396,9 @@ public class CommandParserUtil {
             throw new ParseException(RuleAction.MESSAGE_CONSTRAINTS);
         }
 
-        if (action.contains(" ") || Operator.isValidOperator(trimmedAct)) {
+        if (trimmedAct.startsWith(FORMULA_PREFIX)) {
+            return parseActionFormula(trimmedAct.substring(FORMULA_PREFIX.length()));
+        } else if (action.contains(" ") || Operator.isValidOperator(trimmedAct)) {
             return parseActionExpr(trimmedAct);
         } else {
             return parseActionScript(trimmedAct);
@@ -0,0 +1,54 @@
+package budgetbuddy.logic.parser.commandparsers.loancommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.commands.loancommands.LoanScheduleCommand;
+import budgetbuddy.logic.parser.ArgumentMultimap;
+import budgetbuddy.logic.parser.ArgumentTokenizer;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new LoanScheduleCommand object.
+ */
+public class LoanScheduleCommandParser implements CommandParser<LoanScheduleCommand> {
+    @Override
+    public String name() {
+        return LoanScheduleCommand.COMMAND_WORD;
+    }
+
+    @Override
+    public LoanScheduleCommand parse(String args) throws ParseException {
+        requireNonNull(args);
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_FROM, PREFIX_UNTIL);
+
+        if (argMultimap.getValueCount(PREFIX_FROM) > 1
+                || argMultimap.getValueCount(PREFIX_UNTIL) > 1
+                || argMultimap.getPreamble().isBlank()
+                || argMultimap.getPreamble().split("\\s+").length != 1) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, LoanScheduleCommand.MESSAGE_USAGE));
+        }
+
+        Index loanIndex = CommandParserUtil.parseIndex(argMultimap.getPreamble());
+        LocalDate from = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? CommandParserUtil.parseDate(argMultimap.getValue(PREFIX_FROM).get())
+                : LocalDate.now();
+        LocalDate until = argMultimap.getValue(PREFIX_UNTIL).isPresent()
+                ? CommandParserUtil.parseDate(argMultimap.getValue(PREFIX_UNTIL).get())
+                : from.plusYears(1);
+
+        if (from.isAfter(until)) {
+            throw new ParseException(LoanScheduleCommand.MESSAGE_INVALID_RANGE);
+        }
+
+        return new LoanScheduleCommand(loanIndex, from, until);
+    }
+}
@@ -0,0 +1,20 @@
+package budgetbuddy.logic.parser.commandparsers.loancommandparsers;
+
+import budgetbuddy.logic.commands.loancommands.LoanSettleCommand;
+import budgetbuddy.logic.parser.CommandParser;
+
+/**
+ * Parses input arguments and creates a new LoanSettleCommand object.
+ */
+public class LoanSettleCommandParser implements CommandParser<LoanSettleCommand> {
+
+    @Override
+    public String name() {
+        return LoanSettleCommand.COMMAND_WORD;
+    }
+
+    @Override
+    public LoanSettleCommand parse(String args) {
+        return new LoanSettleCommand();
+    }
+}
@@ -0,0 +1,80 @@
+package budgetbuddy.logic.parser.commandparsers.rulecommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DRY_RUN;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.commands.rulecommands.RuleApplyCommand;
+import budgetbuddy.logic.parser.ArgumentMultimap;
+import budgetbuddy.logic.parser.ArgumentTokenizer;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.model.attributes.Name;
+
+/**
+ * Parses input arguments and creates a new RuleApplyCommand object.
+ */
+public class RuleApplyCommandParser implements CommandParser<RuleApplyCommand> {
+    @Override
+    public String name() {
+        return RuleApplyCommand.COMMAND_WORD;
+    }
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the RuleApplyCommand
+     * and returns an RuleApplyCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    @Override
+    public RuleApplyCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap =
+                ArgumentTokenizer.tokenize(args, PREFIX_ACCOUNT, PREFIX_FROM, PREFIX_UNTIL, PREFIX_DRY_RUN);
+
+        if (argMultimap.getValueCount(PREFIX_ACCOUNT) > 1
+                || argMultimap.getValueCount(PREFIX_FROM) > 1
+                || argMultimap.getValueCount(PREFIX_UNTIL) > 1
+                || argMultimap.getValueCount(PREFIX_DRY_RUN) > 1
+                || !argMultimap.getValue(PREFIX_DRY_RUN).orElse("").isEmpty()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, RuleApplyCommand.MESSAGE_USAGE));
+        }
+
+        List<Index> ruleIndices = new ArrayList<>();
+        String preamble = argMultimap.getPreamble().trim();
+        if (!preamble.isEmpty()) {
+            for (String ruleIndex : preamble.split("\\s+")) {
+                Index index = CommandParserUtil.parseIndex(ruleIndex);
+                if (!ruleIndices.contains(index)) {
+                    ruleIndices.add(index);
+                }
+            }
+        }
+
+        Optional<Name> accountName = argMultimap.getValue(PREFIX_ACCOUNT).isPresent()
+                ? Optional.of(CommandParserUtil.parseAccountName(argMultimap.getValue(PREFIX_ACCOUNT).get()))
+                : Optional.empty();
+
+        Optional<LocalDate> from = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? Optional.of(CommandParserUtil.parseDate(argMultimap.getValue(PREFIX_FROM).get()))
+                : Optional.empty();
+
+        Optional<LocalDate> until = argMultimap.getValue(PREFIX_UNTIL).isPresent()
+                ? Optional.of(CommandParserUtil.parseDate(argMultimap.getValue(PREFIX_UNTIL).get()))
+                : Optional.empty();
+
+        if (from.isPresent() && until.isPresent() && from.get().isAfter(until.get())) {
+            throw new ParseException("The start date of the range cannot be after the end date.");
+        }
+
+        boolean isDryRun = argMultimap.getValue(PREFIX_DRY_RUN).isPresent();
+        return new RuleApplyCommand(ruleIndices, accountName, from, until, isDryRun);
+    }
+}
@@ -0,0 +1,30 @@
+package budgetbuddy.logic.parser.commandparsers.rulecommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import budgetbuddy.logic.commands.rulecommands.RuleStatsCommand;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new RuleStatsCommand object.
+ */
+public class RuleStatsCommandParser implements CommandParser<RuleStatsCommand> {
+    @Override
+    public String name() {
+        return RuleStatsCommand.COMMAND_WORD;
+    }
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the RuleStatsCommand
+     * and returns a RuleStatsCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    @Override
+    public RuleStatsCommand parse(String args) throws ParseException {
+        if (!args.trim().isEmpty()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, RuleStatsCommand.MESSAGE_USAGE));
+        }
+        return new RuleStatsCommand();
+    }
+}
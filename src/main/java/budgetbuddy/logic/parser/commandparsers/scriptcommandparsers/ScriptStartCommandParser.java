@@ -0,0 +1,30 @@
+package budgetbuddy.logic.parser.commandparsers.scriptcommandparsers;
+
+import budgetbuddy.logic.commands.scriptcommands.ScriptStartCommand;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.model.script.ScriptName;
+
+/**
+ * Parses input arguments and creates a new {@link ScriptStartCommand}.
+ */
+public class ScriptStartCommandParser implements CommandParser<ScriptStartCommand> {
+    @Override
+    public String name() {
+        return ScriptStartCommand.COMMAND_WORD;
+    }
+
+    @Override
+    public ScriptStartCommand parse(String userInput) throws ParseException {
+        if (userInput == null || userInput.isBlank()) {
+            throw new ParseException(ScriptStartCommand.MESSAGE_USAGE);
+        }
+
+        String[] nameArgs = userInput.stripLeading().split(" ", 2);
+        ScriptName name = CommandParserUtil.parseScriptName(nameArgs[0]);
+        String arguments = nameArgs.length >= 2 ? nameArgs[1] : "";
+
+        return new ScriptStartCommand(name, arguments);
+    }
+}
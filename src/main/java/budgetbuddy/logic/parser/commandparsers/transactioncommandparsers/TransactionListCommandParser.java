@@ -5,6 +5,8 @@ import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_PAGE;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_PAGE_SIZE;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_SORT;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
 
@@ -44,8 +46,44 @@ public class TransactionListCommandParser implements CommandParser {
     public TransactionListCommand parse(String args) throws ParseException {
         ArgumentMultimap argMultimap =
                 ArgumentTokenizer.tokenize(args, PREFIX_CATEGORY, PREFIX_FROM, PREFIX_UNTIL,
-                        PREFIX_AMOUNT_FROM, PREFIX_AMOUNT_UNTIL, PREFIX_DESCRIPTION, PREFIX_SORT);
+                        PREFIX_AMOUNT_FROM, PREFIX_AMOUNT_UNTIL, PREFIX_DESCRIPTION, PREFIX_SORT,
+                        PREFIX_PAGE, PREFIX_PAGE_SIZE);
 
+        Optional<Comparator<Transaction>> optionalTransactionComparator = parseComparator(argMultimap);
+
+        if (argMultimap.getValue(PREFIX_PAGE).isEmpty() && argMultimap.getValue(PREFIX_PAGE_SIZE).isEmpty()) {
+            return new TransactionListCommand(parseConditions(argMultimap), optionalTransactionComparator);
+        }
+
+        int page = argMultimap.getValue(PREFIX_PAGE).isPresent()
+                ? CommandParserUtil.parseCount(argMultimap.getValue(PREFIX_PAGE).get())
+                : 1;
+        int pageSize = argMultimap.getValue(PREFIX_PAGE_SIZE).isPresent()
+                ? CommandParserUtil.parseCount(argMultimap.getValue(PREFIX_PAGE_SIZE).get())
+                : TransactionListCommand.DEFAULT_PAGE_SIZE;
+
+        return new TransactionListCommand(parseConditions(argMultimap), optionalTransactionComparator,
+                page, pageSize);
+    }
+
+    /**
+     * Parses the sort argument in {@code argMultimap}, if any, into a transaction comparator.
+     * @throws ParseException if the sort argument is not a valid sort style
+     */
+    static Optional<Comparator<Transaction>> parseComparator(ArgumentMultimap argMultimap) throws ParseException {
+        Optional<String> optionalComparatorString = argMultimap.getValue(PREFIX_SORT);
+        return optionalComparatorString.isPresent()
+                ? Optional.of(CommandParserUtil.parseTransactionComparator(optionalComparatorString.get()))
+                : Optional.empty();
+    }
+
+    /**
+     * Parses the filtering arguments in {@code argMultimap} into a predicate on transactions.
+     * Arguments that are not present do not restrict the transactions matched.
+     * @throws ParseException if any filtering argument does not conform to the expected format
+     */
+    static TransactionMatchesConditionsPredicate parseConditions(ArgumentMultimap argMultimap)
+            throws ParseException {
         //if arguments are not present, return empty Optionals
         List<String> categoriesList = argMultimap.getAllValues(PREFIX_CATEGORY);
         List<Category> categoryList = new ArrayList<>();
@@ -83,12 +121,6 @@ public class TransactionListCommandParser implements CommandParser {
                         ? Optional.of(CommandParserUtil.parseDescription(optionalDescriptionString.get()))
                         : Optional.empty();
 
-        Optional<String> optionalComparatorString = argMultimap.getValue(PREFIX_SORT);
-        Optional<Comparator<Transaction>> optionalTransactionComparator =
-                argMultimap.getValue(PREFIX_SORT).isPresent()
-                        ? Optional.of(CommandParserUtil.parseTransactionComparator(optionalComparatorString.get()))
-                        : Optional.empty();
-
         if (optionalFrom.isPresent() && optionalUntil.isPresent()) {
             if (optionalFrom.get().isAfter(optionalUntil.get())) {
                 throw new ParseException("The start date of the range cannot be after the end date.");
@@ -101,8 +133,7 @@ public class TransactionListCommandParser implements CommandParser {
             }
         }
 
-        return new TransactionListCommand(new TransactionMatchesConditionsPredicate(categoryList,
-                optionalFrom, optionalUntil, optionalFromAmount, optionalUntilAmount, optionalDescription),
-                optionalTransactionComparator);
+        return new TransactionMatchesConditionsPredicate(categoryList,
+                optionalFrom, optionalUntil, optionalFromAmount, optionalUntilAmount, optionalDescription);
     }
 }
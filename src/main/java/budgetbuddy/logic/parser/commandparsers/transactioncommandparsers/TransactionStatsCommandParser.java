@@ -0,0 +1,63 @@
+package budgetbuddy.logic.parser.commandparsers.transactioncommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DIRECTION;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import budgetbuddy.logic.commands.transactioncommands.TransactionStatsCommand;
+import budgetbuddy.logic.parser.ArgumentMultimap;
+import budgetbuddy.logic.parser.ArgumentTokenizer;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+
+/**
+ * Parses the <code>transaction stats</code> command.
+ */
+public class TransactionStatsCommandParser implements CommandParser<TransactionStatsCommand> {
+    @Override
+    public String name() {
+        return TransactionStatsCommand.COMMAND_WORD;
+    }
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the TransactionStatsCommand
+     * and returns a TransactionStatsCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    @Override
+    public TransactionStatsCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap =
+                ArgumentTokenizer.tokenize(args, PREFIX_ACCOUNT, PREFIX_DIRECTION, PREFIX_CATEGORY);
+
+        if (!argMultimap.getPreamble().isEmpty()
+                || argMultimap.getValueCount(PREFIX_DIRECTION) > 1
+                || argMultimap.getValueCount(PREFIX_CATEGORY) > 1) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, TransactionStatsCommand.MESSAGE_USAGE));
+        }
+
+        List<Name> accountNames = new ArrayList<>();
+        for (String accountName : argMultimap.getAllValues(PREFIX_ACCOUNT)) {
+            accountNames.add(CommandParserUtil.parseAccountName(accountName));
+        }
+
+        Optional<Direction> direction = argMultimap.getValue(PREFIX_DIRECTION).isPresent()
+                ? Optional.of(CommandParserUtil.parseDirection(argMultimap.getValue(PREFIX_DIRECTION).get()))
+                : Optional.empty();
+
+        Optional<Category> category = argMultimap.getValue(PREFIX_CATEGORY).isPresent()
+                ? Optional.of(CommandParserUtil.parseCategory(argMultimap.getValue(PREFIX_CATEGORY).get()))
+                : Optional.empty();
+
+        return new TransactionStatsCommand(accountNames, direction, category);
+    }
+}
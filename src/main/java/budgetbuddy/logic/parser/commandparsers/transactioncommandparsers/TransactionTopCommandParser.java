@@ -0,0 +1,49 @@
+package budgetbuddy.logic.parser.commandparsers.transactioncommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_COUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_SORT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import budgetbuddy.logic.commands.transactioncommands.TransactionTopCommand;
+import budgetbuddy.logic.parser.ArgumentMultimap;
+import budgetbuddy.logic.parser.ArgumentTokenizer;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses the <code>transaction top</code> command.
+ */
+public class TransactionTopCommandParser implements CommandParser<TransactionTopCommand> {
+    @Override
+    public String name() {
+        return TransactionTopCommand.COMMAND_WORD;
+    }
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the TransactionTopCommand
+     * and returns a TransactionTopCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    @Override
+    public TransactionTopCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap =
+                ArgumentTokenizer.tokenize(args, PREFIX_COUNT, PREFIX_CATEGORY, PREFIX_FROM, PREFIX_UNTIL,
+                        PREFIX_AMOUNT_FROM, PREFIX_AMOUNT_UNTIL, PREFIX_DESCRIPTION, PREFIX_SORT);
+
+        if (argMultimap.getValue(PREFIX_COUNT).isEmpty()) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, TransactionTopCommand.MESSAGE_USAGE));
+        }
+
+        int count = CommandParserUtil.parseCount(argMultimap.getValue(PREFIX_COUNT).get());
+        return new TransactionTopCommand(TransactionListCommandParser.parseConditions(argMultimap),
+                TransactionListCommandParser.parseComparator(argMultimap), count);
+    }
+}
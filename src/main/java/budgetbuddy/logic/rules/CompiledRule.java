@@ -0,0 +1,84 @@
+package budgetbuddy.logic.rules;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import budgetbuddy.logic.rules.performable.Performable;
+import budgetbuddy.logic.rules.testable.Testable;
+import budgetbuddy.logic.rules.testable.TestableFormula;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.rule.expression.PredicateExpression;
+
+/**
+ * Represents a rule whose predicate and action have been turned into a ready-to-run
+ * {@code Testable} and {@code Performable}.
+ */
+public class CompiledRule {
+    private final Rule rule;
+    private final Testable testable;
+    private final Performable performable;
+    private final RuleProfile profile;
+    private final Set<Attribute> inputs;
+    private final boolean readsOtherInputs;
+
+    /**
+     * Constructs a CompiledRule from a rule, its compiled predicate and action,
+     * and the profile its executions are recorded in.
+     */
+    public CompiledRule(Rule rule, Testable testable, Performable performable, RuleProfile profile) {
+        requireAllNonNull(rule, testable, performable, profile);
+        this.rule = rule;
+        this.testable = testable;
+        this.performable = performable;
+        this.profile = profile;
+        String predicateType = rule.getPredicate().getType();
+        if (predicateType.equals(Rule.TYPE_EXPRESSION)) {
+            this.inputs = Collections.unmodifiableSet(
+                    EnumSet.of(((PredicateExpression) rule.getPredicate()).getAttribute()));
+            this.readsOtherInputs = false;
+        } else if (predicateType.equals(Rule.TYPE_FORMULA) && testable instanceof TestableFormula) {
+            this.inputs = ((TestableFormula) testable).getInputs();
+            this.readsOtherInputs = ((TestableFormula) testable).readsCategories();
+        } else {
+            this.inputs = Collections.unmodifiableSet(EnumSet.allOf(Attribute.class));
+            this.readsOtherInputs = true;
+        }
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public Testable getTestable() {
+        return testable;
+    }
+
+    public Performable getPerformable() {
+        return performable;
+    }
+
+    public RuleProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Returns the transaction attributes that the rule's predicate reads.
+     * A script predicate may read any part of a transaction, so it is taken to read every attribute,
+     * while a formula predicate reads the attributes named in it.
+     */
+    public Set<Attribute> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns true if the rule's predicate may read parts of a transaction that are not attributes,
+     * such as its categories, which is the case for every script and for formulas that test categories.
+     */
+    public boolean readsOtherInputs() {
+        return readsOtherInputs;
+    }
+}
@@ -0,0 +1,90 @@
+package budgetbuddy.logic.rules;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * Represents the outcome of applying rules to many existing transactions,
+ * counting for each rule how many transactions it matched and keeping a few of them as samples.
+ */
+public class RuleApplicationReport {
+    public static final int MAX_SAMPLES = 3;
+
+    private final boolean isDryRun;
+    private final int[] matchCounts;
+    private final List<List<Transaction>> samples;
+    private int scannedCount = 0;
+    private int editedCount = 0;
+
+    /**
+     * Constructs an empty report for a rule network with {@code ruleCount} rules.
+     */
+    RuleApplicationReport(int ruleCount, boolean isDryRun) {
+        this.isDryRun = isDryRun;
+        this.matchCounts = new int[ruleCount];
+        this.samples = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            samples.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Records that the rules at the positions in {@code matchedRules} matched {@code txn}.
+     */
+    void recordMatches(BitSet matchedRules, Transaction txn) {
+        for (int i = matchedRules.nextSetBit(0); i >= 0; i = matchedRules.nextSetBit(i + 1)) {
+            matchCounts[i]++;
+            if (samples.get(i).size() < MAX_SAMPLES) {
+                samples.get(i).add(txn);
+            }
+        }
+    }
+
+    void addScanned(int count) {
+        scannedCount += count;
+    }
+
+    void addEdited(int count) {
+        editedCount += count;
+    }
+
+    /**
+     * Returns true if the rules were only tested, and no transaction was changed.
+     */
+    public boolean isDryRun() {
+        return isDryRun;
+    }
+
+    /**
+     * Returns the number of transactions matched by the rule at {@code position} in rule order.
+     */
+    public int getMatchCount(int position) {
+        return matchCounts[position];
+    }
+
+    /**
+     * Returns up to {@link #MAX_SAMPLES} of the transactions matched by the rule at {@code position} in rule order,
+     * as they were before any rule was applied.
+     */
+    public List<Transaction> getSamples(int position) {
+        return Collections.unmodifiableList(samples.get(position));
+    }
+
+    /**
+     * Returns the number of transactions the rules were applied to.
+     */
+    public int getScannedCount() {
+        return scannedCount;
+    }
+
+    /**
+     * Returns the number of transactions changed by the rules' actions.
+     */
+    public int getEditedCount() {
+        return editedCount;
+    }
+}
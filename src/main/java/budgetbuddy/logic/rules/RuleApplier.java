@@ -0,0 +1,234 @@
+package budgetbuddy.logic.rules;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.rules.index.RuleIndex;
+import budgetbuddy.logic.rules.performable.PerformableScript;
+import budgetbuddy.logic.rules.testable.TestableScript;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+/**
+ * Applies rules to transactions already in accounts, rather than only to newly added transactions.
+ * <p>
+ * Candidate rules for every transaction are first found from the rule index in parallel, since the index is
+ * read-only once compiled. Only transactions with candidates are then run through the rules, one transaction
+ * at a time and in rule order, because actions are not safe to run concurrently.
+ * Rules are run on a scratch copy of the account, and the edits are finally written back to the account
+ * in a single batched update. If any rule in scope has a script predicate or action, the rules are instead run on
+ * the account itself: the scratch account only holds the candidate transactions, so a script reading the account
+ * would see it differently, and script actions can also reach the account through the model.
+ * A dry run performs no actions, so its predicates are tested in parallel, with script predicates spread over
+ * the script engine's pooled contexts.
+ */
+public class RuleApplier {
+
+    /**
+     * Is a private constructor for a static-only class.
+     */
+    private RuleApplier() {}
+
+    /**
+     * Applies the rules of {@code model} to the transactions in {@code accounts} that match {@code txnScope}.
+     * The rules are compiled through {@code ruleNetworkCache}, in which their executions are also recorded.
+     *
+     * @param ruleScope the positions of the only rules to apply, or null to apply every rule.
+     * @param isDryRun if true, the rules are only tested against the transactions as they are now,
+     *                 and no actions are performed.
+     * @return a report of how many transactions each rule matched.
+     */
+    public static RuleApplicationReport apply(Model model, ScriptEngine scriptEngine,
+                                              RuleNetworkCache ruleNetworkCache, List<Account> accounts,
+                                              Predicate<Transaction> txnScope, BitSet ruleScope, boolean isDryRun) {
+        requireAllNonNull(model, model.getRuleManager(), model.getScriptLibrary(), scriptEngine, ruleNetworkCache,
+                accounts, txnScope);
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+
+        RuleApplicationReport report = new RuleApplicationReport(network.getCompiledRules().size(), isDryRun);
+        for (Account account : accounts) {
+            applyToAccount(network, model, account, txnScope, ruleScope, report);
+        }
+        return report;
+    }
+
+    private static void applyToAccount(RuleNetwork network, Model model, Account account,
+                                       Predicate<Transaction> txnScope, BitSet ruleScope,
+                                       RuleApplicationReport report) {
+        List<Transaction> txns = account.getTransactionList().asUnmodifiableObservableList();
+        List<BitSet> candidates = findCandidates(network.getRuleIndex(), txns, txnScope, ruleScope);
+
+        List<Integer> positions = new ArrayList<>();
+        List<Transaction> originals = new ArrayList<>();
+        for (int i = 0; i < txns.size(); i++) {
+            if (candidates.get(i) == null) {
+                continue;
+            }
+            report.addScanned(1);
+            if (!candidates.get(i).isEmpty()) {
+                positions.add(i);
+                originals.add(txns.get(i));
+            } else {
+                RuleEngine.recordIndexRejections(network, candidates.get(i), ruleScope, 0,
+                        network.getCompiledRules().size());
+            }
+        }
+
+        if (report.isDryRun()) {
+            List<BitSet> matches = IntStream.range(0, positions.size())
+                    .parallel()
+                    .mapToObj(k -> testRules(network, originals.get(k), account, candidates.get(positions.get(k)),
+                            ruleScope))
+                    .collect(Collectors.toList());
+            for (int k = 0; k < positions.size(); k++) {
+                report.recordMatches(matches.get(k), originals.get(k));
+            }
+            return;
+        }
+
+        if (hasScript(network, ruleScope)) {
+            applyToAccountInPlace(network, model, account, positions, originals, candidates, ruleScope, report);
+            return;
+        }
+
+        // actions edit the scratch account, so the real account is only changed once all rules have run
+        TransactionList scratchList = new TransactionList();
+        scratchList.setAll(originals);
+        Account scratchAccount = new Account(account.getName(), account.getDescription(), scratchList,
+                account.getBalance());
+
+        Map<Index, Transaction> editedTxns = new HashMap<>();
+        for (int k = 0; k < positions.size(); k++) {
+            Index scratchIndex = Index.fromZeroBased(k);
+            Transaction original = originals.get(k);
+            BitSet txnCandidates = candidates.get(positions.get(k));
+
+            BitSet fired = RuleEngine.fireRules(network, model, scratchIndex, scratchAccount, txnCandidates,
+                    ruleScope);
+            report.recordMatches(fired, original);
+            Transaction applied = scratchAccount.getTransaction(scratchIndex);
+            if (!applied.equals(original)) {
+                editedTxns.put(Index.fromZeroBased(positions.get(k)), applied);
+            }
+        }
+
+        account.updateTransactions(editedTxns);
+        report.addEdited(editedTxns.size());
+    }
+
+    /**
+     * Runs the rules against the transactions {@code originals}, found at {@code positions} before any rule ran,
+     * directly on {@code account}. Each transaction is looked up again before its rules run, as earlier actions
+     * may have added, edited or deleted transactions, and is skipped if it has since been edited or deleted.
+     */
+    private static void applyToAccountInPlace(RuleNetwork network, Model model, Account account,
+                                              List<Integer> positions, List<Transaction> originals,
+                                              List<BitSet> candidates, BitSet ruleScope,
+                                              RuleApplicationReport report) {
+        List<Transaction> txns = account.getTransactionList().asUnmodifiableObservableList();
+        int editedCount = 0;
+        for (int k = 0; k < positions.size(); k++) {
+            Transaction original = originals.get(k);
+            int position = findTransaction(txns, original, positions.get(k));
+            if (position < 0) {
+                continue;
+            }
+
+            BitSet fired = RuleEngine.fireRules(network, model, Index.fromZeroBased(position), account,
+                    candidates.get(positions.get(k)), ruleScope);
+            report.recordMatches(fired, original);
+            if (position >= txns.size() || !txns.get(position).equals(original)) {
+                editedCount++;
+            }
+        }
+        report.addEdited(editedCount);
+    }
+
+    /**
+     * Returns the position of {@code txn} itself in {@code txns}, looking first at {@code expectedPosition},
+     * or -1 if it is not there.
+     */
+    private static int findTransaction(List<Transaction> txns, Transaction txn, int expectedPosition) {
+        if (expectedPosition < txns.size() && txns.get(expectedPosition) == txn) {
+            return expectedPosition;
+        }
+        for (int i = 0; i < txns.size(); i++) {
+            if (txns.get(i) == txn) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if any rule of {@code network} in {@code ruleScope} has a script predicate or a script action.
+     *
+     * @param ruleScope the positions of the rules to check, or null to check every rule.
+     */
+    private static boolean hasScript(RuleNetwork network, BitSet ruleScope) {
+        List<CompiledRule> compiledRules = network.getCompiledRules();
+        for (int i = 0; i < compiledRules.size(); i++) {
+            CompiledRule compiledRule = compiledRules.get(i);
+            if ((ruleScope == null || ruleScope.get(i))
+                    && (compiledRule.getTestable() instanceof TestableScript
+                    || compiledRule.getPerformable() instanceof PerformableScript)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns, for each transaction, the positions of the in-scope rules that may hold for it,
+     * or null if the transaction is out of scope.
+     */
+    private static List<BitSet> findCandidates(RuleIndex ruleIndex, List<Transaction> txns,
+                                               Predicate<Transaction> txnScope, BitSet ruleScope) {
+        return IntStream.range(0, txns.size())
+                .parallel()
+                .mapToObj(i -> {
+                    Transaction txn = txns.get(i);
+                    if (!txnScope.test(txn)) {
+                        return null;
+                    }
+                    BitSet txnCandidates = ruleIndex.match(txn);
+                    if (ruleScope != null) {
+                        txnCandidates.and(ruleScope);
+                    }
+                    return txnCandidates;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the positions of the rules among {@code candidates} whose predicates hold for a transaction,
+     * without performing any of their actions.
+     *
+     * @param ruleScope the positions of the rules checked against the transaction, or null if every rule is.
+     */
+    private static BitSet testRules(RuleNetwork network, Transaction txn, Account account, BitSet candidates,
+                                    BitSet ruleScope) {
+        RuleIndex ruleIndex = network.getRuleIndex();
+        RuleEngine.recordIndexRejections(network, candidates, ruleScope, 0, network.getCompiledRules().size());
+        BitSet matched = (BitSet) candidates.clone();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (!RuleEngine.testRule(network.getCompiledRules().get(i), ruleIndex.isIndexed(i), txn, account)) {
+                matched.clear(i);
+            }
+        }
+        return matched;
+    }
+}
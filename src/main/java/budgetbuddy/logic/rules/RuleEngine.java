@@ -2,13 +2,22 @@ package budgetbuddy.logic.rules;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.logging.Logger;
 
+import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.formula.FormulaCompiler;
+import budgetbuddy.logic.rules.index.RuleIndex;
 import budgetbuddy.logic.rules.performable.AppendDescriptionExpression;
 import budgetbuddy.logic.rules.performable.Performable;
 import budgetbuddy.logic.rules.performable.PerformableExpression;
@@ -43,11 +52,13 @@ import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Operator;
 import budgetbuddy.model.rule.expression.PredicateExpression;
 import budgetbuddy.model.rule.expression.Value;
+import budgetbuddy.model.rule.formula.ActionFormula;
+import budgetbuddy.model.rule.formula.PredicateFormula;
 import budgetbuddy.model.rule.script.ActionScript;
 import budgetbuddy.model.rule.script.PredicateScript;
 import budgetbuddy.model.script.ScriptName;
 import budgetbuddy.model.transaction.Transaction;
-import javafx.collections.ObservableList;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents the Rule Engine that handles the creation and processing of rules.
@@ -85,6 +96,8 @@ public class RuleEngine {
         performableMap.put(Operator.SWITCH_DIRECTION, SwitchDirectionExpression::new);
     }
 
+    private static final Logger logger = LogsCenter.getLogger(RuleEngine.class);
+
     /**
      * Is a private constructor for a static-only class.
      */
@@ -93,18 +106,178 @@ public class RuleEngine {
     /**
      * Runs all rules against a transaction, given a valid index and account.
      */
-    public static void executeRules(Model model, ScriptEngine scriptEngine, Index txnIndex, Account account) {
-        requireAllNonNull(model, model.getRuleManager(), model.getScriptLibrary(), scriptEngine, txnIndex, account);
-        ScriptLibrary scriptLibrary = model.getScriptLibrary();
-        ObservableList<Rule> rules = model.getRuleManager().getRules();
+    public static void executeRules(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache,
+                                    Index txnIndex, Account account) {
+        requireAllNonNull(model, model.getRuleManager(), model.getScriptLibrary(), scriptEngine, ruleNetworkCache,
+                txnIndex, account);
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        Transaction txn = account.getTransaction(txnIndex);
+        fireRules(network, model, txnIndex, account, network.getRuleIndex().match(txn), null);
+    }
 
-        for (Rule rule : rules) {
-            Testable testable = generateTestable(rule.getPredicate(), scriptLibrary, scriptEngine);
-            if (testable.test(txnIndex, account)) {
-                Performable performable = generatePerformable(rule.getAction(), scriptLibrary, scriptEngine);
-                performable.perform(model, txnIndex, account);
+    /**
+     * Runs the rules against a transaction that has just been edited from {@code previousTxn},
+     * given a valid index and account.
+     * <p>
+     * Rules that only read attributes left unchanged by the edit have already run on the transaction,
+     * so only the rules reading a changed attribute are run, in rule order. A rule whose action changes
+     * an attribute brings the later rules reading that attribute into the run, so the transaction ends up
+     * as if every rule that could now apply to it was run once in rule order.
+     */
+    public static void reexecuteRules(Model model, ScriptEngine scriptEngine, RuleNetworkCache ruleNetworkCache,
+                                      Index txnIndex, Account account, Transaction previousTxn) {
+        requireAllNonNull(model, model.getRuleManager(), model.getScriptLibrary(), scriptEngine, ruleNetworkCache,
+                txnIndex, account, previousTxn);
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        Transaction txn = account.getTransaction(txnIndex);
+        BitSet ruleScope = network.getAffectedRules(getChangedAttributes(previousTxn, txn));
+        fireRules(network, model, txnIndex, account, network.getRuleIndex().match(txn), ruleScope, true);
+    }
+
+    /**
+     * Returns the attributes whose values differ between {@code before} and {@code after}.
+     */
+    static Set<Attribute> getChangedAttributes(Transaction before, Transaction after) {
+        Set<Attribute> changedAttributes = EnumSet.noneOf(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            if (!Objects.equals(extractAttribute(attribute, before), extractAttribute(attribute, after))) {
+                changedAttributes.add(attribute);
             }
         }
+        return changedAttributes;
+    }
+
+    /**
+     * Runs the rules of {@code network} among {@code candidates} against a transaction, in rule order.
+     * Later rules see the transaction as changed by the actions of earlier ones.
+     *
+     * @param candidates the positions of the rules that may hold for the transaction as it is now,
+     *                   as found by the network's rule index.
+     * @param ruleScope the positions of the only rules that may fire, or null if every rule may fire.
+     * @return the positions of the rules whose actions were performed.
+     */
+    static BitSet fireRules(RuleNetwork network, Model model, Index txnIndex, Account account,
+                            BitSet candidates, BitSet ruleScope) {
+        return fireRules(network, model, txnIndex, account, candidates, ruleScope, false);
+    }
+
+    /**
+     * Runs the rules of {@code network} among {@code candidates} against a transaction, in rule order.
+     *
+     * @param isScopeWidened true if rules reading the attributes changed by an action should be added to
+     *                       {@code ruleScope}, which is then modified.
+     */
+    private static BitSet fireRules(RuleNetwork network, Model model, Index txnIndex, Account account,
+                                    BitSet candidates, BitSet ruleScope, boolean isScopeWidened) {
+        List<CompiledRule> compiledRules = network.getCompiledRules();
+        RuleIndex ruleIndex = network.getRuleIndex();
+        BitSet fired = new BitSet(compiledRules.size());
+        if (ruleScope != null) {
+            candidates.and(ruleScope);
+        }
+
+        // actions change a draft, which is written back to the account once all rules have run
+        TransactionDraft draft = new TransactionDraft(account.getTransaction(txnIndex));
+        Transaction txn = draft.getOriginal();
+        int unchecked = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            recordIndexRejections(network, candidates, ruleScope, unchecked, i);
+            unchecked = i + 1;
+            CompiledRule rule = compiledRules.get(i);
+            if (!testRule(rule, ruleIndex.isIndexed(i), txn, account)) {
+                continue;
+            }
+
+            Performable performable = rule.getPerformable();
+            boolean isChanged;
+            long performStart = System.nanoTime();
+            if (!(performable instanceof PerformableScript)) {
+                long modificationCount = draft.getModificationCount();
+                performable.perform(model, draft, account);
+                isChanged = draft.getModificationCount() != modificationCount;
+            } else {
+                // scripts may edit the account directly, so they need to see the changes made so far
+                commitDraft(draft, txnIndex, account);
+                List<Transaction> txns = account.getTransactionList().asUnmodifiableObservableList();
+                Transaction committed = txns.get(txnIndex.getZeroBased());
+                int txnCount = txns.size();
+                performable.perform(model, draft, account);
+                if (txns.size() != txnCount && (txnIndex.getZeroBased() >= txns.size()
+                        || txns.get(txnIndex.getZeroBased()) != committed)) {
+                    // the script deleted or moved the transaction, so later rules are not checked against it
+                    rule.getProfile().recordPerform(System.nanoTime() - performStart);
+                    fired.set(i);
+                    return fired;
+                }
+                draft = new TransactionDraft(account.getTransaction(txnIndex));
+                isChanged = !draft.getOriginal().equals(txn);
+            }
+            rule.getProfile().recordPerform(System.nanoTime() - performStart);
+            fired.set(i);
+
+            // later rules must see the transaction as changed by this rule's action
+            if (isChanged) {
+                Transaction previousTxn = txn;
+                txn = draft.build();
+                if (ruleScope != null && isScopeWidened) {
+                    ruleScope.or(network.getAffectedRules(getChangedAttributes(previousTxn, txn)));
+                }
+                candidates = ruleIndex.match(txn);
+                if (ruleScope != null) {
+                    candidates.and(ruleScope);
+                }
+            }
+        }
+
+        recordIndexRejections(network, candidates, ruleScope, unchecked, compiledRules.size());
+        commitDraft(draft, txnIndex, account);
+        return fired;
+    }
+
+    /**
+     * Records a failed check against a transaction for each indexed rule from {@code from}, inclusive,
+     * to {@code to}, exclusive, that is in {@code ruleScope} but not among {@code candidates},
+     * as the rule index has found that its predicate does not hold.
+     *
+     * @param ruleScope the positions of the rules checked against the transaction, or null if every rule is.
+     */
+    static void recordIndexRejections(RuleNetwork network, BitSet candidates, BitSet ruleScope, int from, int to) {
+        RuleIndex ruleIndex = network.getRuleIndex();
+        List<CompiledRule> compiledRules = network.getCompiledRules();
+        for (int i = candidates.nextClearBit(from); i < to; i = candidates.nextClearBit(i + 1)) {
+            if (ruleIndex.isIndexed(i) && (ruleScope == null || ruleScope.get(i))) {
+                compiledRules.get(i).getProfile().recordEvaluation(0, false);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the predicate of a candidate rule holds for {@code txn}, recording the check in its profile.
+     *
+     * @param isIndexed true if the rule index has already found that the predicate holds.
+     */
+    static boolean testRule(CompiledRule rule, boolean isIndexed, Transaction txn, Account account) {
+        if (isIndexed) {
+            rule.getProfile().recordEvaluation(0, true);
+            return true;
+        }
+
+        long testStart = System.nanoTime();
+        boolean isMatch = rule.getTestable().test(txn, account);
+        rule.getProfile().recordEvaluation(System.nanoTime() - testStart, isMatch);
+        return isMatch;
+    }
+
+    /**
+     * Writes {@code draft} back to {@code account}, if anything in it was changed.
+     */
+    private static void commitDraft(TransactionDraft draft, Index txnIndex, Account account) {
+        if (draft.isModified()) {
+            Transaction updatedTransaction = draft.build();
+            account.updateTransaction(txnIndex, updatedTransaction);
+        }
     }
 
     /**
@@ -112,21 +285,41 @@ public class RuleEngine {
      */
     public static Testable generateTestable(RulePredicate predicate, ScriptLibrary scriptLibrary,
                                             ScriptEngine scriptEngine) {
-        requireAllNonNull(predicate, scriptEngine);
+        return generateTestable(predicate, scriptLibrary, scriptEngine, () -> {});
+    }
+
+    /**
+     * Creates a {@code Testable} from a {@code RulePredicate predicate},
+     * running {@code onScriptError} whenever a predicate script throws an error.
+     */
+    public static Testable generateTestable(RulePredicate predicate, ScriptLibrary scriptLibrary,
+                                            ScriptEngine scriptEngine, Runnable onScriptError) {
+        requireAllNonNull(predicate, scriptEngine, onScriptError);
         if (predicate.getType().equals(Rule.TYPE_EXPRESSION)) {
             PredicateExpression predExpr = (PredicateExpression) predicate;
             return testableMap.get(predExpr.getOperator()).apply(predExpr.getAttribute(), predExpr.getValue());
+        } else if (predicate.getType().equals(Rule.TYPE_FORMULA)) {
+            String formula = ((PredicateFormula) predicate).getFormula();
+            try {
+                return FormulaCompiler.compilePredicate(formula);
+            } catch (ParseException e) {
+                // should not happen as formulas are compiled when they are parsed or loaded
+                logger.warning("Rule predicate formula " + formula + " failed to compile: " + e.getMessage());
+                return (txn, account) -> false;
+            }
         } else {
             ScriptName scriptName = ((PredicateScript) predicate).getScriptName();
-            return new TestableScript((txnIndex, account) -> {
+            return new TestableScript((txn, account) -> {
                 try {
-                    Transaction txn = account.getTransaction(txnIndex);
-                    Object retVal = scriptEngine.evaluateScript(scriptLibrary.getScript(scriptName), txn, account);
+                    Object retVal = scriptEngine.evaluateReadOnlyScript(scriptLibrary.getScript(scriptName), txn,
+                            account);
                     if (!(retVal instanceof Boolean)) {
                         return false;
                     }
                     return (Boolean) retVal;
                 } catch (ScriptException e) {
+                    logger.warning("Rule predicate script " + scriptName + " failed: " + e.getMessage());
+                    onScriptError.run();
                     return false;
                 }
             });
@@ -138,18 +331,37 @@ public class RuleEngine {
      */
     public static Performable generatePerformable(RuleAction action, ScriptLibrary scriptLibrary,
                                                   ScriptEngine scriptEngine) {
-        requireAllNonNull(action, scriptEngine);
+        return generatePerformable(action, scriptLibrary, scriptEngine, () -> {});
+    }
+
+    /**
+     * Creates a {@code Performable} from a {@code RuleAction action},
+     * running {@code onScriptError} whenever an action script throws an error.
+     */
+    public static Performable generatePerformable(RuleAction action, ScriptLibrary scriptLibrary,
+                                                  ScriptEngine scriptEngine, Runnable onScriptError) {
+        requireAllNonNull(action, scriptEngine, onScriptError);
         if (action.getType().equals(Rule.TYPE_EXPRESSION)) {
             ActionExpression actExpr = (ActionExpression) action;
             return performableMap.get(actExpr.getOperator()).apply(actExpr.getValue());
+        } else if (action.getType().equals(Rule.TYPE_FORMULA)) {
+            String formula = ((ActionFormula) action).getFormula();
+            try {
+                return FormulaCompiler.compileAction(formula);
+            } catch (ParseException e) {
+                // should not happen as formulas are compiled when they are parsed or loaded
+                logger.warning("Rule action formula " + formula + " failed to compile: " + e.getMessage());
+                return (model, draft, account) -> {};
+            }
         } else {
             ScriptName scriptName = ((ActionScript) action).getScriptName();
-            return new PerformableScript((txnIndex, account) -> {
+            return new PerformableScript((txn, account) -> {
                 try {
-                    Transaction txn = account.getTransaction(txnIndex);
                     scriptEngine.evaluateScript(scriptLibrary.getScript(scriptName), txn, account);
-                } catch (ScriptException ignored) {
-                    // If an error occurs, no need to do anything.
+                } catch (ScriptException e) {
+                    // the action is skipped, but the error is counted so failing scripts can be found
+                    logger.warning("Rule action script " + scriptName + " failed: " + e.getMessage());
+                    onScriptError.run();
                 }
             });
         }
@@ -190,7 +402,14 @@ public class RuleEngine {
      */
     public static Object extractAttribute(Attribute attribute, Index txnIndex, Account account) {
         requireAllNonNull(attribute, txnIndex, account);
-        Transaction txn = account.getTransaction(txnIndex);
+        return extractAttribute(attribute, account.getTransaction(txnIndex));
+    }
+
+    /**
+     * Returns the value of a transaction's attribute.
+     */
+    public static Object extractAttribute(Attribute attribute, Transaction txn) {
+        requireAllNonNull(attribute, txn);
         switch (attribute) {
         case DESCRIPTION:
             return txn.getDescription();
@@ -0,0 +1,120 @@
+package budgetbuddy.logic.rules;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import budgetbuddy.logic.rules.index.RuleIndex;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.RuleManager;
+import budgetbuddy.model.ScriptLibrary;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.rule.expression.Attribute;
+
+/**
+ * Represents an immutable, compiled form of the rules in a {@code RuleManager}, in rule order.
+ * All values in the rules' expressions are parsed when the network is compiled,
+ * so running the network against a transaction does not parse anything,
+ * and the rules' predicates are indexed so that only the rules that may hold for a transaction are tested.
+ */
+public class RuleNetwork {
+    private final RuleManager ruleManager;
+    private final long ruleManagerVersion;
+    private final ScriptLibrary scriptLibrary;
+    private final ScriptEngine scriptEngine;
+    private final List<CompiledRule> compiledRules;
+    private final RuleIndex ruleIndex;
+    private final Map<Attribute, BitSet> readers = new EnumMap<>(Attribute.class);
+    private final BitSet alwaysAffectedRules = new BitSet();
+
+    private RuleNetwork(RuleManager ruleManager, ScriptLibrary scriptLibrary, ScriptEngine scriptEngine,
+                        List<CompiledRule> compiledRules) {
+        this.ruleManager = ruleManager;
+        this.ruleManagerVersion = ruleManager.getVersion();
+        this.scriptLibrary = scriptLibrary;
+        this.scriptEngine = scriptEngine;
+        this.compiledRules = Collections.unmodifiableList(compiledRules);
+        this.ruleIndex = new RuleIndex(this.compiledRules);
+
+        for (int i = 0; i < compiledRules.size(); i++) {
+            CompiledRule compiledRule = compiledRules.get(i);
+            for (Attribute input : compiledRule.getInputs()) {
+                readers.computeIfAbsent(input, unused -> new BitSet()).set(i);
+            }
+            if (compiledRule.readsOtherInputs()) {
+                alwaysAffectedRules.set(i);
+            }
+        }
+    }
+
+    /**
+     * Compiles every rule in {@code ruleManager}.
+     * Script rules are bound to the given script library and script engine,
+     * and executions of each rule are recorded in its profile in {@code profiler}.
+     */
+    public static RuleNetwork compile(RuleManager ruleManager, ScriptLibrary scriptLibrary,
+                                      ScriptEngine scriptEngine, RuleProfiler profiler) {
+        requireAllNonNull(ruleManager, scriptLibrary, scriptEngine, profiler);
+        profiler.retainProfiles(ruleManager.getRules());
+
+        List<CompiledRule> compiledRules = new ArrayList<>(ruleManager.getRuleCount());
+        for (Rule rule : ruleManager.getRules()) {
+            RuleProfile profile = profiler.getProfile(rule);
+            compiledRules.add(new CompiledRule(rule,
+                    RuleEngine.generateTestable(rule.getPredicate(), scriptLibrary, scriptEngine,
+                            profile::recordScriptError),
+                    RuleEngine.generatePerformable(rule.getAction(), scriptLibrary, scriptEngine,
+                            profile::recordScriptError),
+                    profile));
+        }
+        return new RuleNetwork(ruleManager, scriptLibrary, scriptEngine, compiledRules);
+    }
+
+    /**
+     * Returns true if this network was compiled from the current rules in {@code ruleManager}
+     * and is bound to the given script library and script engine.
+     */
+    public boolean isCompiledFrom(RuleManager ruleManager, ScriptLibrary scriptLibrary,
+                                  ScriptEngine scriptEngine) {
+        return this.ruleManager == ruleManager
+                && ruleManagerVersion == ruleManager.getVersion()
+                && this.scriptLibrary == scriptLibrary
+                && this.scriptEngine == scriptEngine;
+    }
+
+    /**
+     * Returns the compiled rules, in the same order as the rules they were compiled from.
+     */
+    public List<CompiledRule> getCompiledRules() {
+        return compiledRules;
+    }
+
+    /**
+     * Returns the index of the compiled rules' predicates, which identifies rules by their position in rule order.
+     */
+    public RuleIndex getRuleIndex() {
+        return ruleIndex;
+    }
+
+    /**
+     * Returns the positions of the rules whose predicates may hold differently once {@code changedAttributes}
+     * of a transaction have changed. Script rules, and formula rules that test categories, are always included,
+     * as they can read more than attributes.
+     */
+    public BitSet getAffectedRules(Set<Attribute> changedAttributes) {
+        BitSet affected = (BitSet) alwaysAffectedRules.clone();
+        for (Attribute attribute : changedAttributes) {
+            BitSet attributeReaders = readers.get(attribute);
+            if (attributeReaders != null) {
+                affected.or(attributeReaders);
+            }
+        }
+        return affected;
+    }
+}
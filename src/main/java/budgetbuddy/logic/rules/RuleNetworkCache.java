@@ -0,0 +1,36 @@
+package budgetbuddy.logic.rules;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.RuleManager;
+import budgetbuddy.model.ScriptLibrary;
+
+/**
+ * Holds the most recently compiled {@code RuleNetwork}, and the profiler in which its rules' executions are recorded.
+ * The network is only recompiled when the rules, script library or script engine it was compiled from change.
+ */
+public class RuleNetworkCache {
+    private final RuleProfiler profiler = new RuleProfiler();
+    private RuleNetwork network;
+
+    /**
+     * Returns the compiled network of the rules in {@code ruleManager}, bound to the given script library
+     * and script engine, recompiling it only if they have changed since it was last compiled.
+     */
+    public synchronized RuleNetwork getNetwork(RuleManager ruleManager, ScriptLibrary scriptLibrary,
+                                               ScriptEngine scriptEngine) {
+        requireAllNonNull(ruleManager, scriptLibrary, scriptEngine);
+        if (network == null || !network.isCompiledFrom(ruleManager, scriptLibrary, scriptEngine)) {
+            network = RuleNetwork.compile(ruleManager, scriptLibrary, scriptEngine, profiler);
+        }
+        return network;
+    }
+
+    /**
+     * Returns the profiler in which the executions of the compiled rules are recorded.
+     */
+    public RuleProfiler getProfiler() {
+        return profiler;
+    }
+}
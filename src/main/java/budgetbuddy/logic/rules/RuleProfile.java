@@ -0,0 +1,81 @@
+package budgetbuddy.logic.rules;
+
+/**
+ * Represents the running execution statistics of a single rule.
+ * Timings are in nanoseconds and only cover predicates that were actually run,
+ * as predicates answered by the rule index take no time of their own. Transactions the index rules out
+ * still count as evaluations, so the match rate of an indexed rule is that of the rule itself.
+ */
+public class RuleProfile {
+    private long evaluations = 0;
+    private long matches = 0;
+    private long testNanos = 0;
+    private long maxTestNanos = 0;
+    private long performNanos = 0;
+    private long maxPerformNanos = 0;
+    private long scriptErrors = 0;
+
+    /**
+     * Records that the rule's predicate was checked against a transaction.
+     * @param nanos the time taken to run the predicate, or 0 if it was answered by the rule index.
+     * @param isMatch whether the predicate held.
+     */
+    public synchronized void recordEvaluation(long nanos, boolean isMatch) {
+        evaluations++;
+        if (isMatch) {
+            matches++;
+        }
+        testNanos += nanos;
+        maxTestNanos = Math.max(maxTestNanos, nanos);
+    }
+
+    /**
+     * Records that the rule's action was performed, taking {@code nanos} nanoseconds.
+     */
+    public synchronized void recordPerform(long nanos) {
+        performNanos += nanos;
+        maxPerformNanos = Math.max(maxPerformNanos, nanos);
+    }
+
+    /**
+     * Records that one of the rule's scripts threw an error.
+     */
+    public synchronized void recordScriptError() {
+        scriptErrors++;
+    }
+
+    public synchronized long getEvaluations() {
+        return evaluations;
+    }
+
+    public synchronized long getMatches() {
+        return matches;
+    }
+
+    public synchronized long getTestNanos() {
+        return testNanos;
+    }
+
+    public synchronized long getMaxTestNanos() {
+        return maxTestNanos;
+    }
+
+    public synchronized long getPerformNanos() {
+        return performNanos;
+    }
+
+    public synchronized long getMaxPerformNanos() {
+        return maxPerformNanos;
+    }
+
+    public synchronized long getScriptErrors() {
+        return scriptErrors;
+    }
+
+    /**
+     * Returns the total time spent on the rule's predicate and action.
+     */
+    public synchronized long getTotalNanos() {
+        return testNanos + performNanos;
+    }
+}
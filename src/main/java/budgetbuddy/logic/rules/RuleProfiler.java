@@ -0,0 +1,34 @@
+package budgetbuddy.logic.rules;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import budgetbuddy.model.rule.Rule;
+
+/**
+ * Keeps an execution profile for each rule.
+ * Profiles are kept by rule rather than by position, so they survive rules being reordered or recompiled.
+ */
+public class RuleProfiler {
+    private final Map<Rule, RuleProfile> profiles = new HashMap<>();
+
+    /**
+     * Returns the profile of {@code rule}, creating an empty one if the rule has none yet.
+     */
+    public synchronized RuleProfile getProfile(Rule rule) {
+        requireNonNull(rule);
+        return profiles.computeIfAbsent(rule, unused -> new RuleProfile());
+    }
+
+    /**
+     * Discards the profiles of any rules not in {@code rules}.
+     */
+    public synchronized void retainProfiles(Collection<Rule> rules) {
+        requireNonNull(rules);
+        profiles.keySet().retainAll(new HashSet<>(rules));
+    }
+}
@@ -0,0 +1,856 @@
+package budgetbuddy.logic.rules.formula;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+import budgetbuddy.commons.util.AppUtil;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.RuleEngine;
+import budgetbuddy.logic.rules.formula.FormulaTokenizer.Token;
+import budgetbuddy.logic.rules.performable.PerformableFormula;
+import budgetbuddy.logic.rules.testable.TestableFormula;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.rule.expression.Operator;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
+
+/**
+ * Compiles rule formulas into Java lambdas, so that running a formula rule does not parse or interpret anything.
+ * <p>
+ * A predicate formula is a boolean formula over the attributes of a transaction, built from:
+ * <ul>
+ *     <li>{@code and}, {@code or}, {@code not} and parentheses;</li>
+ *     <li>the comparisons {@code = != < <= > >=}, and {@code contains} between texts;</li>
+ *     <li>{@code + - * /} on numbers, {@code +} between texts, and adding or subtracting days from dates;</li>
+ *     <li>the names {@code desc, amount, inamt, outamt, date, inward, outward, true, false};</li>
+ *     <li>functions on dates, texts and categories, such as {@code month(date)} and {@code has_cat("Food")}.</li>
+ * </ul>
+ * Amounts are numbers in dollars, and numbers are compared to the cent.
+ * A predicate that divides by zero for a transaction is false for it.
+ * An action formula is a sequence of action operators separated by {@code ;},
+ * each followed by a text formula if the operator takes a value. An action whose value divides by zero
+ * for a transaction is skipped, like an action whose value is not a valid category or description.
+ * <p>
+ * Every formula is type-checked when it is compiled, and parts of a formula that do not depend on the
+ * transaction are evaluated once when it is compiled.
+ */
+public class FormulaCompiler {
+    public static final String MESSAGE_BLANK = "Formulas should not be blank";
+    public static final String MESSAGE_UNEXPECTED_TOKEN = "Unexpected %s at position %d of the formula";
+    public static final String MESSAGE_UNKNOWN_NAME = "Unknown name '%s' at position %d of the formula";
+    public static final String MESSAGE_UNKNOWN_FUNCTION = "Unknown function '%s' at position %d of the formula";
+    public static final String MESSAGE_TYPE_MISMATCH = "%s expects %s, but was given %s";
+    public static final String MESSAGE_ARGUMENT_COUNT = "%s() expects %d argument(s), but was given %d";
+    public static final String MESSAGE_NOT_FIXED = "%s() expects a value that does not depend on the transaction";
+    public static final String MESSAGE_NOT_ACTION = "'%s' is not an action operator";
+    public static final String MESSAGE_INVALID_NUMBER = "Invalid number '%s' in formula";
+    public static final String MESSAGE_DIVISION_BY_ZERO = "Division by zero at position %d of the formula";
+
+    private static final Set<Operator> ACTION_OPERATORS =
+            EnumSet.range(Operator.SET_CATEGORY, Operator.SWITCH_DIRECTION);
+
+    private final List<Token> tokens;
+    private final Set<Attribute> inputs = EnumSet.noneOf(Attribute.class);
+    private boolean readsCategories = false;
+    private int position = 0;
+
+    private FormulaCompiler(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Compiles a predicate formula, which must evaluate to true or false.
+     *
+     * @throws ParseException if the formula is malformed or not a boolean formula.
+     */
+    public static TestableFormula compilePredicate(String formula) throws ParseException {
+        requireNonNull(formula);
+        FormulaCompiler compiler = new FormulaCompiler(tokenizeNonBlank(formula));
+        Node node = compiler.parseOr();
+        compiler.expectEnd();
+        requireType(node, Type.BOOLEAN, "A predicate formula");
+        Predicate<Transaction> predicate = node.asBoolean();
+        return new TestableFormula(formula.trim(), txn -> {
+            try {
+                return predicate.test(txn);
+            } catch (DivisionByZeroException e) {
+                return false;
+            }
+        }, compiler.inputs, compiler.readsCategories);
+    }
+
+    /**
+     * Compiles an action formula, which is a sequence of action operators separated by {@code ;}.
+     *
+     * @throws ParseException if the formula is malformed, or an operator is given a value of the wrong type.
+     */
+    public static PerformableFormula compileAction(String formula) throws ParseException {
+        requireNonNull(formula);
+        FormulaCompiler compiler = new FormulaCompiler(tokenizeNonBlank(formula));
+        List<Consumer<TransactionDraft>> steps = new ArrayList<>();
+        do {
+            if (compiler.peek().getKind() == Token.Kind.END) {
+                // a trailing ';' is allowed
+                break;
+            }
+            Consumer<TransactionDraft> step = compiler.parseActionStep();
+            steps.add(draft -> {
+                try {
+                    step.accept(draft);
+                } catch (DivisionByZeroException e) {
+                    // the action has no value for this transaction
+                }
+            });
+        } while (compiler.accept(";"));
+        compiler.expectEnd();
+        if (steps.isEmpty()) {
+            throw new ParseException(MESSAGE_BLANK);
+        }
+        return new PerformableFormula(formula.trim(), steps);
+    }
+
+    private static List<Token> tokenizeNonBlank(String formula) throws ParseException {
+        if (formula.isBlank()) {
+            throw new ParseException(MESSAGE_BLANK);
+        }
+        return FormulaTokenizer.tokenize(formula);
+    }
+
+    // Actions
+
+    private Consumer<TransactionDraft> parseActionStep() throws ParseException {
+        Token token = advance();
+        if (token.getKind() != Token.Kind.WORD || !Operator.isValidOperator(token.getText())
+                || !ACTION_OPERATORS.contains(Operator.of(token.getText()))) {
+            throw new ParseException(String.format(MESSAGE_NOT_ACTION, token.getText()));
+        }
+        Operator operator = Operator.of(token.getText());
+
+        switch (operator) {
+        case SET_IN:
+            return draft -> draft.setDirection(Direction.IN);
+        case SET_OUT:
+            return draft -> draft.setDirection(Direction.OUT);
+        case SWITCH_DIRECTION:
+            return draft -> draft.setDirection(draft.getDirection().equals(Direction.IN)
+                    ? Direction.OUT
+                    : Direction.IN);
+        default:
+            break;
+        }
+
+        Node value = parseOr();
+        requireType(value, Type.TEXT, "'" + operator.getOperatorWord() + "'");
+        if (value.isConstant) {
+            // fixed values are checked now, as the operators would otherwise skip them on every transaction
+            checkFixedValue(operator, value.asText().apply(null));
+        }
+        Function<TransactionDraft, String> text = evaluateOnDraft(value.asText(), value.isConstant);
+
+        switch (operator) {
+        case SET_CATEGORY:
+            return draft -> {
+                Category category = toCategory(text.apply(draft));
+                if (category != null) {
+                    draft.addCategory(category);
+                }
+            };
+        case REMOVE_CATEGORY:
+            return draft -> {
+                Category category = toCategory(text.apply(draft));
+                if (category != null) {
+                    draft.removeCategory(category);
+                }
+            };
+        case SET_DESC:
+            return draft -> {
+                String description = text.apply(draft);
+                if (!description.isBlank()) {
+                    setDescription(draft, description);
+                }
+            };
+        case APPEND_DESC:
+            return draft -> setDescription(draft, draft.getDescription() + text.apply(draft));
+        case PREPEND_DESC:
+            return draft -> setDescription(draft, text.apply(draft) + draft.getDescription());
+        default:
+            assert false : "Unhandled action operator";
+            throw new ParseException(String.format(MESSAGE_NOT_ACTION, token.getText()));
+        }
+    }
+
+    /**
+     * Checks that {@code value} is a valid value for {@code operator}.
+     *
+     * @throws ParseException if the value would never be applied.
+     */
+    private static void checkFixedValue(Operator operator, String value) throws ParseException {
+        switch (operator) {
+        case SET_CATEGORY:
+        case REMOVE_CATEGORY:
+            if (value.isBlank()) {
+                throw new ParseException(RuleEngine.MESSAGE_INVALID_VALUE);
+            }
+            CommandParserUtil.parseCategory(value);
+            break;
+        case SET_DESC:
+            if (value.isBlank()) {
+                throw new ParseException(RuleEngine.MESSAGE_INVALID_VALUE);
+            }
+            CommandParserUtil.parseDescription(value);
+            break;
+        default:
+            // appended and prepended values are checked against the description they are added to
+            break;
+        }
+    }
+
+    /**
+     * Returns a function that evaluates {@code text} on a draft as it currently stands,
+     * so that an action sees the changes made by the actions before it.
+     */
+    private static Function<TransactionDraft, String> evaluateOnDraft(Function<Transaction, String> text,
+                                                                      boolean isConstant) {
+        if (isConstant) {
+            String value = text.apply(null);
+            return draft -> value;
+        }
+        return draft -> text.apply(draft.build());
+    }
+
+    /**
+     * Returns {@code text} as a category, or null if it is not a valid category.
+     */
+    private static Category toCategory(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() || !Category.isValidCategory(trimmed) ? null : new Category(trimmed);
+    }
+
+    /**
+     * Sets the description of {@code draft}, unless {@code text} is too long to be a description.
+     */
+    private static void setDescription(TransactionDraft draft, String text) {
+        String trimmed = text.trim();
+        if (Description.isValidDescription(trimmed)) {
+            draft.setDescription(new Description(trimmed));
+        }
+    }
+
+    // Boolean formulas
+
+    private Node parseOr() throws ParseException {
+        Node left = parseAnd();
+        while (accept("or")) {
+            Node right = parseAnd();
+            requireType(left, Type.BOOLEAN, "'or'");
+            requireType(right, Type.BOOLEAN, "'or'");
+            Predicate<Transaction> l = left.asBoolean();
+            Predicate<Transaction> r = right.asBoolean();
+            left = Node.ofBoolean(txn -> l.test(txn) || r.test(txn), left.isConstant && right.isConstant);
+        }
+        return left;
+    }
+
+    private Node parseAnd() throws ParseException {
+        Node left = parseNot();
+        while (accept("and")) {
+            Node right = parseNot();
+            requireType(left, Type.BOOLEAN, "'and'");
+            requireType(right, Type.BOOLEAN, "'and'");
+            Predicate<Transaction> l = left.asBoolean();
+            Predicate<Transaction> r = right.asBoolean();
+            left = Node.ofBoolean(txn -> l.test(txn) && r.test(txn), left.isConstant && right.isConstant);
+        }
+        return left;
+    }
+
+    private Node parseNot() throws ParseException {
+        if (accept("not")) {
+            Node operand = parseNot();
+            requireType(operand, Type.BOOLEAN, "'not'");
+            Predicate<Transaction> o = operand.asBoolean();
+            return Node.ofBoolean(o.negate(), operand.isConstant);
+        }
+        return parseComparison();
+    }
+
+    private Node parseComparison() throws ParseException {
+        Node left = parseSum();
+        Token token = peek();
+        if (token.is("contains")) {
+            advance();
+            Node right = parseSum();
+            requireType(left, Type.TEXT, "'contains'");
+            requireType(right, Type.TEXT, "'contains'");
+            Function<Transaction, String> l = left.asText();
+            Function<Transaction, String> r = right.asText();
+            return Node.ofBoolean(txn -> l.apply(txn).contains(r.apply(txn)), left.isConstant && right.isConstant);
+        }
+
+        IntPredicate outcome = getComparisonOutcome(token);
+        if (outcome == null) {
+            return left;
+        }
+        advance();
+        Node right = parseSum();
+        String description = "'" + token.getText() + "'";
+        requireType(right, left.type, description);
+        if (left.type == Type.BOOLEAN && !token.is("=") && !token.is("!=")) {
+            throw new ParseException(String.format(MESSAGE_TYPE_MISMATCH, description,
+                    "numbers, texts or dates", left.type));
+        }
+        ToIntFunction<Transaction> comparison = compare(left, right);
+        return Node.ofBoolean(txn -> outcome.test(comparison.applyAsInt(txn)), left.isConstant && right.isConstant);
+    }
+
+    /**
+     * Returns the test that the result of a comparison must pass for the comparison {@code token} to hold,
+     * or null if {@code token} is not a comparison.
+     */
+    private static IntPredicate getComparisonOutcome(Token token) {
+        if (token.getKind() != Token.Kind.SYMBOL) {
+            return null;
+        }
+        switch (token.getText()) {
+        case "=":
+            return result -> result == 0;
+        case "!=":
+            return result -> result != 0;
+        case "<":
+            return result -> result < 0;
+        case "<=":
+            return result -> result <= 0;
+        case ">":
+            return result -> result > 0;
+        case ">=":
+            return result -> result >= 0;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Returns a function comparing the values of two nodes of the same type.
+     */
+    private static ToIntFunction<Transaction> compare(Node left, Node right) {
+        switch (left.type) {
+        case BOOLEAN:
+            Predicate<Transaction> lb = left.asBoolean();
+            Predicate<Transaction> rb = right.asBoolean();
+            return txn -> Boolean.compare(lb.test(txn), rb.test(txn));
+        case NUMBER:
+            ToDoubleFunction<Transaction> ln = left.asNumber();
+            ToDoubleFunction<Transaction> rn = right.asNumber();
+            return txn -> Long.compare(toCents(ln.applyAsDouble(txn)), toCents(rn.applyAsDouble(txn)));
+        case TEXT:
+            Function<Transaction, String> lt = left.asText();
+            Function<Transaction, String> rt = right.asText();
+            return txn -> lt.apply(txn).compareTo(rt.apply(txn));
+        case DATE:
+            Function<Transaction, LocalDate> ld = left.asDate();
+            Function<Transaction, LocalDate> rd = right.asDate();
+            return txn -> ld.apply(txn).compareTo(rd.apply(txn));
+        default:
+            throw new AssertionError("Unhandled type");
+        }
+    }
+
+    // Arithmetic
+
+    private Node parseSum() throws ParseException {
+        Node left = parseProduct();
+        while (peek().is("+") || peek().is("-")) {
+            boolean isAddition = advance().is("+");
+            Node right = parseProduct();
+            left = combineSum(isAddition, left, right);
+        }
+        return left;
+    }
+
+    private static Node combineSum(boolean isAddition, Node left, Node right) throws ParseException {
+        boolean isConstant = left.isConstant && right.isConstant;
+        if (left.type == Type.NUMBER && right.type == Type.NUMBER) {
+            ToDoubleFunction<Transaction> l = left.asNumber();
+            ToDoubleFunction<Transaction> r = right.asNumber();
+            return isAddition
+                    ? Node.ofNumber(txn -> l.applyAsDouble(txn) + r.applyAsDouble(txn), isConstant)
+                    : Node.ofNumber(txn -> l.applyAsDouble(txn) - r.applyAsDouble(txn), isConstant);
+        }
+        if (isAddition && left.type == Type.TEXT && right.type == Type.TEXT) {
+            Function<Transaction, String> l = left.asText();
+            Function<Transaction, String> r = right.asText();
+            return Node.ofText(txn -> l.apply(txn) + r.apply(txn), isConstant);
+        }
+        if (left.type == Type.DATE && right.type == Type.NUMBER) {
+            Function<Transaction, LocalDate> l = left.asDate();
+            ToDoubleFunction<Transaction> r = right.asNumber();
+            int sign = isAddition ? 1 : -1;
+            return Node.ofDate(txn -> addDays(l.apply(txn), sign * Math.round(r.applyAsDouble(txn))), isConstant);
+        }
+        if (!isAddition && left.type == Type.DATE && right.type == Type.DATE) {
+            Function<Transaction, LocalDate> l = left.asDate();
+            Function<Transaction, LocalDate> r = right.asDate();
+            return Node.ofNumber(txn -> ChronoUnit.DAYS.between(r.apply(txn), l.apply(txn)), isConstant);
+        }
+        throw new ParseException(String.format(MESSAGE_TYPE_MISMATCH, isAddition ? "'+'" : "'-'",
+                isAddition ? "two numbers, two texts, or a date and a number of days"
+                        : "two numbers, two dates, or a date and a number of days",
+                left.type + " and " + right.type));
+    }
+
+    private Node parseProduct() throws ParseException {
+        Node left = parseUnary();
+        while (peek().is("*") || peek().is("/")) {
+            Token token = advance();
+            boolean isMultiplication = token.is("*");
+            Node right = parseUnary();
+            String description = isMultiplication ? "'*'" : "'/'";
+            requireType(left, Type.NUMBER, description);
+            requireType(right, Type.NUMBER, description);
+            ToDoubleFunction<Transaction> l = left.asNumber();
+            ToDoubleFunction<Transaction> r = right.asNumber();
+            if (!isMultiplication && right.isConstant && r.applyAsDouble(null) == 0) {
+                throw new ParseException(String.format(MESSAGE_DIVISION_BY_ZERO, token.getPosition() + 1));
+            }
+            boolean isConstant = left.isConstant && right.isConstant;
+            left = isMultiplication
+                    ? Node.ofNumber(txn -> l.applyAsDouble(txn) * r.applyAsDouble(txn), isConstant)
+                    : Node.ofNumber(txn -> divide(l.applyAsDouble(txn), r.applyAsDouble(txn)), isConstant);
+        }
+        return left;
+    }
+
+    private Node parseUnary() throws ParseException {
+        if (accept("-")) {
+            Node operand = parseUnary();
+            requireType(operand, Type.NUMBER, "'-'");
+            ToDoubleFunction<Transaction> o = operand.asNumber();
+            return Node.ofNumber(txn -> -o.applyAsDouble(txn), operand.isConstant);
+        }
+        return parsePrimary();
+    }
+
+    private Node parsePrimary() throws ParseException {
+        Token token = advance();
+        switch (token.getKind()) {
+        case NUMBER:
+            try {
+                double value = Double.parseDouble(token.getText());
+                return Node.ofNumber(txn -> value, true);
+            } catch (NumberFormatException e) {
+                throw new ParseException(String.format(MESSAGE_INVALID_NUMBER, token.getText()));
+            }
+        case TEXT:
+            String text = token.getText();
+            return Node.ofText(txn -> text, true);
+        case SYMBOL:
+            if (token.is("(")) {
+                Node node = parseOr();
+                expect(")");
+                return node;
+            }
+            break;
+        case WORD:
+            if (peek().is("(")) {
+                return parseCall(token);
+            }
+            return parseName(token);
+        default:
+            break;
+        }
+        throw unexpected(token);
+    }
+
+    // Names and functions
+
+    private Node parseName(Token token) throws ParseException {
+        switch (token.getText()) {
+        case "true":
+            return Node.ofBoolean(txn -> true, true);
+        case "false":
+            return Node.ofBoolean(txn -> false, true);
+        case "desc":
+            inputs.add(Attribute.DESCRIPTION);
+            return Node.ofText(txn -> txn.getDescription().getDescription(), false);
+        case "date":
+            inputs.add(Attribute.DATE);
+            return Node.ofDate(Transaction::getLocalDate, false);
+        case "amount":
+            inputs.add(Attribute.IN_AMOUNT);
+            inputs.add(Attribute.OUT_AMOUNT);
+            return Node.ofNumber(txn -> toDollars(txn.getAmount().toLong()), false);
+        case "inamt":
+            inputs.add(Attribute.IN_AMOUNT);
+            return Node.ofNumber(txn -> txn.getDirection().equals(Direction.IN)
+                    ? toDollars(txn.getAmount().toLong())
+                    : 0, false);
+        case "outamt":
+            inputs.add(Attribute.OUT_AMOUNT);
+            return Node.ofNumber(txn -> txn.getDirection().equals(Direction.OUT)
+                    ? toDollars(txn.getAmount().toLong())
+                    : 0, false);
+        case "inward":
+            inputs.add(Attribute.IN_AMOUNT);
+            inputs.add(Attribute.OUT_AMOUNT);
+            return Node.ofBoolean(txn -> txn.getDirection().equals(Direction.IN), false);
+        case "outward":
+            inputs.add(Attribute.IN_AMOUNT);
+            inputs.add(Attribute.OUT_AMOUNT);
+            return Node.ofBoolean(txn -> txn.getDirection().equals(Direction.OUT), false);
+        case "and":
+        case "or":
+        case "not":
+        case "contains":
+            throw unexpected(token);
+        default:
+            throw new ParseException(String.format(MESSAGE_UNKNOWN_NAME, token.getText(), token.getPosition() + 1));
+        }
+    }
+
+    private Node parseCall(Token token) throws ParseException {
+        String name = token.getText();
+        expect("(");
+        List<Node> args = new ArrayList<>();
+        if (!accept(")")) {
+            do {
+                args.add(parseOr());
+            } while (accept(","));
+            expect(")");
+        }
+        boolean isConstant = args.stream().allMatch(arg -> arg.isConstant);
+
+        switch (name) {
+        case "day":
+            requireArgs(name, args, Type.DATE);
+            return dateToNumber(args.get(0), LocalDate::getDayOfMonth);
+        case "month":
+            requireArgs(name, args, Type.DATE);
+            return dateToNumber(args.get(0), LocalDate::getMonthValue);
+        case "year":
+            requireArgs(name, args, Type.DATE);
+            return dateToNumber(args.get(0), LocalDate::getYear);
+        case "weekday":
+            requireArgs(name, args, Type.DATE);
+            return dateToNumber(args.get(0), date -> date.getDayOfWeek().getValue());
+        case "today":
+            requireArgs(name, args);
+            return Node.ofDate(txn -> LocalDate.now(), false);
+        case "date":
+            requireArgs(name, args, Type.TEXT);
+            if (!isConstant) {
+                throw new ParseException(String.format(MESSAGE_NOT_FIXED, name));
+            }
+            LocalDate date = CommandParserUtil.parseDate(args.get(0).asText().apply(null));
+            return Node.ofDate(txn -> date, true);
+        case "abs":
+            requireArgs(name, args, Type.NUMBER);
+            ToDoubleFunction<Transaction> absOf = args.get(0).asNumber();
+            return Node.ofNumber(txn -> Math.abs(absOf.applyAsDouble(txn)), isConstant);
+        case "round":
+            requireArgs(name, args, Type.NUMBER);
+            ToDoubleFunction<Transaction> roundOf = args.get(0).asNumber();
+            return Node.ofNumber(txn -> Math.round(roundOf.applyAsDouble(txn)), isConstant);
+        case "min":
+        case "max":
+            requireArgs(name, args, Type.NUMBER, Type.NUMBER);
+            ToDoubleFunction<Transaction> first = args.get(0).asNumber();
+            ToDoubleFunction<Transaction> second = args.get(1).asNumber();
+            return name.equals("min")
+                    ? Node.ofNumber(txn -> Math.min(first.applyAsDouble(txn), second.applyAsDouble(txn)), isConstant)
+                    : Node.ofNumber(txn -> Math.max(first.applyAsDouble(txn), second.applyAsDouble(txn)), isConstant);
+        case "lower":
+            requireArgs(name, args, Type.TEXT);
+            Function<Transaction, String> lowerOf = args.get(0).asText();
+            return Node.ofText(txn -> lowerOf.apply(txn).toLowerCase(), isConstant);
+        case "upper":
+            requireArgs(name, args, Type.TEXT);
+            Function<Transaction, String> upperOf = args.get(0).asText();
+            return Node.ofText(txn -> upperOf.apply(txn).toUpperCase(), isConstant);
+        case "length":
+            requireArgs(name, args, Type.TEXT);
+            Function<Transaction, String> lengthOf = args.get(0).asText();
+            return Node.ofNumber(txn -> lengthOf.apply(txn).length(), isConstant);
+        case "contains":
+        case "starts_with":
+        case "ends_with":
+            requireArgs(name, args, Type.TEXT, Type.TEXT);
+            Function<Transaction, String> whole = args.get(0).asText();
+            Function<Transaction, String> part = args.get(1).asText();
+            if (name.equals("contains")) {
+                return Node.ofBoolean(txn -> whole.apply(txn).contains(part.apply(txn)), isConstant);
+            }
+            return name.equals("starts_with")
+                    ? Node.ofBoolean(txn -> whole.apply(txn).startsWith(part.apply(txn)), isConstant)
+                    : Node.ofBoolean(txn -> whole.apply(txn).endsWith(part.apply(txn)), isConstant);
+        case "text":
+            if (args.size() != 1) {
+                throw new ParseException(String.format(MESSAGE_ARGUMENT_COUNT, name, 1, args.size()));
+            }
+            return toText(args.get(0));
+        case "has_cat":
+            requireArgs(name, args, Type.TEXT);
+            readsCategories = true;
+            return hasCategory(args.get(0));
+        case "cat_count":
+            requireArgs(name, args);
+            readsCategories = true;
+            return Node.ofNumber(txn -> txn.getCategories().size(), false);
+        default:
+            throw new ParseException(String.format(MESSAGE_UNKNOWN_FUNCTION, name, token.getPosition() + 1));
+        }
+    }
+
+    private static Node dateToNumber(Node date, ToIntFunction<LocalDate> field) {
+        Function<Transaction, LocalDate> d = date.asDate();
+        return Node.ofNumber(txn -> field.applyAsInt(d.apply(txn)), date.isConstant);
+    }
+
+    private static Node toText(Node node) {
+        switch (node.type) {
+        case BOOLEAN:
+            Predicate<Transaction> b = node.asBoolean();
+            return Node.ofText(txn -> String.valueOf(b.test(txn)), node.isConstant);
+        case NUMBER:
+            ToDoubleFunction<Transaction> n = node.asNumber();
+            return Node.ofText(txn -> formatNumber(n.applyAsDouble(txn)), node.isConstant);
+        case DATE:
+            Function<Transaction, LocalDate> d = node.asDate();
+            return Node.ofText(txn -> d.apply(txn).format(AppUtil.getDateFormatter()), node.isConstant);
+        default:
+            return node;
+        }
+    }
+
+    /**
+     * Returns a node testing if a transaction has the category named by {@code name}.
+     * A name that is fixed is turned into a category once, rather than on every test.
+     */
+    private static Node hasCategory(Node name) {
+        Function<Transaction, String> n = name.asText();
+        if (name.isConstant) {
+            Category category = toCategory(n.apply(null));
+            return category == null
+                    ? Node.ofBoolean(txn -> false, false)
+                    : Node.ofBoolean(txn -> txn.getCategories().contains(category), false);
+        }
+        return Node.ofBoolean(txn -> {
+            Category category = toCategory(n.apply(txn));
+            return category != null && txn.getCategories().contains(category);
+        }, false);
+    }
+
+    // Values
+
+    private static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    private static long toCents(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    /**
+     * Returns {@code dividend / divisor}.
+     *
+     * @throws DivisionByZeroException if the divisor is 0, as the formula then has no value.
+     */
+    private static double divide(double dividend, double divisor) {
+        if (divisor == 0) {
+            throw new DivisionByZeroException();
+        }
+        return dividend / divisor;
+    }
+
+    /**
+     * Returns {@code date} moved by {@code days}, or the earliest or latest date if that is out of range.
+     */
+    private static LocalDate addDays(LocalDate date, long days) {
+        try {
+            return date.plusDays(days);
+        } catch (DateTimeException e) {
+            return days < 0 ? LocalDate.MIN : LocalDate.MAX;
+        }
+    }
+
+    /**
+     * Returns {@code value} as text, with two decimal places unless it is a whole number.
+     */
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE
+                ? String.valueOf((long) value)
+                : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    // Tokens
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token advance() {
+        Token token = tokens.get(position);
+        if (token.getKind() != Token.Kind.END) {
+            position++;
+        }
+        return token;
+    }
+
+    /**
+     * Consumes the next token if it is spelt as {@code text}.
+     * @return true if the token was consumed.
+     */
+    private boolean accept(String text) {
+        if (peek().is(text)) {
+            advance();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String text) throws ParseException {
+        if (!accept(text)) {
+            throw unexpected(peek());
+        }
+    }
+
+    private void expectEnd() throws ParseException {
+        if (peek().getKind() != Token.Kind.END) {
+            throw unexpected(peek());
+        }
+    }
+
+    private static ParseException unexpected(Token token) {
+        return new ParseException(String.format(MESSAGE_UNEXPECTED_TOKEN, token, token.getPosition() + 1));
+    }
+
+    private static void requireType(Node node, Type type, String description) throws ParseException {
+        if (node.type != type) {
+            throw new ParseException(String.format(MESSAGE_TYPE_MISMATCH, description, type, node.type));
+        }
+    }
+
+    private static void requireArgs(String name, List<Node> args, Type... types) throws ParseException {
+        if (args.size() != types.length) {
+            throw new ParseException(String.format(MESSAGE_ARGUMENT_COUNT, name, types.length, args.size()));
+        }
+        for (int i = 0; i < types.length; i++) {
+            requireType(args.get(i), types[i], name + "()");
+        }
+    }
+
+    /**
+     * Is thrown when a formula divides by zero for a transaction, to unwind the evaluation of the formula.
+     */
+    private static class DivisionByZeroException extends RuntimeException {
+        DivisionByZeroException() {
+            super("Division by zero", null, false, false);
+        }
+    }
+
+    /**
+     * Represents the types of values in a formula.
+     */
+    private enum Type {
+        BOOLEAN("a boolean"),
+        NUMBER("a number"),
+        TEXT("a text"),
+        DATE("a date");
+
+        private final String description;
+
+        Type(String description) {
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Represents a compiled part of a formula: a function of a transaction, and the type of its value.
+     * A constant node does not read the transaction, so its value is computed once when it is created.
+     */
+    private static class Node {
+        private final Type type;
+        private final Object function;
+        private final boolean isConstant;
+
+        private Node(Type type, Object function, boolean isConstant) {
+            this.type = type;
+            this.function = function;
+            this.isConstant = isConstant;
+        }
+
+        static Node ofBoolean(Predicate<Transaction> function, boolean isConstant) {
+            if (isConstant) {
+                boolean value = function.test(null);
+                return new Node(Type.BOOLEAN, (Predicate<Transaction>) txn -> value, true);
+            }
+            return new Node(Type.BOOLEAN, function, false);
+        }
+
+        static Node ofNumber(ToDoubleFunction<Transaction> function, boolean isConstant) {
+            if (isConstant) {
+                double value = function.applyAsDouble(null);
+                return new Node(Type.NUMBER, (ToDoubleFunction<Transaction>) txn -> value, true);
+            }
+            return new Node(Type.NUMBER, function, false);
+        }
+
+        static Node ofText(Function<Transaction, String> function, boolean isConstant) {
+            if (isConstant) {
+                String value = function.apply(null);
+                return new Node(Type.TEXT, (Function<Transaction, String>) txn -> value, true);
+            }
+            return new Node(Type.TEXT, function, false);
+        }
+
+        static Node ofDate(Function<Transaction, LocalDate> function, boolean isConstant) {
+            if (isConstant) {
+                LocalDate value = function.apply(null);
+                return new Node(Type.DATE, (Function<Transaction, LocalDate>) txn -> value, true);
+            }
+            return new Node(Type.DATE, function, false);
+        }
+
+        @SuppressWarnings("unchecked")
+        Predicate<Transaction> asBoolean() {
+            return (Predicate<Transaction>) function;
+        }
+
+        @SuppressWarnings("unchecked")
+        ToDoubleFunction<Transaction> asNumber() {
+            return (ToDoubleFunction<Transaction>) function;
+        }
+
+        @SuppressWarnings("unchecked")
+        Function<Transaction, String> asText() {
+            return (Function<Transaction, String>) function;
+        }
+
+        @SuppressWarnings("unchecked")
+        Function<Transaction, LocalDate> asDate() {
+            return (Function<Transaction, LocalDate>) function;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package budgetbuddy.logic.rules.formula;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import budgetbuddy.logic.parser.exceptions.ParseException;
+
+/**
+ * Splits the source text of a formula into tokens.
+ */
+class FormulaTokenizer {
+    static final String MESSAGE_UNTERMINATED_TEXT = "Text starting at position %d of the formula is not closed";
+    static final String MESSAGE_UNEXPECTED_CHARACTER = "Unexpected character '%c' at position %d of the formula";
+
+    private static final String[] SYMBOLS = {"<=", ">=", "!=", "<", ">", "=", "+", "-", "*", "/", "(", ")", ",", ";"};
+
+    /**
+     * Is a private constructor for a static-only class.
+     */
+    private FormulaTokenizer() {}
+
+    /**
+     * Returns the tokens of {@code formula}, ending with a token of kind {@link Token.Kind#END}.
+     *
+     * @throws ParseException if the formula contains an unclosed text literal or an unknown character.
+     */
+    static List<Token> tokenize(String formula) throws ParseException {
+        requireNonNull(formula);
+        List<Token> tokens = new ArrayList<>();
+        int position = 0;
+        while (position < formula.length()) {
+            char c = formula.charAt(position);
+            if (Character.isWhitespace(c)) {
+                position++;
+            } else if (c == '"' || c == '\'') {
+                position = readText(formula, position, tokens);
+            } else if (Character.isDigit(c) || (c == '.' && position + 1 < formula.length()
+                    && Character.isDigit(formula.charAt(position + 1)))) {
+                int end = position;
+                while (end < formula.length()
+                        && (Character.isDigit(formula.charAt(end)) || formula.charAt(end) == '.')) {
+                    end++;
+                }
+                tokens.add(new Token(Token.Kind.NUMBER, formula.substring(position, end), position));
+                position = end;
+            } else if (Character.isLetter(c) || c == '_') {
+                int end = position;
+                while (end < formula.length()
+                        && (Character.isLetterOrDigit(formula.charAt(end)) || formula.charAt(end) == '_')) {
+                    end++;
+                }
+                tokens.add(new Token(Token.Kind.WORD, formula.substring(position, end).toLowerCase(), position));
+                position = end;
+            } else {
+                position = readSymbol(formula, position, tokens);
+            }
+        }
+        tokens.add(new Token(Token.Kind.END, "end of formula", formula.length()));
+        return tokens;
+    }
+
+    /**
+     * Reads a text literal enclosed in the quote at {@code start}, in which a backslash escapes the next character.
+     * @return the position after the closing quote.
+     */
+    private static int readText(String formula, int start, List<Token> tokens) throws ParseException {
+        char quote = formula.charAt(start);
+        StringBuilder text = new StringBuilder();
+        int position = start + 1;
+        while (position < formula.length()) {
+            char c = formula.charAt(position);
+            if (c == quote) {
+                tokens.add(new Token(Token.Kind.TEXT, text.toString(), start));
+                return position + 1;
+            }
+            if (c == '\\' && position + 1 < formula.length()) {
+                position++;
+                c = formula.charAt(position);
+            }
+            text.append(c);
+            position++;
+        }
+        throw new ParseException(String.format(MESSAGE_UNTERMINATED_TEXT, start + 1));
+    }
+
+    /**
+     * Reads the longest symbol at {@code start}.
+     * @return the position after the symbol.
+     */
+    private static int readSymbol(String formula, int start, List<Token> tokens) throws ParseException {
+        for (String symbol : SYMBOLS) {
+            if (formula.startsWith(symbol, start)) {
+                tokens.add(new Token(Token.Kind.SYMBOL, symbol, start));
+                return start + symbol.length();
+            }
+        }
+        throw new ParseException(String.format(MESSAGE_UNEXPECTED_CHARACTER, formula.charAt(start), start + 1));
+    }
+
+    /**
+     * Represents a token of a formula.
+     */
+    static class Token {
+        /**
+         * Represents the kinds of tokens.
+         */
+        enum Kind {
+            NUMBER, TEXT, WORD, SYMBOL, END
+        }
+
+        private final Kind kind;
+        private final String text;
+        private final int position;
+
+        Token(Kind kind, String text, int position) {
+            this.kind = kind;
+            this.text = text;
+            this.position = position;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        int getPosition() {
+            return position;
+        }
+
+        /**
+         * Returns true if this token is a word or symbol spelt as {@code text}.
+         */
+        boolean is(String text) {
+            return (kind == Kind.WORD || kind == Kind.SYMBOL) && this.text.equals(text);
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+            case TEXT:
+                return "text \"" + text + "\"";
+            case END:
+                return text;
+            default:
+                return "'" + text + "'";
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package budgetbuddy.logic.rules.index;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds which of a fixed set of patterns occur in a text, in a single pass over the text.
+ * <p>
+ * Each pattern is associated with one or more ids. Matching a text of length m costs O(m + number of matches),
+ * regardless of how many patterns there are. Once built, an automaton may be matched from several threads at once.
+ */
+public class AhoCorasickAutomaton {
+
+    private static final int ROOT = 0;
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<List<Integer>> outputs = new ArrayList<>();
+    private int[] failureLinks;
+    private int[] outputLinks;
+    private final BitSet emptyPatternIds = new BitSet();
+    private volatile boolean isBuilt = false;
+
+    /**
+     * Creates an automaton with no patterns.
+     */
+    public AhoCorasickAutomaton() {
+        addState();
+    }
+
+    /**
+     * Adds a pattern to the automaton, to be reported with the given id when it occurs in a text.
+     * Patterns cannot be added after the automaton has been used for matching.
+     */
+    public void addPattern(String pattern, int id) {
+        requireNonNull(pattern);
+        if (isBuilt) {
+            throw new IllegalStateException("Patterns cannot be added after matching has started.");
+        }
+        if (pattern.isEmpty()) {
+            // the empty string occurs in every text
+            emptyPatternIds.set(id);
+            return;
+        }
+
+        int state = ROOT;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            if (next == null) {
+                next = addState();
+                transitions.get(state).put(c, next);
+            }
+            state = next;
+        }
+        outputs.get(state).add(id);
+    }
+
+    /**
+     * Sets the id of every pattern occurring in {@code text} in {@code matchedIds}.
+     */
+    public void match(String text, BitSet matchedIds) {
+        requireNonNull(text);
+        requireNonNull(matchedIds);
+        if (!isBuilt) {
+            build();
+        }
+
+        matchedIds.or(emptyPatternIds);
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while (next == null && state != ROOT) {
+                state = failureLinks[state];
+                next = transitions.get(state).get(c);
+            }
+            state = next == null ? ROOT : next;
+
+            // report every pattern ending here, following only states that have patterns of their own
+            int reporting = outputs.get(state).isEmpty() ? outputLinks[state] : state;
+            while (reporting != ROOT) {
+                for (int id : outputs.get(reporting)) {
+                    matchedIds.set(id);
+                }
+                reporting = outputLinks[reporting];
+            }
+        }
+    }
+
+    private int addState() {
+        transitions.add(new HashMap<>());
+        outputs.add(new ArrayList<>());
+        return transitions.size() - 1;
+    }
+
+    /**
+     * Computes the failure and output links of every state, breadth-first from the root.
+     */
+    private synchronized void build() {
+        if (isBuilt) {
+            return;
+        }
+
+        failureLinks = new int[transitions.size()];
+        outputLinks = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(ROOT).values()) {
+            failureLinks[child] = ROOT;
+            outputLinks[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                char c = transition.getKey();
+                int child = transition.getValue();
+
+                int fallback = failureLinks[state];
+                while (fallback != ROOT && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failureLinks[fallback];
+                }
+                Integer failure = transitions.get(fallback).get(c);
+                failureLinks[child] = failure == null || failure == child ? ROOT : failure;
+                outputLinks[child] = outputs.get(failureLinks[child]).isEmpty()
+                        ? outputLinks[failureLinks[child]]
+                        : failureLinks[child];
+                queue.add(child);
+            }
+        }
+        isBuilt = true;
+    }
+}
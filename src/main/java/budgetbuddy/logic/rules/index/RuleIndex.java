@@ -0,0 +1,142 @@
+package budgetbuddy.logic.rules.index;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import budgetbuddy.logic.rules.CompiledRule;
+import budgetbuddy.logic.rules.testable.TestableExpression;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.rule.expression.Operator;
+import budgetbuddy.model.rule.expression.PredicateExpression;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * Indexes the predicates of a list of compiled rules by attribute, so that the rules whose predicates
+ * hold for a transaction can be found without testing every rule.
+ * <p>
+ * Rules are identified by their position in the list. Description contains-predicates share one
+ * Aho-Corasick automaton, ordering predicates are kept in sorted thresholds, and equality predicates
+ * are kept in hash maps. Predicates that cannot be indexed, such as scripts, are always reported as
+ * candidates and must still be tested against the transaction.
+ */
+@SuppressWarnings("rawtypes")
+public class RuleIndex {
+
+    private final int ruleCount;
+    private final BitSet unindexed = new BitSet();
+    private final AhoCorasickAutomaton descriptionPatterns = new AhoCorasickAutomaton();
+    private final Map<Attribute, Map<Object, List<Integer>>> equalityIndexes = new EnumMap<>(Attribute.class);
+    private final Map<Attribute, Map<Operator, ThresholdIndex>> thresholdIndexes = new EnumMap<>(Attribute.class);
+
+    /**
+     * Builds an index of the predicates of {@code compiledRules}.
+     */
+    public RuleIndex(List<CompiledRule> compiledRules) {
+        requireNonNull(compiledRules);
+        this.ruleCount = compiledRules.size();
+        for (int i = 0; i < compiledRules.size(); i++) {
+            addRule(i, compiledRules.get(i));
+        }
+    }
+
+    private void addRule(int position, CompiledRule compiledRule) {
+        Rule rule = compiledRule.getRule();
+        if (!rule.getPredicate().getType().equals(Rule.TYPE_EXPRESSION)
+                || !(compiledRule.getTestable() instanceof TestableExpression)) {
+            unindexed.set(position);
+            return;
+        }
+
+        PredicateExpression predicate = (PredicateExpression) rule.getPredicate();
+        Operator operator = predicate.getOperator();
+        TestableExpression testable = (TestableExpression) compiledRule.getTestable();
+        Attribute attribute = testable.getAttribute();
+        Comparable parsedValue = testable.getParsedValue();
+
+        switch (operator) {
+        case CONTAINS:
+            // other attributes are matched against their display form, which is left to the expression
+            if (attribute == Attribute.DESCRIPTION && parsedValue != null) {
+                descriptionPatterns.addPattern(predicate.getValue().toString(), position);
+                return;
+            }
+            break;
+        case EQUAL_TO:
+            if (parsedValue != null) {
+                equalityIndexes.computeIfAbsent(attribute, unused -> new HashMap<>())
+                        .computeIfAbsent(parsedValue, unused -> new ArrayList<>())
+                        .add(position);
+                return;
+            }
+            break;
+        case LESS_THAN:
+        case LESS_EQUAL:
+        case MORE_THAN:
+        case MORE_EQUAL:
+            if (parsedValue != null) {
+                thresholdIndexes.computeIfAbsent(attribute, unused -> new EnumMap<>(Operator.class))
+                        .computeIfAbsent(operator, ThresholdIndex::new)
+                        .addThreshold(parsedValue, position);
+                return;
+            }
+            break;
+        default:
+            break;
+        }
+        unindexed.set(position);
+    }
+
+    /**
+     * Returns the positions of the rules that may hold for {@code txn}.
+     * Every indexed rule in the result holds for the transaction, while unindexed rules are always included
+     * and still have to be tested.
+     */
+    public BitSet match(Transaction txn) {
+        requireNonNull(txn);
+        BitSet candidates = new BitSet(ruleCount);
+        candidates.or(unindexed);
+
+        String description = txn.getDescription().toString();
+        descriptionPatterns.match(description, candidates);
+        matchAttribute(Attribute.DESCRIPTION, txn.getDescription(), candidates);
+        matchAttribute(Attribute.DATE, txn.getLocalDate(), candidates);
+        if (txn.getDirection().equals(Direction.IN)) {
+            matchAttribute(Attribute.IN_AMOUNT, txn.getAmount(), candidates);
+        } else if (txn.getDirection().equals(Direction.OUT)) {
+            matchAttribute(Attribute.OUT_AMOUNT, txn.getAmount(), candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Sets the positions of the indexed equality and ordering predicates on {@code attribute}
+     * that hold for {@code value}.
+     */
+    private void matchAttribute(Attribute attribute, Comparable value, BitSet candidates) {
+        Map<Object, List<Integer>> equalityIndex = equalityIndexes.get(attribute);
+        if (equalityIndex != null) {
+            equalityIndex.getOrDefault(value, List.of()).forEach(candidates::set);
+        }
+
+        Map<Operator, ThresholdIndex> attributeThresholds = thresholdIndexes.get(attribute);
+        if (attributeThresholds != null) {
+            attributeThresholds.values().forEach(index -> index.match(value, candidates));
+        }
+    }
+
+    /**
+     * Returns true if the rule at {@code position} is fully decided by {@link #match(Transaction)},
+     * and false if it still has to be tested against the transaction.
+     */
+    public boolean isIndexed(int position) {
+        return !unindexed.get(position);
+    }
+}
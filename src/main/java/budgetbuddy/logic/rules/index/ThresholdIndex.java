@@ -0,0 +1,122 @@
+package budgetbuddy.logic.rules.index;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import budgetbuddy.model.rule.expression.Operator;
+
+/**
+ * Finds which of a set of comparisons against fixed thresholds hold for a value,
+ * by keeping the thresholds sorted so that the holding comparisons form a contiguous run.
+ * <p>
+ * Matching a value costs O(log n + number of matches), where n is the number of thresholds.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ThresholdIndex {
+
+    private final Operator operator;
+    private final List<Entry> entries = new ArrayList<>();
+    private volatile boolean isSorted = true;
+
+    /**
+     * Creates an empty index for comparisons using {@code operator}.
+     * @param operator One of the less-than, less-equal, more-than or more-equal operators.
+     */
+    public ThresholdIndex(Operator operator) {
+        requireNonNull(operator);
+        if (operator != Operator.LESS_THAN && operator != Operator.LESS_EQUAL
+                && operator != Operator.MORE_THAN && operator != Operator.MORE_EQUAL) {
+            throw new IllegalArgumentException("Only ordering operators can be indexed by threshold.");
+        }
+        this.operator = operator;
+    }
+
+    /**
+     * Adds the comparison {@code value <operator> threshold}, to be reported with the given id when it holds.
+     */
+    public void addThreshold(Comparable threshold, int id) {
+        requireNonNull(threshold);
+        entries.add(new Entry(threshold, id));
+        isSorted = false;
+    }
+
+    /**
+     * Sets the id of every comparison that holds for {@code value} in {@code matchedIds}.
+     */
+    public void match(Comparable value, BitSet matchedIds) {
+        requireNonNull(value);
+        if (!isSorted) {
+            sort();
+        }
+
+        switch (operator) {
+        case LESS_THAN:
+            // value < threshold
+            setIds(firstAbove(value, false), entries.size(), matchedIds);
+            break;
+        case LESS_EQUAL:
+            // value <= threshold
+            setIds(firstAbove(value, true), entries.size(), matchedIds);
+            break;
+        case MORE_THAN:
+            // value > threshold
+            setIds(0, firstAbove(value, true), matchedIds);
+            break;
+        case MORE_EQUAL:
+            // value >= threshold
+            setIds(0, firstAbove(value, false), matchedIds);
+            break;
+        default:
+            assert false : "Unindexable operator";
+        }
+    }
+
+    /**
+     * Returns the position of the first threshold greater than {@code value},
+     * or greater than or equal to it if {@code isInclusive}.
+     */
+    private int firstAbove(Comparable value, boolean isInclusive) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int comparison = entries.get(mid).threshold.compareTo(value);
+            if (comparison > 0 || (isInclusive && comparison == 0)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private void setIds(int from, int to, BitSet matchedIds) {
+        for (int i = from; i < to; i++) {
+            matchedIds.set(entries.get(i).id);
+        }
+    }
+
+    private synchronized void sort() {
+        if (!isSorted) {
+            entries.sort(Comparator.comparing(entry -> entry.threshold));
+            isSorted = true;
+        }
+    }
+
+    /**
+     * A threshold paired with the id reported when its comparison holds.
+     */
+    private static class Entry {
+        private final Comparable threshold;
+        private final int id;
+
+        private Entry(Comparable threshold, int id) {
+            this.threshold = threshold;
+            this.id = id;
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package budgetbuddy.logic.rules.performable;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents an action with hidden internal logic and the ability to be performed.
  */
 public interface Performable {
     /**
-     * Executes the action.
+     * Executes the action on a draft of a transaction belonging to this account.
+     * Changes to the draft are written back to the account by the caller.
      */
-    void perform(Model model, Index txnIndex, Account account);
+    void perform(Model model, TransactionDraft draft, Account account);
 }
@@ -0,0 +1,56 @@
+package budgetbuddy.logic.rules.performable;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.TransactionDraft;
+
+/**
+ * Represents an action written as a formula, compiled into a sequence of steps that are applied in order.
+ */
+public class PerformableFormula implements Performable {
+
+    private final String formula;
+    private final List<Consumer<TransactionDraft>> steps;
+    private final Logger logger = LogsCenter.getLogger(PerformableFormula.class);
+
+    /**
+     * Constructs a PerformableFormula from the compiled steps of {@code formula}.
+     */
+    public PerformableFormula(String formula, List<Consumer<TransactionDraft>> steps) {
+        requireAllNonNull(formula, steps);
+        this.formula = formula;
+        this.steps = List.copyOf(steps);
+    }
+
+    @Override
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        requireAllNonNull(model, draft);
+
+        long modificationCount = draft.getModificationCount();
+        for (Consumer<TransactionDraft> step : steps) {
+            step.accept(draft);
+        }
+        if (draft.getModificationCount() != modificationCount) {
+            logger.info(() -> "Rule Execution———Formula applied to:\n" + draft);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof PerformableFormula
+                && formula.equals(((PerformableFormula) other).formula));
+    }
+
+    @Override
+    public int hashCode() {
+        return formula.hashCode();
+    }
+}
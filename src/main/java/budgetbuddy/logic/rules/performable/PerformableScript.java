@@ -2,9 +2,10 @@ package budgetbuddy.logic.rules.performable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents an action written as a script.
@@ -22,8 +23,9 @@ public class PerformableScript implements Performable {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        evaluator.run(txnIndex, account);
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        // scripts edit the account directly, so they are run against the transaction as saved
+        evaluator.run(draft.build(), account);
     }
 
     /**
@@ -34,7 +36,7 @@ public class PerformableScript implements Performable {
         /**
          * Executes the script and returns the result.
          */
-        void run(Index txnIndex, Account account);
+        void run(Transaction txn, Account account);
     }
 
     @Override
@@ -2,14 +2,13 @@ package budgetbuddy.logic.rules.performable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents a prepend description expression.
@@ -26,20 +25,15 @@ public class PrependDescriptionExpression extends PerformableExpression {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        requireAllNonNull(model, draft);
 
         try {
-            Transaction toEdit = account.getTransaction(txnIndex);
             Description updatedDesc = CommandParserUtil.parseDescription(value.toString()
-                    + toEdit.getDescription().toString());
+                    + draft.getDescription().toString());
+            draft.setDescription(updatedDesc);
 
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), updatedDesc, toEdit.getCategories());
-
-            account.updateTransaction(txnIndex, updatedTransaction);
-
-            logger.info("Rule Execution———Description updated in:\n" + updatedTransaction);
+            logger.info(() -> "Rule Execution———Description updated in:\n" + draft);
         } catch (ParseException e) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
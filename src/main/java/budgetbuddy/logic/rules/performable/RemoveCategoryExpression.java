@@ -2,23 +2,21 @@ package budgetbuddy.logic.rules.performable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents a remove category expression.
  */
 public class RemoveCategoryExpression extends PerformableExpression {
 
+    private final Category categoryToRemove;
+
     /**
      * Constructs a RemoveCategoryExpression with the given value.
      *
@@ -26,31 +24,35 @@ public class RemoveCategoryExpression extends PerformableExpression {
      */
     public RemoveCategoryExpression(Value value) {
         super(value);
+        this.categoryToRemove = parseCategory(value);
     }
 
-    @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
+    /**
+     * Returns the category to remove, or null if the value is not a valid category.
+     */
+    private static Category parseCategory(Value value) {
         try {
-            Transaction toEdit = account.getTransaction(txnIndex);
-            Set<Category> categories = new HashSet<>(toEdit.getCategories());
-
-            Category categoryToRemove = CommandParserUtil.parseCategory(value.toString());
-            if (!categories.contains(categoryToRemove)) {
-                return;
-            }
-
-            categories.remove(categoryToRemove);
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), toEdit.getDescription(), categories);
+            return CommandParserUtil.parseCategory(value.toString());
+        } catch (ParseException e) {
+            return null;
+        }
+    }
 
-            account.updateTransaction(txnIndex, updatedTransaction);
+    @Override
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        requireAllNonNull(model, draft);
 
-            logger.info("Rule Execution———Category removed in:\n" + updatedTransaction);
-        } catch (ParseException e) {
+        if (categoryToRemove == null) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
+            return;
+        }
+
+        if (!draft.hasCategory(categoryToRemove)) {
+            return;
         }
+        draft.removeCategory(categoryToRemove);
+
+        logger.info(() -> "Rule Execution———Category removed in:\n" + draft);
     }
 }
@@ -2,23 +2,21 @@ package budgetbuddy.logic.rules.performable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents a set category expression.
  */
 public class SetCategoryExpression extends PerformableExpression {
 
+    private final Category categoryToAdd;
+
     /**
      * Constructs a SetCategoryExpression with the given value.
      *
@@ -26,31 +24,35 @@ public class SetCategoryExpression extends PerformableExpression {
      */
     public SetCategoryExpression(Value value) {
         super(value);
+        this.categoryToAdd = parseCategory(value);
     }
 
-    @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
+    /**
+     * Returns the category to add, or null if the value is not a valid category.
+     */
+    private static Category parseCategory(Value value) {
         try {
-            Transaction toEdit = account.getTransaction(txnIndex);
-            Set<Category> categories = new HashSet<>(toEdit.getCategories());
-
-            Category categoryToAdd = CommandParserUtil.parseCategory(value.toString());
-            if (categories.contains(categoryToAdd)) {
-                return;
-            }
-
-            categories.add(categoryToAdd);
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), toEdit.getDescription(), categories);
+            return CommandParserUtil.parseCategory(value.toString());
+        } catch (ParseException e) {
+            return null;
+        }
+    }
 
-            account.updateTransaction(txnIndex, updatedTransaction);
+    @Override
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        requireAllNonNull(model, draft);
 
-            logger.info("Rule Execution———Category added in:\n" + updatedTransaction);
-        } catch (ParseException e) {
+        if (categoryToAdd == null) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
+            return;
+        }
+
+        if (draft.hasCategory(categoryToAdd)) {
+            return;
         }
+        draft.addCategory(categoryToAdd);
+
+        logger.info(() -> "Rule Execution———Category added in:\n" + draft);
     }
 }
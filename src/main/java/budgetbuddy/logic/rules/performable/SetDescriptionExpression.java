@@ -2,20 +2,21 @@ package budgetbuddy.logic.rules.performable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents a set description expression.
  */
 public class SetDescriptionExpression extends PerformableExpression {
 
+    private final Description updatedDesc;
+
     /**
      * Constructs a SetDescriptionExpression with the given value.
      *
@@ -23,25 +24,32 @@ public class SetDescriptionExpression extends PerformableExpression {
      */
     public SetDescriptionExpression(Value value) {
         super(value);
+        this.updatedDesc = parseDescription(value);
     }
 
-    @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
+    /**
+     * Returns the description to set, or null if the value is not a valid description.
+     */
+    private static Description parseDescription(Value value) {
         try {
-            Transaction toEdit = account.getTransaction(txnIndex);
-            Description updatedDesc = CommandParserUtil.parseDescription(value.toString());
-
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), updatedDesc, toEdit.getCategories());
+            return CommandParserUtil.parseDescription(value.toString());
+        } catch (ParseException e) {
+            return null;
+        }
+    }
 
-            account.updateTransaction(txnIndex, updatedTransaction);
+    @Override
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        requireAllNonNull(model, draft);
 
-            logger.info("Rule Execution———Description updated in:\n" + updatedTransaction);
-        } catch (ParseException e) {
+        if (updatedDesc == null) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
+            return;
         }
+
+        draft.setDescription(updatedDesc);
+
+        logger.info(() -> "Rule Execution———Description updated in:\n" + draft);
     }
 }
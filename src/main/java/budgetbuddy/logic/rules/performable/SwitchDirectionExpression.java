@@ -2,12 +2,11 @@ package budgetbuddy.logic.rules.performable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
 
 /**
  * Represents a switch direction expression.
@@ -24,17 +23,12 @@ public class SwitchDirectionExpression extends PerformableExpression {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
+    public void perform(Model model, TransactionDraft draft, Account account) {
+        requireAllNonNull(model, draft);
 
-        Transaction toEdit = account.getTransaction(txnIndex);
-        Direction updatedDirection = toEdit.getDirection().equals(Direction.IN) ? Direction.OUT : Direction.IN;
+        Direction updatedDirection = draft.getDirection().equals(Direction.IN) ? Direction.OUT : Direction.IN;
+        draft.setDirection(updatedDirection);
 
-        Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(), updatedDirection,
-                toEdit.getDescription(), toEdit.getCategories());
-
-        account.updateTransaction(txnIndex, updatedTransaction);
-
-        logger.info("Rule Execution———Direction updated in:\n" + updatedTransaction);
+        logger.info(() -> "Rule Execution———Direction updated in:\n" + draft);
     }
 }
@@ -2,11 +2,11 @@ package budgetbuddy.logic.rules.testable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.rules.RuleEngine;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
+import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a contains expression.
@@ -23,9 +23,9 @@ public class ContainsExpression extends TestableExpression {
     }
 
     @Override
-    public boolean test(Index txnIndex, Account account) {
-        requireAllNonNull(txnIndex, account);
-        Object attr = RuleEngine.extractAttribute(attribute, txnIndex, account);
+    public boolean test(Transaction txn, Account account) {
+        requireAllNonNull(txn, account);
+        Object attr = RuleEngine.extractAttribute(attribute, txn);
         if (attr == null) {
             return false;
         }
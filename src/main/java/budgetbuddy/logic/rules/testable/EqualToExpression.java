@@ -2,12 +2,11 @@ package budgetbuddy.logic.rules.testable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.logic.parser.exceptions.ParseException;
 import budgetbuddy.logic.rules.RuleEngine;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
+import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a equal-to expression.
@@ -25,19 +24,10 @@ public class EqualToExpression extends TestableExpression {
 
     @Override
     @SuppressWarnings("unchecked")
-    public boolean test(Index txnIndex, Account account) {
-        requireAllNonNull(txnIndex, account);
-        Comparable left = (Comparable) RuleEngine.extractAttribute(attribute, txnIndex, account);
-        Comparable right;
-        try {
-            right = (Comparable) RuleEngine.convertValue(attribute.getEvaluatedType(), value);
+    public boolean test(Transaction txn, Account account) {
+        requireAllNonNull(txn, account);
+        Comparable left = (Comparable) RuleEngine.extractAttribute(attribute, txn);
 
-            // attributes should never have a blank type
-            assert right != null;
-        } catch (ParseException e) {
-            return false;
-        }
-
-        return left != null && left.compareTo(right) == 0;
+        return left != null && parsedValue != null && left.compareTo(parsedValue) == 0;
     }
 }
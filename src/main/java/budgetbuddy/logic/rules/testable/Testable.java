@@ -1,7 +1,7 @@
 package budgetbuddy.logic.rules.testable;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a predicate with hidden internal logic and the ability to be tested.
@@ -9,7 +9,8 @@ import budgetbuddy.model.account.Account;
 @FunctionalInterface
 public interface Testable {
     /**
-     * Tests if the transaction in this account satisfy the predicate.
+     * Tests if the transaction, which belongs to this account, satisfies the predicate.
+     * The transaction is passed in as it currently stands, which may include changes not yet saved to the account.
      */
-    boolean test(Index txnIndex, Account account);
+    boolean test(Transaction txn, Account account);
 }
@@ -6,6 +6,8 @@ import java.util.Objects;
 import java.util.logging.Logger;
 
 import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.RuleEngine;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
 
@@ -15,6 +17,9 @@ import budgetbuddy.model.rule.expression.Value;
 public abstract class TestableExpression implements Testable {
     protected final Attribute attribute;
     protected final Value value;
+    /** The value converted to the attribute's type once on construction, or null if it cannot be converted. */
+    @SuppressWarnings("rawtypes")
+    protected final Comparable parsedValue;
     protected final Logger logger = LogsCenter.getLogger(TestableExpression.class);
 
     /**
@@ -28,6 +33,36 @@ public abstract class TestableExpression implements Testable {
         requireAllNonNull(attribute, value);
         this.attribute = attribute;
         this.value = value;
+        this.parsedValue = parseValue(attribute, value);
+    }
+
+    /**
+     * Converts the value to the type the attribute evaluates to, so that tests do not need to parse it again.
+     * @return the converted value, or null if the value cannot be converted.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Comparable parseValue(Attribute attribute, Value value) {
+        try {
+            Comparable converted = (Comparable) RuleEngine.convertValue(attribute.getEvaluatedType(), value);
+
+            // attributes should never have a blank type
+            assert converted != null;
+            return converted;
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    public Attribute getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the value converted to the attribute's type, or null if it could not be converted.
+     */
+    @SuppressWarnings("rawtypes")
+    public Comparable getParsedValue() {
+        return parsedValue;
     }
 
     @Override
@@ -0,0 +1,71 @@
+package budgetbuddy.logic.rules.testable;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * Represents a predicate written as a formula, compiled into a Java predicate.
+ */
+public class TestableFormula implements Testable {
+
+    private final String formula;
+    private final Predicate<Transaction> predicate;
+    private final Set<Attribute> inputs;
+    private final boolean readsCategories;
+
+    /**
+     * Constructs a TestableFormula from the compiled form of {@code formula}.
+     *
+     * @param inputs the attributes that the formula reads.
+     * @param readsCategories whether the formula reads the categories of a transaction.
+     */
+    public TestableFormula(String formula, Predicate<Transaction> predicate, Set<Attribute> inputs,
+                           boolean readsCategories) {
+        requireAllNonNull(formula, predicate, inputs);
+        this.formula = formula;
+        this.predicate = predicate;
+        this.inputs = Collections.unmodifiableSet(inputs.isEmpty()
+                ? EnumSet.noneOf(Attribute.class)
+                : EnumSet.copyOf(inputs));
+        this.readsCategories = readsCategories;
+    }
+
+    @Override
+    public boolean test(Transaction txn, Account account) {
+        return predicate.test(txn);
+    }
+
+    /**
+     * Returns the transaction attributes that the formula reads.
+     */
+    public Set<Attribute> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns true if the formula reads the categories of a transaction, which are not attributes.
+     */
+    public boolean readsCategories() {
+        return readsCategories;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof TestableFormula
+                && formula.equals(((TestableFormula) other).formula));
+    }
+
+    @Override
+    public int hashCode() {
+        return formula.hashCode();
+    }
+}
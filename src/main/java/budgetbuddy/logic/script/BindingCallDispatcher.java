@@ -0,0 +1,17 @@
+package budgetbuddy.logic.script;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs the calls that a script running in the background makes into the application,
+ * such as on the thread that owns the model.
+ */
+@FunctionalInterface
+public interface BindingCallDispatcher {
+    /**
+     * Runs {@code call} and returns its result, waiting for it to finish.
+     *
+     * @throws Exception if the call throws an exception, or the wait is interrupted.
+     */
+    Object dispatch(Callable<Object> call) throws Exception;
+}
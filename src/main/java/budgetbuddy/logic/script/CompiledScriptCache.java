@@ -0,0 +1,79 @@
+package budgetbuddy.logic.script;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.CompiledScript;
+
+/**
+ * Keeps the most recently used compiled scripts, keyed by their source code,
+ * so that a script evaluated many times is only compiled once.
+ *
+ * This class is not thread-safe; {@link ScriptEngine} only uses it while holding its engine lock.
+ */
+class CompiledScriptCache {
+    private final Map<String, CompiledScript> compiledScripts;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Creates an empty cache that holds at most {@code capacity} compiled scripts.
+     */
+    CompiledScriptCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.compiledScripts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form of {@code code}, or null if it is not in the cache.
+     * The lookup is counted as a hit or a miss.
+     */
+    CompiledScript get(String code) {
+        requireNonNull(code);
+        CompiledScript compiledScript = compiledScripts.get(code);
+        if (compiledScript == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return compiledScript;
+    }
+
+    /**
+     * Adds the compiled form of {@code code}, evicting the least recently used script if the cache is full.
+     */
+    void put(String code, CompiledScript compiledScript) {
+        requireNonNull(code);
+        requireNonNull(compiledScript);
+        compiledScripts.put(code, compiledScript);
+    }
+
+    /**
+     * Removes the compiled form of {@code code}, if it is in the cache.
+     */
+    void invalidate(String code) {
+        requireNonNull(code);
+        compiledScripts.remove(code);
+    }
+
+    int size() {
+        return compiledScripts.size();
+    }
+
+    long getHitCount() {
+        return hitCount;
+    }
+
+    long getMissCount() {
+        return missCount;
+    }
+}
@@ -71,6 +71,22 @@ public class ScriptBindingInterfaces {
         Object apply(Object a1, Object... a2) throws Exception;
     }
 
+    /**
+     * Helps to bind a Java method with the same signature into the script environment.
+     */
+    @FunctionalInterface
+    public interface OptionalObjects {
+        Object apply(Object... a0) throws Exception;
+    }
+
+    /**
+     * Helps to bind a Java method with the same signature into the script environment.
+     */
+    @FunctionalInterface
+    public interface AccountObject {
+        Object apply(Account a0, Object a1) throws Exception;
+    }
+
     /**
      * Helps to bind a Java method with the same signature into the script environment.
      */
@@ -111,6 +127,14 @@ public class ScriptBindingInterfaces {
         Object apply(int a1, Object... a2) throws Exception;
     }
 
+    /**
+     * Helps to bind a Java method with the same signature into the script environment.
+     */
+    @FunctionalInterface
+    public interface IntIntObjects {
+        Object apply(int a1, int a2, Object... a3) throws Exception;
+    }
+
     /**
      * Helps to bind a Java method with the same signature into the script environment.
      */
@@ -0,0 +1,106 @@
+package budgetbuddy.logic.script;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import budgetbuddy.model.script.Script;
+
+/**
+ * Represents the limits on a single evaluation of a script.
+ * Guarantees: immutable; both limits are positive.
+ * <p>
+ * A stored script may override the default limits by including {@code timeout=<milliseconds>ms}
+ * and/or {@code maxops=<count>} in its description.
+ * Operations are counted each time a loop body or a function body is entered.
+ */
+public class ScriptBudget {
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+    public static final long DEFAULT_MAX_OPERATIONS = 100_000_000;
+    public static final ScriptBudget DEFAULT = new ScriptBudget(DEFAULT_TIMEOUT_MILLIS, DEFAULT_MAX_OPERATIONS);
+    public static final ScriptBudget UNLIMITED = new ScriptBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final Pattern TIMEOUT_PATTERN = Pattern.compile("\\btimeout\\s*=\\s*(\\d{1,9})\\s*ms\\b");
+    private static final Pattern MAX_OPERATIONS_PATTERN = Pattern.compile("\\bmaxops\\s*=\\s*(\\d{1,18})\\b");
+
+    private final long timeoutMillis;
+    private final long maxOperations;
+
+    /**
+     * Creates a budget of {@code timeoutMillis} milliseconds and {@code maxOperations} operations.
+     */
+    public ScriptBudget(long timeoutMillis, long maxOperations) {
+        if (timeoutMillis < 1 || maxOperations < 1) {
+            throw new IllegalArgumentException("Script budgets must be positive");
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Returns the budget of {@code script}, taking any limits not given in its description from the default.
+     */
+    public static ScriptBudget of(Script script) {
+        return of(script, DEFAULT);
+    }
+
+    /**
+     * Returns the budget of {@code script}, taking any limits not given in its description from {@code defaults}.
+     */
+    public static ScriptBudget of(Script script, ScriptBudget defaults) {
+        requireNonNull(script);
+        requireNonNull(defaults);
+        String description = script.getDescription().toString();
+        long timeoutMillis = defaults.timeoutMillis;
+        long maxOperations = defaults.maxOperations;
+
+        Matcher timeoutMatcher = TIMEOUT_PATTERN.matcher(description);
+        if (timeoutMatcher.find()) {
+            timeoutMillis = Math.max(1, Long.parseLong(timeoutMatcher.group(1)));
+        }
+        Matcher maxOperationsMatcher = MAX_OPERATIONS_PATTERN.matcher(description);
+        if (maxOperationsMatcher.find()) {
+            maxOperations = Math.max(1, Long.parseLong(maxOperationsMatcher.group(1)));
+        }
+        return new ScriptBudget(timeoutMillis, maxOperations);
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Returns true if this budget limits the time a script may run for.
+     */
+    public boolean hasTimeout() {
+        return timeoutMillis != Long.MAX_VALUE;
+    }
+
+    public long getMaxOperations() {
+        return maxOperations;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ScriptBudget)) {
+            return false;
+        }
+        ScriptBudget otherBudget = (ScriptBudget) other;
+        return timeoutMillis == otherBudget.timeoutMillis && maxOperations == otherBudget.maxOperations;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timeoutMillis, maxOperations);
+    }
+
+    @Override
+    public String toString() {
+        return timeoutMillis + "ms, " + maxOperations + " operations";
+    }
+}
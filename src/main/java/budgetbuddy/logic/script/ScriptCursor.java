@@ -0,0 +1,81 @@
+package budgetbuddy.logic.script;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Steps through the items of a list that match a predicate, testing each item only when it is reached,
+ * so that a script can process a large list without first copying it into a script array.
+ * <p>
+ * The cursor reads the list by position, so it does not fail if the list is changed while it is open,
+ * but items inserted or removed before its position may shift items past it or make it see an item again.
+ *
+ * @param <T> the type of the items
+ */
+public class ScriptCursor<T> implements Iterator<T> {
+    private final List<T> source;
+    private final Predicate<? super T> predicate;
+    private int position = 0;
+    private T nextItem;
+
+    /**
+     * Creates a cursor over the items of {@code source} that match {@code predicate}.
+     */
+    public ScriptCursor(List<T> source, Predicate<? super T> predicate) {
+        requireAllNonNull(source, predicate);
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextItem == null && position < source.size()) {
+            T item = source.get(position++);
+            if (predicate.test(item)) {
+                nextItem = item;
+            }
+        }
+        return nextItem != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = nextItem;
+        nextItem = null;
+        return item;
+    }
+
+    /**
+     * Returns a cursor over the items this cursor has yet to reach, copied so that it no longer reads the list.
+     */
+    ScriptCursor<T> detach() {
+        List<T> remainingItems = new ArrayList<>(source.size() - position + 1);
+        if (nextItem != null) {
+            remainingItems.add(nextItem);
+        }
+        remainingItems.addAll(source.subList(position, source.size()));
+        return new ScriptCursor<>(remainingItems, predicate);
+    }
+
+    /**
+     * Returns up to {@code count} of the next matching items, or an empty list if there are none left.
+     */
+    public List<T> next(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        List<T> items = new ArrayList<>(Math.min(count, source.size()));
+        while (items.size() < count && hasNext()) {
+            items.add(next());
+        }
+        return items;
+    }
+}
@@ -1,30 +1,80 @@
 package budgetbuddy.logic.script;
 
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngineManager;
 
 import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.logic.script.exceptions.ScriptException;
+import budgetbuddy.logic.script.exceptions.ScriptTimeoutException;
+import budgetbuddy.model.Model;
 import budgetbuddy.model.script.Script;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
 /**
  * Evaluates scripts.
+ *
+ * Scripts are normally evaluated one at a time in a single context. Scripts that only read the model can
+ * also be spread over a pool of extra contexts, each with its own variables, set up by initialisers of their own
+ * that should only provide functions which read the model.
+ *
+ * Every evaluation runs within a {@link ScriptBudget}, and is stopped with a {@link ScriptTimeoutException}
+ * if it runs for too long or performs too many operations.
+ *
+ * A stored script may also be evaluated in the background, on a thread other than the one that owns the model.
+ * Its calls into the application are then passed to a {@link BindingCallDispatcher} to run,
+ * and any observable list it gets back is copied there, so the script never reads the model itself.
+ *
+ * Starting the underlying JavaScript engine is slow, so it is only started when it is first needed,
+ * or ahead of time on a background thread with {@link #initialiseInBackground()}.
  */
 public class ScriptEngine {
     static final String INCORRECT_ARITY_MESSAGE = "Incorrect number of arguments passed to function call";
+    static final int COMPILED_SCRIPT_CACHE_CAPACITY = 64;
+    static final String CHECKPOINT_FUNCTION_NAME = "__bbCheckpoint";
 
     private final Logger logger = LogsCenter.getLogger(ScriptEngine.class);
 
-    private final Object scriptEngineLock;
+    private final ReentrantLock scriptEngineLock;
     private final List<ScriptEnvironmentInitialiser> initialisers;
-    private final javax.script.ScriptEngine scriptEngine;
+    private final List<ScriptEnvironmentInitialiser> pooledInitialisers;
+    // started on first use, and only read or written while holding the engine lock
+    private javax.script.ScriptEngine scriptEngine;
+    private volatile boolean isInitialised = false;
+    private volatile Thread initialiserThread;
+    private final CompiledScriptCache compiledScriptCache = new CompiledScriptCache(COMPILED_SCRIPT_CACHE_CAPACITY);
+    // the innermost evaluation in progress, as scripts may evaluate other scripts
+    private volatile ScriptExecution activeExecution;
+    // set while a script is evaluated in the background
+    private volatile BindingCallDispatcher bindingCallDispatcher;
+    private volatile Thread backgroundThread;
+    // the variables whose calls a background script must dispatch, by name; guarded by the engine lock
+    private final Map<String, Object> dispatchedVariables = new HashMap<>();
+
+    private final int poolSize;
+    // guards the creation of pooled contexts
+    private final List<ScriptEngine> pooledContexts = new ArrayList<>();
+    private final Queue<ScriptEngine> idlePooledContexts = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates a new ScriptManager with the specified environment initialiser.
@@ -32,18 +82,104 @@ public class ScriptEngine {
      * @param initialisers The environment initialisers.
      */
     public ScriptEngine(ScriptEnvironmentInitialiser... initialisers) {
+        this(0, Collections.emptyList(), initialisers);
+    }
+
+    /**
+     * Creates a new ScriptManager with the specified environment initialiser,
+     * and up to {@code poolSize} extra contexts for read-only scripts.
+     * The extra contexts are only created when they are first needed.
+     *
+     * @param poolSize The maximum number of extra contexts.
+     * @param pooledInitialisers The environment initialisers of the extra contexts.
+     * @param initialisers The environment initialisers.
+     */
+    public ScriptEngine(int poolSize, List<ScriptEnvironmentInitialiser> pooledInitialisers,
+            ScriptEnvironmentInitialiser... initialisers) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("Pool size cannot be negative");
+        }
+        this.poolSize = poolSize;
+        this.pooledInitialisers = new ArrayList<>(pooledInitialisers);
         this.initialisers = new ArrayList<>();
         Collections.addAll(this.initialisers, initialisers);
-        scriptEngineLock = new Object();
-        scriptEngine = new ScriptEngineManager().getEngineByName("nashorn");
+        scriptEngineLock = new ReentrantLock();
+    }
+
+    /**
+     * Starts the underlying JavaScript engine on a background thread, if it has not been started yet,
+     * so that it is ready by the time a script is first evaluated.
+     * A script evaluated before then waits for the engine to finish starting.
+     */
+    public void initialiseInBackground() {
+        if (isInitialised) {
+            return;
+        }
+        initialiserThread = new Thread(() -> {
+            try {
+                startEngine();
+            } catch (IllegalStateException e) {
+                // the error is raised again when a script is evaluated
+                logger.warning(e.getMessage());
+            }
+        }, "Script engine initialiser");
+        initialiserThread.setDaemon(true);
+        initialiserThread.start();
+    }
+
+    /**
+     * Returns true if the underlying JavaScript engine has been started.
+     */
+    public boolean isInitialised() {
+        return isInitialised;
+    }
+
+    /**
+     * Starts the underlying JavaScript engine if it has not been started yet,
+     * waiting for it to finish starting if another thread is starting it.
+     *
+     * @throws IllegalStateException if the JavaScript engine is not available.
+     */
+    private void startEngine() {
+        if (isInitialised) {
+            return;
+        }
+        scriptEngineLock.lock();
+        try {
+            getEngine();
+        } finally {
+            scriptEngineLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the underlying JavaScript engine, starting it and setting up its environment if it has not
+     * been started yet. Must be called while holding the engine lock.
+     *
+     * @throws IllegalStateException if the JavaScript engine is not available.
+     */
+    private javax.script.ScriptEngine getEngine() {
+        assert scriptEngineLock.isHeldByCurrentThread();
         if (scriptEngine == null) {
-            throw new IllegalStateException("Could not instantiate JavaScript engine");
+            long startTime = System.nanoTime();
+            javax.script.ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
+            if (engine == null) {
+                throw new IllegalStateException("Could not instantiate JavaScript engine");
+            }
+            scriptEngine = engine;
+            initialiseEnvironment();
+            isInitialised = true;
+            long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+            logger.info(Thread.currentThread() == initialiserThread
+                    ? String.format("Started script engine in the background in %d ms, "
+                            + "which startup no longer waits for", elapsedMillis)
+                    : String.format("Started script engine on first use in %d ms", elapsedMillis));
         }
-        resetEnvironment();
+        return scriptEngine;
     }
 
     /**
-     * Evaluates a script.
+     * Evaluates a script within the default budget.
      *
      * The context between evaluations is persisted.
      *
@@ -53,29 +189,265 @@ public class ScriptEngine {
      * @throws ScriptException if an exception occurs during script evaluation
      */
     public Object evaluateScript(String script, Object... argv) throws ScriptException {
-        synchronized (scriptEngineLock) {
+        return evaluateWithinBudget(script, ScriptBudget.DEFAULT, argv);
+    }
+
+    /**
+     * Evaluates a script, stopping it if it uses up {@code budget}.
+     *
+     * @throws ScriptTimeoutException if the script uses up its budget
+     * @throws ScriptException if any other exception occurs during script evaluation
+     */
+    private Object evaluateWithinBudget(String script, ScriptBudget budget, Object[] argv) throws ScriptException {
+        // the time taken to start the engine does not count towards the script's budget
+        startEngine();
+        scriptEngineLock.lock();
+        ScriptExecution outerExecution = activeExecution;
+        ScriptExecution execution = new ScriptExecution(budget, outerExecution);
+        activeExecution = execution;
+        try {
+            setVariable("argv", argv);
+            return compile(script).eval();
+        } catch (Exception ex) {
+            if (execution.isCancelled()) {
+                logger.info(ScriptExecution.MESSAGE_CANCELLED);
+                throw new ScriptException(ScriptExecution.MESSAGE_CANCELLED);
+            }
+            if (execution.isBudgetExceeded()) {
+                logger.warning(execution.getBudgetExceededMessage());
+                throw new ScriptTimeoutException(execution.getBudgetExceededMessage());
+            }
+            Throwable cause = unwrapNashornExceptions(ex);
+            logger.log(Level.WARNING, "Exception while evaluating script", cause);
+            throw new ScriptException(
+                    String.format("Exception while evaluating script: %1$s", cause.toString()), cause);
+        } finally {
+            activeExecution = outerExecution;
+            scriptEngineLock.unlock();
+        }
+    }
+
+    /**
+     * Counts an operation of the script being evaluated, stopping it if it has used up its budget.
+     * Instrumented scripts call this at the start of every loop body and function body.
+     */
+    private Object checkpoint() {
+        ScriptExecution execution = activeExecution;
+        if (execution != null) {
+            execution.checkpoint();
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates a script that does not change the model or declare variables that other scripts rely on,
+     * such as a rule predicate.
+     *
+     * The script is evaluated in the main context if it is free. Otherwise, rather than waiting for it,
+     * the script is evaluated in an idle pooled context, so read-only scripts evaluated from several threads
+     * run in parallel. Pooled contexts do not see variables declared by scripts in the main context,
+     * and only have the variables set up by the pooled initialisers.
+     *
+     * @param script the script
+     * @param argv the arguments to pass to the script
+     * @return the result of the script, which may be <code>null</code>
+     * @throws ScriptException if an exception occurs during script evaluation
+     */
+    public Object evaluateReadOnlyScript(Script script, Object... argv) throws ScriptException {
+        if (!isInitialised) {
+            // each pooled context would start an engine of its own, so wait for the main one instead
+            return evaluateScript(script, argv);
+        }
+        if (scriptEngineLock.tryLock()) {
             try {
-                setVariable("argv", argv);
-                return scriptEngine.eval(script);
-            } catch (Exception ex) {
-                Throwable cause = unwrapNashornExceptions(ex);
-                logger.log(Level.WARNING, "Exception while evaluating script", cause);
-                throw new ScriptException(
-                        String.format("Exception while evaluating script: %1$s", cause.toString()), cause);
+                return evaluateScript(script, argv);
+            } finally {
+                scriptEngineLock.unlock();
             }
         }
+
+        ScriptEngine pooledContext = acquirePooledContext();
+        if (pooledContext == null) {
+            return evaluateScript(script, argv);
+        }
+        try {
+            return pooledContext.evaluateScript(script, argv);
+        } finally {
+            idlePooledContexts.offer(pooledContext);
+        }
     }
 
     /**
-     * Evaluates a script.
+     * Returns an idle pooled context, creating one if the pool is not yet full,
+     * or null if every pooled context is busy.
+     */
+    private ScriptEngine acquirePooledContext() {
+        ScriptEngine pooledContext = idlePooledContexts.poll();
+        if (pooledContext != null) {
+            return pooledContext;
+        }
+
+        synchronized (pooledContexts) {
+            if (pooledContexts.size() >= poolSize) {
+                return null;
+            }
+            pooledContext = new ScriptEngine(pooledInitialisers.toArray(new ScriptEnvironmentInitialiser[0]));
+            pooledContexts.add(pooledContext);
+            logger.fine("Created pooled script context " + pooledContexts.size() + " of " + poolSize);
+            return pooledContext;
+        }
+    }
+
+    /**
+     * Returns the compiled form of {@code script}, compiling it only if it is not already cached.
+     * Compiled scripts run against the engine's own context, so they share its variables.
+     */
+    private CompiledScript compile(String script) throws javax.script.ScriptException {
+        CompiledScript compiledScript = compiledScriptCache.get(script);
+        if (compiledScript == null) {
+            compiledScript = compileWithCheckpoints(script);
+            compiledScriptCache.put(script, compiledScript);
+        }
+        return compiledScript;
+    }
+
+    /**
+     * Compiles {@code script} with checkpoints added, or as it is if the checkpoints cannot be added.
+     * Such a script still has a time limit, but can only be stopped while it calls into the application.
+     */
+    private CompiledScript compileWithCheckpoints(String script) throws javax.script.ScriptException {
+        String instrumentedScript = ScriptInstrumenter.instrument(script, CHECKPOINT_FUNCTION_NAME + "();");
+        if (!instrumentedScript.equals(script)) {
+            try {
+                return ((Compilable) getEngine()).compile(instrumentedScript);
+            } catch (javax.script.ScriptException e) {
+                logger.warning("Could not add checkpoints to script: " + e.getMessage());
+            }
+        }
+        return ((Compilable) getEngine()).compile(script);
+    }
+
+    /**
+     * Discards the compiled form of {@code script}, such as when the script is replaced or removed.
+     */
+    public void invalidateScript(Script script) {
+        scriptEngineLock.lock();
+        try {
+            compiledScriptCache.invalidate(script.getCode());
+        } finally {
+            scriptEngineLock.unlock();
+        }
+        synchronized (pooledContexts) {
+            pooledContexts.forEach(pooledContext -> pooledContext.invalidateScript(script));
+        }
+    }
+
+    /**
+     * Returns the number of evaluations, in any context, that reused an already compiled script.
+     */
+    public long getCompiledScriptHitCount() {
+        long hitCount;
+        scriptEngineLock.lock();
+        try {
+            hitCount = compiledScriptCache.getHitCount();
+        } finally {
+            scriptEngineLock.unlock();
+        }
+        synchronized (pooledContexts) {
+            return hitCount + pooledContexts.stream().mapToLong(ScriptEngine::getCompiledScriptHitCount).sum();
+        }
+    }
+
+    /**
+     * Returns the number of evaluations, in any context, that had to compile their script.
+     */
+    public long getCompiledScriptMissCount() {
+        long missCount;
+        scriptEngineLock.lock();
+        try {
+            missCount = compiledScriptCache.getMissCount();
+        } finally {
+            scriptEngineLock.unlock();
+        }
+        synchronized (pooledContexts) {
+            return missCount + pooledContexts.stream().mapToLong(ScriptEngine::getCompiledScriptMissCount).sum();
+        }
+    }
+
+    /**
+     * Returns the number of pooled contexts created so far.
+     */
+    public int getPooledContextCount() {
+        synchronized (pooledContexts) {
+            return pooledContexts.size();
+        }
+    }
+
+    /**
+     * Evaluates a stored script, within the budget given in its description.
      *
      * @param script the script
      * @param argv the arguments to pass to the script
      * @return the result of the script, which may be <code>null</code>
      * @throws ScriptException if an exception occurs during script evaluation
+     * @see ScriptBudget#of(Script)
      */
     public Object evaluateScript(Script script, Object... argv) throws ScriptException {
-        return evaluateScript(script.getCode(), argv);
+        return evaluateWithinBudget(script.getCode(), ScriptBudget.of(script), argv);
+    }
+
+    /**
+     * Evaluates a stored script on the current thread, in the background of the thread that owns the model.
+     *
+     * Every call the script makes to a function bound with one of the {@link ScriptBindingInterfaces}, or to
+     * the model, is run by {@code dispatcher}, and observable lists returned by such calls are copied before
+     * the script sees them. Objects returned by the calls are otherwise passed on as they are, so the script
+     * should only change the model through the bound functions.
+     * The engine is unlocked while a dispatched call runs, so the call may evaluate scripts itself.
+     * As the script can be stopped with {@link #cancelEvaluation()}, it has no limits other than those
+     * given in its description.
+     *
+     * @param script the script
+     * @param dispatcher runs the calls the script makes into the application
+     * @param argv the arguments to pass to the script
+     * @return the result of the script, which may be <code>null</code>
+     * @throws ScriptException if an exception occurs during script evaluation, or the script is cancelled
+     */
+    public Object evaluateScriptInBackground(Script script, BindingCallDispatcher dispatcher, Object... argv)
+            throws ScriptException {
+        requireAllNonNull(script, dispatcher);
+        startEngine();
+        scriptEngineLock.lock();
+        Map<String, Object> proxies = new HashMap<>();
+        try {
+            bindingCallDispatcher = dispatcher;
+            backgroundThread = Thread.currentThread();
+            // only background scripts pay for the proxies, which are swapped in for the duration of the script
+            dispatchedVariables.forEach((name, value) -> proxies.put(name, createDispatchingProxy(value)));
+            proxies.forEach(getEngine()::put);
+            return evaluateWithinBudget(script.getCode(), ScriptBudget.of(script, ScriptBudget.UNLIMITED), argv);
+        } finally {
+            // variables the script replaced are left as the script set them
+            proxies.forEach((name, proxy) -> {
+                if (getEngine().get(name) == proxy) {
+                    getEngine().put(name, dispatchedVariables.get(name));
+                }
+            });
+            backgroundThread = null;
+            bindingCallDispatcher = null;
+            scriptEngineLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the script being evaluated in the main context, if any, at its next checkpoint.
+     * May be called from any thread.
+     */
+    public void cancelEvaluation() {
+        ScriptExecution execution = activeExecution;
+        if (execution != null) {
+            execution.cancel();
+        }
     }
 
     /**
@@ -83,26 +455,52 @@ public class ScriptEngine {
      *
      * This removes any variables declared by previously evaluated scripts, and re-initialises the context
      * using the initialiser provided when this ScriptManager was created.
+     * An engine that has not been started yet has nothing to reset.
      */
     public void resetEnvironment() {
-        synchronized (scriptEngineLock) {
-            Bindings newBindings = scriptEngine.createBindings();
-            scriptEngine.setBindings(newBindings, ScriptContext.ENGINE_SCOPE);
-            for (ScriptEnvironmentInitialiser initialiser : initialisers) {
-                initialiser.initialise(this);
+        synchronized (pooledContexts) {
+            scriptEngineLock.lock();
+            try {
+                if (scriptEngine != null) {
+                    initialiseEnvironment();
+                }
+            } finally {
+                scriptEngineLock.unlock();
             }
+            pooledContexts.forEach(ScriptEngine::resetEnvironment);
         }
     }
 
     /**
-     * Adds to the script environment. The effects are immediate and the initialiser will be
-     * applied during future environment resets with {@link ScriptEngine#resetEnvironment}.
+     * Replaces the variables of the started engine with those set up by the initialisers.
+     * Must be called while holding the engine lock.
      */
-    public void addToEnvironment(ScriptEnvironmentInitialiser initialiser) {
-        initialisers.add(initialiser);
-        synchronized (scriptEngineLock) {
+    private void initialiseEnvironment() {
+        dispatchedVariables.clear();
+        Bindings newBindings = scriptEngine.createBindings();
+        scriptEngine.setBindings(newBindings, ScriptContext.ENGINE_SCOPE);
+        for (ScriptEnvironmentInitialiser initialiser : initialisers) {
             initialiser.initialise(this);
         }
+        // the checkpoint is called far too often to go through a dispatcher
+        scriptEngine.put(CHECKPOINT_FUNCTION_NAME, (ScriptBindingInterfaces.Void) this::checkpoint);
+    }
+
+    /**
+     * Adds to the script environment. The effects are immediate if the engine has been started,
+     * and the initialiser will be applied when it starts and during future environment resets
+     * with {@link ScriptEngine#resetEnvironment}. Pooled contexts are not affected.
+     */
+    public void addToEnvironment(ScriptEnvironmentInitialiser initialiser) {
+        scriptEngineLock.lock();
+        try {
+            initialisers.add(initialiser);
+            if (scriptEngine != null) {
+                initialiser.initialise(this);
+            }
+        } finally {
+            scriptEngineLock.unlock();
+        }
     }
 
     /**
@@ -112,8 +510,88 @@ public class ScriptEngine {
      * @param value The value the variable should be set to
      */
     public void setVariable(String name, Object value) {
-        synchronized (scriptEngineLock) {
-            scriptEngine.put(name, value);
+        scriptEngineLock.lock();
+        try {
+            getEngine().put(name, value);
+            if (getDispatchedInterfaces(value).length > 0) {
+                dispatchedVariables.put(name, value);
+            } else {
+                dispatchedVariables.remove(name);
+            }
+        } finally {
+            scriptEngineLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the interfaces of {@code value} whose calls a background script must dispatch:
+     * those of a function bound with one of the {@link ScriptBindingInterfaces}, and the model.
+     */
+    private static Class<?>[] getDispatchedInterfaces(Object value) {
+        if (value == null) {
+            return new Class<?>[0];
+        }
+        return Arrays.stream(value.getClass().getInterfaces())
+                .filter(type -> type.getDeclaringClass() == ScriptBindingInterfaces.class || type == Model.class)
+                .toArray(Class<?>[]::new);
+    }
+
+    /**
+     * Returns a proxy for {@code value} whose calls from the background script go through its dispatcher.
+     */
+    private Object createDispatchingProxy(Object value) {
+        Class<?>[] interfaces = getDispatchedInterfaces(value);
+        return Proxy.newProxyInstance(interfaces[0].getClassLoader(), interfaces,
+                (proxy, method, args) -> callBinding(value, method, args));
+    }
+
+    /**
+     * Calls a bound function, through the dispatcher if the call comes from a script evaluated in the background.
+     */
+    private Object callBinding(Object binding, Method method, Object[] args) throws Exception {
+        BindingCallDispatcher dispatcher = bindingCallDispatcher;
+        if (dispatcher == null || Thread.currentThread() != backgroundThread
+                || method.getDeclaringClass() == Object.class) {
+            return invokeBinding(binding, method, args);
+        }
+
+        // let the dispatched call evaluate scripts on the thread it runs on, which may set their own arguments
+        Object argv = getEngine().get("argv");
+        int holdCount = scriptEngineLock.getHoldCount();
+        for (int i = 0; i < holdCount; i++) {
+            scriptEngineLock.unlock();
+        }
+        try {
+            return dispatcher.dispatch(() -> detachResult(invokeBinding(binding, method, args)));
+        } finally {
+            for (int i = 0; i < holdCount; i++) {
+                scriptEngineLock.lock();
+            }
+            getEngine().put("argv", argv);
+        }
+    }
+
+    /**
+     * Returns a copy of {@code result} if it would let the background script read the model later,
+     * or {@code result} itself otherwise. Must be called by the dispatcher.
+     */
+    private static Object detachResult(Object result) {
+        if (result instanceof ObservableList) {
+            return FXCollections.observableArrayList((ObservableList<?>) result);
+        } else if (result instanceof ScriptCursor) {
+            return ((ScriptCursor<?>) result).detach();
+        }
+        return result;
+    }
+
+    private static Object invokeBinding(Object binding, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(binding, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (Exception) e.getCause();
         }
     }
 
@@ -0,0 +1,107 @@
+package budgetbuddy.logic.script;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks a single evaluation of a script against its budget.
+ * <p>
+ * Both limits are enforced only at the script's checkpoints, by the thread evaluating it, which may be the
+ * JavaFX application thread and is therefore never interrupted. The time limit is a deadline compared against
+ * at each checkpoint, so a budget without one never reads the clock.
+ */
+class ScriptExecution {
+    static final String MESSAGE_TIMED_OUT = "Script was stopped after running for more than %1$dms";
+    static final String MESSAGE_TOO_MANY_OPERATIONS = "Script was stopped after more than %1$d operations";
+    static final String MESSAGE_CANCELLED = "Script was cancelled";
+
+    private final ScriptBudget budget;
+    private final ScriptExecution outerExecution;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private long operationCount = 0;
+    private boolean isOperationLimitReached = false;
+    private volatile boolean isTimedOut = false;
+    private volatile boolean isCancelled = false;
+
+    /**
+     * Creates a tracker for an evaluation of a script with {@code budget}, starting its timer now.
+     *
+     * @param outerExecution the evaluation of the script that started this one, or null if there is none.
+     *                       If it is stopped, this evaluation is stopped too.
+     */
+    ScriptExecution(ScriptBudget budget, ScriptExecution outerExecution) {
+        this.budget = budget;
+        this.outerExecution = outerExecution;
+        this.hasDeadline = budget.hasTimeout();
+        this.deadlineNanos = hasDeadline
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget.getTimeoutMillis())
+                : 0;
+    }
+
+    /**
+     * Stops the evaluation at its next checkpoint. May be called from any thread.
+     */
+    void cancel() {
+        isCancelled = true;
+    }
+
+    /**
+     * Counts an operation, stopping the script if it has used up its budget or has been cancelled.
+     *
+     * @throws BudgetExceededException if the script has run out of time or operations, or has been cancelled.
+     */
+    void checkpoint() {
+        if (isStopped()) {
+            throw new BudgetExceededException();
+        }
+        if (++operationCount > budget.getMaxOperations()) {
+            isOperationLimitReached = true;
+            throw new BudgetExceededException();
+        }
+        if (isPastDeadline()) {
+            isTimedOut = true;
+            throw new BudgetExceededException();
+        }
+    }
+
+    private boolean isPastDeadline() {
+        return hasDeadline && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    private boolean isStopped() {
+        return isTimedOut || isCancelled
+                || (outerExecution != null && (outerExecution.isStopped() || outerExecution.isPastDeadline()));
+    }
+
+    /**
+     * Returns true if the script was stopped by {@link #cancel()}.
+     */
+    boolean isCancelled() {
+        return isCancelled;
+    }
+
+    /**
+     * Returns true if the script was stopped for using up its budget.
+     */
+    boolean isBudgetExceeded() {
+        return isTimedOut || isOperationLimitReached;
+    }
+
+    /**
+     * Returns a message describing which part of the budget was used up.
+     */
+    String getBudgetExceededMessage() {
+        return isTimedOut
+                ? String.format(MESSAGE_TIMED_OUT, budget.getTimeoutMillis())
+                : String.format(MESSAGE_TOO_MANY_OPERATIONS, budget.getMaxOperations());
+    }
+
+    /**
+     * Is thrown from a checkpoint to unwind a script that has used up its budget.
+     */
+    static class BudgetExceededException extends RuntimeException {
+        BudgetExceededException() {
+            super("Script budget exceeded", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package budgetbuddy.logic.script;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import jdk.nashorn.api.tree.BlockTree;
+import jdk.nashorn.api.tree.CompilationUnitTree;
+import jdk.nashorn.api.tree.DoWhileLoopTree;
+import jdk.nashorn.api.tree.ExpressionStatementTree;
+import jdk.nashorn.api.tree.ForInLoopTree;
+import jdk.nashorn.api.tree.ForLoopTree;
+import jdk.nashorn.api.tree.FunctionDeclarationTree;
+import jdk.nashorn.api.tree.FunctionExpressionTree;
+import jdk.nashorn.api.tree.LiteralTree;
+import jdk.nashorn.api.tree.Parser;
+import jdk.nashorn.api.tree.SimpleTreeVisitorES5_1;
+import jdk.nashorn.api.tree.StatementTree;
+import jdk.nashorn.api.tree.Tree;
+import jdk.nashorn.api.tree.WhileLoopTree;
+
+/**
+ * Adds checkpoints to scripts, so that a script that runs for too long can be stopped.
+ * <p>
+ * Nashorn does not check for thread interruption while running script code, so a checkpoint call
+ * is inserted at the start of every loop body and function body. Loops and calls are the only ways
+ * for a script to run for long, so every long-running script reaches a checkpoint regularly.
+ */
+@SuppressWarnings("removal")
+class ScriptInstrumenter {
+
+    /**
+     * Is a private constructor for a static-only class.
+     */
+    private ScriptInstrumenter() {}
+
+    /**
+     * Returns {@code code} with the statement {@code checkpoint} inserted at the start of every loop body
+     * and function body, or {@code code} unchanged if it cannot be parsed.
+     */
+    static String instrument(String code, String checkpoint) {
+        CompilationUnitTree unit;
+        try {
+            unit = Parser.create().parse("script", code, null);
+        } catch (Exception e) {
+            // syntax errors are reported when the script is compiled
+            return code;
+        }
+        if (unit == null) {
+            return code;
+        }
+
+        List<Insertion> insertions = new ArrayList<>();
+        unit.accept(new SimpleTreeVisitorES5_1<Void, Void>() {
+            @Override
+            public Void visitForLoop(ForLoopTree node, Void unused) {
+                addLoopCheckpoint(node.getStatement());
+                return super.visitForLoop(node, unused);
+            }
+
+            @Override
+            public Void visitForInLoop(ForInLoopTree node, Void unused) {
+                addLoopCheckpoint(node.getStatement());
+                return super.visitForInLoop(node, unused);
+            }
+
+            @Override
+            public Void visitWhileLoop(WhileLoopTree node, Void unused) {
+                addLoopCheckpoint(node.getStatement());
+                return super.visitWhileLoop(node, unused);
+            }
+
+            @Override
+            public Void visitDoWhileLoop(DoWhileLoopTree node, Void unused) {
+                addLoopCheckpoint(node.getStatement());
+                return super.visitDoWhileLoop(node, unused);
+            }
+
+            @Override
+            public Void visitFunctionDeclaration(FunctionDeclarationTree node, Void unused) {
+                addFunctionCheckpoint(node.getBody());
+                return super.visitFunctionDeclaration(node, unused);
+            }
+
+            @Override
+            public Void visitFunctionExpression(FunctionExpressionTree node, Void unused) {
+                addFunctionCheckpoint(node.getBody());
+                return super.visitFunctionExpression(node, unused);
+            }
+
+            /**
+             * Wraps a loop body in a block that starts with the checkpoint,
+             * which is valid whether or not the body is already a block, and even if it is empty.
+             */
+            private void addLoopCheckpoint(StatementTree body) {
+                insertions.add(new Insertion((int) body.getStartPosition(), "{" + checkpoint));
+                insertions.add(new Insertion((int) body.getEndPosition(), "}"));
+            }
+
+            /**
+             * Inserts the checkpoint before the first statement of a function body that is not part of its
+             * directive prologue, so that directives such as {@code "use strict"} still take effect.
+             * A function with no such statements returns at once, so it needs no checkpoint.
+             */
+            private void addFunctionCheckpoint(Tree body) {
+                if (!(body instanceof BlockTree)) {
+                    return;
+                }
+                for (StatementTree statement : ((BlockTree) body).getStatements()) {
+                    if (!isDirective(statement)) {
+                        insertions.add(new Insertion((int) statement.getStartPosition(), checkpoint));
+                        return;
+                    }
+                }
+            }
+
+            private boolean isDirective(StatementTree statement) {
+                return statement instanceof ExpressionStatementTree
+                        && ((ExpressionStatementTree) statement).getExpression() instanceof LiteralTree
+                        && ((LiteralTree) ((ExpressionStatementTree) statement).getExpression()).getValue()
+                                instanceof String;
+            }
+        }, null);
+
+        // insert from the end, so that earlier positions stay valid
+        insertions.sort(Comparator.comparingInt((Insertion insertion) -> insertion.position).reversed());
+        StringBuilder instrumented = new StringBuilder(code);
+        for (Insertion insertion : insertions) {
+            if (insertion.position < 0 || insertion.position > code.length()) {
+                return code;
+            }
+            instrumented.insert(insertion.position, insertion.text);
+        }
+        return instrumented.toString();
+    }
+
+    /**
+     * Represents some text to be inserted into a script at a position.
+     */
+    private static class Insertion {
+        private final int position;
+        private final String text;
+
+        Insertion(int position, String text) {
+            this.position = position;
+            this.text = text;
+        }
+    }
+}
@@ -3,11 +3,22 @@ package budgetbuddy.logic.script;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.commons.util.AppUtil;
@@ -24,8 +35,11 @@ import budgetbuddy.model.attributes.Name;
 import budgetbuddy.model.loan.Loan;
 import budgetbuddy.model.loan.Status;
 import budgetbuddy.model.person.Person;
+import budgetbuddy.model.transaction.ComparatorUtil;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionList;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+import budgetbuddy.model.transaction.TransactionSelector;
 
 /**
  * Provides model-related convenience functions to the script environment.
@@ -35,30 +49,33 @@ import budgetbuddy.model.transaction.TransactionList;
  */
 public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
     private final Model model;
+    private final boolean isReadOnly;
 
     public ScriptModelBinding(Model model) {
+        this(model, false);
+    }
+
+    /**
+     * Creates a binding to {@code model}. If {@code isReadOnly} is true, only the functions that read the model
+     * are bound, and the model itself is not, so that scripts cannot change it through this binding.
+     */
+    public ScriptModelBinding(Model model, boolean isReadOnly) {
         this.model = model;
+        this.isReadOnly = isReadOnly;
     }
 
     @Override
     public void initialise(ScriptEngine engine) {
-        engine.setVariable("bb", model);
-
-        engine.setVariable("refreshAccountView",
-                (ScriptBindingInterfaces.Void) this::scriptRefreshAccountView);
-        engine.setVariable("refreshTxnView", (ScriptBindingInterfaces.Void) this::scriptRefreshTxnView);
+        if (!isReadOnly) {
+            initialiseWriters(engine);
+        }
 
         engine.setVariable("getAccounts", (ScriptBindingInterfaces.Void) this::scriptGetAccounts);
         engine.setVariable("getAccount", (ScriptBindingInterfaces.ObjectOnly) this::scriptGetAccount);
         engine.setVariable("getShownAccounts", (ScriptBindingInterfaces.Void) this::scriptGetShownAccounts);
         engine.setVariable("getShownAccount", (ScriptBindingInterfaces.IntOnly) this::scriptGetShownAccount);
         engine.setVariable("getActiveAccount", (ScriptBindingInterfaces.Void) this::scriptGetActiveAccount);
-        engine.setVariable("setActiveAccount",
-                (ScriptBindingInterfaces.IntOnly) this::scriptSetActiveAccount);
-        engine.setVariable("addAccount", (ScriptBindingInterfaces.StringString) this::scriptAddAccount);
         engine.setVariable("morphAccount", (ScriptBindingInterfaces.AccountObjects) this::scriptMorphAccount);
-        engine.setVariable("editAccount", (ScriptBindingInterfaces.ObjectObjects) this::scriptEditAccount);
-        engine.setVariable("deleteAccount", (ScriptBindingInterfaces.ObjectOnly) this::scriptDeleteAccount);
 
         engine.setVariable("accountName", (ScriptBindingInterfaces.AccountOnly) this::scriptAccountName);
         engine.setVariable("accountBalance",
@@ -67,15 +84,13 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
                 (ScriptBindingInterfaces.AccountOnly) this::scriptAccountDescription);
         engine.setVariable("accountTxns", (ScriptBindingInterfaces.AccountOnly) this::scriptAccountTxns);
 
-        engine.setVariable("addTxn", (ScriptBindingInterfaces.LongStringStringObjects) this::scriptAddTxn);
-        engine.setVariable("editTxn",
-                (ScriptBindingInterfaces.AccountTransactionObjects) this::scriptEditTxn);
         engine.setVariable("morphTxn", (ScriptBindingInterfaces.TransactionObjects) this::scriptMorphTxn);
-        engine.setVariable("deleteTxn", (ScriptBindingInterfaces.AccountTransaction) this::scriptDeleteTxn);
         engine.setVariable("getShownTxns", (ScriptBindingInterfaces.Void) this::scriptGetShownTxns);
         engine.setVariable("getShownTxn", (ScriptBindingInterfaces.IntOnly) this::scriptGetShownTxn);
-        engine.setVariable("editShownTxn", (ScriptBindingInterfaces.IntObjects) this::scriptEditShownTxn);
-        engine.setVariable("deleteShownTxn", (ScriptBindingInterfaces.IntOnly) this::scriptDeleteShownTxn);
+        engine.setVariable("topTxns", (ScriptBindingInterfaces.IntObjects) this::scriptTopTxns);
+        engine.setVariable("pageTxns", (ScriptBindingInterfaces.IntIntObjects) this::scriptPageTxns);
+        engine.setVariable("queryTxns", (ScriptBindingInterfaces.OptionalObjects) this::scriptQueryTxns);
+        engine.setVariable("txnCursor", (ScriptBindingInterfaces.OptionalObjects) this::scriptTxnCursor);
 
         engine.setVariable("txnAmount", (ScriptBindingInterfaces.TransactionOnly) this::scriptTxnAmount);
         engine.setVariable("txnDescription",
@@ -86,12 +101,10 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         engine.setVariable("txnCategories",
                 (ScriptBindingInterfaces.TransactionOnly) this::scriptTxnCategories);
 
-        engine.setVariable("addLoan", (ScriptBindingInterfaces.LongStringStringObjects) this::scriptAddLoan);
         engine.setVariable("morphLoan", (ScriptBindingInterfaces.LoanObjects) this::scriptMorphLoan);
-        engine.setVariable("editShownLoan", (ScriptBindingInterfaces.IntObjects) this::scriptEditShownLoan);
-        engine.setVariable("deleteShownLoan", (ScriptBindingInterfaces.IntOnly) this::scriptDeleteShownLoan);
         engine.setVariable("getShownLoans", (ScriptBindingInterfaces.Void) this::scriptGetShownLoans);
         engine.setVariable("getLoans", (ScriptBindingInterfaces.Void) this::scriptGetLoans);
+        engine.setVariable("loanCursor", (ScriptBindingInterfaces.OptionalObjects) this::scriptLoanCursor);
 
         engine.setVariable("loanAmount", (ScriptBindingInterfaces.LoanOnly) this::scriptLoanAmount);
         engine.setVariable("loanDirection", (ScriptBindingInterfaces.LoanOnly) this::scriptLoanDirection);
@@ -104,6 +117,37 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         engine.setVariable("makeDate", (ScriptBindingInterfaces.IntIntInt) this::scriptMakeDate);
     }
 
+    /**
+     * Binds the model itself and the functions that change the model or the view of it.
+     */
+    private void initialiseWriters(ScriptEngine engine) {
+        engine.setVariable("bb", model);
+
+        engine.setVariable("refreshAccountView",
+                (ScriptBindingInterfaces.Void) this::scriptRefreshAccountView);
+        engine.setVariable("refreshTxnView", (ScriptBindingInterfaces.Void) this::scriptRefreshTxnView);
+
+        engine.setVariable("setActiveAccount",
+                (ScriptBindingInterfaces.IntOnly) this::scriptSetActiveAccount);
+        engine.setVariable("addAccount", (ScriptBindingInterfaces.StringString) this::scriptAddAccount);
+        engine.setVariable("editAccount", (ScriptBindingInterfaces.ObjectObjects) this::scriptEditAccount);
+        engine.setVariable("deleteAccount", (ScriptBindingInterfaces.ObjectOnly) this::scriptDeleteAccount);
+
+        engine.setVariable("addTxn", (ScriptBindingInterfaces.LongStringStringObjects) this::scriptAddTxn);
+        engine.setVariable("editTxn",
+                (ScriptBindingInterfaces.AccountTransactionObjects) this::scriptEditTxn);
+        engine.setVariable("deleteTxn", (ScriptBindingInterfaces.AccountTransaction) this::scriptDeleteTxn);
+        engine.setVariable("editShownTxn", (ScriptBindingInterfaces.IntObjects) this::scriptEditShownTxn);
+        engine.setVariable("deleteShownTxn", (ScriptBindingInterfaces.IntOnly) this::scriptDeleteShownTxn);
+        engine.setVariable("addTxns", (ScriptBindingInterfaces.ObjectOnly) this::scriptAddTxns);
+        engine.setVariable("editTxns", (ScriptBindingInterfaces.AccountObject) this::scriptEditTxns);
+        engine.setVariable("deleteTxns", (ScriptBindingInterfaces.AccountObject) this::scriptDeleteTxns);
+
+        engine.setVariable("addLoan", (ScriptBindingInterfaces.LongStringStringObjects) this::scriptAddLoan);
+        engine.setVariable("editShownLoan", (ScriptBindingInterfaces.IntObjects) this::scriptEditShownLoan);
+        engine.setVariable("deleteShownLoan", (ScriptBindingInterfaces.IntOnly) this::scriptDeleteShownLoan);
+    }
+
     /**
      * Provides <code>refreshAccountView()</code>.
      */
@@ -279,18 +323,57 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         Account target = opt.get("account", Account.class)
                 .orElseGet(() -> model.getAccountsManager().getActiveAccount());
 
+        Transaction txn = makeScriptTxn(inAmount, direction, description, opt);
+
+        target.addTransaction(txn);
+
+        return txn;
+    }
+
+    /**
+     * Provides <code>addTxns([{ amount, direction, description, account, date, categories }])
+     * -> List&lt;Transaction&gt;</code>.
+     * <p>
+     * Every transaction is checked before any is added, and each account's transaction list is changed once.
+     */
+    private List<Transaction> scriptAddTxns(Object txnObjects) throws Exception {
+        List<Object> elements = ScriptObjectWrapper.toList(txnObjects);
+        Map<Account, List<Transaction>> txnsByAccount = new IdentityHashMap<>();
+        List<Transaction> addedTxns = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            ScriptObjectWrapper opt = ScriptObjectWrapper.fromObject(element);
+            OptionalLong amount = opt.getIntegral("amount");
+            String direction = opt.get("direction", String.class).orElse(null);
+            String description = opt.get("description", String.class).orElse(null);
+            if (amount.isEmpty() || direction == null || description == null) {
+                throw new ScriptException("Each transaction to add needs an amount, direction and description");
+            }
+
+            Account target = opt.get("account", Account.class)
+                    .orElseGet(() -> model.getAccountsManager().getActiveAccount());
+            Transaction txn = makeScriptTxn(amount.getAsLong(), direction, description, opt);
+            txnsByAccount.computeIfAbsent(target, unused -> new ArrayList<>()).add(txn);
+            addedTxns.add(txn);
+        }
+
+        for (Map.Entry<Account, List<Transaction>> accountTxns : txnsByAccount.entrySet()) {
+            accountTxns.getKey().addTransactions(accountTxns.getValue());
+        }
+        return addedTxns;
+    }
+
+    /**
+     * Creates a transaction from the arguments of <code>addTxn</code>, or an element of <code>addTxns</code>.
+     */
+    private Transaction makeScriptTxn(long inAmount, String direction, String description,
+                                      ScriptObjectWrapper opt) throws ParseException {
         LocalDate date = opt.getDate("date").orElseGet(LocalDate::now);
 
         String[] catStrings = opt.getArray("categories", String.class).orElse(null);
         Set<Category> cats = parseScriptTxnCategories(catStrings);
 
-        Transaction txn =
-                new Transaction(date, new Amount(inAmount), CommandParserUtil.parseDirection(direction),
-                        CommandParserUtil.parseDescription(description), cats);
-
-        target.addTransaction(txn);
-
-        return txn;
+        return new Transaction(date, new Amount(inAmount), CommandParserUtil.parseDirection(direction),
+                CommandParserUtil.parseDescription(description), cats);
     }
 
     /**
@@ -348,6 +431,66 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         return newTxn;
     }
 
+    /**
+     * Provides <code>editTxns(account, [{ txn, amount, direction, description, date, categories }])
+     * -> List&lt;Transaction&gt;</code>.
+     * <p>
+     * Every edit is checked before any is made, and the account's transaction list is changed once.
+     */
+    private List<Transaction> scriptEditTxns(Account acc, Object edits) throws Exception {
+        requireAllNonNull(acc, edits);
+        List<Object> elements = ScriptObjectWrapper.toList(edits);
+        List<Transaction> targetTxns = new ArrayList<>(elements.size());
+        List<Transaction> newTxns = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            Transaction txn = ScriptObjectWrapper.fromObject(element).get("txn", Transaction.class)
+                    .orElseThrow(() -> new ScriptException("Each edit needs the txn to edit"));
+            targetTxns.add(txn);
+            newTxns.add(scriptMorphTxn(txn, element));
+        }
+
+        // find every target in one pass; equal targets are matched to successive equal transactions
+        Map<Transaction, Deque<Integer>> positions = new HashMap<>();
+        targetTxns.forEach(txn -> positions.putIfAbsent(txn, new ArrayDeque<>()));
+        List<Transaction> txnList = acc.getTransactionList().asUnmodifiableObservableList();
+        for (int i = 0; i < txnList.size(); i++) {
+            Deque<Integer> txnPositions = positions.get(txnList.get(i));
+            if (txnPositions != null) {
+                txnPositions.add(i);
+            }
+        }
+
+        Map<Index, Transaction> editedTxns = new LinkedHashMap<>();
+        for (int i = 0; i < targetTxns.size(); i++) {
+            Integer position = positions.get(targetTxns.get(i)).poll();
+            if (position == null) {
+                throw new ScriptException("Could not find transaction to edit in provided account");
+            }
+            editedTxns.put(Index.fromZeroBased(position), newTxns.get(i));
+        }
+        acc.updateTransactions(editedTxns);
+        return newTxns;
+    }
+
+    /**
+     * Provides <code>deleteTxns(account, [txn])</code>.
+     * <p>
+     * Nothing is deleted unless every transaction is found, and the account's transaction list is changed once.
+     */
+    private Object scriptDeleteTxns(Account acc, Object txns) throws Exception {
+        requireAllNonNull(acc, txns);
+        List<Transaction> toDelete = new ArrayList<>();
+        for (Object element : ScriptObjectWrapper.toList(txns)) {
+            if (!(element instanceof Transaction)) {
+                throw new IllegalArgumentException("Expected an array of transactions");
+            }
+            toDelete.add((Transaction) element);
+        }
+        acc.deleteTransactions(toDelete);
+
+        return null;
+    }
+
     /**
      * Provides <code>deleteTxn(account, txn)</code>.
      */
@@ -391,6 +534,134 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         return model.getFilteredTransactions();
     }
 
+    /**
+     * Provides <code>topTxns(count, { account, sort }) -> List&lt;Transaction&gt;</code>.
+     * <p>
+     * Only the selected transactions are ranked and returned; the other transactions are never sorted.
+     */
+    private List<Transaction> scriptTopTxns(int count, Object... optional) throws Exception {
+        ScriptObjectWrapper opt = ScriptObjectWrapper.fromOptionalVarargs(optional);
+        Account target = opt.get("account", Account.class)
+                .orElseGet(() -> model.getAccountsManager().getActiveAccount());
+        Comparator<Transaction> comparator = parseScriptTxnComparator(
+                opt.get("sort", String.class).orElse(null), ComparatorUtil.SORT_BY_DESCENDING_AMOUNT);
+
+        return TransactionSelector.selectTop(target.getTransactionList(), txn -> true, comparator, count);
+    }
+
+    /**
+     * Provides <code>pageTxns(page, pageSize, { account, sort }) -> List&lt;Transaction&gt;</code>.
+     * <p>
+     * Pages are one-based. Only the transactions up to the end of the page are ranked.
+     */
+    private List<Transaction> scriptPageTxns(int page, int pageSize, Object... optional) throws Exception {
+        ScriptObjectWrapper opt = ScriptObjectWrapper.fromOptionalVarargs(optional);
+        Account target = opt.get("account", Account.class)
+                .orElseGet(() -> model.getAccountsManager().getActiveAccount());
+        Comparator<Transaction> comparator = parseScriptTxnComparator(
+                opt.get("sort", String.class).orElse(null), ComparatorUtil.SORT_BY_DESCENDING_DATE);
+
+        if (page < 1 || pageSize < 1) {
+            throw new ScriptException("Page and page size must be positive");
+        }
+        return TransactionSelector.selectPage(target.getTransactionList(), txn -> true, comparator, page, pageSize);
+    }
+
+    /**
+     * Provides <code>queryTxns({ account, direction, categories, from, until, minAmount, maxAmount, description,
+     * sort, limit }) -> List&lt;Transaction&gt;</code>.
+     * <p>
+     * The conditions are tested in Java rather than in the script. If the account's statistics show that it has
+     * no transactions of the queried direction and categories, it is not scanned at all. With a limit, only the
+     * selected transactions are ranked.
+     */
+    private List<Transaction> scriptQueryTxns(Object... optional) throws Exception {
+        ScriptObjectWrapper opt = ScriptObjectWrapper.fromOptionalVarargs(optional);
+        Account target = opt.get("account", Account.class)
+                .orElseGet(() -> model.getAccountsManager().getActiveAccount());
+        ScriptTxnQuery query = parseScriptTxnQuery(opt);
+        String sort = opt.get("sort", String.class).orElse(null);
+        OptionalLong limit = opt.getIntegral("limit");
+        if (limit.isPresent() && limit.getAsLong() < 0) {
+            throw new ScriptException("Limit must not be negative");
+        }
+
+        if (!query.canMatch(target)) {
+            return new ArrayList<>();
+        }
+        if (limit.isPresent()) {
+            Comparator<Transaction> comparator =
+                    parseScriptTxnComparator(sort, ComparatorUtil.SORT_BY_DESCENDING_DATE);
+            return TransactionSelector.selectTop(target.getTransactionList(), query.predicate, comparator,
+                    (int) Math.min(limit.getAsLong(), Integer.MAX_VALUE));
+        }
+
+        List<Transaction> matches = target.getTransactionList().asUnmodifiableObservableList().stream()
+                .filter(query.predicate).collect(Collectors.toList());
+        if (sort != null) {
+            matches.sort(CommandParserUtil.parseTransactionComparator(sort));
+        }
+        return matches;
+    }
+
+    /**
+     * Provides <code>txnCursor({ account, direction, categories, from, until, minAmount, maxAmount, description })
+     * -> ScriptCursor&lt;Transaction&gt;</code>.
+     * <p>
+     * The cursor tests each transaction against the conditions only when the script asks for the next one.
+     */
+    private ScriptCursor<Transaction> scriptTxnCursor(Object... optional) throws Exception {
+        ScriptObjectWrapper opt = ScriptObjectWrapper.fromOptionalVarargs(optional);
+        Account target = opt.get("account", Account.class)
+                .orElseGet(() -> model.getAccountsManager().getActiveAccount());
+        ScriptTxnQuery query = parseScriptTxnQuery(opt);
+
+        if (!query.canMatch(target)) {
+            return new ScriptCursor<>(Collections.emptyList(), query.predicate);
+        }
+        return new ScriptCursor<>(target.getTransactionList().asUnmodifiableObservableList(), query.predicate);
+    }
+
+    /**
+     * Converts the conditions in a script query object to a {@link ScriptTxnQuery}.
+     */
+    private ScriptTxnQuery parseScriptTxnQuery(ScriptObjectWrapper opt) throws ParseException {
+        List<Category> categories =
+                new ArrayList<>(parseScriptTxnCategories(opt.getArray("categories", String.class).orElse(null)));
+        Optional<Amount> minAmount = opt.getIntegral("minAmount").isPresent()
+                ? Optional.of(new Amount(opt.getIntegral("minAmount").getAsLong()))
+                : Optional.empty();
+        Optional<Amount> maxAmount = opt.getIntegral("maxAmount").isPresent()
+                ? Optional.of(new Amount(opt.getIntegral("maxAmount").getAsLong()))
+                : Optional.empty();
+        String descriptionString = opt.get("description", String.class).orElse(null);
+        Optional<Description> description = descriptionString == null
+                ? Optional.empty()
+                : Optional.of(CommandParserUtil.parseDescription(descriptionString));
+        String directionString = opt.get("direction", String.class).orElse(null);
+        Optional<Direction> direction = directionString == null
+                ? Optional.empty()
+                : Optional.of(CommandParserUtil.parseDirection(directionString));
+
+        Predicate<Transaction> predicate = new TransactionMatchesConditionsPredicate(categories,
+                opt.getDate("from"), opt.getDate("until"), minAmount, maxAmount, description);
+        if (direction.isPresent()) {
+            predicate = predicate.and(txn -> txn.getDirection() == direction.get());
+        }
+        return new ScriptTxnQuery(predicate, direction, categories);
+    }
+
+    /**
+     * Converts a sort style to a transaction comparator, or returns the default if no sort style is given.
+     */
+    private Comparator<Transaction> parseScriptTxnComparator(String sort, Comparator<Transaction> defaultComparator)
+            throws ParseException {
+        if (sort == null) {
+            return defaultComparator;
+        }
+        return CommandParserUtil.parseTransactionComparator(sort);
+    }
+
     /**
      * Provides <code>txnAmount(txn) -> number</code>.
      */
@@ -490,7 +761,7 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
             desc = CommandParserUtil.parseDescription(newDesc);
         }
 
-        return new Loan(person, dir, amt, date, desc, status);
+        return new Loan(person, dir, amt, date, desc, status, loan.getInterestTerms().orElse(null));
     }
 
     /**
@@ -527,6 +798,33 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         return model.getLoansManager().getLoans();
     }
 
+    /**
+     * Provides <code>loanCursor({ person, direction, paid }) -> ScriptCursor&lt;Loan&gt;</code>.
+     * <p>
+     * The cursor tests each loan against the conditions only when the script asks for the next one.
+     */
+    private ScriptCursor<Loan> scriptLoanCursor(Object... optional) throws Exception {
+        ScriptObjectWrapper opt = ScriptObjectWrapper.fromOptionalVarargs(optional);
+        Predicate<Loan> predicate = loan -> true;
+
+        String personString = opt.get("person", String.class).orElse(null);
+        if (personString != null) {
+            Name name = CommandParserUtil.parseName(personString);
+            predicate = predicate.and(loan -> loan.getPerson().getName().equals(name));
+        }
+        String directionString = opt.get("direction", String.class).orElse(null);
+        if (directionString != null) {
+            Direction direction = CommandParserUtil.parseDirection(directionString);
+            predicate = predicate.and(loan -> loan.getDirection() == direction);
+        }
+        Optional<Boolean> paid = opt.get("paid", Boolean.class);
+        if (paid.isPresent()) {
+            predicate = predicate.and(loan -> loan.isPaid() == paid.get());
+        }
+
+        return new ScriptCursor<>(model.getLoansManager().getLoans(), predicate);
+    }
+
     /**
      * Provides <code>loanAmount(loan) -> number</code>
      */
@@ -607,4 +905,31 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         }
         return cats;
     }
+
+    /**
+     * Represents the conditions of a script's transaction query.
+     */
+    private static class ScriptTxnQuery {
+        private final Predicate<Transaction> predicate;
+        private final Optional<Direction> direction;
+        private final List<Category> categories;
+
+        ScriptTxnQuery(Predicate<Transaction> predicate, Optional<Direction> direction, List<Category> categories) {
+            this.predicate = predicate;
+            this.direction = direction;
+            this.categories = categories;
+        }
+
+        /**
+         * Returns false if the statistics of {@code account} show that none of its transactions
+         * have the queried direction and any of the queried categories.
+         */
+        boolean canMatch(Account account) {
+            if (categories.isEmpty()) {
+                return !account.getStatistics().getDistribution(direction, Optional.empty()).isEmpty();
+            }
+            return categories.stream().anyMatch(category ->
+                    !account.getStatistics().getDistribution(direction, Optional.of(category)).isEmpty());
+        }
+    }
 }
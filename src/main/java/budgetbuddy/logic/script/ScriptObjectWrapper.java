@@ -5,6 +5,9 @@ import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.lang.reflect.Array;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
 
@@ -46,6 +49,45 @@ public class ScriptObjectWrapper {
         return new ScriptObjectWrapper(null);
     }
 
+    /**
+     * Creates a {@link ScriptObjectWrapper} from a script object passed to a script helper function,
+     * treating a missing object as an empty one.
+     *
+     * @throws IllegalArgumentException if {@code obj} is not a script object
+     */
+    public static ScriptObjectWrapper fromObject(Object obj) {
+        if (obj == null || ScriptObjectMirror.isUndefined(obj)) {
+            return new ScriptObjectWrapper(null);
+        }
+        if (obj instanceof ScriptObjectMirror && !((ScriptObjectMirror) obj).isArray()) {
+            return new ScriptObjectWrapper((ScriptObjectMirror) obj);
+        }
+        throw new IllegalArgumentException("Expected an object, got " + obj.getClass().getSimpleName());
+    }
+
+    /**
+     * Returns the elements of a script array, Java array or Java list passed to a script helper function.
+     *
+     * @throws IllegalArgumentException if {@code array} is not an array or list
+     */
+    public static List<Object> toList(Object array) {
+        if (array instanceof ScriptObjectMirror && ((ScriptObjectMirror) array).isArray()) {
+            ScriptObjectMirror som = (ScriptObjectMirror) array;
+            int len = ((Number) som.get("length")).intValue();
+            List<Object> elements = new ArrayList<>(len);
+            for (int i = 0; i < len; ++i) {
+                elements.add(som.getSlot(i));
+            }
+            return elements;
+        } else if (array instanceof List) {
+            return new ArrayList<>((List<Object>) array);
+        } else if (array instanceof Object[]) {
+            return Arrays.asList((Object[]) array);
+        }
+        throw new IllegalArgumentException("Expected an array, got "
+                + (array == null ? "null" : array.getClass().getSimpleName()));
+    }
+
     /**
      * Gets the object corresponding to the key in the map if it is of the right type.
      */
@@ -171,7 +213,7 @@ public class ScriptObjectWrapper {
             return Optional.empty();
         }
 
-        return get(key, LocalDate.class, false).or(() -> get("date", String.class)
+        return get(key, LocalDate.class, false).or(() -> get(key, String.class)
                 .map(dateStr -> LocalDate.parse(dateStr, getDateFormatter())));
     }
 
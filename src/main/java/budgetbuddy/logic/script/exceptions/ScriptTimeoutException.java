@@ -0,0 +1,15 @@
+package budgetbuddy.logic.script.exceptions;
+
+/**
+ * Represents a <code>ScriptException</code> that occurs when a script is stopped
+ * for running longer than its budget allows.
+ */
+public class ScriptTimeoutException extends ScriptException {
+    /**
+     * Constructs a <code>ScriptTimeoutException</code> with the specified detail message.
+     * @param message the detail message
+     */
+    public ScriptTimeoutException(String message) {
+        super(message);
+    }
+}
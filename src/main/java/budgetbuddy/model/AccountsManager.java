@@ -20,6 +20,7 @@ import budgetbuddy.model.attributes.Name;
 import budgetbuddy.model.attributes.SignedAmount;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionList;
+import budgetbuddy.model.transaction.TransactionSelector;
 import budgetbuddy.storage.export.HtmlExporter;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -272,6 +273,33 @@ public class AccountsManager {
         sortedTransactions.setComparator(comparator);
     }
 
+    /**
+     * Shows only a ranked window of the active account's transactions, selected without sorting the whole list.
+     * Only the transactions in the window are placed in the transaction list, so the sorted and filtered views
+     * do work proportional to the size of the window, and the source does not need switching beforehand.
+     * The full list is restored on the next source update.
+     * @param predicate The predicate transactions must match to be ranked.
+     * @param comparator The order in which transactions are ranked.
+     * @param skip The number of top-ranked transactions to leave out of the window.
+     * @param limit The maximum number of transactions in the window.
+     */
+    public void updateTransactionWindow(Predicate<Transaction> predicate, Comparator<Transaction> comparator,
+                                        int skip, int limit) {
+        requireNonNull(predicate);
+        requireNonNull(comparator);
+        Account activeAccount = getActiveAccount();
+        if (!filteredAccounts.contains(activeAccount)) {
+            resetFilteredAccountList();
+        }
+        List<Transaction> window = TransactionSelector.selectRange(
+                activeAccount.getTransactionList(), predicate, comparator, skip, limit);
+        // drop the order before narrowing the source, so only the window is ever sorted and filtered
+        sortedTransactions.setComparator(null);
+        activeTransactionList.setAll(window);
+        filteredTransactions.setPredicate(t -> true);
+        sortedTransactions.setComparator(comparator);
+    }
+
     /**
      * Resets the sorted transaction list to the default.
      */
@@ -1,19 +1,38 @@
 package budgetbuddy.model;
 
+import static budgetbuddy.commons.util.AppUtil.checkArgument;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static budgetbuddy.model.loan.LoanFilters.FILTER_ALL;
 import static budgetbuddy.model.loan.LoanSorters.DATE_NEWEST;
 import static java.util.Objects.requireNonNull;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import budgetbuddy.commons.core.Config;
 import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.loan.Debtor;
 import budgetbuddy.model.loan.Loan;
+import budgetbuddy.model.loan.LoanBalances;
+import budgetbuddy.model.loan.LoanQueryEngine;
+import budgetbuddy.model.loan.Status;
 import budgetbuddy.model.loan.exceptions.DuplicateLoanException;
 import budgetbuddy.model.loan.exceptions.LoanNotFoundException;
+import budgetbuddy.model.person.Person;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
@@ -23,6 +42,13 @@ import javafx.collections.transformation.SortedList;
  */
 public class LoansManager {
 
+    /**
+     * The most changes a batch update makes to {@code internalList} one run of loans at a time.
+     * Beyond this, it replaces the whole list in a single change instead, as every change goes through
+     * each listener of the list.
+     */
+    private static final int MAX_BATCH_CHANGES = 16;
+
     private final ObservableList<Loan> internalList = FXCollections.observableArrayList();
     private final ObservableList<Loan> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
@@ -33,6 +59,14 @@ public class LoansManager {
     private final ObservableList<Debtor> debtors = FXCollections.observableArrayList();
     private final ObservableList<Debtor> unmodifiableDebtors =
             FXCollections.unmodifiableObservableList(debtors);
+    private final SortedList<Debtor> sortedDebtors =
+            unmodifiableDebtors.sorted(Comparator.comparing(debtor -> debtor.getDebtor().getName().toString()));
+
+    /**
+     * Indexes {@code internalList} for filtering and sorting.
+     * It is created before {@code filteredLoans} so that it sees each change to the list before the filtered list.
+     */
+    private final LoanQueryEngine queryEngine = new LoanQueryEngine(internalUnmodifiableList);
 
     /**
      * The filtered list wraps the observable {@code internalList}.
@@ -40,9 +74,37 @@ public class LoansManager {
      */
     private final FilteredList<Loan> filteredLoans = new FilteredList<Loan>(internalUnmodifiableList);
 
+    /**
+     * The net balance owed between the user and each person, kept in step with {@code internalList}.
+     */
+    private final LoanBalances balances = new LoanBalances(internalList);
+
+    /**
+     * Counts the loans in {@code internalList} by their identity, so that duplicates are found without a scan.
+     */
+    private final Map<LoanIdentity, Integer> loanIdentities = new HashMap<LoanIdentity, Integer>();
+
+    /**
+     * The positions of each person's loans in {@code filteredLoans}.
+     * It is built when first needed and discarded whenever {@code filteredLoans} changes.
+     */
+    private Map<Person, List<Integer>> filteredPositionsByPerson;
+
     private Comparator<Loan> sorter;
 
-    public LoansManager() {}
+    /**
+     * Whether {@code internalList} is known to be ordered by {@code sorter}, so that loans can be inserted in place.
+     */
+    private boolean isSorted;
+
+    /**
+     * The largest number of people with unsettled balances for whom the fewest payments are searched for exhaustively.
+     */
+    private int maxExactSettleSize = Config.DEFAULT_MAX_EXACT_SETTLE_SIZE;
+
+    public LoansManager() {
+        this(List.of());
+    }
 
     /**
      * Creates the loans manager with a given list of loans.
@@ -50,8 +112,22 @@ public class LoansManager {
      */
     public LoansManager(List<Loan> loans) {
         requireNonNull(loans);
+        this.internalList.addListener((ListChangeListener<Loan>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) {
+                    continue;
+                }
+                change.getRemoved().forEach(loan -> loanIdentities.computeIfPresent(
+                        new LoanIdentity(loan), (identity, count) -> count == 1 ? null : count - 1));
+                change.getAddedSubList().forEach(loan -> loanIdentities.merge(
+                        new LoanIdentity(loan), 1, Integer::sum));
+            }
+        });
+        this.filteredLoans.addListener((ListChangeListener<Loan>) change -> filteredPositionsByPerson = null);
         this.internalList.setAll(loans);
         this.sorter = DATE_NEWEST;
+        this.isSorted = IntStream.range(1, internalList.size())
+                .allMatch(i -> sorter.compare(internalList.get(i - 1), internalList.get(i)) <= 0);
     }
 
     /**
@@ -74,6 +150,15 @@ public class LoansManager {
         filteredLoans.setPredicate(predicate);
     }
 
+    /**
+     * Updates the predicate of {@code filteredLoans} to match the loans that satisfy all of the given filters,
+     * looking up the loans matching any amount, date or person filter in the indexes of {@code queryEngine}.
+     */
+    public void filterLoans(List<Predicate<Loan>> filters) {
+        requireNonNull(filters);
+        filteredLoans.setPredicate(queryEngine.query(filters));
+    }
+
     //========================================= Loan Methods ===========================================
 
     /**
@@ -82,8 +167,15 @@ public class LoansManager {
      */
     public void sortLoans(Comparator<Loan> sorter) {
         requireNonNull(sorter);
-        this.sorter = this.sorter.equals(sorter) ? sorter.reversed() : sorter;
-        internalList.sort(this.sorter);
+        boolean isReversed = this.sorter.equals(sorter);
+        this.sorter = isReversed ? sorter.reversed() : sorter;
+        Optional<List<Loan>> indexedOrder = queryEngine.getSortedLoans(sorter, isReversed);
+        if (indexedOrder.isPresent()) {
+            internalList.setAll(indexedOrder.get());
+        } else {
+            internalList.sort(this.sorter);
+        }
+        isSorted = true;
     }
 
     /**
@@ -110,6 +202,23 @@ public class LoansManager {
         return filteredLoans.get(toGet.getZeroBased());
     }
 
+    /**
+     * Returns the indices in the filtered list of the loans belonging to {@code person}, in increasing order.
+     */
+    public List<Index> getFilteredLoanIndices(Person person) {
+        requireNonNull(person);
+        if (filteredPositionsByPerson == null) {
+            filteredPositionsByPerson = new HashMap<Person, List<Integer>>();
+            for (int i = 0; i < filteredLoans.size(); i++) {
+                filteredPositionsByPerson.computeIfAbsent(
+                        filteredLoans.get(i).getPerson(), unused -> new ArrayList<Integer>()).add(i);
+            }
+        }
+        return filteredPositionsByPerson.getOrDefault(person, List.of()).stream()
+                .map(Index::fromZeroBased)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Returns the current number of loans in the list.
      * @return The current number of loans in the list as an {@code int}.
@@ -123,11 +232,16 @@ public class LoansManager {
      * @param toAdd The loan to add.
      */
     public void addLoan(Loan toAdd) throws DuplicateLoanException {
-        if (internalList.stream().anyMatch(loan -> loan.isSameLoan(toAdd))) {
+        if (loanIdentities.containsKey(new LoanIdentity(toAdd))) {
             throw new DuplicateLoanException();
         }
-        internalList.add(0, toAdd);
-        internalList.sort(sorter);
+        if (isSorted) {
+            internalList.add(findInsertionIndex(toAdd), toAdd);
+        } else {
+            internalList.add(0, toAdd);
+            internalList.sort(sorter);
+            isSorted = true;
+        }
         updateFilteredList(FILTER_ALL);
     }
 
@@ -137,12 +251,21 @@ public class LoansManager {
      * @param editedLoan The edited loan to replace the target loan with.
      */
     public void editLoan(Index toEdit, Loan editedLoan) throws LoanNotFoundException, DuplicateLoanException {
-        if (internalList.stream().anyMatch(loan -> loan.isSameLoan(editedLoan))) {
+        if (loanIdentities.containsKey(new LoanIdentity(editedLoan))) {
             throw new DuplicateLoanException();
         }
         checkIndexValidityInFilteredList(toEdit);
-        internalList.set(filteredLoans.getSourceIndex(toEdit.getZeroBased()), editedLoan);
-        internalList.sort(sorter);
+        int sourceIndex = filteredLoans.getSourceIndex(toEdit.getZeroBased());
+        if (!isSorted) {
+            internalList.set(sourceIndex, editedLoan);
+            internalList.sort(sorter);
+            isSorted = true;
+        } else if (isInOrderAt(sourceIndex, editedLoan)) {
+            internalList.set(sourceIndex, editedLoan);
+        } else {
+            internalList.remove(sourceIndex);
+            internalList.add(findInsertionIndex(editedLoan), editedLoan);
+        }
     }
 
     /**
@@ -156,6 +279,107 @@ public class LoansManager {
         internalList.set(filteredLoans.getSourceIndex(toUpdate.getZeroBased()), updatedLoan);
     }
 
+    /**
+     * Updates the statuses of the target loans in the filtered list to {@code updatedStatus}.
+     * Each run of consecutive target loans is replaced in one change, or the loan list in a single change
+     * if that would take too many changes.
+     * @param toUpdate The indices of the loans in the filtered list to update.
+     * @throws LoanNotFoundException If any of the loans is not found in the filtered list, in which case
+     *     no loan is updated.
+     */
+    public void updateStatuses(List<Index> toUpdate, Status updatedStatus) throws LoanNotFoundException {
+        requireAllNonNull(toUpdate, updatedStatus);
+        toUpdate.forEach(this::checkIndexValidityInFilteredList);
+
+        List<int[]> runs = toSourceRuns(toUpdate);
+        int changeCount = runs.stream().mapToInt(run -> run[1] - run[0] == 1 ? 1 : 2).sum();
+        if (changeCount > MAX_BATCH_CHANGES) {
+            List<Loan> updatedLoans = new ArrayList<Loan>(internalList);
+            for (int[] run : runs) {
+                for (int i = run[0]; i < run[1]; i++) {
+                    updatedLoans.set(i, withStatus(updatedLoans.get(i), updatedStatus));
+                }
+            }
+            internalList.setAll(updatedLoans);
+            return;
+        }
+
+        for (int[] run : runs) {
+            if (run[1] - run[0] == 1) {
+                internalList.set(run[0], withStatus(internalList.get(run[0]), updatedStatus));
+                continue;
+            }
+            List<Loan> runLoans = internalList.subList(run[0], run[1]);
+            List<Loan> updatedRun = runLoans.stream()
+                    .map(loan -> withStatus(loan, updatedStatus))
+                    .collect(Collectors.toList());
+            runLoans.clear();
+            internalList.addAll(run[0], updatedRun);
+        }
+    }
+
+    /**
+     * Returns a copy of {@code loan} with its status set to {@code status}.
+     */
+    private static Loan withStatus(Loan loan, Status status) {
+        return new Loan(loan.getPerson(), loan.getDirection(), loan.getAmount(), loan.getDate(),
+                loan.getDescription(), status, loan.getInterestTerms().orElse(null));
+    }
+
+    /**
+     * Deletes the target loans from the filtered list.
+     * Each run of consecutive target loans is removed in one change, or the loan list is replaced
+     * in a single change if that would take too many changes.
+     * @param toDelete The indices of the loans in the filtered list to delete.
+     * @throws LoanNotFoundException If any of the loans is not found in the filtered list, in which case
+     *     no loan is deleted.
+     */
+    public void deleteLoans(List<Index> toDelete) throws LoanNotFoundException {
+        requireNonNull(toDelete);
+        toDelete.forEach(this::checkIndexValidityInFilteredList);
+
+        List<int[]> runs = toSourceRuns(toDelete);
+        if (runs.size() > MAX_BATCH_CHANGES) {
+            List<Loan> remainingLoans = new ArrayList<Loan>(internalList.size());
+            int next = 0;
+            for (int[] run : runs) {
+                remainingLoans.addAll(internalList.subList(next, run[0]));
+                next = run[1];
+            }
+            remainingLoans.addAll(internalList.subList(next, internalList.size()));
+            internalList.setAll(remainingLoans);
+            return;
+        }
+
+        // removing the last run first leaves the positions of the earlier runs unchanged
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            internalList.subList(runs.get(i)[0], runs.get(i)[1]).clear();
+        }
+    }
+
+    /**
+     * Returns the positions in {@code internalList} of the loans at {@code indices} in the filtered list,
+     * grouped into runs of consecutive positions in ascending order.
+     * Each run is given as its first position and the position after its last.
+     */
+    private List<int[]> toSourceRuns(List<Index> indices) {
+        int[] sourceIndices = indices.stream()
+                .mapToInt(index -> filteredLoans.getSourceIndex(index.getZeroBased()))
+                .sorted()
+                .distinct()
+                .toArray();
+        List<int[]> runs = new ArrayList<int[]>();
+        for (int sourceIndex : sourceIndices) {
+            int[] lastRun = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (lastRun != null && lastRun[1] == sourceIndex) {
+                lastRun[1]++;
+            } else {
+                runs.add(new int[] {sourceIndex, sourceIndex + 1});
+            }
+        }
+        return runs;
+    }
+
     /**
      * Deletes a target loan from the filtered list.
      * @param toDelete The index of the target loan to delete in the filtered list.
@@ -166,6 +390,33 @@ public class LoansManager {
         internalList.remove(inFilteredList);
     }
 
+    /**
+     * Returns the first position in the sorted {@code internalList} at which {@code loan} can be inserted
+     * without breaking the order of {@code sorter}.
+     */
+    private int findInsertionIndex(Loan loan) {
+        int low = 0;
+        int high = internalList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorter.compare(internalList.get(mid), loan) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns true if {@code loan} can replace the loan at {@code index} in the sorted {@code internalList}
+     * without breaking the order of {@code sorter}.
+     */
+    private boolean isInOrderAt(int index, Loan loan) {
+        return (index == 0 || sorter.compare(internalList.get(index - 1), loan) <= 0)
+                && (index == internalList.size() - 1 || sorter.compare(loan, internalList.get(index + 1)) <= 0);
+    }
+
     /**
      * Checks if a given index exceeds the number of loans currently in the filtered list.
      * @param toCheck The index to check.
@@ -177,14 +428,56 @@ public class LoansManager {
         }
     }
 
+    /**
+     * Returns an unmodifiable view of the amount in cents that each person owes the user across all unpaid loans.
+     * The amount is negative if the user owes the person.
+     */
+    public Map<Person, Long> getNetBalances() {
+        return balances.getBalances();
+    }
+
+    /**
+     * Returns the interest in cents in the installments of unpaid loans that fall due after {@code date}.
+     * Interest owed to the user counts as positive and interest the user owes counts as negative.
+     */
+    public long getInterestOutstanding(LocalDate date) {
+        requireNonNull(date);
+        return internalList.stream()
+                .filter(loan -> !loan.isPaid())
+                .mapToLong(loan -> {
+                    long interest = loan.getSchedule()
+                            .map(schedule -> schedule.getInterestOutstanding(date))
+                            .orElse(0L);
+                    return loan.getDirection() == Direction.OUT ? interest : -interest;
+                })
+                .sum();
+    }
+
     //========================================= Split/Debtor Methods ===================================
 
     /**
      * Sets the elements of the list of debtors to the given list of debtors.
+     * Debtors whose creditors are unchanged are left in place; the rest are removed, replaced or added,
+     * so that the list only reports the debtors that changed.
      */
     public void setDebtors(List<Debtor> debtors) {
         requireNonNull(debtors);
-        this.debtors.setAll(debtors);
+
+        Map<Person, Debtor> updatedDebtorsByPerson = new LinkedHashMap<Person, Debtor>();
+        debtors.forEach(debtor -> updatedDebtorsByPerson.put(debtor.getDebtor(), debtor));
+
+        // a single pass finds each current debtor's replacement by person, so no entry is searched for
+        ListIterator<Debtor> iterator = this.debtors.listIterator();
+        while (iterator.hasNext()) {
+            Debtor currentDebtor = iterator.next();
+            Debtor updatedDebtor = updatedDebtorsByPerson.remove(currentDebtor.getDebtor());
+            if (updatedDebtor == null) {
+                iterator.remove();
+            } else if (!updatedDebtor.equals(currentDebtor)) {
+                iterator.set(updatedDebtor);
+            }
+        }
+        this.debtors.addAll(updatedDebtorsByPerson.values());
     }
 
     /**
@@ -192,7 +485,20 @@ public class LoansManager {
      * The list is sorted by the debtors' names in alphabetical order.
      */
     public SortedList<Debtor> getDebtors() {
-        return unmodifiableDebtors.sorted(Comparator.comparing(debtor -> debtor.getDebtor().getName().toString()));
+        return sortedDebtors;
+    }
+
+    public int getMaxExactSettleSize() {
+        return maxExactSettleSize;
+    }
+
+    /**
+     * Sets the largest number of people with unsettled balances for whom the fewest payments are searched for
+     * exhaustively when loans are split or settled. Larger groups are settled with possibly more payments.
+     */
+    public void setMaxExactSettleSize(int maxExactSettleSize) {
+        checkArgument(maxExactSettleSize >= 0, "The exact settle size must not be negative.");
+        this.maxExactSettleSize = maxExactSettleSize;
     }
 
     @Override
@@ -211,4 +517,27 @@ public class LoansManager {
                 && getFilteredLoans().equals(otherLoansManager.getFilteredLoans())
                 && sorter.equals(otherLoansManager.sorter);
     }
+
+    /**
+     * Wraps a loan so that loans are equal and hash alike if they are the same loan by {@link Loan#isSameLoan}.
+     */
+    private static class LoanIdentity {
+        private final Loan loan;
+
+        LoanIdentity(Loan loan) {
+            this.loan = loan;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this
+                    || (other instanceof LoanIdentity && loan.isSameLoan(((LoanIdentity) other).loan));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(loan.getPerson(), loan.getDirection(), loan.getAmount(), loan.getDate(),
+                    loan.getDescription());
+        }
+    }
 }
@@ -19,6 +19,7 @@ public class RuleManager {
     private final ObservableList<Rule> internalList = FXCollections.observableArrayList();
     private final ObservableList<Rule> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private long version = 0;
 
     /**
      * Creates a new (empty) list of rules.
@@ -34,6 +35,14 @@ public class RuleManager {
         this.internalList.setAll(rules);
     }
 
+    /**
+     * Returns a number that changes whenever the list of rules is changed,
+     * so that anything derived from the rules knows when it has to be rebuilt.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Retrieves the list of rules
      */
@@ -72,6 +81,7 @@ public class RuleManager {
      */
     public void addRule(Rule toAdd) {
         internalList.add(toAdd);
+        version++;
     }
 
     /**
@@ -82,6 +92,7 @@ public class RuleManager {
     public void editRule(Index toEdit, Rule editedRule) throws RuleNotFoundException {
         checkIndexValidity(toEdit);
         internalList.set(toEdit.getZeroBased(), editedRule);
+        version++;
     }
 
     /**
@@ -93,6 +104,7 @@ public class RuleManager {
         checkIndexValidity(firstIndex);
         checkIndexValidity(secondIndex);
         Collections.swap(internalList, firstIndex.getZeroBased(), secondIndex.getZeroBased());
+        version++;
     }
 
     /**
@@ -102,6 +114,7 @@ public class RuleManager {
     public void deleteRule(Index toDelete) {
         checkIndexValidity(toDelete);
         internalList.remove(toDelete.getZeroBased());
+        version++;
     }
 
     /**
@@ -1,8 +1,14 @@
 package budgetbuddy.model.account;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -12,8 +18,10 @@ import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.statistics.TransactionStatistics;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionList;
+import budgetbuddy.model.transaction.exceptions.TransactionNotFoundException;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.LongProperty;
@@ -36,6 +44,7 @@ public class Account {
     private long balance;
     private LongProperty balanceLongProperty = new SimpleLongProperty(0);
     private Set<Category> categoryset = new HashSet<>();
+    private final TransactionStatistics statistics = new TransactionStatistics();
 
     /**
      * Every field must be present and not null.
@@ -54,6 +63,7 @@ public class Account {
         this.transactionList = transactionList;
         this.balance = balance;
         this.balanceLongProperty.set(balance);
+        transactionList.forEach(statistics::add);
     }
 
     public Name getName() {
@@ -72,6 +82,14 @@ public class Account {
         return this.transactionList.getTransaction(toGet);
     }
 
+    /**
+     * Returns the amount statistics of the transactions in this account,
+     * which are kept up to date as transactions are added, updated and deleted.
+     */
+    public TransactionStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Checks if the balance is within the range of long.
      * @param balance
@@ -90,6 +108,7 @@ public class Account {
      */
     public void addTransaction(Transaction toAdd) throws NumberFormatException {
         this.transactionList.add(toAdd);
+        statistics.add(toAdd);
         if (toAdd.getDirection().equals(Direction.IN)) {
             checkBalanceValidity(balance + toAdd.getAmount().toLong());
             balance = balance + toAdd.getAmount().toLong();
@@ -100,6 +119,31 @@ public class Account {
         balanceLongProperty.set(balance);
     }
 
+    /**
+     * Adds many transactions at once, notifying listeners of the transaction list in a single change
+     * rather than once per transaction. No transaction is added if the balance would go out of range.
+     * @param toAdd The transactions to add, in order.
+     */
+    public void addTransactions(List<Transaction> toAdd) throws NumberFormatException {
+        requireNonNull(toAdd);
+        if (toAdd.isEmpty()) {
+            return;
+        }
+
+        long updatedBalance = balance;
+        for (Transaction txn : toAdd) {
+            updatedBalance += txn.getDirection().equals(Direction.IN)
+                    ? txn.getAmount().toLong()
+                    : -txn.getAmount().toLong();
+            checkBalanceValidity(updatedBalance);
+        }
+
+        this.transactionList.addAll(toAdd);
+        toAdd.forEach(statistics::add);
+        balance = updatedBalance;
+        balanceLongProperty.set(balance);
+    }
+
     /**
      * Update the transaction.
      * @param txnIndex
@@ -126,6 +170,42 @@ public class Account {
         }
         balanceLongProperty.set(balance);
         this.transactionList.setTransaction(txnIndex, editedTxn);
+        statistics.remove(targetedTransaction);
+        statistics.add(editedTxn);
+    }
+
+    /**
+     * Updates many transactions at once, replacing the whole transaction list in a single change
+     * rather than notifying listeners once per transaction.
+     * @param editedTxns The edited transactions, keyed by the index of the transaction each replaces.
+     */
+    public void updateTransactions(Map<Index, Transaction> editedTxns) throws NumberFormatException {
+        requireNonNull(editedTxns);
+        if (editedTxns.isEmpty()) {
+            return;
+        }
+
+        List<Transaction> updatedList = new ArrayList<>(transactionList.asUnmodifiableObservableList());
+        List<Transaction> targetedTransactions = new ArrayList<>(editedTxns.size());
+        long updatedBalance = balance;
+        for (Map.Entry<Index, Transaction> edit : editedTxns.entrySet()) {
+            Transaction editedTxn = edit.getValue();
+            Transaction targetedTransaction = updatedList.set(edit.getKey().getZeroBased(), editedTxn);
+            targetedTransactions.add(targetedTransaction);
+            updatedBalance += targetedTransaction.getDirection().equals(Direction.IN)
+                    ? -targetedTransaction.getAmount().toLong()
+                    : targetedTransaction.getAmount().toLong();
+            updatedBalance += editedTxn.getDirection().equals(Direction.IN)
+                    ? editedTxn.getAmount().toLong()
+                    : -editedTxn.getAmount().toLong();
+        }
+        checkBalanceValidity(updatedBalance);
+
+        targetedTransactions.forEach(statistics::remove);
+        editedTxns.values().forEach(statistics::add);
+        balance = updatedBalance;
+        balanceLongProperty.set(balance);
+        this.transactionList.setAll(updatedList);
     }
 
     /**
@@ -134,14 +214,61 @@ public class Account {
      */
     public void deleteTransaction(Transaction toDelete) throws NumberFormatException {
         this.transactionList.remove(toDelete);
+        statistics.remove(toDelete);
         if (toDelete.getDirection().equals(Direction.IN)) {
-            checkBalanceValidity(balance + toDelete.getAmount().toLong());
-            balance = balance - toDelete.getAmount().toLong();
-        } else {
             checkBalanceValidity(balance - toDelete.getAmount().toLong());
             balance = balance - toDelete.getAmount().toLong();
+        } else {
+            checkBalanceValidity(balance + toDelete.getAmount().toLong());
+            balance = balance + toDelete.getAmount().toLong();
+        }
+        balanceLongProperty.set(balance);
+    }
+
+    /**
+     * Deletes many transactions at once, replacing the whole transaction list in a single change.
+     * As with {@link #deleteTransaction(Transaction)}, each transaction given removes the first equivalent
+     * transaction that remains in the list. Nothing is deleted unless every transaction is found.
+     * @param toDelete The transactions to delete.
+     * @throws TransactionNotFoundException If a transaction is not in the list.
+     */
+    public void deleteTransactions(Collection<Transaction> toDelete) throws NumberFormatException {
+        requireNonNull(toDelete);
+        if (toDelete.isEmpty()) {
+            return;
+        }
+
+        Map<Transaction, Integer> remainingToDelete = new HashMap<>();
+        toDelete.forEach(txn -> remainingToDelete.merge(txn, 1, Integer::sum));
+
+        List<Transaction> updatedList = new ArrayList<>(transactionList.getTransactionsCount());
+        List<Transaction> deletedTransactions = new ArrayList<>(toDelete.size());
+        long updatedBalance = balance;
+        for (Transaction txn : transactionList) {
+            Integer remaining = remainingToDelete.get(txn);
+            if (remaining == null) {
+                updatedList.add(txn);
+                continue;
+            }
+            if (remaining == 1) {
+                remainingToDelete.remove(txn);
+            } else {
+                remainingToDelete.put(txn, remaining - 1);
+            }
+            deletedTransactions.add(txn);
+            updatedBalance += txn.getDirection().equals(Direction.IN)
+                    ? -txn.getAmount().toLong()
+                    : txn.getAmount().toLong();
         }
+        if (!remainingToDelete.isEmpty()) {
+            throw new TransactionNotFoundException();
+        }
+        checkBalanceValidity(updatedBalance);
+
+        deletedTransactions.forEach(statistics::remove);
+        balance = updatedBalance;
         balanceLongProperty.set(balance);
+        this.transactionList.setAll(updatedList);
     }
 
     /**
@@ -0,0 +1,73 @@
+package budgetbuddy.model.loan;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Represents how often interest on a loan compounds (WEEKLY/MONTHLY/YEARLY).
+ * Installments on a loan with interest fall due once every period.
+ * Guarantees: immutable
+ */
+public enum CompoundingPeriod {
+    WEEKLY("WEEKLY", ChronoUnit.WEEKS, 52),
+    MONTHLY("MONTHLY", ChronoUnit.MONTHS, 12),
+    YEARLY("YEARLY", ChronoUnit.YEARS, 1);
+
+    public static final String MESSAGE_CONSTRAINTS =
+            "Compounding period can only be WEEKLY, MONTHLY or YEARLY (case-sensitive).";
+
+    public final String period;
+    public final int periodsPerYear;
+    private final ChronoUnit unit;
+
+    /**
+     * Constructs a {@code CompoundingPeriod}.
+     * @param period A valid period.
+     * @param unit The unit of time that one period spans.
+     * @param periodsPerYear The number of periods in a year.
+     */
+    CompoundingPeriod(String period, ChronoUnit unit, int periodsPerYear) {
+        requireNonNull(period);
+        this.period = period;
+        this.unit = unit;
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    /**
+     * Returns true if a given string corresponds to a CompoundingPeriod value.
+     * @param toTest The string to test.
+     */
+    public static boolean contains(String toTest) {
+        return Arrays.stream(CompoundingPeriod.values())
+                .map(CompoundingPeriod::toString)
+                .anyMatch(periodStr -> periodStr.equals(toTest));
+    }
+
+    /**
+     * Returns the date that is {@code count} periods after {@code start}.
+     */
+    public LocalDate addTo(LocalDate start, long count) {
+        return start.plus(count, unit);
+    }
+
+    /**
+     * Returns the number of whole periods from {@code start} up to and including {@code end},
+     * or zero if {@code end} is before {@code start}.
+     */
+    public long countBetween(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        // a month after the 31st ends on the last day of a shorter month, which ChronoUnit does not count as whole
+        long count = unit.between(start, end);
+        return addTo(start, count + 1).isAfter(end) ? count : count + 1;
+    }
+
+    @Override
+    public String toString() {
+        return period;
+    }
+}
@@ -0,0 +1,89 @@
+package budgetbuddy.model.loan;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import budgetbuddy.model.attributes.Amount;
+
+/**
+ * Represents one installment in the repayment schedule of a loan with interest.
+ * Guarantees: immutable
+ */
+public class Installment {
+
+    private final int number;
+    private final LocalDate dueDate;
+    private final Amount payment;
+    private final Amount interest;
+    private final Amount balance;
+
+    /**
+     * Every field must be present and not null.
+     * @param number The position of the installment in the schedule, starting from 1.
+     * @param dueDate The date the installment falls due.
+     * @param payment The amount paid in the installment.
+     * @param interest The part of {@code payment} that pays interest; the rest repays principal.
+     * @param balance The principal still owed after the installment is paid.
+     */
+    public Installment(int number, LocalDate dueDate, Amount payment, Amount interest, Amount balance) {
+        requireNonNull(dueDate);
+        requireNonNull(payment);
+        requireNonNull(interest);
+        requireNonNull(balance);
+        this.number = number;
+        this.dueDate = dueDate;
+        this.payment = payment;
+        this.interest = interest;
+        this.balance = balance;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public Amount getPayment() {
+        return payment;
+    }
+
+    public Amount getInterest() {
+        return interest;
+    }
+
+    public Amount getBalance() {
+        return balance;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        if (!(other instanceof Installment)) {
+            return false;
+        }
+
+        Installment otherInstallment = (Installment) other;
+        return number == otherInstallment.number
+                && dueDate.equals(otherInstallment.dueDate)
+                && payment.equals(otherInstallment.payment)
+                && interest.equals(otherInstallment.interest)
+                && balance.equals(otherInstallment.balance);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(number, dueDate, payment, interest, balance);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d | %s | %s (interest %s) | balance %s", number, dueDate, payment, interest, balance);
+    }
+}
@@ -0,0 +1,137 @@
+package budgetbuddy.model.loan;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import budgetbuddy.model.attributes.Amount;
+
+/**
+ * The repayment schedule of a loan with interest, as equal installments that each pay the interest
+ * accrued over one period and repay part of the principal.
+ *
+ * The schedule is never stored. Every figure comes from the closed-form annuity formulas,
+ * so the installments in a date range and the totals as of a date are worked out without
+ * generating the rest of the schedule. Cumulative payments and interest are rounded to the cent,
+ * and each installment is the difference between consecutive cumulative figures,
+ * so installments always add up to the totals.
+ */
+public class InterestSchedule {
+
+    private final long principal;
+    private final LocalDate startDate;
+    private final InterestTerms terms;
+
+    /** The interest rate for a single period, as a fraction. */
+    private final double periodRate;
+
+    /** The exact amount of each installment, before rounding to the cent. */
+    private final double installmentAmount;
+
+    /**
+     * Creates the schedule for repaying {@code principal} from {@code startDate} under {@code terms}.
+     * The first installment falls due one period after {@code startDate}.
+     */
+    public InterestSchedule(Amount principal, LocalDate startDate, InterestTerms terms) {
+        requireAllNonNull(principal, startDate, terms);
+        this.principal = principal.toLong();
+        this.startDate = startDate;
+        this.terms = terms;
+        this.periodRate = terms.getPeriodRate();
+        int count = terms.getInstallments();
+        this.installmentAmount = periodRate == 0
+                ? (double) this.principal / count
+                : this.principal * periodRate / (1 - Math.pow(1 + periodRate, -count));
+    }
+
+    /**
+     * Returns the installments that fall due from {@code from} to {@code to}, both inclusive.
+     * Only these installments are generated.
+     */
+    public List<Installment> getInstallments(LocalDate from, LocalDate to) {
+        requireAllNonNull(from, to);
+        List<Installment> installments = new ArrayList<Installment>();
+        int first = countInstallmentsDueBy(from.minusDays(1)) + 1;
+        int last = countInstallmentsDueBy(to);
+        for (int number = first; number <= last; number++) {
+            long payment = getCumulativePayment(number) - getCumulativePayment(number - 1);
+            long interest = getCumulativeInterest(number) - getCumulativeInterest(number - 1);
+            // rounding can take a figure under a cent below zero on very small loans
+            installments.add(new Installment(number, getDueDate(number), new Amount(Math.max(payment, 0)),
+                    new Amount(Math.max(interest, 0)), new Amount(Math.max(getBalance(number), 0))));
+        }
+        return installments;
+    }
+
+    /**
+     * Returns the date that installment {@code number} falls due.
+     */
+    public LocalDate getDueDate(int number) {
+        return terms.getCompoundingPeriod().addTo(startDate, number);
+    }
+
+    /**
+     * Returns the number of installments that have fallen due by {@code date}, inclusive.
+     */
+    public int countInstallmentsDueBy(LocalDate date) {
+        long count = terms.getCompoundingPeriod().countBetween(startDate, date);
+        return (int) Math.min(count, terms.getInstallments());
+    }
+
+    /**
+     * Returns the total interest paid over the whole schedule, in cents.
+     */
+    public long getTotalInterest() {
+        return getCumulativeInterest(terms.getInstallments());
+    }
+
+    /**
+     * Returns the interest in the installments that have not fallen due by {@code date}, in cents.
+     */
+    public long getInterestOutstanding(LocalDate date) {
+        return getTotalInterest() - getCumulativeInterest(countInstallmentsDueBy(date));
+    }
+
+    /**
+     * Returns the principal still owed after the installments that have fallen due by {@code date}, in cents.
+     */
+    public long getBalanceOutstanding(LocalDate date) {
+        return getBalance(countInstallmentsDueBy(date));
+    }
+
+    /**
+     * Returns the total of the first {@code count} installments, in cents.
+     */
+    private long getCumulativePayment(int count) {
+        return Math.round(count * installmentAmount);
+    }
+
+    /**
+     * Returns the interest paid in the first {@code count} installments, in cents.
+     * The payments exceed the principal they repay by the interest, and the principal repaid
+     * is the difference between the principal and the balance left after {@code count} periods.
+     */
+    private long getCumulativeInterest(int count) {
+        if (periodRate == 0) {
+            return 0;
+        } else if (count == terms.getInstallments()) {
+            // the whole principal is repaid, so the rest of the payments is interest
+            return getCumulativePayment(count) - principal;
+        }
+        // the balance is the principal scaled by the share of the annuity still to be paid, which stays
+        // accurate for long schedules where the growth factor alone would lose the cents
+        int installments = terms.getInstallments();
+        double balance = principal * (1 - Math.pow(1 + periodRate, count - installments))
+                / (1 - Math.pow(1 + periodRate, -installments));
+        return Math.round(count * installmentAmount - (principal - balance));
+    }
+
+    /**
+     * Returns the principal still owed after the first {@code count} installments, in cents.
+     */
+    private long getBalance(int count) {
+        return principal - (getCumulativePayment(count) - getCumulativeInterest(count));
+    }
+}
@@ -0,0 +1,101 @@
+package budgetbuddy.model.loan;
+
+import static budgetbuddy.commons.util.AppUtil.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+/**
+ * Represents the interest terms of a loan: an annual interest rate that compounds every period,
+ * and the number of equal installments, one per period, that repay the loan.
+ * Guarantees: immutable, is valid as declared in {@link #isValidRate(int)} and {@link #isValidInstallments(int)}
+ */
+public class InterestTerms {
+
+    public static final int MAX_RATE = 10000;
+    public static final int MAX_INSTALLMENTS = 1200;
+
+    public static final String MESSAGE_RATE_CONSTRAINTS =
+            "Interest rates should be in basis points per year, from 0 to " + MAX_RATE + ".";
+    public static final String MESSAGE_INSTALLMENTS_CONSTRAINTS =
+            "The number of installments should be from 1 to " + MAX_INSTALLMENTS + ".";
+
+    private final int rate;
+    private final CompoundingPeriod compoundingPeriod;
+    private final int installments;
+
+    /**
+     * Constructs {@code InterestTerms}.
+     * @param rate A valid annual interest rate in basis points, where 100 basis points make one percent.
+     * @param compoundingPeriod How often interest compounds and installments fall due.
+     * @param installments A valid number of installments.
+     */
+    public InterestTerms(int rate, CompoundingPeriod compoundingPeriod, int installments) {
+        requireNonNull(compoundingPeriod);
+        checkArgument(isValidRate(rate), MESSAGE_RATE_CONSTRAINTS);
+        checkArgument(isValidInstallments(installments), MESSAGE_INSTALLMENTS_CONSTRAINTS);
+        this.rate = rate;
+        this.compoundingPeriod = compoundingPeriod;
+        this.installments = installments;
+    }
+
+    /**
+     * Returns true if a given number of basis points is a valid annual interest rate.
+     */
+    public static boolean isValidRate(int test) {
+        return test >= 0 && test <= MAX_RATE;
+    }
+
+    /**
+     * Returns true if a given number is a valid number of installments.
+     */
+    public static boolean isValidInstallments(int test) {
+        return test >= 1 && test <= MAX_INSTALLMENTS;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public CompoundingPeriod getCompoundingPeriod() {
+        return compoundingPeriod;
+    }
+
+    public int getInstallments() {
+        return installments;
+    }
+
+    /**
+     * Returns the interest rate for a single period, as a fraction.
+     */
+    public double getPeriodRate() {
+        return rate / 10000.0 / compoundingPeriod.periodsPerYear;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        if (!(other instanceof InterestTerms)) {
+            return false;
+        }
+
+        InterestTerms otherTerms = (InterestTerms) other;
+        return rate == otherTerms.rate
+                && compoundingPeriod == otherTerms.compoundingPeriod
+                && installments == otherTerms.installments;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rate, compoundingPeriod, installments);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d.%02d%% p.a., %d %s installments",
+                rate / 100, rate % 100, installments, compoundingPeriod.toString().toLowerCase());
+    }
+}
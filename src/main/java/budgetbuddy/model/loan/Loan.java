@@ -5,6 +5,7 @@ import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.time.LocalDate;
 import java.util.Objects;
+import java.util.Optional;
 
 import budgetbuddy.model.attributes.Amount;
 import budgetbuddy.model.attributes.Description;
@@ -26,11 +27,25 @@ public class Loan {
     private final Description description;
     private final Status status;
 
+    /**
+     * The interest terms of the loan, or null if the loan carries no interest.
+     */
+    private final InterestTerms interestTerms;
+
     /**
      * Every field must be present and not null.
      */
     public Loan(Person person, Direction direction, Amount amount,
                 LocalDate date, Description description, Status status) {
+        this(person, direction, amount, date, description, status, null);
+    }
+
+    /**
+     * Every field except {@code interestTerms} must be present and not null.
+     * @param interestTerms The interest terms of the loan, or null if the loan carries no interest.
+     */
+    public Loan(Person person, Direction direction, Amount amount,
+                LocalDate date, Description description, Status status, InterestTerms interestTerms) {
         requireAllNonNull(person, direction, amount, date, description, status);
         this.person = person;
         this.direction = direction;
@@ -38,6 +53,7 @@ public class Loan {
         this.date = date;
         this.description = description;
         this.status = status;
+        this.interestTerms = interestTerms;
     }
 
     public Person getPerson() {
@@ -68,6 +84,18 @@ public class Loan {
         return status;
     }
 
+    public Optional<InterestTerms> getInterestTerms() {
+        return Optional.ofNullable(interestTerms);
+    }
+
+    /**
+     * Returns the repayment schedule of the loan, if the loan carries interest.
+     * The schedule works out its installments and totals on demand instead of storing them.
+     */
+    public Optional<InterestSchedule> getSchedule() {
+        return getInterestTerms().map(terms -> new InterestSchedule(amount, date, terms));
+    }
+
     /**
      * Checks if the Loan has been paid.
      * @return True if paid, false otherwise.
@@ -86,7 +114,7 @@ public class Loan {
     }
 
     /**
-     * Returns true if all fields (EXCEPT status) of a given loan are identical to this one.
+     * Returns true if all fields (EXCEPT status and interest terms) of a given loan are identical to this one.
      * @param loan The loan to check.
      */
     public boolean isSameLoan(Loan loan) {
@@ -98,7 +126,8 @@ public class Loan {
     }
 
     /**
-     * Checks all fields of a Loan for equality (person, direction, amount, date, description, status).
+     * Checks all fields of a Loan for equality (person, direction, amount, date, description, status,
+     * interest terms).
      */
     @Override
     public boolean equals(Object other) {
@@ -116,12 +145,13 @@ public class Loan {
                 && otherLoan.getAmount().equals(amount)
                 && otherLoan.getDate().equals(date)
                 && otherLoan.getDescription().equals(description)
-                && otherLoan.getStatus().equals(status);
+                && otherLoan.getStatus().equals(status)
+                && otherLoan.getInterestTerms().equals(getInterestTerms());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(person, direction, amount, description, date, status);
+        return Objects.hash(person, direction, amount, description, date, status, interestTerms);
     }
 
     @Override
@@ -141,6 +171,9 @@ public class Loan {
         if (!description.getDescription().isBlank()) {
             builder.append(divider).append(getDescription());
         }
+        if (interestTerms != null) {
+            builder.append(divider).append(interestTerms);
+        }
         return builder.toString();
     }
 }
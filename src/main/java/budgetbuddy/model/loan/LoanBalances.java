@@ -0,0 +1,73 @@
+package budgetbuddy.model.loan;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.person.Person;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Maintains the net amount that each person owes the user across all unpaid loans.
+ * The balances follow a given list of loans, so adding, editing, deleting or paying off a loan
+ * only adjusts the balance of the person it involves.
+ */
+public class LoanBalances {
+
+    /**
+     * Maps each person to the amount in cents they owe the user, which is negative if the user owes them.
+     * People whose loans cancel out are left out.
+     */
+    private final Map<Person, Long> balances = new HashMap<Person, Long>();
+    private final Map<Person, Long> unmodifiableBalances = Collections.unmodifiableMap(balances);
+
+    /**
+     * Creates the balances of the unpaid loans in {@code loans}, and keeps them updated as {@code loans} changes.
+     */
+    public LoanBalances(ObservableList<Loan> loans) {
+        requireNonNull(loans);
+        loans.forEach(loan -> adjust(loan, 1));
+        loans.addListener((ListChangeListener<Loan>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) {
+                    continue;
+                }
+                change.getRemoved().forEach(loan -> adjust(loan, -1));
+                change.getAddedSubList().forEach(loan -> adjust(loan, 1));
+            }
+        });
+    }
+
+    /**
+     * Returns an unmodifiable view of the amount that each person owes the user.
+     */
+    public Map<Person, Long> getBalances() {
+        return unmodifiableBalances;
+    }
+
+    /**
+     * Returns the amount in cents that {@code person} owes the user, which is negative if the user owes them.
+     */
+    public long getBalance(Person person) {
+        return balances.getOrDefault(person, 0L);
+    }
+
+    /**
+     * Adds ({@code sign} of 1) or removes ({@code sign} of -1) the given loan from the balances, if it is unpaid.
+     */
+    private void adjust(Loan loan, int sign) {
+        if (loan.isPaid()) {
+            return;
+        }
+
+        long owedToUser = loan.getDirection() == Direction.OUT ? loan.getAmount().toLong() : -loan.getAmount().toLong();
+        balances.compute(loan.getPerson(), (person, balance) -> {
+            long updated = (balance == null ? 0 : balance) + sign * owedToUser;
+            return updated == 0 ? null : updated;
+        });
+    }
+}
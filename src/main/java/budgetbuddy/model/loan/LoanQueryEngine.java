@@ -0,0 +1,221 @@
+package budgetbuddy.model.loan;
+
+import static budgetbuddy.model.loan.LoanFilters.FILTER_ALL;
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import budgetbuddy.model.loan.predicates.AmountMatchPredicate;
+import budgetbuddy.model.loan.predicates.DateMatchPredicate;
+import budgetbuddy.model.loan.predicates.PersonMatchPredicate;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Indexes a list of loans by amount, date and person, so that filters on those fields look up
+ * their matching loans instead of testing every loan, and sorts by amount or date walk an index in order.
+ * The indexes follow the given list of loans as it changes.
+ */
+public class LoanQueryEngine {
+
+    private final ObservableList<Loan> loans;
+
+    private final NavigableMap<Long, Set<Loan>> amountIndex = new TreeMap<Long, Set<Loan>>();
+    private final NavigableMap<LocalDate, Set<Loan>> dateIndex = new TreeMap<LocalDate, Set<Loan>>();
+
+    /**
+     * Maps each person's name in lower case to their loans, as persons are matched regardless of case.
+     */
+    private final Map<String, Set<Loan>> personIndex = new HashMap<String, Set<Loan>>();
+
+    /**
+     * The loans added to the list since the last query, whose matches the last query did not look up.
+     */
+    private final Set<Loan> addedSinceQuery = newIdentitySet();
+
+    /**
+     * Creates the indexes of {@code loans}, and keeps them updated as {@code loans} changes.
+     * Listeners that test the predicates of {@link #query} against added loans must be registered on
+     * {@code loans} after this engine, so that the engine has seen those loans first.
+     */
+    public LoanQueryEngine(ObservableList<Loan> loans) {
+        requireNonNull(loans);
+        this.loans = loans;
+        loans.forEach(this::index);
+        loans.addListener((ListChangeListener<Loan>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated() || isReordering(change)) {
+                    continue;
+                }
+                change.getRemoved().forEach(loan -> {
+                    unindex(loan);
+                    addedSinceQuery.remove(loan);
+                });
+                change.getAddedSubList().forEach(loan -> {
+                    index(loan);
+                    addedSinceQuery.add(loan);
+                });
+            }
+        });
+    }
+
+    /**
+     * Returns a predicate that matches the same loans as all of {@code filters} together.
+     * The loans matching the amount, date and person filters are looked up in the indexes and intersected,
+     * and only those loans are tested against the remaining filters.
+     * Loans added to the list after the query are tested against all of {@code filters}.
+     */
+    public Predicate<Loan> query(List<Predicate<Loan>> filters) {
+        requireNonNull(filters);
+        Predicate<Loan> allFilters = filters.stream().reduce(Predicate::and).orElse(FILTER_ALL);
+
+        List<Set<Loan>> candidateSets = new ArrayList<Set<Loan>>();
+        List<Predicate<Loan>> residualFilters = new ArrayList<Predicate<Loan>>();
+        for (Predicate<Loan> filter : filters) {
+            Optional<Set<Loan>> candidates = lookUp(filter);
+            if (candidates.isPresent()) {
+                candidateSets.add(candidates.get());
+            } else {
+                residualFilters.add(filter);
+            }
+        }
+        if (candidateSets.isEmpty()) {
+            return allFilters;
+        }
+
+        candidateSets.sort(Comparator.comparingInt(Set::size));
+        Set<Loan> matches = newIdentitySet();
+        for (Loan loan : candidateSets.get(0)) {
+            if (candidateSets.stream().allMatch(candidates -> candidates.contains(loan))
+                    && residualFilters.stream().allMatch(filter -> filter.test(loan))) {
+                matches.add(loan);
+            }
+        }
+
+        addedSinceQuery.clear();
+        return loan -> matches.contains(loan) || (addedSinceQuery.contains(loan) && allFilters.test(loan));
+    }
+
+    /**
+     * Returns the loans in the order given by {@code sorter}, or by its reverse if {@code isReversed} is true,
+     * if the order can be read from an index.
+     * Loans that compare equal keep their current relative order, as they would in a stable sort.
+     */
+    public Optional<List<Loan>> getSortedLoans(Comparator<Loan> sorter, boolean isReversed) {
+        requireNonNull(sorter);
+        Collection<Set<Loan>> buckets;
+        if (sorter.equals(LoanSorters.AMOUNT_ASC)) {
+            buckets = isReversed ? amountIndex.descendingMap().values() : amountIndex.values();
+        } else if (sorter.equals(LoanSorters.DATE_NEWEST)) {
+            buckets = isReversed ? dateIndex.values() : dateIndex.descendingMap().values();
+        } else {
+            return Optional.empty();
+        }
+
+        Map<Loan, Integer> positions = new IdentityHashMap<Loan, Integer>();
+        for (int i = 0; i < loans.size(); i++) {
+            positions.put(loans.get(i), i);
+        }
+
+        List<Loan> sortedLoans = new ArrayList<Loan>(loans.size());
+        for (Set<Loan> bucket : buckets) {
+            if (bucket.size() == 1) {
+                sortedLoans.addAll(bucket);
+                continue;
+            }
+            List<Loan> ties = new ArrayList<Loan>(bucket);
+            ties.sort(Comparator.comparingInt(positions::get));
+            sortedLoans.addAll(ties);
+        }
+        return Optional.of(sortedLoans);
+    }
+
+    /**
+     * Returns the indexed loans matching {@code filter}, if {@code filter} is on an indexed field.
+     */
+    private Optional<Set<Loan>> lookUp(Predicate<Loan> filter) {
+        if (filter instanceof AmountMatchPredicate) {
+            long amount = ((AmountMatchPredicate) filter).getAmount().toLong();
+            return Optional.of(amountIndex.getOrDefault(amount, Collections.emptySet()));
+        } else if (filter instanceof DateMatchPredicate) {
+            LocalDate date = ((DateMatchPredicate) filter).getDate();
+            return Optional.of(dateIndex.getOrDefault(date, Collections.emptySet()));
+        } else if (filter instanceof PersonMatchPredicate) {
+            String name = toPersonKey(((PersonMatchPredicate) filter).getPerson().getName().toString());
+            return Optional.of(personIndex.getOrDefault(name, Collections.emptySet()));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private void index(Loan loan) {
+        amountIndex.computeIfAbsent(loan.getAmount().toLong(), unused -> newIdentitySet()).add(loan);
+        dateIndex.computeIfAbsent(loan.getDate(), unused -> newIdentitySet()).add(loan);
+        personIndex.computeIfAbsent(toPersonKey(loan), unused -> newIdentitySet()).add(loan);
+    }
+
+    private void unindex(Loan loan) {
+        removeFromBucket(amountIndex, loan.getAmount().toLong(), loan);
+        removeFromBucket(dateIndex, loan.getDate(), loan);
+        removeFromBucket(personIndex, toPersonKey(loan), loan);
+    }
+
+    private static <K> void removeFromBucket(Map<K, Set<Loan>> index, K key, Loan loan) {
+        index.computeIfPresent(key, (unused, bucket) -> {
+            bucket.remove(loan);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    /**
+     * Returns true if {@code change} replaces the loans in its range with the same loans in another order,
+     * as when the list is reordered with {@code setAll}, in which case the indexes are unaffected.
+     */
+    private static boolean isReordering(ListChangeListener.Change<? extends Loan> change) {
+        if (!change.wasReplaced() || change.getRemovedSize() != change.getAddedSize()) {
+            return false;
+        }
+        Map<Loan, Integer> counts = new IdentityHashMap<Loan, Integer>();
+        change.getRemoved().forEach(loan -> counts.merge(loan, 1, Integer::sum));
+        for (Loan loan : change.getAddedSubList()) {
+            if (counts.computeIfPresent(loan, (unused, count) -> count - 1) == null || counts.get(loan) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toPersonKey(Loan loan) {
+        return toPersonKey(loan.getPerson().getName().toString());
+    }
+
+    /**
+     * Returns a key that two names share exactly when they are equal ignoring case,
+     * as {@link PersonMatchPredicate} compares them. Each character is folded the way
+     * {@link String#equalsIgnoreCase} folds it, so the key does not depend on the default locale.
+     */
+    private static String toPersonKey(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            key.append(Character.toLowerCase(Character.toUpperCase(name.charAt(i))));
+        }
+        return key.toString();
+    }
+
+    private static Set<Loan> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<Loan, Boolean>());
+    }
+}
@@ -18,6 +18,10 @@ public class AmountMatchPredicate implements Predicate<Loan> {
         this.amount = amount;
     }
 
+    public Amount getAmount() {
+        return amount;
+    }
+
     @Override
     public boolean test(Loan loan) {
         return loan.getAmount().equals(amount);
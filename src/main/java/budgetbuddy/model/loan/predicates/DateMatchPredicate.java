@@ -18,6 +18,10 @@ public class DateMatchPredicate implements Predicate<Loan> {
         this.date = date;
     }
 
+    public LocalDate getDate() {
+        return date;
+    }
+
     @Override
     public boolean test(Loan loan) {
         return loan.getDate().equals(date);
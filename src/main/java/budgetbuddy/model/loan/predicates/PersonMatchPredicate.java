@@ -18,6 +18,10 @@ public class PersonMatchPredicate implements Predicate<Loan> {
         this.person = person;
     }
 
+    public Person getPerson() {
+        return person;
+    }
+
     @Override
     public boolean test(Loan loan) {
         return loan.getPerson().getName().toString().equalsIgnoreCase(person.getName().toString());
@@ -11,6 +11,7 @@ import java.util.Objects;
 public class Rule {
     public static final String TYPE_EXPRESSION = "EXPRESSION";
     public static final String TYPE_SCRIPT = "SCRIPT";
+    public static final String TYPE_FORMULA = "FORMULA";
 
     // rule details
     private final RulePredicate predicate;
@@ -6,7 +6,7 @@ package budgetbuddy.model.rule;
  */
 public abstract class RuleAction {
     public static final String MESSAGE_CONSTRAINTS =
-            "Actions should be either expressions or scripts "
+            "Actions should be either expressions, formulas or scripts "
                     + "and should not be blank";
 
     public abstract String getType();
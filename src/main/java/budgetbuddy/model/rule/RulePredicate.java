@@ -6,7 +6,7 @@ package budgetbuddy.model.rule;
  */
 public abstract class RulePredicate {
     public static final String MESSAGE_CONSTRAINTS =
-            "Predicates should be either expressions or scripts "
+            "Predicates should be either expressions, formulas or scripts "
                     + "and should not be blank";
 
     public abstract String getType();
@@ -0,0 +1,74 @@
+package budgetbuddy.model.rule.formula;
+
+import static java.util.Objects.requireNonNull;
+
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.formula.FormulaCompiler;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.rule.RuleAction;
+
+/**
+ * Represents a RuleAction written as a formula, which is a sequence of action operators
+ * whose values may be computed from the transaction.
+ * Guarantees: formula is present and not null, immutable.
+ */
+public class ActionFormula extends RuleAction {
+
+    public static final String MESSAGE_CONSTRAINTS =
+            "Action formulas should be action operators separated by ';', "
+            + "e.g. set_cat \"Transport\"; app_desc \" on \" + text(date)";
+
+    private final String formula;
+
+    /**
+     * Constructs an {@code ActionFormula}.
+     *
+     * @param formula the source text of the formula, without the leading '='.
+     */
+    public ActionFormula(String formula) {
+        requireNonNull(formula);
+        this.formula = formula.trim();
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+
+    /**
+     * Returns true if {@code formula} compiles to a sequence of actions.
+     */
+    public static boolean isValidActionFormula(String formula) {
+        requireNonNull(formula);
+        try {
+            FormulaCompiler.compileAction(formula);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getType() {
+        return Rule.TYPE_FORMULA;
+    }
+
+    /**
+     * Returns true if both action formulas have the same source text.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof ActionFormula
+                && formula.equals(((ActionFormula) other).formula));
+    }
+
+    @Override
+    public int hashCode() {
+        return formula.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return formula;
+    }
+}
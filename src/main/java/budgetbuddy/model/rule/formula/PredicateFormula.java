@@ -0,0 +1,72 @@
+package budgetbuddy.model.rule.formula;
+
+import static java.util.Objects.requireNonNull;
+
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.formula.FormulaCompiler;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.rule.RulePredicate;
+
+/**
+ * Represents a RulePredicate written as a formula, which may combine several conditions on a transaction.
+ * Guarantees: formula is present and not null, immutable.
+ */
+public class PredicateFormula extends RulePredicate {
+
+    public static final String MESSAGE_CONSTRAINTS =
+            "Predicate formulas should be boolean formulas, e.g. outamt > 50 and contains(desc, \"taxi\")";
+
+    private final String formula;
+
+    /**
+     * Constructs a {@code PredicateFormula}.
+     *
+     * @param formula the source text of the formula, without the leading '='.
+     */
+    public PredicateFormula(String formula) {
+        requireNonNull(formula);
+        this.formula = formula.trim();
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+
+    /**
+     * Returns true if {@code formula} compiles to a boolean formula.
+     */
+    public static boolean isValidPredicateFormula(String formula) {
+        requireNonNull(formula);
+        try {
+            FormulaCompiler.compilePredicate(formula);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getType() {
+        return Rule.TYPE_FORMULA;
+    }
+
+    /**
+     * Returns true if both predicate formulas have the same source text.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof PredicateFormula
+                && formula.equals(((PredicateFormula) other).formula));
+    }
+
+    @Override
+    public int hashCode() {
+        return formula.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return formula;
+    }
+}
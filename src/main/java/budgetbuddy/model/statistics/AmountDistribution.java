@@ -0,0 +1,85 @@
+package budgetbuddy.model.statistics;
+
+import static java.util.Objects.requireNonNull;
+
+import budgetbuddy.model.attributes.Amount;
+
+/**
+ * Summarises a distribution of amounts with running moments and a quantile sketch.
+ * Every query on the distribution takes time independent of the number of amounts in it.
+ */
+public class AmountDistribution {
+
+    private final MomentsAccumulator moments;
+    private final QuantileSketch sketch;
+
+    /**
+     * Creates an empty distribution.
+     */
+    public AmountDistribution() {
+        moments = new MomentsAccumulator();
+        sketch = new QuantileSketch();
+    }
+
+    /**
+     * Creates a copy of {@code toCopy}.
+     */
+    public AmountDistribution(AmountDistribution toCopy) {
+        requireNonNull(toCopy);
+        moments = new MomentsAccumulator(toCopy.moments);
+        sketch = new QuantileSketch(toCopy.sketch);
+    }
+
+    /**
+     * Adds an amount to the distribution.
+     */
+    public void add(Amount amount) {
+        moments.add(amount.toLong());
+        sketch.add(amount.toLong());
+    }
+
+    /**
+     * Removes an amount that was previously added to the distribution.
+     */
+    public void remove(Amount amount) {
+        moments.remove(amount.toLong());
+        sketch.remove(amount.toLong());
+    }
+
+    /**
+     * Adds every amount in {@code other} to this distribution.
+     */
+    public void merge(AmountDistribution other) {
+        requireNonNull(other);
+        moments.merge(other.moments);
+        sketch.merge(other.sketch);
+    }
+
+    public long getCount() {
+        return moments.getCount();
+    }
+
+    public boolean isEmpty() {
+        return getCount() == 0;
+    }
+
+    public Amount getMean() {
+        return new Amount(Math.round(moments.getMean()));
+    }
+
+    public Amount getStandardDeviation() {
+        return new Amount(Math.round(moments.getStandardDeviation()));
+    }
+
+    /**
+     * Returns an estimate of the {@code quantile} of the amounts, within the sketch's relative accuracy.
+     * @throws IllegalStateException If the distribution is empty.
+     */
+    public Amount getQuantile(double quantile) {
+        return new Amount(sketch.getQuantile(quantile));
+    }
+
+    public double getRelativeAccuracy() {
+        return sketch.getRelativeAccuracy();
+    }
+}
@@ -0,0 +1,98 @@
+package budgetbuddy.model.statistics;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Accumulates the count, mean and variance of a stream of values in constant memory.
+ * <p>
+ * Values can be added, removed and merged in from other accumulators;
+ * the updates are numerically stable (Welford's algorithm, and Chan et al.'s for merging).
+ */
+public class MomentsAccumulator {
+
+    private long count = 0;
+    private double mean = 0;
+    private double sumOfSquaredDeviations = 0;
+
+    /**
+     * Creates an empty accumulator.
+     */
+    public MomentsAccumulator() {}
+
+    /**
+     * Creates a copy of {@code toCopy}.
+     */
+    public MomentsAccumulator(MomentsAccumulator toCopy) {
+        requireNonNull(toCopy);
+        this.count = toCopy.count;
+        this.mean = toCopy.mean;
+        this.sumOfSquaredDeviations = toCopy.sumOfSquaredDeviations;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the population variance of the accumulated values, or 0 if there are none.
+     */
+    public double getVariance() {
+        return count == 0 ? 0 : sumOfSquaredDeviations / count;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Adds a value to the accumulator.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquaredDeviations += delta * (value - mean);
+    }
+
+    /**
+     * Removes a value that was previously added to the accumulator.
+     * @throws IllegalStateException If the accumulator is empty.
+     */
+    public void remove(double value) {
+        if (count == 0) {
+            throw new IllegalStateException("Accumulator is empty.");
+        }
+        if (count == 1) {
+            count = 0;
+            mean = 0;
+            sumOfSquaredDeviations = 0;
+            return;
+        }
+
+        double previousMean = (count * mean - value) / (count - 1);
+        sumOfSquaredDeviations = Math.max(0, sumOfSquaredDeviations - (value - mean) * (value - previousMean));
+        mean = previousMean;
+        count--;
+    }
+
+    /**
+     * Adds every value accumulated by {@code other} to this accumulator.
+     */
+    public void merge(MomentsAccumulator other) {
+        requireNonNull(other);
+        if (other.count == 0) {
+            return;
+        }
+
+        long mergedCount = count + other.count;
+        double delta = other.mean - mean;
+        sumOfSquaredDeviations += other.sumOfSquaredDeviations
+                + delta * delta * ((double) count * other.count / mergedCount);
+        mean += delta * other.count / mergedCount;
+        count = mergedCount;
+    }
+}
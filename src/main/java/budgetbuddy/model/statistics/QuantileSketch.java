@@ -0,0 +1,183 @@
+package budgetbuddy.model.statistics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A mergeable streaming sketch of a distribution of non-negative values, from which quantiles can be estimated.
+ * <p>
+ * Values are counted in logarithmically-sized buckets, so that every estimated quantile is within a fixed
+ * relative error of a true value of the distribution. The number of buckets depends only on the range of
+ * the values, not on how many values were added, so the sketch uses bounded memory and answers queries in
+ * bounded time. Unlike sampling-based sketches, values can also be removed exactly, and two sketches with
+ * the same accuracy can be merged without any loss of accuracy.
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount = 0;
+    private long count = 0;
+
+    /**
+     * Creates an empty sketch with the default relative accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates an empty sketch whose estimates are within {@code relativeAccuracy} of a true value.
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1.");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    /**
+     * Creates a copy of {@code toCopy}.
+     */
+    public QuantileSketch(QuantileSketch toCopy) {
+        requireNonNull(toCopy);
+        this.relativeAccuracy = toCopy.relativeAccuracy;
+        this.logGamma = toCopy.logGamma;
+        this.buckets.putAll(toCopy.buckets);
+        this.zeroCount = toCopy.zeroCount;
+        this.count = toCopy.count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     */
+    public void add(long value) {
+        checkValue(value);
+        if (value == 0) {
+            zeroCount++;
+        } else {
+            buckets.merge(bucketOf(value), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    /**
+     * Removes a value that was previously added to the sketch.
+     * @throws IllegalStateException If no such value was added to the sketch.
+     */
+    public void remove(long value) {
+        checkValue(value);
+        if (value == 0) {
+            if (zeroCount == 0) {
+                throw new IllegalStateException("Value was not added to the sketch.");
+            }
+            zeroCount--;
+        } else {
+            int bucket = bucketOf(value);
+            Long bucketCount = buckets.get(bucket);
+            if (bucketCount == null) {
+                throw new IllegalStateException("Value was not added to the sketch.");
+            }
+            if (bucketCount == 1) {
+                buckets.remove(bucket);
+            } else {
+                buckets.put(bucket, bucketCount - 1);
+            }
+        }
+        count--;
+    }
+
+    /**
+     * Adds every value counted by {@code other} to this sketch.
+     * @throws IllegalArgumentException If the sketches do not have the same relative accuracy.
+     */
+    public void merge(QuantileSketch other) {
+        requireNonNull(other);
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Only sketches with the same relative accuracy can be merged.");
+        }
+        other.buckets.forEach((bucket, bucketCount) -> buckets.merge(bucket, bucketCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * Returns an estimate of the {@code quantile} of the values in the sketch, e.g. 0.5 for the median.
+     * @throws IllegalStateException If the sketch is empty.
+     */
+    public long getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        }
+        if (isEmpty()) {
+            throw new IllegalStateException("Sketch is empty.");
+        }
+
+        long rank = (long) Math.floor(quantile * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> entry : buckets.entrySet()) {
+            seen += entry.getValue();
+            if (seen > rank) {
+                return valueOf(entry.getKey());
+            }
+        }
+        return valueOf(buckets.lastKey());
+    }
+
+    /**
+     * Returns the index of the bucket that counts {@code value}.
+     */
+    private int bucketOf(long value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Returns the value representing every value in the bucket with index {@code bucket}.
+     */
+    private long valueOf(int bucket) {
+        double gamma = Math.exp(logGamma);
+        return Math.round(2 * Math.exp(bucket * logGamma) / (gamma + 1));
+    }
+
+    private static void checkValue(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative values can be sketched.");
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof QuantileSketch // instanceof handles nulls
+                && relativeAccuracy == ((QuantileSketch) other).relativeAccuracy
+                && zeroCount == ((QuantileSketch) other).zeroCount
+                && buckets.equals(((QuantileSketch) other).buckets));
+    }
+
+    @Override
+    public int hashCode() {
+        return buckets.hashCode();
+    }
+}
@@ -0,0 +1,94 @@
+package budgetbuddy.model.statistics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * Maintains the distributions of transaction amounts in a group of transactions,
+ * split by direction and by category, as transactions are added and removed.
+ * A transaction with several categories counts towards each of its categories.
+ */
+public class TransactionStatistics {
+
+    private final Map<Direction, AmountDistribution> totals = new EnumMap<>(Direction.class);
+    private final Map<Direction, Map<Category, AmountDistribution>> categories = new EnumMap<>(Direction.class);
+
+    /**
+     * Creates statistics over no transactions.
+     */
+    public TransactionStatistics() {
+        for (Direction direction : Direction.values()) {
+            totals.put(direction, new AmountDistribution());
+            categories.put(direction, new HashMap<>());
+        }
+    }
+
+    /**
+     * Counts a transaction in the statistics.
+     */
+    public void add(Transaction txn) {
+        requireNonNull(txn);
+        totals.get(txn.getDirection()).add(txn.getAmount());
+        Map<Category, AmountDistribution> directionCategories = categories.get(txn.getDirection());
+        for (Category category : txn.getCategories()) {
+            directionCategories.computeIfAbsent(category, unused -> new AmountDistribution()).add(txn.getAmount());
+        }
+    }
+
+    /**
+     * Stops counting a transaction that was previously counted in the statistics.
+     */
+    public void remove(Transaction txn) {
+        requireNonNull(txn);
+        totals.get(txn.getDirection()).remove(txn.getAmount());
+        Map<Category, AmountDistribution> directionCategories = categories.get(txn.getDirection());
+        for (Category category : txn.getCategories()) {
+            AmountDistribution distribution = directionCategories.get(category);
+            if (distribution == null) {
+                continue;
+            }
+            distribution.remove(txn.getAmount());
+            if (distribution.isEmpty()) {
+                directionCategories.remove(category);
+            }
+        }
+    }
+
+    /**
+     * Merges the distribution of the transactions with the given direction and category into {@code target}.
+     * @param direction The direction of transactions to include, or all directions if empty.
+     * @param category The category of transactions to include, or all transactions if empty.
+     */
+    public void mergeInto(AmountDistribution target, Optional<Direction> direction, Optional<Category> category) {
+        requireNonNull(target);
+        for (Direction d : Direction.values()) {
+            if (direction.isPresent() && direction.get() != d) {
+                continue;
+            }
+            AmountDistribution distribution = category.isPresent()
+                    ? categories.get(d).get(category.get())
+                    : totals.get(d);
+            if (distribution != null) {
+                target.merge(distribution);
+            }
+        }
+    }
+
+    /**
+     * Returns the distribution of the transactions with the given direction and category.
+     * @see #mergeInto(AmountDistribution, Optional, Optional)
+     */
+    public AmountDistribution getDistribution(Optional<Direction> direction, Optional<Category> category) {
+        AmountDistribution distribution = new AmountDistribution();
+        mergeInto(distribution, direction, category);
+        return distribution;
+    }
+}
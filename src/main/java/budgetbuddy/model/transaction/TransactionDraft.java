@@ -0,0 +1,136 @@
+package budgetbuddy.model.transaction;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+
+/**
+ * Represents a mutable copy of a Transaction, so that several changes can be made to a transaction
+ * before the result is written back as a single new Transaction.
+ * Only the fields that rule actions can change are mutable.
+ */
+public class TransactionDraft {
+
+    private final Transaction original;
+    private final LocalDate date;
+    private final Amount amount;
+    private Direction direction;
+    private Description description;
+    private final Set<Category> categories;
+    private long modificationCount = 0;
+
+    /**
+     * Creates a draft with the same fields as {@code original}.
+     */
+    public TransactionDraft(Transaction original) {
+        requireNonNull(original);
+        this.original = original;
+        this.date = original.getLocalDate();
+        this.amount = original.getAmount();
+        this.direction = original.getDirection();
+        this.description = original.getDescription();
+        this.categories = new HashSet<>(original.getCategories());
+    }
+
+    public Transaction getOriginal() {
+        return original;
+    }
+
+    public LocalDate getLocalDate() {
+        return date;
+    }
+
+    public Amount getAmount() {
+        return amount;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public Description getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns true if the draft contains {@code category}.
+     */
+    public boolean hasCategory(Category category) {
+        return categories.contains(category);
+    }
+
+    public void setDirection(Direction direction) {
+        requireNonNull(direction);
+        if (!direction.equals(this.direction)) {
+            this.direction = direction;
+            modificationCount++;
+        }
+    }
+
+    public void setDescription(Description description) {
+        requireNonNull(description);
+        if (!description.equals(this.description)) {
+            this.description = description;
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Adds {@code category} to the draft, if it is not already present.
+     */
+    public void addCategory(Category category) {
+        requireNonNull(category);
+        if (categories.add(category)) {
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Removes {@code category} from the draft, if it is present.
+     */
+    public void removeCategory(Category category) {
+        requireNonNull(category);
+        if (categories.remove(category)) {
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Returns the number of changes made to the draft so far.
+     * A change that leaves a field as it was is not counted.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns true if the transaction built from the draft would differ from the original.
+     */
+    public boolean isModified() {
+        return !direction.equals(original.getDirection())
+                || !description.equals(original.getDescription())
+                || !categories.equals(original.getCategories());
+    }
+
+    /**
+     * Returns a new Transaction with the draft's fields, or the original Transaction if nothing was changed.
+     */
+    public Transaction build() {
+        if (!isModified()) {
+            return original;
+        }
+        return new Transaction(date, amount, direction, description, categories);
+    }
+
+    @Override
+    public String toString() {
+        return build().toString();
+    }
+}
@@ -3,8 +3,10 @@ package budgetbuddy.model.transaction;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Objects;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.transaction.exceptions.TransactionNotFoundException;
@@ -37,6 +39,15 @@ public class TransactionList implements Iterable<Transaction> {
         internalList.add(toAdd);
     }
 
+    /**
+     * Adds many Transactions to the end of the list, as a single change to the list.
+     */
+    public void addAll(Collection<Transaction> toAdd) {
+        requireNonNull(toAdd);
+        toAdd.forEach(Objects::requireNonNull);
+        internalList.addAll(toAdd);
+    }
+
 
     /**
      * Returns the Transaction at the specified index in the list.
@@ -69,6 +80,15 @@ public class TransactionList implements Iterable<Transaction> {
         internalList.setAll(toCopy.internalList);
     }
 
+    /**
+     * Replaces all transactions within the list with the given transactions.
+     * {@code transactions} must not be null.
+     */
+    public void setAll(Collection<Transaction> transactions) {
+        requireNonNull(transactions);
+        internalList.setAll(transactions);
+    }
+
     /**
      * Removes the equivalent Transaction from the list.
      * The Transaction must exist in the list.
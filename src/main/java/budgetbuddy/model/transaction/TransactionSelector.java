@@ -0,0 +1,106 @@
+package budgetbuddy.model.transaction;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Selects ranked windows of transactions without sorting every transaction.
+ * <p>
+ * A bounded heap of at most {@code skip + limit} entries is kept while scanning the source once,
+ * so selecting a window costs O(n log k) time and O(k) memory, where k is the size of the window's end.
+ * Ties are broken by the order in which transactions appear in the source, which matches a stable sort.
+ */
+public class TransactionSelector {
+
+    /**
+     * Prevents construction of an instance of this static-only class.
+     */
+    private TransactionSelector() {}
+
+    /**
+     * Returns the first {@code count} transactions matching {@code predicate} under {@code comparator}, in order.
+     */
+    public static List<Transaction> selectTop(Iterable<Transaction> source, Predicate<Transaction> predicate,
+                                              Comparator<Transaction> comparator, int count) {
+        return selectRange(source, predicate, comparator, 0, count);
+    }
+
+    /**
+     * Returns the one-based {@code page} of {@code pageSize} transactions matching {@code predicate}
+     * under {@code comparator}, in order.
+     */
+    public static List<Transaction> selectPage(Iterable<Transaction> source, Predicate<Transaction> predicate,
+                                               Comparator<Transaction> comparator, int page, int pageSize) {
+        long skip = (long) (page - 1) * pageSize;
+        if (skip >= Integer.MAX_VALUE) {
+            return new ArrayList<>();
+        }
+        return selectRange(source, predicate, comparator, (int) skip, pageSize);
+    }
+
+    /**
+     * Returns the transactions matching {@code predicate} ranked from {@code skip} (inclusive)
+     * to {@code skip + limit} (exclusive) under {@code comparator}, in order.
+     */
+    public static List<Transaction> selectRange(Iterable<Transaction> source, Predicate<Transaction> predicate,
+                                                Comparator<Transaction> comparator, int skip, int limit) {
+        requireAllNonNull(source, predicate, comparator);
+        if (skip < 0 || limit < 0) {
+            throw new IllegalArgumentException("Window bounds must not be negative.");
+        }
+
+        List<Transaction> window = new ArrayList<>();
+        long bound = (long) skip + limit;
+        if (limit == 0 || bound > Integer.MAX_VALUE) {
+            return window;
+        }
+        int capacity = (int) bound;
+
+        Comparator<RankedTransaction> rankOrder = Comparator
+                .comparing((RankedTransaction ranked) -> ranked.transaction, comparator)
+                .thenComparingLong(ranked -> ranked.position);
+
+        // the worst of the kept transactions sits at the head so it can be evicted cheaply
+        PriorityQueue<RankedTransaction> heap = new PriorityQueue<>(Math.min(capacity, 1024), rankOrder.reversed());
+        long position = 0;
+        for (Transaction txn : source) {
+            if (!predicate.test(txn)) {
+                continue;
+            }
+            RankedTransaction ranked = new RankedTransaction(txn, position++);
+            if (heap.size() < capacity) {
+                heap.add(ranked);
+            } else if (rankOrder.compare(ranked, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        }
+
+        // polling yields the kept transactions from worst to best; the best skip of them are not shown
+        int keep = heap.size() - skip;
+        for (int i = 0; i < keep; i++) {
+            window.add(heap.poll().transaction);
+        }
+        Collections.reverse(window);
+        return window;
+    }
+
+    /**
+     * A transaction paired with its position in the source, used to keep selection stable.
+     */
+    private static class RankedTransaction {
+        private final Transaction transaction;
+        private final long position;
+
+        private RankedTransaction(Transaction transaction, long position) {
+            this.transaction = transaction;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package budgetbuddy.storage.loans;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.model.loan.CompoundingPeriod;
+import budgetbuddy.model.loan.InterestTerms;
+
+/**
+ * Jackson-friendly version of {@link InterestTerms}.
+ */
+public class JsonAdaptedInterestTerms {
+
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Interest terms' %s field is missing!";
+
+    private final int rate;
+    private final String compoundingPeriod;
+    private final int installments;
+
+    /**
+     * Constructs a {@code JsonAdaptedInterestTerms} with the given interest terms.
+     */
+    @JsonCreator
+    public JsonAdaptedInterestTerms(@JsonProperty("rate") int rate,
+                                    @JsonProperty("compoundingPeriod") String compoundingPeriod,
+                                    @JsonProperty("installments") int installments) {
+        this.rate = rate;
+        this.compoundingPeriod = compoundingPeriod;
+        this.installments = installments;
+    }
+
+    /**
+     * Converts the given {@code InterestTerms} into this class for Jackson use.
+     */
+    public JsonAdaptedInterestTerms(InterestTerms source) {
+        rate = source.getRate();
+        compoundingPeriod = source.getCompoundingPeriod().toString();
+        installments = source.getInstallments();
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted interest terms object into the model's {@code InterestTerms} object.
+     * @throws IllegalValueException If any data constraints were violated in the adapted interest terms.
+     */
+    public InterestTerms toModelType() throws IllegalValueException {
+        if (!InterestTerms.isValidRate(rate)) {
+            throw new IllegalValueException(InterestTerms.MESSAGE_RATE_CONSTRAINTS);
+        }
+        if (compoundingPeriod == null) {
+            throw new IllegalValueException(
+                    String.format(MISSING_FIELD_MESSAGE_FORMAT, CompoundingPeriod.class.getSimpleName()));
+        }
+        if (!CompoundingPeriod.contains(compoundingPeriod)) {
+            throw new IllegalValueException(CompoundingPeriod.MESSAGE_CONSTRAINTS);
+        }
+        if (!InterestTerms.isValidInstallments(installments)) {
+            throw new IllegalValueException(InterestTerms.MESSAGE_INSTALLMENTS_CONSTRAINTS);
+        }
+        return new InterestTerms(rate, CompoundingPeriod.valueOf(compoundingPeriod), installments);
+    }
+}
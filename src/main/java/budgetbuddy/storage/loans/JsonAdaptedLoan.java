@@ -34,8 +34,23 @@ public class JsonAdaptedLoan {
     private final String description;
     private final String status;
 
+    /**
+     * The interest terms of the loan, or null if the loan carries no interest, as in files saved before
+     * loans could carry interest.
+     */
+    private final JsonAdaptedInterestTerms interestTerms;
+
+    /**
+     * Constructs a {@code JsonAdaptedLoan} with the given loan details and no interest terms.
+     */
+    public JsonAdaptedLoan(String personName, String direction, long amount,
+                           String date, String description, String status) {
+        this(personName, direction, amount, date, description, status, null);
+    }
+
     /**
      * Constructs a {@code JsonAdaptedLoan} with the given loan details.
+     * Every detail except {@code interestTerms} must be present and not null.
      */
     @JsonCreator
     public JsonAdaptedLoan(@JsonProperty("personName") String personName,
@@ -43,7 +58,8 @@ public class JsonAdaptedLoan {
                            @JsonProperty("amount") long amount,
                            @JsonProperty("date") String date,
                            @JsonProperty("description") String description,
-                           @JsonProperty("status") String status) {
+                           @JsonProperty("status") String status,
+                           @JsonProperty("interestTerms") JsonAdaptedInterestTerms interestTerms) {
         requireAllNonNull(personName, direction, amount, date, description, status);
         this.personName = personName;
         this.direction = direction;
@@ -51,6 +67,7 @@ public class JsonAdaptedLoan {
         this.date = date;
         this.description = description;
         this.status = status;
+        this.interestTerms = interestTerms;
     }
 
     /**
@@ -64,6 +81,7 @@ public class JsonAdaptedLoan {
         date = getDateFormatter().format(source.getDate());
         description = source.getDescription().toString();
         status = source.getStatus().toString();
+        interestTerms = source.getInterestTerms().map(JsonAdaptedInterestTerms::new).orElse(null);
     }
 
     /**
@@ -73,7 +91,8 @@ public class JsonAdaptedLoan {
     public Loan toModelType() throws IllegalValueException {
         Person person = new Person(getValidatedName());
         return new Loan(person, getValidatedDirection(), getValidatedAmount(),
-                getValidatedDate(), getValidatedDescription(), getValidatedStatus());
+                getValidatedDate(), getValidatedDescription(), getValidatedStatus(),
+                interestTerms == null ? null : interestTerms.toModelType());
     }
 
     /**
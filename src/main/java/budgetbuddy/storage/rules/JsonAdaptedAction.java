@@ -15,7 +15,8 @@ import budgetbuddy.model.rule.RuleAction;
 @JsonTypeInfo(use = Id.NAME, property = "type")
 @JsonSubTypes({
         @Type(value = JsonAdaptedActionExpression.class, name = "expr"),
-        @Type(value = JsonAdaptedActionScript.class, name = "script")
+        @Type(value = JsonAdaptedActionScript.class, name = "script"),
+        @Type(value = JsonAdaptedActionFormula.class, name = "formula")
 })
 public interface JsonAdaptedAction {
     /**
@@ -0,0 +1,52 @@
+package budgetbuddy.storage.rules;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.model.rule.RuleAction;
+import budgetbuddy.model.rule.formula.ActionFormula;
+
+/**
+ * Jackson-friendly version of {@link RuleAction}.
+ */
+public class JsonAdaptedActionFormula implements JsonAdaptedAction {
+
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Action formula is missing!";
+
+    private final String formula;
+
+    /**
+     * Constructs a {@code JsonAdaptedActionFormula} with the given action details.
+     */
+    @JsonCreator
+    public JsonAdaptedActionFormula(@JsonProperty("formula") String formula) {
+        requireNonNull(formula);
+        this.formula = formula;
+    }
+
+    /**
+     * Converts a given {@code ActionFormula} into this class for Jackson use.
+     */
+    public JsonAdaptedActionFormula(ActionFormula source) {
+        formula = source.getFormula();
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted action object into the model's {@code ActionFormula} object.
+     * The formula is compiled to check that it is still valid.
+     * @throws IllegalValueException If any data constraints were violated in the adapted action.
+     */
+    @Override
+    public ActionFormula toModelType() throws IllegalValueException {
+        if (formula == null) {
+            throw new IllegalValueException(MISSING_FIELD_MESSAGE_FORMAT);
+        }
+        if (!ActionFormula.isValidActionFormula(formula)) {
+            throw new IllegalValueException(ActionFormula.MESSAGE_CONSTRAINTS);
+        }
+        return new ActionFormula(formula);
+    }
+}
@@ -14,7 +14,8 @@ import budgetbuddy.model.rule.RulePredicate;
 @JsonTypeInfo(use = Id.NAME, property = "type")
 @JsonSubTypes({
         @Type(value = JsonAdaptedPredicateExpression.class, name = "expr"),
-        @Type(value = JsonAdaptedPredicateScript.class, name = "script")
+        @Type(value = JsonAdaptedPredicateScript.class, name = "script"),
+        @Type(value = JsonAdaptedPredicateFormula.class, name = "formula")
 })
 public interface JsonAdaptedPredicate {
     /**
@@ -0,0 +1,52 @@
+package budgetbuddy.storage.rules;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.model.rule.RulePredicate;
+import budgetbuddy.model.rule.formula.PredicateFormula;
+
+/**
+ * Jackson-friendly version of {@link RulePredicate}.
+ */
+public class JsonAdaptedPredicateFormula implements JsonAdaptedPredicate {
+
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Predicate formula is missing!";
+
+    private final String formula;
+
+    /**
+     * Constructs a {@code JsonAdaptedPredicateFormula} with the given predicate details.
+     */
+    @JsonCreator
+    public JsonAdaptedPredicateFormula(@JsonProperty("formula") String formula) {
+        requireNonNull(formula);
+        this.formula = formula;
+    }
+
+    /**
+     * Converts a given {@code PredicateFormula} into this class for Jackson use.
+     */
+    public JsonAdaptedPredicateFormula(PredicateFormula source) {
+        formula = source.getFormula();
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted predicate object into the model's {@code PredicateFormula} object.
+     * The formula is compiled to check that it is still valid.
+     * @throws IllegalValueException If any data constraints were violated in the adapted predicate.
+     */
+    @Override
+    public PredicateFormula toModelType() throws IllegalValueException {
+        if (formula == null) {
+            throw new IllegalValueException(MISSING_FIELD_MESSAGE_FORMAT);
+        }
+        if (!PredicateFormula.isValidPredicateFormula(formula)) {
+            throw new IllegalValueException(PredicateFormula.MESSAGE_CONSTRAINTS);
+        }
+        return new PredicateFormula(formula);
+    }
+}
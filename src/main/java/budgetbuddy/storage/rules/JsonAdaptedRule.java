@@ -11,6 +11,8 @@ import budgetbuddy.model.rule.RuleAction;
 import budgetbuddy.model.rule.RulePredicate;
 import budgetbuddy.model.rule.expression.ActionExpression;
 import budgetbuddy.model.rule.expression.PredicateExpression;
+import budgetbuddy.model.rule.formula.ActionFormula;
+import budgetbuddy.model.rule.formula.PredicateFormula;
 import budgetbuddy.model.rule.script.ActionScript;
 import budgetbuddy.model.rule.script.PredicateScript;
 
@@ -41,12 +43,16 @@ public class JsonAdaptedRule {
         RuleAction sAct = source.getAction();
         if (sPred.getType().equals(Rule.TYPE_EXPRESSION)) {
             predicate = new JsonAdaptedPredicateExpression((PredicateExpression) sPred);
+        } else if (sPred.getType().equals(Rule.TYPE_FORMULA)) {
+            predicate = new JsonAdaptedPredicateFormula((PredicateFormula) sPred);
         } else {
             predicate = new JsonAdaptedPredicateScript((PredicateScript) sPred);
         }
 
         if (sAct.getType().equals(Rule.TYPE_EXPRESSION)) {
             action = new JsonAdaptedActionExpression((ActionExpression) sAct);
+        } else if (sAct.getType().equals(Rule.TYPE_FORMULA)) {
+            action = new JsonAdaptedActionFormula((ActionFormula) sAct);
         } else {
             action = new JsonAdaptedActionScript((ActionScript) sAct);
         }
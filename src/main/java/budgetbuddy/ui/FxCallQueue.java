@@ -0,0 +1,71 @@
+package budgetbuddy.ui;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import budgetbuddy.logic.script.BindingCallDispatcher;
+import javafx.application.Platform;
+
+/**
+ * Runs work from other threads on the JavaFX application thread, in the order it was submitted.
+ * <p>
+ * Work submitted while the application thread is busy is run together in a single pulse, so a script running
+ * in the background that makes many small changes and updates does not flood the application thread with events.
+ */
+class FxCallQueue implements BindingCallDispatcher {
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isDrainScheduled = new AtomicBoolean(false);
+
+    /**
+     * Runs {@code work} on the application thread without waiting for it,
+     * or at once if this is the application thread.
+     */
+    void post(Runnable work) {
+        if (Platform.isFxApplicationThread()) {
+            work.run();
+            return;
+        }
+        pending.offer(work);
+        if (isDrainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    /**
+     * Runs {@code call} on the application thread and waits for its result,
+     * or runs it at once if this is the application thread.
+     */
+    @Override
+    public Object dispatch(Callable<Object> call) throws Exception {
+        if (Platform.isFxApplicationThread()) {
+            return call.call();
+        }
+
+        FutureTask<Object> task = new FutureTask<>(call);
+        post(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            // the call has not started, or is running on the application thread and will finish there
+            task.cancel(false);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private void drain() {
+        isDrainScheduled.set(false);
+        Runnable work;
+        while ((work = pending.poll()) != null) {
+            work.run();
+        }
+    }
+}
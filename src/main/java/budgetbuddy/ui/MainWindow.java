@@ -2,6 +2,8 @@ package budgetbuddy.ui;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import budgetbuddy.commons.core.Config;
@@ -13,6 +15,7 @@ import budgetbuddy.logic.commands.CommandContinuation;
 import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.logic.commands.exceptions.CommandException;
 import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.script.BindingCallDispatcher;
 import budgetbuddy.logic.script.ScriptBindingInterfaces;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.logic.script.ScriptEnvironmentInitialiser;
@@ -44,9 +47,18 @@ public class MainWindow extends UiPart<Stage> {
 
     private static final String FXML = "MainWindow.fxml";
 
+    private static final String MESSAGE_SCRIPT_RUNNING =
+            "A script is running in the background. Wait for it to finish, or press Esc to cancel it.";
+    private static final String MESSAGE_CANCELLING_SCRIPT = "Cancelling script...";
+
     private final Logger logger = LogsCenter.getLogger(getClass());
     private HashMap<CommandCategory, PanelTab> tabMap;
 
+    // runs the changes made by scripts running in the background on the application thread
+    private final FxCallQueue fxCallQueue = new FxCallQueue();
+    // the thread running a script in the background, if any; only accessed on the application thread
+    private Thread backgroundScriptThread;
+
     private Stage primaryStage;
     private Logic logic;
 
@@ -145,7 +157,7 @@ public class MainWindow extends UiPart<Stage> {
         TransactionTab transactionTab = new TransactionTab(logic.getTransactionList());
         tabMap.put(CommandCategory.TRANSACTION, transactionTab);
 
-        RuleTab ruleTab = new RuleTab(logic.getRuleList());
+        RuleTab ruleTab = new RuleTab(logic.getRuleList(), logic.getRuleProfiler());
         tabMap.put(CommandCategory.RULE, ruleTab);
 
         LoanTab loanTab = new LoanTab(logic.getFilteredLoanList(), logic.getSortedDebtorList());
@@ -177,6 +189,13 @@ public class MainWindow extends UiPart<Stage> {
                 Node commandField = commandBox.getRoot().getChildrenUnmodifiable().get(0);
                 commandField.requestFocus();
             }
+            // hotkey (Esc) to cancel a script running in the background
+            if (backgroundScriptThread != null && event.getCode().equals(KeyCode.ESCAPE)) {
+                logic.cancelScript();
+                resultDisplay.appendOutput(MESSAGE_CANCELLING_SCRIPT);
+                event.consume();
+                return;
+            }
             // add hotkey (Ctrl + D) to switch between primary and secondary panels (if secondary panel exists)
             PanelTab currentTab = (PanelTab) outputDisplay.getRoot().getSelectionModel().getSelectedItem();
             if (currentTab.hasSecondaryPanel() && event.isControlDown() && event.getCode()
@@ -261,28 +280,21 @@ public class MainWindow extends UiPart<Stage> {
      * @see Logic#execute(String)
      */
     private CommandResult executeCommand(String commandText) throws CommandException, ParseException {
-        try {
-            CommandResult commandResult = logic.execute(commandText);
-            while (true) {
-                logger.info("Result: " + commandResult.getFeedbackToUser());
-                resultDisplay.setFeedbackToUser(commandResult.getFeedbackToUser());
-
-                CommandCategory category = commandResult.getCommandCategory();
-                PanelTab tabToView = category.isSecondaryCategory()
-                                     ? tabMap.get(category.getPrimaryCategory(category))
-                                     : tabMap.get(category);
-                updateView(tabToView, category);
-
-                CommandResult newResult = handleContinuations(commandResult);
-                if (newResult != null) {
-                    commandResult = newResult;
-                    continue;
-                }
-
-                break;
-            }
+        if (backgroundScriptThread != null) {
+            // the script may be changing the model, and holds the script engine
+            logger.info("Command rejected while a script is running: " + commandText);
+            resultDisplay.appendOutput(MESSAGE_SCRIPT_RUNNING);
+            throw new CommandException(MESSAGE_SCRIPT_RUNNING);
+        }
+        return runCommand(commandText);
+    }
 
-            return commandResult;
+    /**
+     * Executes the command, even if a script is running in the background, and returns the result.
+     */
+    private CommandResult runCommand(String commandText) throws CommandException, ParseException {
+        try {
+            return showResult(logic.execute(commandText));
         } catch (CommandException | ParseException e) {
             logger.info("Invalid command: " + commandText);
             resultDisplay.setFeedbackToUser(e.getMessage());
@@ -290,6 +302,35 @@ public class MainWindow extends UiPart<Stage> {
         }
     }
 
+    /**
+     * Shows the result of a command, and those of any continuations it leads to, and returns the last result.
+     */
+    private CommandResult showResult(CommandResult commandResult) throws CommandException {
+        while (true) {
+            logger.info("Result: " + commandResult.getFeedbackToUser());
+            resultDisplay.setFeedbackToUser(commandResult.getFeedbackToUser());
+            if (backgroundScriptThread == null) {
+                resultDisplay.clearProgress();
+            }
+
+            CommandCategory category = commandResult.getCommandCategory();
+            PanelTab tabToView = category.isSecondaryCategory()
+                                 ? tabMap.get(category.getPrimaryCategory(category))
+                                 : tabMap.get(category);
+            updateView(tabToView, category);
+
+            CommandResult newResult = handleContinuations(commandResult);
+            if (newResult != null) {
+                commandResult = newResult;
+                continue;
+            }
+
+            break;
+        }
+
+        return commandResult;
+    }
+
     /**
      * Handles command continuations.
      */
@@ -305,6 +346,9 @@ public class MainWindow extends UiPart<Stage> {
             case SHOW_FILE_PICKER:
                 File result = handleShowFilePicker();
                 return cont.asShowFilePicker().continueCommand(result == null ? null : result.toPath());
+            case RUN_IN_BACKGROUND:
+                startInBackground(cont.asRunInBackground());
+                break;
             default:
                 assert false : "Unhandled command continuation type";
                 logger.warning("Unhandled command continuation type");
@@ -314,6 +358,57 @@ public class MainWindow extends UiPart<Stage> {
         return null;
     }
 
+    /**
+     * Continues a command on a new background thread, such as to run a long script, keeping the window responsive.
+     * The changes it makes to the model are run on the application thread through {@link #fxCallQueue}.
+     *
+     * @throws CommandException if another script is already running in the background.
+     */
+    private void startInBackground(CommandContinuation<BindingCallDispatcher> continuation) throws CommandException {
+        if (backgroundScriptThread != null) {
+            throw new CommandException(MESSAGE_SCRIPT_RUNNING);
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                CommandResult result = continuation.continueCommand(fxCallQueue);
+                fxCallQueue.post(() -> finishInBackground(result, null));
+            } catch (CommandException | RuntimeException e) {
+                fxCallQueue.post(() -> finishInBackground(null, e));
+            }
+        }, "Background script");
+        thread.setDaemon(true);
+        backgroundScriptThread = thread;
+        resultDisplay.setProgress(-1, "Running...");
+        thread.start();
+    }
+
+    /**
+     * Saves the changes made by a command continued in the background, and shows its result
+     * after any output it streamed, or the exception it failed with.
+     */
+    private void finishInBackground(CommandResult result, Exception failure) {
+        backgroundScriptThread = null;
+        resultDisplay.clearProgress();
+        try {
+            logic.saveModel();
+            if (failure != null) {
+                logger.info("Background script failed: " + failure.getMessage());
+                resultDisplay.appendOutput(failure.getMessage());
+                return;
+            }
+
+            logger.info("Result: " + result.getFeedbackToUser());
+            resultDisplay.appendOutput(result.getFeedbackToUser());
+            CommandResult newResult = handleContinuations(result);
+            if (newResult != null) {
+                showResult(newResult);
+            }
+        } catch (CommandException e) {
+            resultDisplay.appendOutput(e.getMessage());
+        }
+    }
+
     /**
      * Provides convenience functions that involve the MainWindow to the script environment.
      * <p>
@@ -325,17 +420,42 @@ public class MainWindow extends UiPart<Stage> {
         public void initialise(ScriptEngine engine) {
             engine.setVariable("executeCommand",
                     (ScriptBindingInterfaces.StringOnly) this::scriptExecuteCommand);
+            // not bound with the ScriptBindingInterfaces, so that a script in the background does not wait for them
+            engine.setVariable("output", (Consumer<Object>) this::scriptOutput);
+            engine.setVariable("progress", (BiConsumer<Object, Object>) this::scriptProgress);
         }
 
         /**
          * Provides <code>executeCommand(command) -> CommandResult</code>.
+         * A script running in the background has this called on the application thread for it.
          */
         private Object scriptExecuteCommand(String command) throws Exception {
             if (Platform.isFxApplicationThread()) {
-                return MainWindow.this.executeCommand(command);
+                return MainWindow.this.runCommand(command);
             } else {
                 throw new IllegalStateException("Cannot execute command from non-application thread");
             }
         }
+
+        /**
+         * Provides <code>output(text)</code>, which shows a line of output while the script is still running.
+         */
+        private void scriptOutput(Object text) {
+            String line = String.valueOf(text);
+            fxCallQueue.post(() -> resultDisplay.appendOutput(line));
+        }
+
+        /**
+         * Provides <code>progress(fraction, message)</code>, which shows how far the script has got,
+         * where <code>fraction</code> is between 0 and 1.
+         */
+        private void scriptProgress(Object fraction, Object message) {
+            if (!(fraction instanceof Number)) {
+                throw new IllegalArgumentException("Progress must be a number between 0 and 1");
+            }
+            double progress = ((Number) fraction).doubleValue();
+            String line = message == null ? "" : String.valueOf(message);
+            fxCallQueue.post(() -> resultDisplay.setProgress(progress, line));
+        }
     }
 }
@@ -3,7 +3,10 @@ package budgetbuddy.ui;
 import static java.util.Objects.requireNonNull;
 
 import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 
 /**
@@ -16,6 +19,15 @@ public class ResultDisplay extends UiPart<Region> {
     @FXML
     private TextArea resultDisplay;
 
+    @FXML
+    private HBox progressBox;
+
+    @FXML
+    private ProgressBar progressBar;
+
+    @FXML
+    private Label progressMessage;
+
     public ResultDisplay() {
         super(FXML);
     }
@@ -25,4 +37,32 @@ public class ResultDisplay extends UiPart<Region> {
         resultDisplay.setText(feedbackToUser);
     }
 
+    /**
+     * Adds {@code output} as a new line after the feedback already shown, such as output from a running script.
+     */
+    public void appendOutput(String output) {
+        requireNonNull(output);
+        resultDisplay.appendText(resultDisplay.getText().isEmpty() ? output : "\n" + output);
+    }
+
+    /**
+     * Shows the progress of a running task, where {@code fraction} is between 0 and 1,
+     * or negative if the progress is unknown.
+     */
+    public void setProgress(double fraction, String message) {
+        requireNonNull(message);
+        progressBar.setProgress(fraction < 0 ? ProgressBar.INDETERMINATE_PROGRESS : Math.min(fraction, 1));
+        progressMessage.setText(message);
+        progressBox.setManaged(true);
+        progressBox.setVisible(true);
+    }
+
+    /**
+     * Hides the progress of a task that has finished.
+     */
+    public void clearProgress() {
+        progressBox.setManaged(false);
+        progressBox.setVisible(false);
+    }
+
 }
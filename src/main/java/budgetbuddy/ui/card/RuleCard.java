@@ -1,10 +1,13 @@
 package budgetbuddy.ui.card;
 
+import budgetbuddy.logic.rules.RuleProfile;
 import budgetbuddy.model.rule.Rule;
 import budgetbuddy.model.rule.RuleAction;
 import budgetbuddy.model.rule.RulePredicate;
 import budgetbuddy.model.rule.expression.ActionExpression;
 import budgetbuddy.model.rule.expression.PredicateExpression;
+import budgetbuddy.model.rule.formula.ActionFormula;
+import budgetbuddy.model.rule.formula.PredicateFormula;
 import budgetbuddy.model.rule.script.ActionScript;
 import budgetbuddy.model.rule.script.PredicateScript;
 import budgetbuddy.ui.UiPart;
@@ -36,11 +39,18 @@ public class RuleCard extends UiPart<Region> {
     private FlowPane predicateFlow;
     @FXML
     private FlowPane actionFlow;
+    @FXML
+    private Label stats;
 
-    public RuleCard(Rule rule, int displayedIndex) {
+    public RuleCard(Rule rule, int displayedIndex, RuleProfile profile) {
         super(FXML);
         this.rule = rule;
         id.setText("Rule #" + displayedIndex + ": ");
+        double averageMillis = profile.getEvaluations() == 0
+                ? 0
+                : (double) profile.getTotalNanos() / profile.getEvaluations() / 1_000_000;
+        stats.setText(String.format("%d/%d matched\n%.3fms avg",
+                profile.getMatches(), profile.getEvaluations(), averageMillis));
 
         RulePredicate predicate = rule.getPredicate();
         predicatePrefix.setText("IF");
@@ -55,6 +65,13 @@ public class RuleCard extends UiPart<Region> {
             op.setId("predOp");
             val.setId("predVal");
             predicateFlow.getChildren().addAll(attr, op, val);
+        } else if (predicate.getType().equals(Rule.TYPE_FORMULA)) {
+            Label formula = new Label(((PredicateFormula) predicate).getFormula());
+            Label suffix = new Label("(formula)");
+
+            formula.setId("predFormula");
+            suffix.setId("predSuffix");
+            predicateFlow.getChildren().addAll(formula, suffix);
         } else {
             PredicateScript predicateScript = (PredicateScript) predicate;
             Label name = new Label(predicateScript.getScriptName().toString());
@@ -80,6 +97,13 @@ public class RuleCard extends UiPart<Region> {
                 val.setId("actVal");
                 actionFlow.getChildren().add(val);
             }
+        } else if (action.getType().equals(Rule.TYPE_FORMULA)) {
+            Label formula = new Label(((ActionFormula) action).getFormula());
+            Label suffix = new Label("(formula)");
+
+            formula.setId("actFormula");
+            suffix.setId("actSuffix");
+            actionFlow.getChildren().addAll(formula, suffix);
         } else {
             ActionScript actionScript = (ActionScript) action;
             Label name = new Label(actionScript.getScriptName().toString());
@@ -3,6 +3,7 @@ package budgetbuddy.ui.panel;
 import java.util.logging.Logger;
 
 import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.logic.rules.RuleProfiler;
 import budgetbuddy.model.rule.Rule;
 import budgetbuddy.ui.card.RuleCard;
 import javafx.collections.ListChangeListener;
@@ -21,8 +22,11 @@ public class RulePanel extends DisplayPanel {
     @FXML
     private ListView<Rule> ruleListView;
 
-    public RulePanel(ObservableList<Rule> ruleList) {
+    private final RuleProfiler profiler;
+
+    public RulePanel(ObservableList<Rule> ruleList, RuleProfiler profiler) {
         super(FXML);
+        this.profiler = profiler;
         ruleListView.setItems(ruleList);
         ruleListView.setCellFactory(listView -> new RuleListViewCell());
 
@@ -36,6 +40,13 @@ public class RulePanel extends DisplayPanel {
         });
     }
 
+    /**
+     * Redraws every rule card, so that their statistics are up to date.
+     */
+    public void refresh() {
+        ruleListView.refresh();
+    }
+
     /**
      * Custom {@code ListCell} that displays the graphics of a {@code Rule} using a {@code RuleCard}.
      */
@@ -48,7 +59,7 @@ public class RulePanel extends DisplayPanel {
                 setGraphic(null);
                 setText(null);
             } else {
-                setGraphic(new RuleCard(rule, getIndex() + 1).getRoot());
+                setGraphic(new RuleCard(rule, getIndex() + 1, profiler.getProfile(rule)).getRoot());
                 setMouseTransparent(true);
                 setFocusTraversable(false);
             }
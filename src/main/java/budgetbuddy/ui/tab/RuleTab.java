@@ -1,5 +1,6 @@
 package budgetbuddy.ui.tab;
 
+import budgetbuddy.logic.rules.RuleProfiler;
 import budgetbuddy.model.rule.Rule;
 import budgetbuddy.ui.panel.RulePanel;
 import javafx.collections.ObservableList;
@@ -9,7 +10,27 @@ import javafx.collections.ObservableList;
  */
 public class RuleTab extends PanelTab {
 
-    public RuleTab(ObservableList<Rule> ruleList) {
-        super(new RulePanel(ruleList), "Rule");
+    private final RulePanel rulePanel;
+
+    public RuleTab(ObservableList<Rule> ruleList, RuleProfiler profiler) {
+        this(new RulePanel(ruleList, profiler));
+    }
+
+    private RuleTab(RulePanel rulePanel) {
+        super(rulePanel, "Rule");
+        this.rulePanel = rulePanel;
+
+        // rule statistics change without the rule list changing, so they are refreshed whenever shown
+        setOnSelectionChanged(event -> {
+            if (isSelected()) {
+                rulePanel.refresh();
+            }
+        });
+    }
+
+    @Override
+    public void setPrimaryPanel() {
+        super.setPrimaryPanel();
+        rulePanel.refresh();
     }
 }
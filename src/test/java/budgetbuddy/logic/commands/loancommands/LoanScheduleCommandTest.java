@@ -0,0 +1,112 @@
+package budgetbuddy.logic.commands.loancommands;
+
+import static budgetbuddy.logic.commands.CommandTestUtil.assertCommandSuccess;
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.loan.Installment;
+import budgetbuddy.model.loan.InterestSchedule;
+import budgetbuddy.model.loan.Loan;
+import budgetbuddy.testutil.TypicalIndexes;
+import budgetbuddy.testutil.loanutil.LoanBuilder;
+
+public class LoanScheduleCommandTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2020, 1, 1);
+    private static final Loan JOHN_OWES_YOU_WITH_INTEREST = new LoanBuilder()
+            .withPerson("John").withDirection("OUT").withAmount(100000L).withDate(START_DATE)
+            .withInterestTerms(1200, "MONTHLY", 12).build();
+    private static final Loan YOU_OWE_MARY_WITH_INTEREST = new LoanBuilder()
+            .withPerson("Mary").withDirection("IN").withAmount(300000L).withDate(START_DATE)
+            .withInterestTerms(1200, "MONTHLY", 12).build();
+    private static final Loan PETER_OWES_YOU = new LoanBuilder()
+            .withPerson("Peter").withDirection("OUT").withAmount(500L).build();
+
+    private Model model;
+
+    @BeforeEach
+    public void initialize() {
+        model = new ModelManager();
+    }
+
+    @Test
+    public void constructor_fromAfterUntil_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LoanScheduleCommand(
+                TypicalIndexes.INDEX_FIRST_ITEM, START_DATE.plusDays(1), START_DATE));
+    }
+
+    @Test
+    public void execute_loanWithInterest_showsInstallmentsInRangeAndInterestOutstanding() throws Exception {
+        model.getLoansManager().addLoan(JOHN_OWES_YOU_WITH_INTEREST);
+        model.getLoansManager().addLoan(YOU_OWE_MARY_WITH_INTEREST);
+        Model expectedModel = new ModelManager();
+        expectedModel.getLoansManager().addLoan(JOHN_OWES_YOU_WITH_INTEREST);
+        expectedModel.getLoansManager().addLoan(YOU_OWE_MARY_WITH_INTEREST);
+
+        Loan targetLoan = expectedModel.getLoansManager().getLoan(TypicalIndexes.INDEX_FIRST_ITEM);
+        InterestSchedule schedule = targetLoan.getSchedule().get();
+        LocalDate from = LocalDate.of(2020, 3, 1);
+        LocalDate until = LocalDate.of(2020, 4, 30);
+        List<Installment> installments = schedule.getInstallments(from, until);
+        long johnInterest = JOHN_OWES_YOU_WITH_INTEREST.getSchedule().get().getInterestOutstanding(from.minusDays(1));
+        long maryInterest = YOU_OWE_MARY_WITH_INTEREST.getSchedule().get().getInterestOutstanding(from.minusDays(1));
+        String expectedMessage = String.format(LoanScheduleCommand.MESSAGE_SUCCESS, 1, "1/3/2020", "30/4/2020",
+                installments.get(0) + "\n" + installments.get(1),
+                new Amount(schedule.getInterestOutstanding(from.minusDays(1))),
+                String.format(LoanScheduleCommand.MESSAGE_YOU_OWE, new Amount(maryInterest - johnInterest)));
+
+        assertEquals(2, installments.size());
+        assertCommandSuccess(new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, from, until),
+                CommandCategory.LOAN, model, expectedMessage, expectedModel);
+    }
+
+    @Test
+    public void execute_noInstallmentsInRange_showsNone() throws CommandException {
+        model.getLoansManager().addLoan(JOHN_OWES_YOU_WITH_INTEREST);
+        LocalDate from = LocalDate.of(2021, 6, 1);
+
+        String feedback = new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, from, from.plusYears(1))
+                .execute(model).getFeedbackToUser();
+        assertEquals(String.format(LoanScheduleCommand.MESSAGE_SUCCESS, 1, "1/6/2021", "1/6/2022",
+                LoanScheduleCommand.MESSAGE_NO_INSTALLMENTS, "$0.00",
+                String.format(LoanScheduleCommand.MESSAGE_OWED_TO_YOU, "$0.00")), feedback);
+    }
+
+    @Test
+    public void execute_loanWithoutInterest_throwsCommandException() {
+        model.getLoansManager().addLoan(PETER_OWES_YOU);
+        assertThrows(CommandException.class, LoanScheduleCommand.MESSAGE_NO_INTEREST, () ->
+                new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, START_DATE, START_DATE).execute(model));
+    }
+
+    @Test
+    public void execute_invalidIndex_throwsCommandException() {
+        model.getLoansManager().addLoan(PETER_OWES_YOU);
+        assertThrows(CommandException.class, LoanScheduleCommand.MESSAGE_LOAN_NOT_FOUND, () ->
+                new LoanScheduleCommand(TypicalIndexes.INDEX_SECOND_ITEM, START_DATE, START_DATE).execute(model));
+    }
+
+    @Test
+    public void equals() {
+        LoanScheduleCommand command = new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, START_DATE,
+                START_DATE.plusYears(1));
+        assertEquals(command, new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, START_DATE,
+                START_DATE.plusYears(1)));
+        assertNotEquals(command, new LoanScheduleCommand(TypicalIndexes.INDEX_SECOND_ITEM, START_DATE,
+                START_DATE.plusYears(1)));
+        assertNotEquals(command, new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, START_DATE,
+                START_DATE.plusMonths(1)));
+    }
+}
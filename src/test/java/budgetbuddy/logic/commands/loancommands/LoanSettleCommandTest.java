@@ -0,0 +1,95 @@
+package budgetbuddy.logic.commands.loancommands;
+
+import static budgetbuddy.logic.commands.CommandTestUtil.assertCommandSuccess;
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.loan.Debtor;
+import budgetbuddy.model.loan.Loan;
+import budgetbuddy.testutil.loanutil.DebtorBuilder;
+import budgetbuddy.testutil.loanutil.LoanBuilder;
+
+public class LoanSettleCommandTest {
+
+    private static final Loan JOHN_OWES_YOU = new LoanBuilder()
+            .withPerson("John").withDirection("OUT").withAmount(1000L).build();
+    private static final Loan YOU_OWE_MARY = new LoanBuilder()
+            .withPerson("Mary").withDirection("IN").withAmount(1000L).build();
+    private static final Loan PETER_OWES_YOU = new LoanBuilder()
+            .withPerson("Peter").withDirection("OUT").withAmount(500L).build();
+    private static final Loan PETER_OWES_YOU_PAID = new LoanBuilder()
+            .withPerson("Peter").withDirection("OUT").withAmount(700L).withStatus("PAID").build();
+
+    private Model model;
+
+    @BeforeEach
+    public void initialize() {
+        model = new ModelManager();
+    }
+
+    @Test
+    public void execute_noUnpaidLoans_throwsCommandException() {
+        model.getLoansManager().addLoan(PETER_OWES_YOU_PAID);
+        assertThrows(CommandException.class,
+                LoanSettleCommand.MESSAGE_NOTHING_TO_SETTLE, () -> new LoanSettleCommand().execute(model));
+    }
+
+    @Test
+    public void execute_personNamedLikeUser_throwsCommandException() {
+        Loan youOweYou = new LoanBuilder().withPerson("you").withDirection("IN").withAmount(1000L).build();
+        List.of(JOHN_OWES_YOU, youOweYou).forEach(model.getLoansManager()::addLoan);
+        assertThrows(CommandException.class, String.format(LoanSettleCommand.MESSAGE_RESERVED_NAME, "you"), () ->
+                new LoanSettleCommand().execute(model));
+        assertEquals(List.of(), model.getLoansManager().getDebtors());
+    }
+
+    @Test
+    public void execute_unpaidLoans_debtorsPayCreditorsDirectly() {
+        List.of(JOHN_OWES_YOU, YOU_OWE_MARY, PETER_OWES_YOU, PETER_OWES_YOU_PAID)
+                .forEach(model.getLoansManager()::addLoan);
+
+        Model expectedModel = new ModelManager();
+        List.of(JOHN_OWES_YOU, YOU_OWE_MARY, PETER_OWES_YOU, PETER_OWES_YOU_PAID)
+                .forEach(expectedModel.getLoansManager()::addLoan);
+        expectedModel.getLoansManager().setDebtors(getExpectedDebtors());
+
+        assertCommandSuccess(new LoanSettleCommand(), CommandCategory.LOAN_SPLIT, model,
+                String.format(LoanSettleCommand.MESSAGE_SUCCESS, 2), expectedModel);
+    }
+
+    @Test
+    public void equals() {
+        LoanSettleCommand loanSettleCommand = new LoanSettleCommand();
+
+        // same object -> returns true
+        assertEquals(loanSettleCommand, loanSettleCommand);
+
+        // another instance -> returns true
+        assertEquals(loanSettleCommand, new LoanSettleCommand());
+
+        // different types -> returns false
+        assertNotEquals(loanSettleCommand, 5);
+
+        // null -> returns false
+        assertNotEquals(loanSettleCommand, null);
+    }
+
+    /**
+     * Returns the debtors expected after settling: John owes Mary $10 and Peter owes You $5.
+     */
+    private List<Debtor> getExpectedDebtors() {
+        return List.of(
+                new DebtorBuilder().withDebtor("John").withCreditors(List.of("Mary"), List.of(1000L)).build(),
+                new DebtorBuilder().withDebtor("Peter").withCreditors(List.of("You"), List.of(500L)).build());
+    }
+}
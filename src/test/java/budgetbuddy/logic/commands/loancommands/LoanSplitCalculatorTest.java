@@ -0,0 +1,147 @@
+package budgetbuddy.logic.commands.loancommands;
+
+import static budgetbuddy.commons.core.Config.DEFAULT_MAX_EXACT_SETTLE_SIZE;
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.loancommands.loansplitcommand.DebtorCreditorAmount;
+import budgetbuddy.logic.commands.loancommands.loansplitcommand.LoanSplitCalculator;
+import budgetbuddy.logic.commands.loancommands.loansplitcommand.Participant;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.person.Person;
+import budgetbuddy.testutil.loanutil.TypicalPersons;
+
+public class LoanSplitCalculatorTest {
+
+    @Test
+    public void findSubGroups_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () ->
+                LoanSplitCalculator.findSubGroups(null, DEFAULT_MAX_EXACT_SETTLE_SIZE));
+    }
+
+    @Test
+    public void findSubGroups_noZeroSumGroups_returnsEmptyList() {
+        List<Participant> participants = List.of(
+                new Participant(TypicalPersons.ALICE, -3333),
+                new Participant(TypicalPersons.ELLE, 667),
+                new Participant(TypicalPersons.BENSON, 2667));
+        assertTrue(LoanSplitCalculator.findSubGroups(participants, DEFAULT_MAX_EXACT_SETTLE_SIZE).isEmpty());
+    }
+
+    @Test
+    public void findSubGroups_oppositeBalances_paired() {
+        Participant alice = new Participant(TypicalPersons.ALICE, -500);
+        Participant benson = new Participant(TypicalPersons.BENSON, 0);
+        Participant carl = new Participant(TypicalPersons.CARL, 500);
+        List<List<Participant>> subGroups =
+                LoanSplitCalculator.findSubGroups(List.of(alice, benson, carl), DEFAULT_MAX_EXACT_SETTLE_SIZE);
+
+        assertEquals(List.of(List.of(alice, carl)), subGroups);
+    }
+
+    @Test
+    public void findSubGroups_mostSubGroupsFound() {
+        // {-5, 2, 3} and {-4, 1, 3} beat the single group of all six
+        List<Participant> participants = List.of(
+                new Participant(TypicalPersons.ALICE, -500),
+                new Participant(TypicalPersons.BENSON, -400),
+                new Participant(TypicalPersons.CARL, 100),
+                new Participant(TypicalPersons.DANIEL, 200),
+                new Participant(TypicalPersons.ELLE, 300),
+                new Participant(TypicalPersons.FIONA, 300));
+        List<List<Participant>> subGroups =
+                LoanSplitCalculator.findSubGroups(participants, DEFAULT_MAX_EXACT_SETTLE_SIZE);
+
+        assertEquals(2, subGroups.size());
+        assertSubGroupsDisjointAndBalanced(subGroups);
+        assertEquals(6, subGroups.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    public void findSubGroups_aboveExactSearchSize_onlyPairsGrouped() {
+        List<Participant> participants = List.of(
+                new Participant(TypicalPersons.ALICE, -300),
+                new Participant(TypicalPersons.BENSON, 100),
+                new Participant(TypicalPersons.CARL, 200),
+                new Participant(TypicalPersons.DANIEL, -700),
+                new Participant(TypicalPersons.ELLE, 700));
+        List<List<Participant>> subGroups = LoanSplitCalculator.findSubGroups(participants, 2);
+
+        assertEquals(List.of(List.of(participants.get(3), participants.get(4))), subGroups);
+        assertEquals(2, LoanSplitCalculator.findSubGroups(participants, 3).size());
+    }
+
+    @Test
+    public void calculateSplitList_largeGroup_settledWithFewestTransfers() {
+        // 25 pairs of opposite balances and 3 triples, which settle with 25 + 6 transfers
+        List<Participant> participants = new ArrayList<Participant>();
+        for (int i = 1; i <= 25; i++) {
+            participants.add(new Participant(new Person(new Name("Payer " + i)), 100L * i));
+            participants.add(new Participant(new Person(new Name("Payee " + i)), -100L * i));
+        }
+        for (int i = 1; i <= 3; i++) {
+            participants.add(new Participant(new Person(new Name("First " + i)), -7L * i));
+            participants.add(new Participant(new Person(new Name("Second " + i)), 3L * i));
+            participants.add(new Participant(new Person(new Name("Third " + i)), 4L * i));
+        }
+
+        int transfers = 0;
+        for (List<Participant> subGroup
+                : LoanSplitCalculator.findSubGroups(participants, DEFAULT_MAX_EXACT_SETTLE_SIZE)) {
+            assertEquals(0L, LoanSplitCalculator.calculateParticipantGroupBalance(subGroup));
+            transfers += LoanSplitCalculator.calculateSplitList(subGroup).size();
+        }
+        transfers += LoanSplitCalculator.calculateSplitList(participants).size();
+
+        assertEquals(31, transfers);
+    }
+
+    @Test
+    public void calculateSplitList_largestDebtorPaysLargestCreditorFirst() {
+        List<Participant> participants = new ArrayList<Participant>(List.of(
+                new Participant(TypicalPersons.ALICE, -3333),
+                new Participant(TypicalPersons.ELLE, 667),
+                new Participant(TypicalPersons.BENSON, 2667)));
+        List<DebtorCreditorAmount> splitList = LoanSplitCalculator.calculateSplitList(participants);
+
+        assertEquals(2, splitList.size());
+        assertEquals(TypicalPersons.BENSON, splitList.get(0).creditor);
+        assertEquals(2667L, splitList.get(0).amount.toLong());
+        assertEquals(TypicalPersons.ELLE, splitList.get(1).creditor);
+        assertEquals(666L, splitList.get(1).amount.toLong());
+
+        // the unmatched cent stays with Elle
+        assertEquals(List.of(new Participant(TypicalPersons.ELLE, 1)), participants);
+    }
+
+    @Test
+    public void calculateSplitList_manyParticipants_allSettled() {
+        List<Participant> participants = new ArrayList<Participant>();
+        for (int i = 1; i <= 5000; i++) {
+            participants.add(new Participant(new Person(new Name("Debtor " + i)), -i));
+            participants.add(new Participant(new Person(new Name("Creditor " + i)), 5001 - i));
+        }
+        List<DebtorCreditorAmount> splitList = LoanSplitCalculator.calculateSplitList(participants);
+
+        assertTrue(participants.isEmpty());
+        assertTrue(splitList.size() < 10000);
+        assertEquals(5000L * 5001 / 2, splitList.stream().mapToLong(split -> split.amount.toLong()).sum());
+    }
+
+    private void assertSubGroupsDisjointAndBalanced(List<List<Participant>> subGroups) {
+        List<Participant> seen = new ArrayList<Participant>();
+        for (List<Participant> subGroup : subGroups) {
+            assertEquals(0L, LoanSplitCalculator.calculateParticipantGroupBalance(subGroup));
+            subGroup.forEach(participant -> {
+                assertTrue(seen.stream().noneMatch(other -> other == participant));
+                seen.add(participant);
+            });
+        }
+    }
+}
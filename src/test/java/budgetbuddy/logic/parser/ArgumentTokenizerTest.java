@@ -136,6 +136,28 @@ public class ArgumentTokenizerTest {
         assertArgumentAbsent(argMultimap, hatQ);
     }
 
+    @Test
+    public void tokenize_overlappingPrefixes() {
+        Prefix slashPSlash = new Prefix("/p/");
+        String argsString = "preamble /p/ slashPSlash value p/pSlash/p/ value /p/ p/";
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(argsString, slashPSlash, pSlash);
+        assertPreamblePresent(argMultimap, "preamble");
+        assertArgumentPresent(argMultimap, slashPSlash, "slashPSlash value", "");
+        assertArgumentPresent(argMultimap, pSlash, "pSlash/p/ value", "");
+
+        // of prefixes starting at the same place, the longest is taken
+        Prefix pSlashXSlash = new Prefix("p/x/");
+        argMultimap = ArgumentTokenizer.tokenize("preamble p/x/ long p/ short", pSlash, pSlashXSlash);
+        assertArgumentPresent(argMultimap, pSlashXSlash, "long");
+        assertArgumentPresent(argMultimap, pSlash, "short");
+
+        // only a space separates a prefix from the text before it
+        argsString = "preamble\tp/ not a prefix";
+        argMultimap = ArgumentTokenizer.tokenize(argsString, pSlash);
+        assertPreamblePresent(argMultimap, argsString);
+        assertArgumentAbsent(argMultimap, pSlash);
+    }
+
     @Test
     public void equalsMethod() {
         Prefix aaa = new Prefix("aaa");
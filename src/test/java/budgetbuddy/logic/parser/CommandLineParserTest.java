@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import budgetbuddy.logic.commands.ExitCommand;
 import budgetbuddy.logic.commands.HelpCommand;
+import budgetbuddy.logic.commands.accountcommands.AccountListCommand;
 import budgetbuddy.logic.parser.exceptions.ParseException;
 
 public class CommandLineParserTest {
@@ -27,14 +28,23 @@ public class CommandLineParserTest {
         assertTrue(parser.parseCommand(HelpCommand.COMMAND_WORD + " 3") instanceof HelpCommand);
     }
 
+    @Test
+    public void parseCommand_twoWordCommand() throws Exception {
+        assertTrue(parser.parseCommand(AccountListCommand.COMMAND_WORD) instanceof AccountListCommand);
+        assertTrue(parser.parseCommand("ACCOUNT List 3") instanceof AccountListCommand);
+    }
+
     @Test
     public void parseCommand_unrecognisedInput_throwsParseException() {
         assertThrows(ParseException.class, String.format(MESSAGE_INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE), ()
             -> parser.parseCommand(""));
+        assertThrows(ParseException.class, String.format(MESSAGE_INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE), ()
+            -> parser.parseCommand(HelpCommand.COMMAND_WORD + " 3\n4"));
     }
 
     @Test
     public void parseCommand_unknownCommand_throwsParseException() {
         assertThrows(ParseException.class, MESSAGE_UNKNOWN_COMMAND, () -> parser.parseCommand("unknownCommand"));
+        assertThrows(ParseException.class, MESSAGE_UNKNOWN_COMMAND, () -> parser.parseCommand("account  list"));
     }
 }
@@ -0,0 +1,43 @@
+package budgetbuddy.logic.parser.loancommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseSuccess;
+import static budgetbuddy.logic.parser.CommandParserUtil.MESSAGE_INVALID_INDEX;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.loancommands.LoanScheduleCommand;
+import budgetbuddy.logic.parser.commandparsers.loancommandparsers.LoanScheduleCommandParser;
+import budgetbuddy.testutil.TypicalIndexes;
+
+public class LoanScheduleCommandParserTest {
+
+    private static final String MESSAGE_INVALID_FORMAT =
+            String.format(MESSAGE_INVALID_COMMAND_FORMAT, LoanScheduleCommand.MESSAGE_USAGE);
+
+    private LoanScheduleCommandParser parser = new LoanScheduleCommandParser();
+
+    @Test
+    public void parse_validArgs_success() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+
+        assertParseSuccess(parser, "1 f/1/1/2020 u/31/12/2020",
+                new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, from, LocalDate.of(2020, 12, 31)));
+
+        // until defaults to a year after from
+        assertParseSuccess(parser, "1 f/1/1/2020",
+                new LoanScheduleCommand(TypicalIndexes.INDEX_FIRST_ITEM, from, from.plusYears(1)));
+    }
+
+    @Test
+    public void parse_invalidArgs_failure() {
+        assertParseFailure(parser, "", MESSAGE_INVALID_FORMAT);
+        assertParseFailure(parser, "1 2", MESSAGE_INVALID_FORMAT);
+        assertParseFailure(parser, "1 f/1/1/2020 f/2/1/2020", MESSAGE_INVALID_FORMAT);
+        assertParseFailure(parser, "a", MESSAGE_INVALID_INDEX);
+        assertParseFailure(parser, "1 f/2/1/2020 u/1/1/2020", LoanScheduleCommand.MESSAGE_INVALID_RANGE);
+    }
+}
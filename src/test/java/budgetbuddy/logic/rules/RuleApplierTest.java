@@ -0,0 +1,139 @@
+package budgetbuddy.logic.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.UserPrefs;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+import budgetbuddy.testutil.TestUtil;
+import budgetbuddy.testutil.TypicalIndexes;
+import budgetbuddy.testutil.ruleutil.RuleBuilder;
+import budgetbuddy.testutil.ruleutil.TypicalActions;
+import budgetbuddy.testutil.ruleutil.TypicalPredicates;
+import budgetbuddy.testutil.ruleutil.TypicalRules;
+import budgetbuddy.testutil.scriptutil.ScriptUtil;
+
+public class RuleApplierTest {
+
+    private static final Category FOOD = new Category("Food");
+
+    private Model model = new ModelManager();
+    private ScriptEngine scriptEngine = new ScriptEngine(engine -> engine.setVariable("bb", model));
+    private RuleNetworkCache ruleNetworkCache = new RuleNetworkCache();
+    private Account account;
+
+    @BeforeEach
+    public void setUp() {
+        UserPrefs userPrefs = new UserPrefs();
+        userPrefs.setScriptsPath(TestUtil.getFilePathInSandboxFolder("scripts"));
+        model.setUserPrefs(userPrefs);
+
+        account = new Account(new Name("TestName"), new Description("TestDesc"), new TransactionList(), 0);
+        account.addTransaction(makeTransaction("food for lunch", LocalDate.of(2019, 1, 1)));
+        account.addTransaction(makeTransaction("bought necessities", LocalDate.of(2019, 2, 1)));
+        account.addTransaction(makeTransaction("food for dinner", LocalDate.of(2019, 3, 1)));
+        model.getAccountsManager().addAccount(account);
+
+        model.getRuleManager().addRule(TypicalRules.FOOD_DESC_FOOD);
+        model.getRuleManager().addRule(TypicalRules.MOREEQUAL100_OUTAMT_EXP);
+    }
+
+    private static Transaction makeTransaction(String description, LocalDate date) {
+        return new Transaction(date, new Amount(100), Direction.OUT, new Description(description));
+    }
+
+    @Test
+    public void apply_dryRun_countsMatchesWithoutEditing() {
+        List<Transaction> before = List.copyOf(account.getTransactionList().asUnmodifiableObservableList());
+        RuleProfile profile = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine).getCompiledRules().get(0).getProfile();
+        RuleApplicationReport report = RuleApplier.apply(model, scriptEngine, ruleNetworkCache, List.of(account),
+                txn -> true, null, true);
+
+        assertTrue(report.isDryRun());
+        assertEquals(3, report.getScannedCount());
+        assertEquals(2, report.getMatchCount(0));
+        assertEquals(List.of(before.get(0), before.get(2)), report.getSamples(0));
+        assertEquals(0, report.getMatchCount(1));
+        assertEquals(0, report.getEditedCount());
+        assertEquals(before, account.getTransactionList().asUnmodifiableObservableList());
+
+        // the transaction the rule index rules out still counts as an evaluation
+        assertEquals(3, profile.getEvaluations());
+        assertEquals(2, profile.getMatches());
+    }
+
+    @Test
+    public void apply_scopedToDatesAndRule_onlyScopedTransactionsEdited() {
+        BitSet ruleScope = new BitSet();
+        ruleScope.set(0);
+        RuleApplicationReport report = RuleApplier.apply(model, scriptEngine, ruleNetworkCache, List.of(account),
+                txn -> txn.getLocalDate().isAfter(LocalDate.of(2019, 1, 15)), ruleScope, false);
+
+        assertEquals(2, report.getScannedCount());
+        assertEquals(1, report.getMatchCount(0));
+        assertEquals(1, report.getEditedCount());
+        assertFalse(account.getTransaction(TypicalIndexes.INDEX_FIRST_ITEM).getCategories().contains(FOOD));
+        assertTrue(account.getTransaction(TypicalIndexes.INDEX_THIRD_ITEM).getCategories().contains(FOOD));
+        assertEquals(-300, account.getBalance());
+    }
+
+    @Test
+    public void apply_scriptPredicateReadingAccount_sameMatchesAsDryRun() {
+        // the predicate holds only while the whole account, not just the transactions in scope, is visible
+        model.getScriptLibrary().addScript(ScriptUtil.makeScript("test_pred", "",
+                "argv[1].getTransactionList().getTransactionsCount() == 3"));
+        model.getRuleManager().addRule(new RuleBuilder().withPredicate(TypicalPredicates.TEST_SCRIPT)
+                .withAction(TypicalActions.SET_CAT_FOOD).build());
+        BitSet ruleScope = new BitSet();
+        ruleScope.set(2);
+        Predicate<Transaction> txnScope = txn -> txn.getLocalDate().isAfter(LocalDate.of(2019, 1, 15));
+
+        RuleApplicationReport dryReport = RuleApplier.apply(model, scriptEngine, ruleNetworkCache, List.of(account),
+                txnScope, ruleScope, true);
+        RuleApplicationReport report = RuleApplier.apply(model, scriptEngine, ruleNetworkCache, List.of(account),
+                txnScope, ruleScope, false);
+
+        assertEquals(2, dryReport.getMatchCount(2));
+        assertEquals(dryReport.getMatchCount(2), report.getMatchCount(2));
+        assertEquals(2, report.getEditedCount());
+        assertFalse(account.getTransaction(TypicalIndexes.INDEX_FIRST_ITEM).getCategories().contains(FOOD));
+        assertTrue(account.getTransaction(TypicalIndexes.INDEX_SECOND_ITEM).getCategories().contains(FOOD));
+        assertTrue(account.getTransaction(TypicalIndexes.INDEX_THIRD_ITEM).getCategories().contains(FOOD));
+    }
+
+    @Test
+    public void apply_scriptAction_runOnAccountItself() {
+        Transaction necessities = account.getTransaction(TypicalIndexes.INDEX_SECOND_ITEM);
+        model.getScriptLibrary().addScript(ScriptUtil.makeScript("test_act", "", "argv[1].deleteTransaction(argv[0])"));
+        model.getRuleManager().addRule(new RuleBuilder().withAction(TypicalActions.TEST_SCRIPT).build());
+        BitSet ruleScope = new BitSet();
+        ruleScope.set(2);
+        RuleApplicationReport report = RuleApplier.apply(model, scriptEngine, ruleNetworkCache, List.of(account),
+                txn -> true, ruleScope, false);
+
+        // the script deletes from the account itself, so later transactions are still found after a deletion
+        assertEquals(2, report.getMatchCount(2));
+        assertEquals(2, report.getEditedCount());
+        assertEquals(List.of(necessities), account.getTransactionList().asUnmodifiableObservableList());
+    }
+}
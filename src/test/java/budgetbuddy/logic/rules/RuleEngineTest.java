@@ -4,11 +4,14 @@ import static budgetbuddy.logic.rules.RuleEngine.TYPE_AMOUNT;
 import static budgetbuddy.logic.rules.RuleEngine.TYPE_BLANK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.HashSet;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +37,8 @@ import budgetbuddy.model.attributes.Name;
 import budgetbuddy.model.rule.Rule;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
+import budgetbuddy.model.rule.formula.ActionFormula;
+import budgetbuddy.model.rule.formula.PredicateFormula;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionList;
 import budgetbuddy.testutil.TestUtil;
@@ -46,6 +51,7 @@ class RuleEngineTest {
 
     private Model model = new ModelManager();
     private ScriptEngine scriptEngine = new ScriptEngine(engine -> engine.setVariable("bb", model));
+    private RuleNetworkCache ruleNetworkCache = new RuleNetworkCache();
     private Account account;
 
     @BeforeEach
@@ -71,7 +77,7 @@ class RuleEngineTest {
         Transaction txn = new TransactionMock("food for lunch");
         account.addTransaction(txn);
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
-        RuleEngine.executeRules(model, scriptEngine, txnIndex, account);
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, account);
 
         // assert only 1 transaction in account
         assertEquals(1, account.getTransactionList().getTransactionsCount());
@@ -89,7 +95,7 @@ class RuleEngineTest {
         Transaction txn = new TransactionMock("bought necessities");
         account.addTransaction(txn);
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
-        RuleEngine.executeRules(model, scriptEngine, txnIndex, account);
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, account);
 
         // assert only 1 transaction in account
         assertEquals(1, account.getTransactionList().getTransactionsCount());
@@ -107,7 +113,7 @@ class RuleEngineTest {
         account.addTransaction(new TransactionMock("daily necessities"));
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
 
-        RuleEngine.executeRules(model, scriptEngine, txnIndex, account);
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, account);
 
         // assert only 1 transaction in account
         assertEquals(1, account.getTransactionList().getTransactionsCount());
@@ -116,27 +122,209 @@ class RuleEngineTest {
         assertEquals(new Description("hidden"), account.getTransaction(txnIndex).getDescription());
     }
 
+    @Test
+    public void executeRules_severalRulesApply_transactionUpdatedOnce() {
+        RuleManager ruleManager = model.getRuleManager();
+        ruleManager.addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        ruleManager.addRule(TypicalRules.MOREEQUAL100_OUTAMT_EXP);
+
+        CountingAccountMock countingAccount = new CountingAccountMock();
+        model.getAccountsManager().addAccount(countingAccount);
+        countingAccount.addTransaction(new TransactionMock("daily food"));
+        Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
+
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, countingAccount);
+
+        // all three actions are written back together
+        assertEquals(1, countingAccount.updateCount);
+        Transaction updated = countingAccount.getTransaction(txnIndex);
+        assertTrue(updated.getCategories().contains(new Category("Food")));
+        assertEquals(new Description("[Daily] daily food - Expensive"), updated.getDescription());
+    }
+
+    @Test
+    public void executeRules_ruleMatches_recordedInProfile() {
+        account.addTransaction(new TransactionMock("food for lunch"));
+        RuleProfile profile = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine).getCompiledRules().get(0).getProfile();
+        long evaluations = profile.getEvaluations();
+        long matches = profile.getMatches();
+
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, TypicalIndexes.INDEX_FIRST_ITEM, account);
+
+        assertEquals(evaluations + 1, profile.getEvaluations());
+        assertEquals(matches + 1, profile.getMatches());
+        assertEquals(0, profile.getScriptErrors());
+    }
+
+    @Test
+    public void executeRules_indexedRule_indexRejectionsCountedAsEvaluations() {
+        RuleProfile profile = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine).getCompiledRules().get(0).getProfile();
+        long evaluations = profile.getEvaluations();
+        long matches = profile.getMatches();
+
+        account.addTransaction(new TransactionMock("food for lunch"));
+        account.addTransaction(new TransactionMock("bought necessities"));
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, TypicalIndexes.INDEX_FIRST_ITEM, account);
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, TypicalIndexes.INDEX_SECOND_ITEM, account);
+
+        assertTrue(ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(), scriptEngine)
+                .getRuleIndex().isIndexed(0));
+        assertEquals(evaluations + 2, profile.getEvaluations());
+        assertEquals(matches + 1, profile.getMatches());
+    }
+
+    @Test
+    public void reexecuteRules_unreadAttributeChanged_rulesNotRerun() {
+        model.getRuleManager().addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        Transaction previousTxn = new Transaction(LocalDate.now(), new Amount(10000), Direction.OUT,
+                new Description("[Daily] daily lunch"), new HashSet<>());
+        Transaction editedTxn = new Transaction(LocalDate.now(), new Amount(20000), Direction.OUT,
+                new Description("[Daily] daily lunch"), new HashSet<>());
+        account.addTransaction(editedTxn);
+        Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
+
+        RuleEngine.reexecuteRules(model, scriptEngine, ruleNetworkCache, txnIndex, account, previousTxn);
+
+        // only the amount changed, which no rule reads
+        assertEquals(editedTxn, account.getTransaction(txnIndex));
+    }
+
+    @Test
+    public void reexecuteRules_readAttributeChanged_affectedRulesRerunInOrder() {
+        model.getRuleManager().addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        Transaction previousTxn = new TransactionMock("lunch");
+        account.addTransaction(new TransactionMock("daily food"));
+        Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
+
+        RuleEngine.reexecuteRules(model, scriptEngine, ruleNetworkCache, txnIndex, account, previousTxn);
+
+        Transaction updated = account.getTransaction(txnIndex);
+        assertTrue(updated.getCategories().contains(new Category("Food")));
+        assertEquals(new Description("[Daily] daily food"), updated.getDescription());
+    }
+
+    @Test
+    public void executeRules_formulaRule_transactionEdited() {
+        model.getRuleManager().addRule(new Rule(new PredicateFormula("outamt >= 100 and desc contains \"taxi\""),
+                new ActionFormula("set_cat \"Transport\"; app_desc \" (\" + text(outamt) + \")\"")));
+        account.addTransaction(new TransactionMock("taxi home"));
+        Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
+
+        RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, account);
+
+        Transaction updated = account.getTransaction(txnIndex);
+        assertTrue(updated.getCategories().contains(new Category("Transport")));
+        assertEquals(new Description("taxi home (100)"), updated.getDescription());
+    }
+
+    @Test
+    public void getAffectedRules_formulaRules_onlyReadersAndCategoryTestsAffected() {
+        RuleManager ruleManager = new RuleManager();
+        ruleManager.addRule(new Rule(new PredicateFormula("month(date) = 1"), TypicalActions.APP_DESC_EXP));
+        ruleManager.addRule(new Rule(new PredicateFormula("has_cat(\"Food\")"), TypicalActions.APP_DESC_EXP));
+        RuleNetwork network = RuleNetwork.compile(ruleManager, model.getScriptLibrary(), scriptEngine,
+                new RuleProfiler());
+
+        assertEquals(2, network.getAffectedRules(EnumSet.of(Attribute.DATE)).cardinality());
+        assertEquals(1, network.getAffectedRules(EnumSet.of(Attribute.DESCRIPTION)).cardinality());
+    }
+
+    @Test
+    public void getChangedAttributes_directionChanged_bothAmountsChanged() {
+        Transaction outTxn = new Transaction(LocalDate.now(), new Amount(100), Direction.OUT,
+                new Description("txn"), new HashSet<>());
+        Transaction inTxn = new Transaction(LocalDate.now(), new Amount(100), Direction.IN,
+                new Description("txn"), new HashSet<>());
+        assertEquals(EnumSet.of(Attribute.IN_AMOUNT, Attribute.OUT_AMOUNT),
+                RuleEngine.getChangedAttributes(outTxn, inTxn));
+        assertTrue(RuleEngine.getChangedAttributes(outTxn, outTxn).isEmpty());
+    }
+
     @Test
     public void executeRules_nullModel_throwsNullPointerException() {
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
-        assertThrows(NullPointerException.class, () -> RuleEngine.executeRules(null, scriptEngine, txnIndex, account));
+        assertThrows(NullPointerException.class, () ->
+                RuleEngine.executeRules(null, scriptEngine, ruleNetworkCache, txnIndex, account));
     }
 
     @Test
     public void executeRules_nullScriptEngine_throwsNullPointerException() {
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
-        assertThrows(NullPointerException.class, () -> RuleEngine.executeRules(model, null, txnIndex, account));
+        assertThrows(NullPointerException.class, () ->
+                RuleEngine.executeRules(model, null, ruleNetworkCache, txnIndex, account));
+    }
+
+    @Test
+    public void executeRules_nullRuleNetworkCache_throwsNullPointerException() {
+        Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
+        assertThrows(NullPointerException.class, () ->
+                RuleEngine.executeRules(model, scriptEngine, null, txnIndex, account));
     }
 
     @Test
     public void executeRules_nullIndex_throwsNullPointerException() {
-        assertThrows(NullPointerException.class, () -> RuleEngine.executeRules(model, scriptEngine, null, account));
+        assertThrows(NullPointerException.class, () ->
+                RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, null, account));
     }
 
     @Test
     public void executeRules_nullAccount_throwsNullPointerException() {
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
-        assertThrows(NullPointerException.class, () -> RuleEngine.executeRules(model, scriptEngine, txnIndex, null));
+        assertThrows(NullPointerException.class, () ->
+                RuleEngine.executeRules(model, scriptEngine, ruleNetworkCache, txnIndex, null));
+    }
+
+    @Test
+    public void getNetwork_rulesUnchanged_sameNetworkReturned() {
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        assertSame(network, ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine));
+    }
+
+    @Test
+    public void getNetwork_separateCaches_separateNetworksAndProfiles() {
+        RuleNetworkCache otherCache = new RuleNetworkCache();
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        RuleNetwork otherNetwork = otherCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+
+        assertNotSame(network, otherNetwork);
+        assertSame(network, ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine));
+        assertNotSame(network.getCompiledRules().get(0).getProfile(),
+                otherNetwork.getCompiledRules().get(0).getProfile());
+        assertNotSame(ruleNetworkCache.getProfiler(), otherCache.getProfiler());
+    }
+
+    @Test
+    public void getNetwork_otherRuleManager_networkRecompiled() {
+        RuleManager otherRuleManager = new RuleManager(model.getRuleManager().getRules());
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        RuleNetwork otherNetwork = ruleNetworkCache.getNetwork(otherRuleManager, model.getScriptLibrary(),
+                scriptEngine);
+
+        assertNotSame(network, otherNetwork);
+        assertTrue(otherNetwork.isCompiledFrom(otherRuleManager, model.getScriptLibrary(), scriptEngine));
+    }
+
+    @Test
+    public void getNetwork_rulesChanged_networkRecompiledInRuleOrder() {
+        RuleNetwork network = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        model.getRuleManager().addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        model.getRuleManager().swapRules(TypicalIndexes.INDEX_FIRST_ITEM, TypicalIndexes.INDEX_SECOND_ITEM);
+
+        RuleNetwork recompiled = ruleNetworkCache.getNetwork(model.getRuleManager(), model.getScriptLibrary(),
+                scriptEngine);
+        assertNotSame(network, recompiled);
+        assertEquals(2, recompiled.getCompiledRules().size());
+        assertEquals(TypicalRules.DAILY_DESC_PREP_DAILY, recompiled.getCompiledRules().get(0).getRule());
+        assertEquals(TypicalRules.FOOD_DESC_FOOD, recompiled.getCompiledRules().get(1).getRule());
     }
 
     @Test
@@ -212,6 +400,23 @@ class RuleEngineTest {
         }
     }
 
+    /**
+     * Represents a stub Account that counts how many times its transactions are updated.
+     */
+    public class CountingAccountMock extends Account {
+        private int updateCount = 0;
+
+        public CountingAccountMock() {
+            super(new Name("CountingName"), new Description("CountingDesc"), new TransactionList(), 0);
+        }
+
+        @Override
+        public void updateTransaction(Index txnIndex, Transaction editedTxn) {
+            updateCount++;
+            super.updateTransaction(txnIndex, editedTxn);
+        }
+    }
+
     /**
      * Represents a stub Transaction.
      */
@@ -0,0 +1,146 @@
+package budgetbuddy.logic.rules.formula;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.performable.PerformableFormula;
+import budgetbuddy.logic.rules.testable.TestableFormula;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionDraft;
+
+public class FormulaCompilerTest {
+    private static final Transaction TAXI_TXN = new Transaction(LocalDate.of(2019, 12, 25), new Amount(5050),
+            Direction.OUT, new Description("Grab taxi"), new HashSet<>(Set.of(new Category("Transport"))));
+
+    private static boolean test(String formula) throws ParseException {
+        return FormulaCompiler.compilePredicate(formula).test(TAXI_TXN, null);
+    }
+
+    @Test
+    public void compilePredicate_booleanComposition_evaluatesCorrectly() throws ParseException {
+        assertTrue(test("outamt > 50 and desc contains \"taxi\""));
+        assertTrue(test("inamt > 0 or not inward"));
+        assertFalse(test("not (outamt > 50 and outward)"));
+        assertTrue(test("true and (false or outamt != 0)"));
+    }
+
+    @Test
+    public void compilePredicate_arithmetic_comparedToTheCent() throws ParseException {
+        assertTrue(test("outamt = 50.50 and inamt = 0"));
+        assertTrue(test("0.1 + 0.2 = 0.3"));
+        assertTrue(test("(amount * 2) / 4 >= 25.25"));
+        assertTrue(test("-amount < 0 and abs(-amount) = amount"));
+        assertTrue(test("min(amount, 10) = 10 and max(amount, 10) = 50.5 and round(amount) = 51"));
+    }
+
+    @Test
+    public void compilePredicate_divisionByZero_false() throws ParseException {
+        assertFalse(test("amount / (amount - 50.5) = 0"));
+        assertFalse(test("not (amount / (amount - 50.5) = 0)"));
+        assertTrue(test("amount / (amount - 50) = 101"));
+    }
+
+    @Test
+    public void compilePredicate_dateFunctions_evaluateCorrectly() throws ParseException {
+        assertTrue(test("day(date) = 25 and month(date) = 12 and year(date) = 2019"));
+        assertTrue(test("weekday(date) = 3"));
+        assertTrue(test("date = date(\"25/12/2019\") and date - date(\"20/12/2019\") = 5"));
+        assertTrue(test("date + 7 > date(\"31/12/2019\") and text(date - 1) = \"24/12/2019\""));
+    }
+
+    @Test
+    public void compilePredicate_textAndCategoryFunctions_evaluateCorrectly() throws ParseException {
+        assertTrue(test("starts_with(lower(desc), 'grab') and ends_with(upper(desc), \"TAXI\")"));
+        assertTrue(test("length(desc) = 9 and text(amount) = \"50.50\""));
+        assertTrue(test("has_cat(\"Transport\") and not has_cat(\"Food\") and cat_count() = 1"));
+    }
+
+    @Test
+    public void compilePredicate_inputs_onlyNamedAttributes() throws ParseException {
+        TestableFormula formula = FormulaCompiler.compilePredicate("contains(desc, \"x\") and month(date) = 1");
+        assertEquals(EnumSet.of(Attribute.DESCRIPTION, Attribute.DATE), formula.getInputs());
+        assertFalse(formula.readsCategories());
+
+        formula = FormulaCompiler.compilePredicate("outward or has_cat(\"Food\")");
+        assertEquals(EnumSet.of(Attribute.IN_AMOUNT, Attribute.OUT_AMOUNT), formula.getInputs());
+        assertTrue(formula.readsCategories());
+    }
+
+    @Test
+    public void compilePredicate_invalidFormula_throwsParseException() {
+        assertThrows(ParseException.class, FormulaCompiler.MESSAGE_BLANK, () ->
+                FormulaCompiler.compilePredicate(" "));
+        assertThrows(ParseException.class, String.format(FormulaCompiler.MESSAGE_UNKNOWN_NAME, "foo", 1), () ->
+                FormulaCompiler.compilePredicate("foo = 1"));
+        assertThrows(ParseException.class, String.format(FormulaCompiler.MESSAGE_UNKNOWN_FUNCTION, "bar", 1), () ->
+                FormulaCompiler.compilePredicate("bar(1)"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("amount"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("desc > 5"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("1 < 2 < 3"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("month(desc) = 1"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("date(desc) = date"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("desc = \"unclosed"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compilePredicate("outamt # 5"));
+        assertThrows(ParseException.class, String.format(FormulaCompiler.MESSAGE_DIVISION_BY_ZERO, 8), () ->
+                FormulaCompiler.compilePredicate("amount / (1 - 1) = 0"));
+    }
+
+    @Test
+    public void compileAction_sequence_appliedInOrder() throws ParseException {
+        PerformableFormula formula = FormulaCompiler.compileAction(
+                "set_cat \"Taxi\"; remove_cat 'Transport'; app_desc \" on \" + text(date); switch_direct;");
+        TransactionDraft draft = new TransactionDraft(TAXI_TXN);
+        formula.perform(new ModelManager(), draft, null);
+
+        Transaction result = draft.build();
+        assertEquals(Direction.IN, result.getDirection());
+        assertEquals(new Description("Grab taxi on 25/12/2019"), result.getDescription());
+        assertEquals(Set.of(new Category("Taxi")), result.getCategories());
+    }
+
+    @Test
+    public void compileAction_readsEarlierChanges() throws ParseException {
+        PerformableFormula formula = FormulaCompiler.compileAction("set_desc \"Ride\"; prep_desc desc + \": \"");
+        TransactionDraft draft = new TransactionDraft(TAXI_TXN);
+        formula.perform(new ModelManager(), draft, null);
+
+        assertEquals(new Description("Ride: Ride"), draft.getDescription());
+    }
+
+    @Test
+    public void compileAction_divisionByZero_actionSkipped() throws ParseException {
+        PerformableFormula formula = FormulaCompiler.compileAction("set_desc text(1 / (amount - 50.5)); set_in");
+        TransactionDraft draft = new TransactionDraft(TAXI_TXN);
+        formula.perform(new ModelManager(), draft, null);
+
+        assertEquals(TAXI_TXN.getDescription(), draft.getDescription());
+        assertEquals(Direction.IN, draft.getDirection());
+    }
+
+    @Test
+    public void compileAction_invalidFormula_throwsParseException() {
+        assertThrows(ParseException.class, String.format(FormulaCompiler.MESSAGE_NOT_ACTION, "contains"), () ->
+                FormulaCompiler.compileAction("contains \"x\""));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compileAction("set_cat"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compileAction("set_cat 5"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compileAction("set_cat \"\""));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compileAction("set_in 5"));
+        assertThrows(ParseException.class, () -> FormulaCompiler.compileAction("set_desc \"a\" set_in"));
+    }
+}
@@ -0,0 +1,89 @@
+package budgetbuddy.logic.rules.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.model.rule.expression.Operator;
+
+public class AhoCorasickAutomatonTest {
+
+    private static AhoCorasickAutomaton makeAutomaton(String... patterns) {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton();
+        for (int i = 0; i < patterns.length; i++) {
+            automaton.addPattern(patterns[i], i);
+        }
+        return automaton;
+    }
+
+    private static BitSet bitsOf(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    @Test
+    public void match_overlappingPatterns_allReported() {
+        AhoCorasickAutomaton automaton = makeAutomaton("he", "she", "his", "hers");
+        BitSet matched = new BitSet();
+        automaton.match("ushers", matched);
+        assertEquals(bitsOf(0, 1, 3), matched);
+    }
+
+    @Test
+    public void match_sameAsContains() {
+        List<String> patterns = List.of("food", "foo", "od", "daily", "lunch", "o", "x");
+        AhoCorasickAutomaton automaton = makeAutomaton(patterns.toArray(new String[0]));
+        for (String text : List.of("food for lunch", "daily necessities", "", "foofoodd", "Food")) {
+            BitSet expected = new BitSet();
+            for (int i = 0; i < patterns.size(); i++) {
+                if (text.contains(patterns.get(i))) {
+                    expected.set(i);
+                }
+            }
+            BitSet matched = new BitSet();
+            automaton.match(text, matched);
+            assertEquals(expected, matched, text);
+        }
+    }
+
+    @Test
+    public void match_emptyPattern_alwaysReported() {
+        AhoCorasickAutomaton automaton = makeAutomaton("", "abc");
+        BitSet matched = new BitSet();
+        automaton.match("xyz", matched);
+        assertEquals(bitsOf(0), matched);
+    }
+
+    @Test
+    public void addPattern_afterMatching_throwsIllegalStateException() {
+        AhoCorasickAutomaton automaton = makeAutomaton("abc");
+        automaton.match("abc", new BitSet());
+        assertThrows(IllegalStateException.class, () -> automaton.addPattern("def", 1));
+    }
+
+    @Test
+    public void thresholdIndex_matchesSameAsComparisons() {
+        ThresholdIndex lessThan = new ThresholdIndex(Operator.LESS_THAN);
+        ThresholdIndex moreEqual = new ThresholdIndex(Operator.MORE_EQUAL);
+        int[] thresholds = {5, 1, 3, 3, 9};
+        for (int i = 0; i < thresholds.length; i++) {
+            lessThan.addThreshold(thresholds[i], i);
+            moreEqual.addThreshold(thresholds[i], i);
+        }
+
+        BitSet matched = new BitSet();
+        lessThan.match(3, matched);
+        assertEquals(bitsOf(0, 4), matched);
+
+        matched = new BitSet();
+        moreEqual.match(3, matched);
+        assertEquals(bitsOf(1, 2, 3), matched);
+    }
+}
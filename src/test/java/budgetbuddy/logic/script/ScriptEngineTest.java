@@ -1,13 +1,26 @@
 package budgetbuddy.logic.script;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.Test;
 
 import budgetbuddy.logic.script.exceptions.ScriptException;
+import budgetbuddy.logic.script.exceptions.ScriptTimeoutException;
+import budgetbuddy.model.script.Script;
 import budgetbuddy.testutil.scriptutil.ScriptUtil;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
 class ScriptEngineTest {
     @Test
@@ -34,6 +47,26 @@ class ScriptEngineTest {
         assertEquals(123, se.evaluateScript("a"));
     }
 
+    @Test
+    void testLazyInitialisation() throws Exception {
+        ScriptEngine se = new ScriptEngine(eng -> eng.setVariable("a", 1));
+        se.addToEnvironment(eng -> eng.setVariable("b", 2));
+        assertFalse(se.isInitialised());
+
+        assertEquals("3", se.evaluateScript("String(a + b)"));
+        assertTrue(se.isInitialised());
+    }
+
+    @Test
+    void testInitialiseInBackground() throws Exception {
+        ScriptEngine se = new ScriptEngine(eng -> eng.setVariable("a", 1));
+        se.initialiseInBackground();
+
+        // waits for the engine if it has not finished starting
+        assertEquals(1, se.evaluateScript("a"));
+        assertTrue(se.isInitialised());
+    }
+
     @Test
     void testResetEnvironment() throws Exception {
         ScriptEngine se = new ScriptEngine();
@@ -44,6 +77,142 @@ class ScriptEngineTest {
         assertThrows(ScriptException.class, () -> se.evaluateScript("a"));
     }
 
+    @Test
+    void testCompiledScriptCache() throws Exception {
+        ScriptEngine se = new ScriptEngine();
+        Script script = ScriptUtil.makeScript("a", "a", "String(argv[0] * 2)");
+
+        assertEquals("2", se.evaluateScript(script, 1));
+        assertEquals("4", se.evaluateScript(script, 2));
+        assertEquals(1, se.getCompiledScriptMissCount());
+        assertEquals(1, se.getCompiledScriptHitCount());
+
+        se.invalidateScript(script);
+        assertEquals("6", se.evaluateScript(script, 3));
+        assertEquals(2, se.getCompiledScriptMissCount());
+    }
+
+    @Test
+    void testPooledContexts() throws Exception {
+        ScriptEngine se = new ScriptEngine(1, List.of(eng -> eng.setVariable("a", 123)),
+                eng -> eng.setVariable("a", 123), eng -> eng.setVariable("write", 1));
+        Script script = ScriptUtil.makeScript("a", "a", "a + argv[0]");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        se.setVariable("started", started);
+        se.setVariable("release", release);
+
+        // keep the main context busy
+        Thread busyThread = new Thread(() -> {
+            try {
+                se.evaluateScript("started.countDown(); release.await();");
+            } catch (ScriptException e) {
+                fail(e);
+            }
+        });
+        busyThread.start();
+        started.await();
+
+        assertEquals(124, ((Number) se.evaluateReadOnlyScript(script, 1)).intValue());
+        assertEquals(1, se.getPooledContextCount());
+        // pooled contexts are only set up by their own initialisers
+        assertEquals("undefined", se.evaluateReadOnlyScript(ScriptUtil.makeScript("b", "b", "typeof write")));
+
+        release.countDown();
+        busyThread.join();
+        assertEquals(125, ((Number) se.evaluateReadOnlyScript(script, 2)).intValue());
+        assertEquals(1, se.getPooledContextCount());
+    }
+
+    @Test
+    void testBudget() throws Exception {
+        ScriptEngine se = new ScriptEngine();
+
+        assertThrows(ScriptTimeoutException.class, () ->
+                se.evaluateScript(ScriptUtil.makeScript("a", "timeout=100ms", "while (true) {}")));
+        assertThrows(ScriptTimeoutException.class, () ->
+                se.evaluateScript(ScriptUtil.makeScript("b", "maxops=10", "for (var i = 0; i < 100; i++) {}")));
+        assertThrows(ScriptTimeoutException.class, () ->
+                se.evaluateScript(ScriptUtil.makeScript("c", "maxops=10",
+                        "function f(n) { return n && f(n - 1); } f(100)")));
+
+        // checkpoints are inserted after a function's directive prologue, so strict mode still applies
+        assertThrows(ScriptTimeoutException.class, () ->
+                se.evaluateScript(ScriptUtil.makeScript("f", "maxops=10",
+                        "function f(n) { 'use strict'; return n && f(n - 1); } f(100)")));
+        assertEquals("true", se.evaluateScript(ScriptUtil.makeScript("g", "g",
+                "function isStrict() { \"use strict\"; return this === undefined; } String(isStrict())")));
+
+        // the engine is still usable after a script is stopped
+        assertEquals("45", se.evaluateScript(ScriptUtil.makeScript("d", "maxops=100",
+                "var sum = 0; for (var i = 0; i < 10; i++) { sum += i; } String(sum)")));
+        assertEquals(new ScriptBudget(100, ScriptBudget.DEFAULT_MAX_OPERATIONS),
+                ScriptBudget.of(ScriptUtil.makeScript("e", "Runs quickly. timeout=100ms", "")));
+    }
+
+    @Test
+    void testBackgroundEvaluation() throws Exception {
+        ScriptEngine se = new ScriptEngine(eng -> eng.setVariable("threadName",
+                (ScriptBindingInterfaces.Void) () -> Thread.currentThread().getName()));
+        Script script = ScriptUtil.makeScript("a", "a", "threadName()");
+        ExecutorService modelThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "model"));
+
+        try {
+            // bound functions are called through the dispatcher, which may evaluate scripts itself
+            assertEquals("model", se.evaluateScriptInBackground(script, call -> modelThread.submit(() -> {
+                assertEquals(1, se.evaluateScript("1"));
+                return call.call();
+            }).get()));
+        } finally {
+            modelThread.shutdown();
+        }
+        assertEquals(Thread.currentThread().getName(), se.evaluateScript(script));
+    }
+
+    @Test
+    void testBackgroundEvaluation_argumentsKeptAndListsCopied() throws Exception {
+        ObservableList<String> list = FXCollections.observableArrayList("a");
+        ScriptEngine se = new ScriptEngine(eng -> eng.setVariable("getList",
+                (ScriptBindingInterfaces.Void) () -> list));
+        Script script = ScriptUtil.makeScript("a", "a", "var copy = getList(); String(copy.size()) + argv[0]");
+
+        // the list is copied by the dispatcher, and a script it evaluates does not change the caller's arguments
+        assertEquals("1background", se.evaluateScriptInBackground(script, call -> {
+            Object result = call.call();
+            list.add("b");
+            assertEquals("foreground", se.evaluateScript("argv[0]", "foreground"));
+            return result;
+        }, "background"));
+
+        // scripts that are not in the background call bound functions directly
+        assertSame(list, se.evaluateScript("getList()"));
+    }
+
+    @Test
+    void testCancelEvaluation() throws Exception {
+        ScriptEngine se = new ScriptEngine();
+        CountDownLatch started = new CountDownLatch(1);
+        se.setVariable("started", (ScriptBindingInterfaces.Void) () -> {
+            started.countDown();
+            return null;
+        });
+        Thread canceller = new Thread(() -> {
+            try {
+                started.await();
+                se.cancelEvaluation();
+            } catch (InterruptedException e) {
+                fail("Interrupted while waiting for script to start");
+            }
+        });
+        canceller.start();
+
+        ScriptException e = assertThrows(ScriptException.class, () -> se.evaluateScriptInBackground(
+                ScriptUtil.makeScript("a", "a", "started(); while (true) {}"), Callable::call));
+        canceller.join();
+        assertEquals(ScriptExecution.MESSAGE_CANCELLED, e.getMessage());
+        assertEquals(1, se.evaluateScript("1"));
+    }
+
     @Test
     void testSetVariable() throws Exception {
         ScriptEngine se = new ScriptEngine();
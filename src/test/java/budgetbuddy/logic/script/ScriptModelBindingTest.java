@@ -132,12 +132,59 @@ class ScriptModelBindingTest {
         assertEquals(Collections.emptyList(), run("getShownTxns()"));
     }
 
+    @Test
+    void testBatchTxnBindings() throws ScriptException {
+        Account acc = modelManager.getAccountsManager().getAccount(TypicalIndexes.INDEX_FIRST_ITEM);
+        se.setVariable("acc", acc);
+        run("var txns = addTxns(["
+                + "{ amount: 100, direction: 'in', description: 'a', date: '1/1/2019', categories: ['food'] },"
+                + "{ amount: 200, direction: 'out', description: 'b', date: '2/1/2019' },"
+                + "{ amount: 300, direction: 'out', description: 'c', date: '3/1/2019', categories: ['food'] }])");
+        assertEquals(3, acc.getTransactionList().getTransactionsCount());
+        assertEquals(100 - 200 - 300, acc.getBalance());
+
+        // a batch with an invalid transaction adds nothing
+        assertThrows(ScriptException.class, () -> run("addTxns([{ amount: 1, direction: 'in', description: 'd' },"
+                + "{ amount: 1, direction: 'sideways', description: 'e' }])"));
+        assertEquals(3, acc.getTransactionList().getTransactionsCount());
+
+        run("editTxns(acc, [{ txn: txns[0], amount: 150 }, { txn: txns[2], description: 'c2' }])");
+        assertEquals(150, acc.getTransaction(TypicalIndexes.INDEX_FIRST_ITEM).getAmount().toLong());
+        assertEquals("c2", acc.getTransaction(TypicalIndexes.INDEX_THIRD_ITEM).getDescription().getDescription());
+        assertEquals(150 - 200 - 300, acc.getBalance());
+
+        assertEquals(2, run("queryTxns({ direction: 'out' }).size()"));
+        assertEquals(2, run("queryTxns({ categories: ['food'] }).size()"));
+        assertEquals(0, run("queryTxns({ categories: ['rent'] }).size()"));
+        assertEquals(1, run("queryTxns({ minAmount: 160, maxAmount: 250 }).size()"));
+        assertEquals("c2", run("txnDescription(queryTxns({ from: '2/1/2019', sort: 'dd', limit: 1 })[0])"));
+
+        run("var cursor = txnCursor({ direction: 'out' }); var seen = 0;"
+                + "while (cursor.hasNext()) { cursor.next(); seen++; }");
+        assertEquals("2", run("String(seen)"));
+        assertEquals(3, run("txnCursor().next(5).size()"));
+
+        run("deleteTxns(acc, queryTxns({ direction: 'out' }))");
+        assertEquals(1, acc.getTransactionList().getTransactionsCount());
+        assertEquals(150, acc.getBalance());
+    }
+
     @Test
     void testDateHelpers() throws ScriptException {
         assertEquals(LocalDate.of(2020, 1, 1), run("parseDate('1/1/2020')"));
         assertEquals(LocalDate.of(2020, 1, 1), run("makeDate(2020, 1, 1)"));
     }
 
+    @Test
+    void testReadOnlyBindings() throws ScriptException {
+        se = new ScriptEngine(new ScriptModelBinding(modelManager, true));
+
+        assertEquals(modelManager.getAccountsManager().getAccounts(), run("getAccounts()"));
+        assertEquals("undefined", run("typeof bb"));
+        assertEquals("undefined", run("typeof addTxns"));
+        assertThrows(ScriptException.class, () -> run("addAccount('name', 'desc')"));
+    }
+
     private Object run(String script) throws ScriptException {
         return se.evaluateScript(script);
     }
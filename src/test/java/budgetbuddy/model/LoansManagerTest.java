@@ -3,16 +3,25 @@ package budgetbuddy.model;
 import static budgetbuddy.testutil.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
+import budgetbuddy.commons.core.Config;
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.loan.Debtor;
 import budgetbuddy.model.loan.Loan;
 import budgetbuddy.model.loan.LoanFilters;
 import budgetbuddy.model.loan.LoanSorters;
@@ -23,10 +32,14 @@ import budgetbuddy.model.loan.predicates.AmountMatchPredicate;
 import budgetbuddy.model.loan.predicates.DateMatchPredicate;
 import budgetbuddy.model.loan.predicates.DescriptionMatchPredicate;
 import budgetbuddy.model.loan.predicates.PersonMatchPredicate;
+import budgetbuddy.model.person.Person;
 import budgetbuddy.testutil.TypicalIndexes;
+import budgetbuddy.testutil.loanutil.DebtorBuilder;
 import budgetbuddy.testutil.loanutil.LoanBuilder;
 import budgetbuddy.testutil.loanutil.TypicalDebtors;
 import budgetbuddy.testutil.loanutil.TypicalLoans;
+import javafx.collections.ListChangeListener;
+import javafx.collections.transformation.SortedList;
 
 public class LoansManagerTest {
 
@@ -77,6 +90,42 @@ public class LoansManagerTest {
         assertEquals(loansManager.getFilteredLoans(), TypicalLoans.LOAN_LIST);
     }
 
+    @Test
+    public void filterLoans_combinedFilters_sameLoansAsAllFiltersTogether() {
+        Loan johnOutPaid = new LoanBuilder(TypicalLoans.JOHN_OUT_UNPAID).withAmount(4000L)
+                .withDescription("For breakfast.").withStatus("PAID").build();
+        loansManager.addLoan(johnOutPaid);
+
+        List<Predicate<Loan>> filters = List.of(new PersonMatchPredicate(new Person(new Name("john"))),
+                LoanFilters.getDirectionPredicate(Direction.OUT), new AmountMatchPredicate(johnOutPaid.getAmount()));
+        loansManager.filterLoans(filters);
+        assertEquals(List.of(johnOutPaid), loansManager.getFilteredLoans());
+
+        // an edited loan is tested against the filters as they stand
+        Loan johnOutPaidEdited = new LoanBuilder(johnOutPaid).withDescription("For brunch.").build();
+        loansManager.editLoan(TypicalIndexes.INDEX_FIRST_ITEM, johnOutPaidEdited);
+        assertEquals(List.of(johnOutPaidEdited), loansManager.getFilteredLoans());
+
+        loansManager.filterLoans(List.of());
+        assertEquals(loansManager.getLoans(), loansManager.getFilteredLoans());
+    }
+
+    @Test
+    public void filterLoans_personInDifferentCase_matchedWhateverTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            // in Turkish, "I".toLowerCase() is a dotless i, which no lower-case name contains
+            Locale.setDefault(new Locale("tr", "TR"));
+            Loan timOut = new LoanBuilder(TypicalLoans.JOHN_OUT_UNPAID).withPerson("TIM").build();
+            loansManager.addLoan(timOut);
+
+            loansManager.filterLoans(List.of(new PersonMatchPredicate(new Person(new Name("tim")))));
+            assertEquals(List.of(timOut), loansManager.getFilteredLoans());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
     @Test
     public void sortLoans_null_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> loansManager.sortLoans(null));
@@ -105,6 +154,22 @@ public class LoansManagerTest {
                 .compareTo(loansManager.getFilteredLoans().get(i + 1).getPerson().getName().toString()) <= 0));
     }
 
+    @Test
+    public void sortLoans_equalKeys_relativeOrderKept() {
+        Loan maryOutPaid = new LoanBuilder(TypicalLoans.MARY_IN_UNPAID).withDirection("OUT")
+                .withAmount(TypicalLoans.PETER_OUT_PAID.getAmount().toLong()).withStatus("PAID").build();
+        loansManager = new LoansManager(List.of(
+                TypicalLoans.PETER_OUT_PAID, TypicalLoans.JOHN_OUT_UNPAID, maryOutPaid, TypicalLoans.ZED_IN_PAID));
+
+        loansManager.sortLoans(LoanSorters.AMOUNT_ASC);
+        assertEquals(List.of(TypicalLoans.PETER_OUT_PAID, maryOutPaid, TypicalLoans.JOHN_OUT_UNPAID,
+                TypicalLoans.ZED_IN_PAID), loansManager.getLoans());
+
+        loansManager.sortLoans(LoanSorters.AMOUNT_ASC);
+        assertEquals(List.of(TypicalLoans.ZED_IN_PAID, TypicalLoans.JOHN_OUT_UNPAID, TypicalLoans.PETER_OUT_PAID,
+                maryOutPaid), loansManager.getLoans());
+    }
+
     @Test
     public void sortLoans_doubleSort_loanListSortOrderReverses() {
         // sort by amount in descending order
@@ -147,6 +212,18 @@ public class LoansManagerTest {
                 Index.fromZeroBased(loansManager.getLoansCount())));
     }
 
+    @Test
+    public void getFilteredLoanIndices_filterChanged_indicesFollowFilteredList() {
+        Person person = TypicalLoans.JOHN_OUT_UNPAID.getPerson();
+        assertEquals(getExpectedIndices(person), loansManager.getFilteredLoanIndices(person));
+
+        loansManager.updateFilteredList(LoanFilters.getDirectionPredicate(Direction.OUT));
+        assertEquals(getExpectedIndices(person), loansManager.getFilteredLoanIndices(person));
+
+        loansManager.updateFilteredList(new PersonMatchPredicate(person).negate());
+        assertTrue(loansManager.getFilteredLoanIndices(person).isEmpty());
+    }
+
     @Test
     public void addLoan_addAfterFilter_filteredLoansShowsAllLoan() {
         int targetSize = loansManager.getLoansCount();
@@ -155,6 +232,22 @@ public class LoansManagerTest {
         assertEquals(targetSize + 1, loansManager.getFilteredLoans().size());
     }
 
+    @Test
+    public void addLoan_sortedList_loanInsertedInOrder() {
+        loansManager.sortLoans(LoanSorters.AMOUNT_ASC);
+        loansManager.addLoan(new LoanBuilder().withAmount(1L).build());
+        loansManager.addLoan(new LoanBuilder().withAmount(100000000L).build());
+        loansManager.addLoan(new LoanBuilder().withAmount(TypicalLoans.JOHN_OUT_UNPAID.getAmount().toLong())
+                .withDescription("Same amount").build());
+
+        assertEquals(1L, loansManager.getLoans().get(0).getAmount().toLong());
+        assertEquals(100000000L, loansManager.getLoans().get(loansManager.getLoansCount() - 1)
+                .getAmount().toLong());
+        assertTrue(IntStream.range(0, loansManager.getLoansCount() - 1)
+                .allMatch(i -> loansManager.getLoans().get(i).getAmount().toLong()
+                        <= loansManager.getLoans().get(i + 1).getAmount().toLong()));
+    }
+
     @Test
     public void addLoan_duplicateLoan_throwsDuplicateLoanException() {
         assertThrows(DuplicateLoanException.class, () -> loansManager.addLoan(TypicalLoans.JOHN_OUT_UNPAID));
@@ -188,6 +281,108 @@ public class LoansManagerTest {
         assertEquals(updatedLoan, loansManager.getLoan(targetIndex));
     }
 
+    @Test
+    public void getNetBalances_loansChanged_balancesFollowUnpaidLoans() {
+        LoansManager loansManager = new LoansManager(List.of());
+        Person alice = new Person(new Name("Alice"));
+        loansManager.addLoan(new LoanBuilder().withPerson("Alice").withDirection("OUT").withAmount(1000L).build());
+        loansManager.addLoan(new LoanBuilder().withPerson("Alice").withDirection("IN").withAmount(300L)
+                .withDescription("Lunch").build());
+        assertEquals(Map.of(alice, 700L), loansManager.getNetBalances());
+
+        // paid loans no longer count
+        Loan inLoan = loansManager.getLoans().stream()
+                .filter(loan -> loan.getDirection() == Direction.IN).findFirst().get();
+        loansManager.updateStatus(Index.fromZeroBased(loansManager.getFilteredLoans().indexOf(inLoan)),
+                new LoanBuilder(inLoan).withStatus("PAID").build());
+        assertEquals(Map.of(alice, 1000L), loansManager.getNetBalances());
+
+        // people whose loans cancel out are left out
+        Loan outLoan = loansManager.getLoans().stream()
+                .filter(loan -> loan.getDirection() == Direction.OUT).findFirst().get();
+        loansManager.deleteLoan(Index.fromZeroBased(loansManager.getFilteredLoans().indexOf(outLoan)));
+        assertTrue(loansManager.getNetBalances().isEmpty());
+    }
+
+    @Test
+    public void getInterestOutstanding_unpaidLoansWithInterest_signedByDirection() {
+        LocalDate startDate = LocalDate.of(2020, 1, 31);
+        Loan aliceOut = new LoanBuilder().withPerson("Alice").withDirection("OUT").withAmount(120000L)
+                .withDate(startDate).withInterestTerms(1200, "MONTHLY", 12).build();
+        Loan bobIn = new LoanBuilder().withPerson("Bob").withDirection("IN").withAmount(60000L)
+                .withDate(startDate).withInterestTerms(1200, "MONTHLY", 12).build();
+        LoansManager loansManager = new LoansManager(List.of(aliceOut, bobIn, TypicalLoans.JOHN_OUT_UNPAID));
+
+        LocalDate asOf = LocalDate.of(2020, 2, 29);
+        long bobInterest = bobIn.getSchedule().get().getInterestOutstanding(asOf);
+        assertEquals(6742L - bobInterest, loansManager.getInterestOutstanding(asOf));
+
+        // paid loans no longer count, and keep their interest terms
+        loansManager.updateStatuses(List.of(Index.fromZeroBased(loansManager.getFilteredLoans().indexOf(bobIn))),
+                Status.PAID);
+        assertEquals(6742L, loansManager.getInterestOutstanding(asOf));
+        assertTrue(loansManager.getLoans().stream().allMatch(loan -> loan == TypicalLoans.JOHN_OUT_UNPAID
+                || loan.getInterestTerms().isPresent()));
+    }
+
+    @Test
+    public void updateStatuses_validIndices_targetLoansUpdated() {
+        List<Index> targetIndices = List.of(TypicalIndexes.INDEX_FIRST_ITEM, TypicalIndexes.INDEX_THIRD_ITEM);
+
+        loansManager.updateStatuses(targetIndices, Status.PAID);
+        assertTrue(targetIndices.stream().allMatch(index -> loansManager.getLoan(index).isPaid()));
+
+        loansManager.updateStatuses(targetIndices, Status.UNPAID);
+        assertTrue(targetIndices.stream().noneMatch(index -> loansManager.getLoan(index).isPaid()));
+    }
+
+    @Test
+    public void deleteLoans_validIndices_targetLoansDeleted() {
+        Loan firstLoan = loansManager.getLoan(TypicalIndexes.INDEX_FIRST_ITEM);
+        Loan thirdLoan = loansManager.getLoan(TypicalIndexes.INDEX_THIRD_ITEM);
+        int targetSize = loansManager.getLoansCount() - 2;
+
+        loansManager.deleteLoans(List.of(TypicalIndexes.INDEX_FIRST_ITEM, TypicalIndexes.INDEX_THIRD_ITEM));
+        assertEquals(targetSize, loansManager.getLoansCount());
+        assertTrue(loansManager.getLoans().stream()
+                .noneMatch(loan -> loan.equals(firstLoan) || loan.equals(thirdLoan)));
+    }
+
+    @Test
+    public void batchUpdates_consecutiveTargets_oneChangePerRun() {
+        LoansManager loansManager = new LoansManager(IntStream.range(0, 40)
+                .mapToObj(i -> new LoanBuilder().withAmount(100L + i).build())
+                .collect(Collectors.toList()));
+        AtomicInteger changeCount = new AtomicInteger();
+        loansManager.getLoans().addListener((ListChangeListener<Loan>) change -> changeCount.incrementAndGet());
+
+        // a run of updated loans is removed and added back
+        loansManager.updateStatuses(indicesFromZeroBased(IntStream.range(5, 15)), Status.PAID);
+        assertEquals(2, changeCount.getAndSet(0));
+        assertEquals(10, loansManager.getLoans().stream().filter(Loan::isPaid).count());
+
+        loansManager.deleteLoans(indicesFromZeroBased(IntStream.of(0, 1, 2, 30)));
+        assertEquals(2, changeCount.getAndSet(0));
+        assertEquals(36, loansManager.getLoansCount());
+
+        // too many separate runs replace the whole list at once
+        loansManager.deleteLoans(indicesFromZeroBased(IntStream.range(0, 18).map(i -> i * 2)));
+        assertEquals(1, changeCount.getAndSet(0));
+        assertEquals(18, loansManager.getLoansCount());
+    }
+
+    private static List<Index> indicesFromZeroBased(IntStream positions) {
+        return positions.mapToObj(Index::fromZeroBased).collect(Collectors.toList());
+    }
+
+    @Test
+    public void deleteLoans_indexBeyondListSize_noLoanDeleted() {
+        int targetSize = loansManager.getLoansCount();
+        assertThrows(LoanNotFoundException.class, () -> loansManager.deleteLoans(List.of(
+                TypicalIndexes.INDEX_FIRST_ITEM, Index.fromZeroBased(loansManager.getLoansCount()))));
+        assertEquals(targetSize, loansManager.getLoansCount());
+    }
+
     @Test
     public void deleteLoan_validIndex_loanDeletedFromList() {
         Index targetIndex = TypicalIndexes.INDEX_FIRST_ITEM;
@@ -213,6 +408,31 @@ public class LoansManagerTest {
         }));
     }
 
+    @Test
+    public void setDebtors_updatedList_onlyChangedDebtorsReplaced() {
+        loansManager.setDebtors(TypicalDebtors.DEBTOR_LIST);
+        SortedList<Debtor> debtors = loansManager.getDebtors();
+
+        Debtor updatedMary = new DebtorBuilder().withDebtor("Mary")
+                .withCreditors(List.of("Peter"), List.of(40000L)).build();
+        Debtor gary = new DebtorBuilder().withDebtor("Gary")
+                .withCreditors(List.of("John"), List.of(500L)).build();
+        loansManager.setDebtors(List.of(new DebtorBuilder(TypicalDebtors.JOHN).build(), updatedMary, gary));
+
+        assertSame(debtors, loansManager.getDebtors());
+        assertEquals(List.of(gary, TypicalDebtors.JOHN, updatedMary), debtors);
+        assertSame(TypicalDebtors.JOHN, debtors.get(1));
+    }
+
+    @Test
+    public void setMaxExactSettleSize_negative_throwsIllegalArgumentException() {
+        assertEquals(Config.DEFAULT_MAX_EXACT_SETTLE_SIZE, loansManager.getMaxExactSettleSize());
+        assertThrows(IllegalArgumentException.class, () -> loansManager.setMaxExactSettleSize(-1));
+
+        loansManager.setMaxExactSettleSize(0);
+        assertEquals(0, loansManager.getMaxExactSettleSize());
+    }
+
     @Test
     public void getDebtors_addDebtorToList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> loansManager.getDebtors().add(TypicalDebtors.JOHN));
@@ -245,4 +465,14 @@ public class LoansManagerTest {
         LoansManager loansManagerDiffDebtors = new LoansManager(loansManager.getLoans());
         assertNotEquals(loansManagerDiffDebtors, loansManager);
     }
+
+    /**
+     * Returns the indices of the loans of {@code person} in the filtered list, found by scanning the list.
+     */
+    private List<Index> getExpectedIndices(Person person) {
+        return IntStream.range(0, loansManager.getFilteredLoans().size())
+                .filter(i -> loansManager.getFilteredLoans().get(i).getPerson().isSamePerson(person))
+                .mapToObj(Index::fromZeroBased)
+                .collect(Collectors.toList());
+    }
 }
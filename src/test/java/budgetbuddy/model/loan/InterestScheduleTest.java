@@ -0,0 +1,74 @@
+package budgetbuddy.model.loan;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.model.attributes.Amount;
+
+public class InterestScheduleTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2020, 1, 31);
+
+    // $1200.00 at 12% a year, repaid in 12 monthly installments of $106.62
+    private final InterestSchedule schedule = new InterestSchedule(
+            new Amount(120000L), START_DATE, new InterestTerms(1200, CompoundingPeriod.MONTHLY, 12));
+
+    @Test
+    public void constructor_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new InterestSchedule(null, START_DATE,
+                new InterestTerms(1200, CompoundingPeriod.MONTHLY, 12)));
+        assertThrows(NullPointerException.class, () -> new InterestSchedule(new Amount(120000L), START_DATE, null));
+    }
+
+    @Test
+    public void getInstallments_dateRange_onlyInstallmentsInRange() {
+        List<Installment> installments = schedule.getInstallments(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 4, 30));
+        assertEquals(List.of(
+                new Installment(2, LocalDate.of(2020, 3, 31), new Amount(10662L), new Amount(1105L),
+                        new Amount(100981L)),
+                new Installment(3, LocalDate.of(2020, 4, 30), new Amount(10662L), new Amount(1010L),
+                        new Amount(91329L))), installments);
+
+        // installments at the end of shorter months fall due on their last day
+        assertEquals(LocalDate.of(2020, 2, 29), schedule.getDueDate(1));
+        assertEquals(1, schedule.countInstallmentsDueBy(LocalDate.of(2020, 2, 29)));
+
+        // no installments before the loan or after it is repaid
+        assertEquals(List.of(), schedule.getInstallments(LocalDate.of(2019, 1, 1), START_DATE));
+        assertEquals(List.of(), schedule.getInstallments(LocalDate.of(2021, 2, 1), LocalDate.of(2030, 1, 1)));
+    }
+
+    @Test
+    public void getInstallments_wholeSchedule_addsUpToTotals() {
+        List<Installment> installments = schedule.getInstallments(START_DATE, LocalDate.of(2021, 1, 31));
+        assertEquals(12, installments.size());
+        assertEquals(0L, installments.get(11).getBalance().toLong());
+        assertEquals(schedule.getTotalInterest(),
+                installments.stream().mapToLong(installment -> installment.getInterest().toLong()).sum());
+        assertEquals(120000L + schedule.getTotalInterest(),
+                installments.stream().mapToLong(installment -> installment.getPayment().toLong()).sum());
+    }
+
+    @Test
+    public void getInterestOutstanding_closedForm_matchesRemainingInstallments() {
+        assertEquals(7942L, schedule.getTotalInterest());
+        assertEquals(7942L, schedule.getInterestOutstanding(START_DATE));
+        assertEquals(6742L, schedule.getInterestOutstanding(LocalDate.of(2020, 2, 29)));
+        assertEquals(0L, schedule.getInterestOutstanding(LocalDate.of(2021, 1, 31)));
+        assertEquals(100981L, schedule.getBalanceOutstanding(LocalDate.of(2020, 4, 29)));
+    }
+
+    @Test
+    public void getInterestOutstanding_zeroRate_noInterest() {
+        InterestSchedule interestFree = new InterestSchedule(
+                new Amount(1000L), START_DATE, new InterestTerms(0, CompoundingPeriod.WEEKLY, 3));
+        assertEquals(0L, interestFree.getTotalInterest());
+        assertEquals(667L, interestFree.getBalanceOutstanding(START_DATE.plusWeeks(1)));
+        assertEquals(0L, interestFree.getBalanceOutstanding(START_DATE.plusWeeks(3)));
+    }
+}
@@ -58,6 +58,10 @@ public class LoanTest {
         Loan loanWithDifferentStatus = new LoanBuilder(loan).withStatus("PAID").build();
         assertTrue(loan.isSameLoan(loanWithDifferentStatus));
 
+        // different interest terms -> returns true
+        Loan loanWithInterest = new LoanBuilder(loan).withInterestTerms(500, "MONTHLY", 12).build();
+        assertTrue(loan.isSameLoan(loanWithInterest));
+
         // other different properties -> returns false
 
         Loan loanOther = new LoanBuilder(loan).withAmount(loan.getAmount().toLong() + 1L).build();
@@ -113,5 +117,12 @@ public class LoanTest {
         editedJohnOutUnpaid = new LoanBuilder(TypicalLoans.JOHN_OUT_UNPAID)
                 .withDate(LocalDate.ofEpochDay(10)).build();
         assertNotEquals(TypicalLoans.JOHN_OUT_UNPAID, editedJohnOutUnpaid);
+
+        // different interest terms -> returns false
+        editedJohnOutUnpaid = new LoanBuilder(TypicalLoans.JOHN_OUT_UNPAID)
+                .withInterestTerms(500, "MONTHLY", 12).build();
+        assertNotEquals(TypicalLoans.JOHN_OUT_UNPAID, editedJohnOutUnpaid);
+        assertNotEquals(new LoanBuilder(editedJohnOutUnpaid).withInterestTerms(500, "YEARLY", 12).build(),
+                editedJohnOutUnpaid);
     }
 }
@@ -0,0 +1,110 @@
+package budgetbuddy.model.statistics;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class QuantileSketchTest {
+
+    private static void assertWithinAccuracy(long expected, long actual) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= QuantileSketch.DEFAULT_RELATIVE_ACCURACY + 1e-9,
+                String.format("Expected %d but estimated %d", expected, actual));
+    }
+
+    @Test
+    public void getQuantile_emptySketch_throwsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> new QuantileSketch().getQuantile(0.5));
+    }
+
+    @Test
+    public void getQuantile_uniformValues_withinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long i = 1; i <= 10000; i++) {
+            sketch.add(i);
+        }
+        assertWithinAccuracy(5000, sketch.getQuantile(0.5));
+        assertWithinAccuracy(9000, sketch.getQuantile(0.9));
+        assertWithinAccuracy(9900, sketch.getQuantile(0.99));
+    }
+
+    @Test
+    public void merge_twoHalves_sameAsSingleSketch() {
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch odd = new QuantileSketch();
+        QuantileSketch even = new QuantileSketch();
+        for (long i = 1; i <= 1000; i++) {
+            whole.add(i * 7);
+            (i % 2 == 0 ? even : odd).add(i * 7);
+        }
+        odd.merge(even);
+        assertEquals(whole, odd);
+        assertEquals(whole.getQuantile(0.9), odd.getQuantile(0.9));
+    }
+
+    @Test
+    public void remove_addedValues_sameAsNeverAdded() {
+        QuantileSketch sketch = new QuantileSketch();
+        List<Long> values = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            values.add(i * i);
+        }
+        Collections.shuffle(values);
+        values.forEach(sketch::add);
+        sketch.add(123456);
+        sketch.add(0);
+        sketch.remove(123456);
+        sketch.remove(0);
+
+        QuantileSketch expected = new QuantileSketch();
+        values.forEach(expected::add);
+        assertEquals(expected, sketch);
+        assertEquals(100, sketch.getCount());
+    }
+
+    @Test
+    public void remove_valueNotAdded_throwsIllegalStateException() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(10);
+        assertThrows(IllegalStateException.class, () -> sketch.remove(5000));
+    }
+
+    @Test
+    public void momentsAccumulator_addRemoveMerge_matchesDirectComputation() {
+        MomentsAccumulator first = new MomentsAccumulator();
+        MomentsAccumulator second = new MomentsAccumulator();
+        first.add(2);
+        first.add(4);
+        first.add(100);
+        first.remove(100);
+        second.add(4);
+        second.add(5);
+        second.add(5);
+        second.add(7);
+        second.add(9);
+        first.merge(second);
+
+        // values are 2, 4, 4, 5, 5, 7, 9
+        assertEquals(7, first.getCount());
+        assertEquals(36.0 / 7, first.getMean(), 1e-9);
+        assertEquals(variance(2, 4, 4, 5, 5, 7, 9), first.getVariance(), 1e-9);
+    }
+
+    private static double variance(double... values) {
+        double mean = 0;
+        for (double value : values) {
+            mean += value / values.length;
+        }
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / values.length;
+    }
+}
@@ -0,0 +1,76 @@
+package budgetbuddy.model.transaction;
+
+import static budgetbuddy.model.transaction.ComparatorUtil.SORT_BY_ASCENDING_AMOUNT;
+import static budgetbuddy.model.transaction.ComparatorUtil.SORT_BY_DESCENDING_AMOUNT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+
+public class TransactionSelectorTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, 10, 1);
+
+    private static List<Transaction> makeTransactions(long... amounts) {
+        List<Transaction> txns = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            txns.add(new Transaction(DATE, new Amount(amounts[i]), Direction.OUT, new Description("txn " + i)));
+        }
+        return txns;
+    }
+
+    private static List<Transaction> fullySorted(List<Transaction> txns) {
+        return txns.stream().sorted(SORT_BY_DESCENDING_AMOUNT).collect(Collectors.toList());
+    }
+
+    @Test
+    public void selectTop_fewerThanCount_returnsAllInOrder() {
+        List<Transaction> txns = makeTransactions(300, 100, 200);
+        assertEquals(fullySorted(txns),
+                TransactionSelector.selectTop(txns, txn -> true, SORT_BY_DESCENDING_AMOUNT, 10));
+    }
+
+    @Test
+    public void selectTop_moreThanCount_returnsLargestInOrder() {
+        List<Transaction> txns = makeTransactions(5, 90, 40, 70, 10, 60, 20);
+        assertEquals(fullySorted(txns).subList(0, 3),
+                TransactionSelector.selectTop(txns, txn -> true, SORT_BY_DESCENDING_AMOUNT, 3));
+    }
+
+    @Test
+    public void selectTop_ties_keepsSourceOrder() {
+        List<Transaction> txns = makeTransactions(10, 10, 10, 10);
+        assertEquals(txns.subList(0, 2),
+                TransactionSelector.selectTop(txns, txn -> true, SORT_BY_ASCENDING_AMOUNT, 2));
+    }
+
+    @Test
+    public void selectTop_withPredicate_onlyMatchingSelected() {
+        List<Transaction> txns = makeTransactions(5, 90, 40, 70);
+        List<Transaction> selected = TransactionSelector.selectTop(txns,
+                txn -> txn.getAmount().toLong() < 50, SORT_BY_DESCENDING_AMOUNT, 10);
+        assertEquals(List.of(txns.get(2), txns.get(0)), selected);
+    }
+
+    @Test
+    public void selectPage_pagesCoverFullSortedList() {
+        List<Transaction> txns = makeTransactions(5, 90, 40, 70, 10, 60, 20);
+        List<Transaction> sorted = fullySorted(txns);
+        assertEquals(sorted.subList(0, 3),
+                TransactionSelector.selectPage(txns, txn -> true, SORT_BY_DESCENDING_AMOUNT, 1, 3));
+        assertEquals(sorted.subList(3, 6),
+                TransactionSelector.selectPage(txns, txn -> true, SORT_BY_DESCENDING_AMOUNT, 2, 3));
+        assertEquals(sorted.subList(6, 7),
+                TransactionSelector.selectPage(txns, txn -> true, SORT_BY_DESCENDING_AMOUNT, 3, 3));
+        assertTrue(TransactionSelector.selectPage(txns, txn -> true, SORT_BY_DESCENDING_AMOUNT, 4, 3).isEmpty());
+    }
+}
@@ -11,8 +11,11 @@ import budgetbuddy.model.attributes.Amount;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.loan.CompoundingPeriod;
+import budgetbuddy.model.loan.InterestTerms;
 import budgetbuddy.model.loan.Loan;
 import budgetbuddy.model.loan.Status;
+import budgetbuddy.testutil.loanutil.LoanBuilder;
 
 public class JsonAdaptedLoanTest {
 
@@ -44,6 +47,30 @@ public class JsonAdaptedLoanTest {
         assertEquals(JOHN_OUT_UNPAID, jsonAdaptedLoan.toModelType());
     }
 
+    @Test
+    public void toModelType_validInterestTerms_returnsLoanWithInterestTerms() throws IllegalValueException {
+        Loan loanWithInterest = new LoanBuilder(JOHN_OUT_UNPAID).withInterestTerms(525, "WEEKLY", 52).build();
+        JsonAdaptedLoan jsonAdaptedLoan = new JsonAdaptedLoan(loanWithInterest);
+        assertEquals(loanWithInterest, jsonAdaptedLoan.toModelType());
+    }
+
+    @Test
+    public void toModelType_invalidInterestTerms_throwsIllegalValueException() {
+        JsonAdaptedLoan invalidRate = new JsonAdaptedLoan(VALID_PERSON, VALID_DIRECTION, VALID_AMOUNT,
+                VALID_DATE, VALID_DESCRIPTION, VALID_STATUS,
+                new JsonAdaptedInterestTerms(InterestTerms.MAX_RATE + 1, "MONTHLY", 12));
+        assertThrows(IllegalValueException.class, InterestTerms.MESSAGE_RATE_CONSTRAINTS, invalidRate::toModelType);
+
+        JsonAdaptedLoan invalidPeriod = new JsonAdaptedLoan(VALID_PERSON, VALID_DIRECTION, VALID_AMOUNT,
+                VALID_DATE, VALID_DESCRIPTION, VALID_STATUS, new JsonAdaptedInterestTerms(500, "DAILY", 12));
+        assertThrows(IllegalValueException.class, CompoundingPeriod.MESSAGE_CONSTRAINTS, invalidPeriod::toModelType);
+
+        JsonAdaptedLoan invalidInstallments = new JsonAdaptedLoan(VALID_PERSON, VALID_DIRECTION, VALID_AMOUNT,
+                VALID_DATE, VALID_DESCRIPTION, VALID_STATUS, new JsonAdaptedInterestTerms(500, "MONTHLY", 0));
+        assertThrows(IllegalValueException.class, InterestTerms.MESSAGE_INSTALLMENTS_CONSTRAINTS,
+                invalidInstallments::toModelType);
+    }
+
     @Test
     public void toModelType_invalidPerson_throwsIllegalValueException() {
         JsonAdaptedLoan jsonAdaptedLoan = new JsonAdaptedLoan(INVALID_PERSON, VALID_DIRECTION, VALID_AMOUNT,
@@ -9,8 +9,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 
 import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.model.rule.Rule;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Operator;
+import budgetbuddy.model.rule.formula.ActionFormula;
+import budgetbuddy.model.rule.formula.PredicateFormula;
 import budgetbuddy.testutil.ruleutil.TypicalRules;
 
 public class JsonAdaptedRuleTest {
@@ -29,6 +32,23 @@ public class JsonAdaptedRuleTest {
         assertEquals(TypicalRules.DAILY_DESC_REMOVE_DAILY, rule.toModelType());
     }
 
+    @Test
+    public void toModelType_validFormulaRule_returnsRule() throws Exception {
+        Rule formulaRule = new Rule(new PredicateFormula("outamt > 5 and not has_cat(\"Food\")"),
+                new ActionFormula("set_cat \"Snacks\"; prep_desc \"[\" + text(month(date)) + \"] \""));
+        JsonAdaptedRule rule = new JsonAdaptedRule(formulaRule);
+        assertEquals(formulaRule, rule.toModelType());
+    }
+
+    @Test
+    public void toModelType_invalidFormula_throwsIllegalValueException() {
+        JsonAdaptedRule rule = new JsonAdaptedRule(new JsonAdaptedPredicateFormula("outamt +"), VALID_ACTION);
+        assertThrows(IllegalValueException.class, PredicateFormula.MESSAGE_CONSTRAINTS, rule::toModelType);
+
+        rule = new JsonAdaptedRule(VALID_PREDICATE, new JsonAdaptedActionFormula("set_cat 5"));
+        assertThrows(IllegalValueException.class, ActionFormula.MESSAGE_CONSTRAINTS, rule::toModelType);
+    }
+
     @Test
     public void toModelType_invalidPredicate_throwsIllegalValueException() {
         JsonAdaptedRule rule = new JsonAdaptedRule(INVALID_PREDICATE, VALID_ACTION);
@@ -6,6 +6,8 @@ import budgetbuddy.model.attributes.Amount;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.loan.CompoundingPeriod;
+import budgetbuddy.model.loan.InterestTerms;
 import budgetbuddy.model.loan.Loan;
 import budgetbuddy.model.loan.Status;
 import budgetbuddy.model.person.Person;
@@ -28,6 +30,7 @@ public class LoanBuilder {
     private Description description;
     private LocalDate date;
     private Status status;
+    private InterestTerms interestTerms;
 
     public LoanBuilder() {
         this.person = DEFAULT_PERSON;
@@ -45,6 +48,7 @@ public class LoanBuilder {
         this.description = toCopy.getDescription();
         this.date = toCopy.getDate();
         this.status = toCopy.getStatus();
+        this.interestTerms = toCopy.getInterestTerms().orElse(null);
     }
 
     /**
@@ -95,8 +99,16 @@ public class LoanBuilder {
         return this;
     }
 
+    /**
+     * Sets the {@code InterestTerms} of the {@code Loan} that we are building.
+     */
+    public LoanBuilder withInterestTerms(int rate, String compoundingPeriod, int installments) {
+        this.interestTerms = new InterestTerms(rate, CompoundingPeriod.valueOf(compoundingPeriod), installments);
+        return this;
+    }
+
     public Loan build() {
-        return new Loan(person, direction, amount, date, description, status);
+        return new Loan(person, direction, amount, date, description, status, interestTerms);
     }
 
 }